@@ -40,6 +40,7 @@ import javax.lang.model.util.Types;
 
 import io.realm.annotations.Ignore;
 import io.realm.annotations.Index;
+import io.realm.annotations.LinkingObjects;
 import io.realm.annotations.PrimaryKey;
 
 /**
@@ -56,6 +57,7 @@ public class ClassMetaData {
     private List<String> fieldNames = new ArrayList<String>();
     private List<String> ignoreFieldNames = new ArrayList<String>();
     private List<VariableElement> indexedFields = new ArrayList<VariableElement>(); // list of all fields marked @Index.
+    private List<VariableElement> backlinkFields = new ArrayList<VariableElement>(); // list of all fields marked @LinkingObjects.
     private Set<String> expectedGetters = new HashSet<String>(); // Set of fieldnames that are expected to have a getter
     private Set<String> expectedSetters = new HashSet<String>(); // Set of fieldnames that are expected to have a setter
     private Set<ExecutableElement> methods = new HashSet<ExecutableElement>(); // List of all methods in the model class
@@ -65,6 +67,7 @@ public class ClassMetaData {
     private final List<TypeMirror> validPrimaryKeyTypes;
     private final Types typeUtils;
     private DeclaredType realmList;
+    private DeclaredType realmResults;
 
     public ClassMetaData(ProcessingEnvironment env, TypeElement clazz) {
         this.classType = clazz;
@@ -72,6 +75,7 @@ public class ClassMetaData {
         typeUtils = env.getTypeUtils();
         TypeMirror stringType = env.getElementUtils().getTypeElement("java.lang.String").asType();
         realmList = typeUtils.getDeclaredType(env.getElementUtils().getTypeElement("io.realm.RealmList"), typeUtils.getWildcardType(null, null));
+        realmResults = typeUtils.getDeclaredType(env.getElementUtils().getTypeElement("io.realm.RealmResults"), typeUtils.getWildcardType(null, null));
         validPrimaryKeyTypes = Arrays.asList(
                 stringType,
                 typeUtils.getPrimitiveType(TypeKind.SHORT),
@@ -110,6 +114,7 @@ public class ClassMetaData {
         if (!checkDefaultConstructor()) return false;
         if (!checkRequiredGetters()) return false;
         if (!checkRequireSetters()) return false;
+        if (!checkBacklinkSetters()) return false;
 
         return true; // Meta data was successfully generated
     }
@@ -260,6 +265,59 @@ public class ClassMetaData {
         return expectedGetters.size() == 0;
     }
 
+    // Fields annotated with @LinkingObjects are read-only
+    private boolean checkBacklinkSetters() {
+        for (VariableElement field : backlinkFields) {
+            String fieldName = field.getSimpleName().toString();
+            if (setters.containsKey(fieldName)) {
+                Utils.error(String.format("@LinkingObjects field %s cannot have a setter", fieldName), field);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Check that a @LinkingObjects field is a RealmResults and that the field it refers to links to this class.
+    private boolean checkBacklinkField(VariableElement field) {
+        String fieldName = field.getSimpleName().toString();
+        if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+            Utils.error("The fields of the model must be private", field);
+            return false;
+        }
+        if (!typeUtils.isAssignable(field.asType(), realmResults)) {
+            Utils.error(String.format("@LinkingObjects field %s must be of type RealmResults", fieldName), field);
+            return false;
+        }
+        List<? extends TypeMirror> typeArguments = ((DeclaredType) field.asType()).getTypeArguments();
+        if (typeArguments.size() == 0 || typeArguments.get(0).getKind() != TypeKind.DECLARED) {
+            Utils.error("No generic type supplied for field", field);
+            return false;
+        }
+
+        String linkFieldName = field.getAnnotation(LinkingObjects.class).value();
+        TypeElement linkingClass = (TypeElement) typeUtils.asElement(typeArguments.get(0));
+        for (Element element : linkingClass.getEnclosedElements()) {
+            if (!element.getKind().equals(ElementKind.FIELD)
+                    || !element.getSimpleName().toString().equals(linkFieldName)
+                    || element.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            TypeMirror linkType = element.asType();
+            if (typeUtils.isAssignable(linkType, realmList)) {
+                List<? extends TypeMirror> listArguments = ((DeclaredType) linkType).getTypeArguments();
+                linkType = listArguments.isEmpty() ? null : listArguments.get(0);
+            }
+            if (linkType != null && typeUtils.isSameType(linkType, classType.asType())) {
+                return true;
+            }
+            break;
+        }
+
+        Utils.error(String.format("@LinkingObjects field %s: %s.%s must be a %s or RealmList<%s> field",
+                fieldName, linkingClass.getSimpleName(), linkFieldName, className, className), field);
+        return false;
+    }
+
     // Report if the default constructor is missing
     private boolean checkDefaultConstructor() {
         if (!hasDefaultConstructor) {
@@ -293,6 +351,17 @@ public class ClassMetaData {
                     continue;
                 }
 
+                if (variableElement.getAnnotation(LinkingObjects.class) != null) {
+                    // The field is computed from backlinks and is not stored. It only needs a getter.
+                    if (!checkBacklinkField(variableElement)) {
+                        return false;
+                    }
+                    backlinkFields.add(variableElement);
+                    fieldNames.add(fieldName);
+                    expectedGetters.add(fieldName);
+                    continue;
+                }
+
                 if (variableElement.getAnnotation(Index.class) != null) {
                     // The field has the @Index annotation. It's only valid for:
                     // * String
@@ -386,6 +455,10 @@ public class ClassMetaData {
         return setters.get(fieldName);
     }
 
+    public List<VariableElement> getBacklinkFields() {
+        return backlinkFields;
+    }
+
     public List<VariableElement> getIndexedFields() {
         return indexedFields;
     }
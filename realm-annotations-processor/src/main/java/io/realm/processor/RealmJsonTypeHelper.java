@@ -143,6 +143,40 @@ public class RealmJsonTypeHelper {
             .emitStatement("reader.endArray()");
     }
 
+    public static void emitUpdateRealmObjectFromStream(String setter, String fieldName, String fieldTypeCanonicalName, String proxyClass, JavaWriter writer) throws IOException {
+        writer
+            .emitStatement("%s %sObj = %s.createOrUpdateUsingJsonStream(realm, reader)", fieldTypeCanonicalName, fieldName, proxyClass)
+            .emitStatement("obj.%s(%sObj)", setter, fieldName);
+    }
+
+    public static void emitUpdateRealmListFromStream(String setter, String fieldName, String fieldTypeCanonicalName, String proxyClass, JavaWriter writer) throws IOException {
+        writer
+            .emitStatement("RealmList<%s> %sList = new RealmList<%s>()", fieldTypeCanonicalName, fieldName, fieldTypeCanonicalName)
+            .emitStatement("reader.beginArray()")
+            .beginControlFlow("while (reader.hasNext())")
+                .emitStatement("%sList.add(%s.createOrUpdateUsingJsonStream(realm, reader))", fieldName, proxyClass)
+            .endControlFlow()
+            .emitStatement("reader.endArray()")
+            .emitStatement("obj.%s(%sList)", setter, fieldName);
+    }
+
+    public static void emitFillStandaloneObjectFromStream(String setter, String fieldName, String fieldTypeCanonicalName, String proxyClass, JavaWriter writer) throws IOException {
+        writer
+            .emitStatement("%s %sObj = %s.createStandaloneUsingJsonStream(reader)", fieldTypeCanonicalName, fieldName, proxyClass)
+            .emitStatement("obj.%s(%sObj)", setter, fieldName);
+    }
+
+    public static void emitFillStandaloneListFromStream(String setter, String fieldName, String fieldTypeCanonicalName, String proxyClass, JavaWriter writer) throws IOException {
+        writer
+            .emitStatement("RealmList<%s> %sList = new RealmList<%s>()", fieldTypeCanonicalName, fieldName, fieldTypeCanonicalName)
+            .emitStatement("reader.beginArray()")
+            .beginControlFlow("while (reader.hasNext())")
+                .emitStatement("%sList.add(%s.createStandaloneUsingJsonStream(reader))", fieldName, proxyClass)
+            .endControlFlow()
+            .emitStatement("reader.endArray()")
+            .emitStatement("obj.%s(%sList)", setter, fieldName);
+    }
+
     private static class SimpleTypeConverter implements JsonToRealmTypeConverter {
 
         private final String castType;
@@ -94,6 +94,7 @@ import io.realm.annotations.RealmClass;
         "io.realm.annotations.RealmClass",
         "io.realm.annotations.Ignore",
         "io.realm.annotations.Index",
+        "io.realm.annotations.LinkingObjects",
         "io.realm.annotations.PrimaryKey",
         "io.realm.annotations.internal.RealmModule"
 })
@@ -18,6 +18,8 @@ package io.realm.processor;
 
 import com.squareup.javawriter.JavaWriter;
 
+import io.realm.annotations.LinkingObjects;
+
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.VariableElement;
@@ -123,6 +125,18 @@ public class RealmProxyClassGenerator {
         CASTING_TYPES.put("byte[]", "byte[]");
     }
 
+    // Casts needed to store the values of an integer column in narrower fields
+    private static final Map<String, String> NARROWING_CASTS;
+    static {
+        NARROWING_CASTS = new HashMap<String, String>();
+        NARROWING_CASTS.put("byte", "byte");
+        NARROWING_CASTS.put("short", "short");
+        NARROWING_CASTS.put("int", "int");
+        NARROWING_CASTS.put("Byte", "byte");
+        NARROWING_CASTS.put("Short", "short");
+        NARROWING_CASTS.put("Integer", "int");
+    }
+
     public void generate() throws IOException, UnsupportedOperationException {
         elementUtils = processingEnvironment.getElementUtils();
         typeUtils = processingEnvironment.getTypeUtils();
@@ -142,10 +156,12 @@ public class RealmProxyClassGenerator {
         ArrayList<String> imports = new ArrayList<String>();
         imports.add("android.util.JsonReader");
         imports.add("android.util.JsonToken");
+        imports.add("android.util.JsonWriter");
         imports.add("io.realm.RealmObject");
         imports.add("io.realm.exceptions.RealmException");
         imports.add("io.realm.exceptions.RealmMigrationNeededException");
         imports.add("io.realm.internal.ColumnType");
+        imports.add("io.realm.internal.DetachedObjectCache");
         imports.add("io.realm.internal.RealmObjectProxy");
         imports.add("io.realm.internal.Table");
         imports.add("io.realm.internal.TableOrView");
@@ -157,6 +173,7 @@ public class RealmProxyClassGenerator {
         imports.add("java.util.Collections");
         imports.add("java.util.List");
         imports.add("java.util.Arrays");
+        imports.add("java.util.Collection");
         imports.add("java.util.Date");
         imports.add("java.util.Map");
         imports.add("java.util.HashMap");
@@ -176,6 +193,12 @@ public class RealmProxyClassGenerator {
                 imports.add(fieldTypeName);
             }
         }
+        for (VariableElement field : metadata.getBacklinkFields()) {
+            String fieldTypeName = ((DeclaredType) field.asType()).getTypeArguments().get(0).toString();
+            if (!imports.contains(fieldTypeName)) {
+                imports.add(fieldTypeName);
+            }
+        }
         Collections.sort(imports);
         writer.emitImports(imports);
         writer.emitEmptyLine();
@@ -198,9 +221,15 @@ public class RealmProxyClassGenerator {
         emitGetColumnIndicesMethod(writer);
         emitCreateOrUpdateUsingJsonObject(writer);
         emitCreateUsingJsonStream(writer);
+        emitCreateOrUpdateUsingJsonStream(writer);
+        emitCreateStandaloneUsingJsonStream(writer);
         emitCopyOrUpdateMethod(writer);
         emitCopyMethod(writer);
         emitUpdateMethod(writer);
+        emitInsertMethod(writer);
+        emitCreateDetachedCopiesMethod(writer);
+        emitCopyDetachedLinksMethod(writer);
+        emitWriteJsonMethod(writer);
         emitToStringMethod(writer);
         emitHashcodeMethod(writer);
         emitEqualsMethod(writer);
@@ -319,6 +348,23 @@ public class RealmProxyClassGenerator {
             }
             writer.emitEmptyLine();
         }
+
+        for (VariableElement field : metadata.getBacklinkFields()) {
+            /**
+             * Backlinks
+             */
+            String fieldName = field.getSimpleName().toString();
+            String genericType = Utils.getGenericType(field);
+            String linkFieldName = field.getAnnotation(LinkingObjects.class).value();
+
+            // Getter
+            writer.emitAnnotation("Override");
+            writer.beginMethod(field.asType().toString(), metadata.getGetter(fieldName), EnumSet.of(Modifier.PUBLIC));
+            writer.emitStatement("realm.checkIfValid()");
+            writer.emitStatement("return realm.getBacklinks(%s.class, \"%s\", row)", genericType, linkFieldName);
+            writer.endMethod();
+            writer.emitEmptyLine();
+        }
     }
 
     private void emitInitTableMethod(JavaWriter writer) throws IOException {
@@ -710,6 +756,339 @@ public class RealmProxyClassGenerator {
         writer.emitEmptyLine();
     }
 
+    // Adds all rows with one call and sets each column with one call, without creating proxies. Links are still
+    // copied one object at a time.
+    private void emitInsertMethod(JavaWriter writer) throws IOException {
+        writer.beginMethod(
+                "void", // Return type
+                "insert", // Method name
+                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), // Modifiers
+                "Realm", "realm", String.format("Collection<? extends %s>", className), "objects"); // Argument type & argument name
+
+        writer
+            .emitStatement("Table table = realm.getTable(%s.class)", className)
+            .emitStatement("List<%s> newObjects = new ArrayList<%s>(objects.size())", className, className)
+            .beginControlFlow("for (%s object : objects)", className)
+                .beginControlFlow("if (object == null)")
+                    .emitStatement("throw new IllegalArgumentException(\"Null objects cannot be copied into Realm.\")")
+                .endControlFlow()
+                .beginControlFlow("if (object.realm == null || !object.realm.getPath().equals(realm.getPath()))")
+                    .emitStatement("newObjects.add(object)")
+                .endControlFlow()
+            .endControlFlow()
+            .emitStatement("int count = newObjects.size()")
+            .beginControlFlow("if (count == 0)")
+                .emitStatement("return")
+            .endControlFlow()
+            .emitEmptyLine();
+
+        if (metadata.hasPrimaryKey()) {
+            String primaryKeyType = Utils.isString(metadata.getPrimaryKey()) ? "String" : "long";
+            writer
+                .emitStatement("%s[] primaryKeys = new %s[count]", primaryKeyType, primaryKeyType)
+                .beginControlFlow("for (int i = 0; i < count; i++)")
+                    .emitStatement("primaryKeys[i] = newObjects.get(i).%s()", metadata.getPrimaryKeyGetter())
+                .endControlFlow()
+                .emitStatement("long firstRowIndex = table.addEmptyRowsWithPrimaryKeys(primaryKeys)");
+        } else {
+            writer.emitStatement("long firstRowIndex = table.addEmptyRows(count)");
+        }
+
+        boolean hasLinks = false;
+        for (VariableElement field : metadata.getFields()) {
+            if (typeUtils.isAssignable(field.asType(), realmObject) || typeUtils.isAssignable(field.asType(), realmList)) {
+                hasLinks = true;
+            }
+        }
+        if (hasLinks) {
+            writer.emitStatement("Map<RealmObject,RealmObjectProxy> cache = new HashMap<RealmObject,RealmObjectProxy>()");
+        }
+
+        for (VariableElement field : metadata.getFields()) {
+            String fieldName = field.getSimpleName().toString();
+            String fieldType = field.asType().toString();
+            String indexName = staticFieldIndexVarName(field);
+            writer.emitEmptyLine();
+            if (typeUtils.isAssignable(field.asType(), realmObject)) {
+                writer
+                    .beginControlFlow("for (int i = 0; i < count; i++)")
+                        .emitStatement("%s %sObj = newObjects.get(i).%s()", fieldType, fieldName, metadata.getGetter(fieldName))
+                        .beginControlFlow("if (%sObj != null)", fieldName)
+                            .emitStatement("%s cache%s = (%s) cache.get(%sObj)", fieldType, fieldName, fieldType, fieldName)
+                            .beginControlFlow("if (cache%s == null)", fieldName)
+                                .emitStatement("cache%s = %s.copyOrUpdate(realm, %sObj, false, cache)",
+                                        fieldName, Utils.getProxyClassSimpleName(field), fieldName)
+                            .endControlFlow()
+                            .emitStatement("table.setLink(%s, firstRowIndex + i, cache%s.row.getIndex())", indexName, fieldName)
+                        .endControlFlow()
+                    .endControlFlow();
+            } else if (typeUtils.isAssignable(field.asType(), realmList)) {
+                String genericType = Utils.getGenericType(field);
+                writer
+                    .beginControlFlow("for (int i = 0; i < count; i++)")
+                        .emitStatement("RealmList<%s> %sList = newObjects.get(i).%s()", genericType, fieldName, metadata.getGetter(fieldName))
+                        .beginControlFlow("if (%sList != null)", fieldName)
+                            .emitStatement("LinkView %sLinks = table.getUncheckedRow(firstRowIndex + i).getLinkList(%s)", fieldName, indexName)
+                            .beginControlFlow("for (%s %sItem : %sList)", genericType, fieldName, fieldName)
+                                .emitStatement("%s cache%s = (%s) cache.get(%sItem)", genericType, fieldName, genericType, fieldName)
+                                .beginControlFlow("if (cache%s == null)", fieldName)
+                                    .emitStatement("cache%s = %s.copyOrUpdate(realm, %sItem, false, cache)",
+                                            fieldName, Utils.getProxyClassSimpleName(field), fieldName)
+                                .endControlFlow()
+                                .emitStatement("%sLinks.add(cache%s.row.getIndex())", fieldName, fieldName)
+                            .endControlFlow()
+                        .endControlFlow()
+                    .endControlFlow();
+            } else if (field == metadata.getPrimaryKey()) {
+                writer.emitSingleLineComment("%s was set when the rows were added", fieldName);
+            } else if (fieldType.equals("byte[]")) {
+                // There is no bulk setter for binary data
+                writer
+                    .beginControlFlow("for (int i = 0; i < count; i++)")
+                        .emitStatement("byte[] %sValue = newObjects.get(i).%s()", fieldName, metadata.getGetter(fieldName))
+                        .emitStatement("table.setBinaryByteArray(%s, firstRowIndex + i, %sValue != null ? %sValue : %s)",
+                                indexName, fieldName, fieldName, NULLABLE_JAVA_TYPES.get(fieldType))
+                    .endControlFlow();
+            } else {
+                String realmType = JAVA_TO_REALM_TYPES.get(fieldType);
+                String arrayType = CASTING_TYPES.get(fieldType);
+                writer
+                    .emitStatement("%s[] %sValues = new %s[count]", arrayType, fieldName, arrayType)
+                    .beginControlFlow("for (int i = 0; i < count; i++)");
+                if (NULLABLE_JAVA_TYPES.containsKey(fieldType)) {
+                    writer
+                        .emitStatement("%s %sValue = newObjects.get(i).%s()", arrayType, fieldName, metadata.getGetter(fieldName))
+                        .emitStatement("%sValues[i] = %sValue != null ? %sValue : %s",
+                                fieldName, fieldName, fieldName, NULLABLE_JAVA_TYPES.get(fieldType));
+                } else {
+                    writer.emitStatement("%sValues[i] = newObjects.get(i).%s()", fieldName, metadata.getGetter(fieldName));
+                }
+                writer
+                    .endControlFlow()
+                    .emitStatement("table.set%ss(%s, firstRowIndex, %sValues)", realmType, indexName, fieldName);
+            }
+        }
+
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitCreateDetachedCopiesMethod(JavaWriter writer) throws IOException {
+        writer.beginMethod(
+                String.format("List<%s>", className), // Return type
+                "createDetachedCopies", // Method name
+                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), // Modifiers
+                "Realm", "realm", "long[]", "rowIndexes", "int", "currentDepth", "int", "maxDepth",
+                "DetachedObjectCache", "cache"); // Argument type & argument name
+
+        writer
+            .emitStatement("Table table = realm.getTable(%s.class)", className)
+            .emitStatement("List<%s> copies = new ArrayList<%s>(rowIndexes.length)", className, className)
+            .emitStatement("List<%s> newCopies = new ArrayList<%s>(rowIndexes.length)", className, className)
+            .emitStatement("long[] newRowIndexes = new long[rowIndexes.length]")
+            .emitStatement("int count = 0")
+            .beginControlFlow("for (long rowIndex : rowIndexes)")
+                .emitStatement("%s copy = cache.get(%s.class, rowIndex, currentDepth)", className, className)
+                .beginControlFlow("if (copy == null)")
+                    .emitStatement("copy = new %s()", className)
+                    .emitStatement("cache.put(%s.class, rowIndex, currentDepth, copy)", className)
+                    .emitStatement("newCopies.add(copy)")
+                    .emitStatement("newRowIndexes[count++] = rowIndex")
+                .endControlFlow()
+                .emitStatement("copies.add(copy)")
+            .endControlFlow()
+            .beginControlFlow("if (count == 0)")
+                .emitStatement("return copies")
+            .endControlFlow()
+            .beginControlFlow("if (count < newRowIndexes.length)")
+                .emitStatement("newRowIndexes = Arrays.copyOf(newRowIndexes, count)")
+            .endControlFlow();
+
+        List<VariableElement> linkFields = new ArrayList<VariableElement>();
+        for (VariableElement field : metadata.getFields()) {
+            String fieldName = field.getSimpleName().toString();
+            String fieldType = field.asType().toString();
+            String indexName = staticFieldIndexVarName(field);
+            if (typeUtils.isAssignable(field.asType(), realmObject) || typeUtils.isAssignable(field.asType(), realmList)) {
+                linkFields.add(field);
+                continue;
+            }
+            writer.emitEmptyLine();
+            if (fieldType.equals("byte[]")) {
+                // There is no bulk getter for binary data
+                writer
+                    .beginControlFlow("for (int i = 0; i < count; i++)")
+                        .emitStatement("newCopies.get(i).%s(table.getBinaryByteArray(%s, newRowIndexes[i]))",
+                                metadata.getSetter(fieldName), indexName)
+                    .endControlFlow();
+            } else {
+                String realmType = JAVA_TO_REALM_TYPES.get(fieldType);
+                String arrayType = CASTING_TYPES.get(fieldType);
+                String cast = NARROWING_CASTS.containsKey(fieldType) ? "(" + NARROWING_CASTS.get(fieldType) + ") " : "";
+                writer
+                    .emitStatement("%s[] %sValues = table.get%ss(%s, newRowIndexes)", arrayType, fieldName, realmType, indexName)
+                    .beginControlFlow("for (int i = 0; i < count; i++)")
+                        .emitStatement("newCopies.get(i).%s(%s%sValues[i])", metadata.getSetter(fieldName), cast, fieldName)
+                    .endControlFlow();
+            }
+        }
+
+        if (!linkFields.isEmpty()) {
+            // The links are followed later by copyDetachedLinks(), so the copy does not recurse along link paths
+            writer
+                .emitEmptyLine()
+                .beginControlFlow("if (currentDepth < maxDepth)")
+                    .emitStatement("cache.addPendingLinks(%s.class, newCopies, newRowIndexes, currentDepth)", className)
+                .endControlFlow();
+        }
+
+        writer.emitStatement("return copies");
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitCopyDetachedLinksMethod(JavaWriter writer) throws IOException {
+        writer.beginMethod(
+                "void", // Return type
+                "copyDetachedLinks", // Method name
+                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), // Modifiers
+                "Realm", "realm", String.format("List<%s>", className), "copies", "long[]", "rowIndexes",
+                "int", "currentDepth", "int", "maxDepth", "DetachedObjectCache", "cache"); // Argument type & argument name
+
+        boolean hasLinks = false;
+        for (VariableElement field : metadata.getFields()) {
+            if (typeUtils.isAssignable(field.asType(), realmObject) || typeUtils.isAssignable(field.asType(), realmList)) {
+                hasLinks = true;
+            }
+        }
+        if (hasLinks) {
+            writer
+                .emitStatement("Table table = realm.getTable(%s.class)", className)
+                .emitStatement("int count = rowIndexes.length");
+        }
+        for (VariableElement field : metadata.getFields()) {
+            String fieldName = field.getSimpleName().toString();
+            String indexName = staticFieldIndexVarName(field);
+            if (typeUtils.isAssignable(field.asType(), realmObject)) {
+                String proxyClass = Utils.getProxyClassSimpleName(field);
+                String fieldType = field.asType().toString();
+                writer
+                    .emitStatement("long[] %sTargets = table.getLinks(%s, rowIndexes)", fieldName, indexName)
+                    .emitStatement("int[] %sPositions = new int[count]", fieldName)
+                    .emitStatement("int %sCount = 0", fieldName)
+                    .beginControlFlow("for (int i = 0; i < count; i++)")
+                        .beginControlFlow("if (%sTargets[i] != -1)", fieldName)
+                            .emitStatement("%sTargets[%sCount] = %sTargets[i]", fieldName, fieldName, fieldName)
+                            .emitStatement("%sPositions[%sCount++] = i", fieldName, fieldName)
+                        .endControlFlow()
+                    .endControlFlow()
+                    .emitStatement("List<%s> %sCopies = %s.createDetachedCopies(realm, Arrays.copyOf(%sTargets, %sCount), currentDepth + 1, maxDepth, cache)",
+                            fieldType, fieldName, proxyClass, fieldName, fieldName)
+                    .beginControlFlow("for (int i = 0; i < %sCount; i++)", fieldName)
+                        .emitStatement("copies.get(%sPositions[i]).%s(%sCopies.get(i))",
+                                fieldName, metadata.getSetter(fieldName), fieldName)
+                    .endControlFlow();
+            } else if (typeUtils.isAssignable(field.asType(), realmList)) {
+                String proxyClass = Utils.getProxyClassSimpleName(field);
+                String genericType = Utils.getGenericType(field);
+                writer
+                    .emitStatement("int[] %sSizes = new int[count]", fieldName)
+                    .emitStatement("long[] %sTargets = DetachedObjectCache.getLinkListTargets(table, %s, rowIndexes, %sSizes)",
+                            fieldName, indexName, fieldName)
+                    .emitStatement("List<%s> %sCopies = %s.createDetachedCopies(realm, %sTargets, currentDepth + 1, maxDepth, cache)",
+                            genericType, fieldName, proxyClass, fieldName)
+                    .emitStatement("int %sPos = 0", fieldName)
+                    .beginControlFlow("for (int i = 0; i < count; i++)")
+                        .emitStatement("RealmList<%s> %sList = new RealmList<%s>()", genericType, fieldName, genericType)
+                        .beginControlFlow("for (int j = 0; j < %sSizes[i]; j++)", fieldName)
+                            .emitStatement("%sList.add(%sCopies.get(%sPos++))", fieldName, fieldName, fieldName)
+                        .endControlFlow()
+                        .emitStatement("copies.get(i).%s(%sList)", metadata.getSetter(fieldName), fieldName)
+                    .endControlFlow();
+            }
+        }
+
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitWriteJsonMethod(JavaWriter writer) throws IOException {
+        writer.beginMethod(
+                "void", // Return type
+                "writeJson", // Method name
+                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC), // Modifiers
+                Arrays.asList("Realm", "realm", "long[]", "rowIndexes", "JsonWriter", "writer",
+                        "int", "currentDepth", "int", "maxDepth"), // Argument type & argument name
+                Arrays.asList("IOException"));
+
+        writer.emitStatement("Table table = realm.getTable(%s.class)", className);
+        for (VariableElement field : metadata.getFields()) {
+            String fieldName = field.getSimpleName().toString();
+            String fieldType = field.asType().toString();
+            String indexName = staticFieldIndexVarName(field);
+            if (typeUtils.isAssignable(field.asType(), realmObject)) {
+                writer.emitStatement("long[] %sTargets = currentDepth < maxDepth ? table.getLinks(%s, rowIndexes) : null",
+                        fieldName, indexName);
+            } else if (!typeUtils.isAssignable(field.asType(), realmList) && !fieldType.equals("byte[]")) {
+                writer.emitStatement("%s[] %sValues = table.get%ss(%s, rowIndexes)",
+                        CASTING_TYPES.get(fieldType), fieldName, JAVA_TO_REALM_TYPES.get(fieldType), indexName);
+            }
+        }
+
+        writer.beginControlFlow("for (int i = 0; i < rowIndexes.length; i++)");
+        writer.emitStatement("writer.beginObject()");
+        for (VariableElement field : metadata.getFields()) {
+            String fieldName = field.getSimpleName().toString();
+            String fieldType = field.asType().toString();
+            String indexName = staticFieldIndexVarName(field);
+            if (typeUtils.isAssignable(field.asType(), realmObject)) {
+                writer
+                    .beginControlFlow("if (currentDepth < maxDepth)")
+                        .emitStatement("writer.name(\"%s\")", fieldName)
+                        .beginControlFlow("if (%sTargets[i] == -1)", fieldName)
+                            .emitStatement("writer.nullValue()")
+                        .nextControlFlow("else")
+                            .emitStatement("%s.writeJson(realm, new long[] {%sTargets[i]}, writer, currentDepth + 1, maxDepth)",
+                                    Utils.getProxyClassSimpleName(field), fieldName)
+                        .endControlFlow()
+                    .endControlFlow();
+            } else if (typeUtils.isAssignable(field.asType(), realmList)) {
+                writer
+                    .beginControlFlow("if (currentDepth < maxDepth)")
+                        .emitStatement("LinkView %sLinks = table.getUncheckedRow(rowIndexes[i]).getLinkList(%s)", fieldName, indexName)
+                        .emitStatement("long %sSize = %sLinks.size()", fieldName, fieldName)
+                        .emitStatement("writer.name(\"%s\").beginArray()", fieldName)
+                        // Like the top level, large lists are read and written in chunks
+                        .beginControlFlow("for (long start = 0; start < %sSize; start += RealmResults.JSON_CHUNK_SIZE)", fieldName)
+                            .emitStatement("long[] %sTargets = new long[(int) Math.min(RealmResults.JSON_CHUNK_SIZE, %sSize - start)]",
+                                    fieldName, fieldName)
+                            .beginControlFlow("for (int j = 0; j < %sTargets.length; j++)", fieldName)
+                                .emitStatement("%sTargets[j] = %sLinks.getTargetRowIndex(start + j)", fieldName, fieldName)
+                            .endControlFlow()
+                            .emitStatement("%s.writeJson(realm, %sTargets, writer, currentDepth + 1, maxDepth)",
+                                    Utils.getProxyClassSimpleName(field), fieldName)
+                        .endControlFlow()
+                        .emitStatement("writer.endArray()")
+                    .endControlFlow();
+            } else if (fieldType.equals("byte[]")) {
+                writer.emitStatement("writer.name(\"%s\").value(JsonUtils.bytesToString(table.getBinaryByteArray(%s, rowIndexes[i])))",
+                        fieldName, indexName);
+            } else if (fieldType.equals("java.util.Date")) {
+                writer.emitStatement("writer.name(\"%s\").value(%sValues[i].getTime())", fieldName, fieldName);
+            } else if (fieldType.equals("float") || fieldType.equals("Float")) {
+                // Written as a Float, so it isn't widened to a double with extra digits
+                writer.emitStatement("writer.name(\"%s\").value(Float.valueOf(%sValues[i]))", fieldName, fieldName);
+            } else {
+                writer.emitStatement("writer.name(\"%s\").value(%sValues[i])", fieldName, fieldName);
+            }
+        }
+        writer.emitStatement("writer.endObject()");
+        writer.endControlFlow();
+
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
     private void emitToStringMethod(JavaWriter writer) throws IOException {
         writer.emitAnnotation("Override");
         writer.beginMethod("String", "toString", EnumSet.of(Modifier.PUBLIC));
@@ -857,6 +1236,178 @@ public class RealmProxyClassGenerator {
         writer.emitEmptyLine();
     }
 
+    private void emitCreateStandaloneUsingJsonStream(JavaWriter writer) throws IOException {
+        writer.beginMethod(
+                className,
+                "createStandaloneUsingJsonStream",
+                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC),
+                Arrays.asList("JsonReader", "reader"),
+                Arrays.asList("IOException"));
+
+        writer.emitStatement("%s obj = new %s()", className, className);
+        writer.emitStatement("reader.beginObject()");
+        writer.beginControlFlow("while (reader.hasNext())");
+        writer.emitStatement("String name = reader.nextName()");
+
+        List<VariableElement> fields = metadata.getFields();
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            String fieldName = field.getSimpleName().toString();
+            String qualifiedFieldType = field.asType().toString();
+
+            if (i == 0) {
+                writer.beginControlFlow("if (name.equals(\"%s\") && reader.peek() != JsonToken.NULL)", fieldName);
+            } else {
+                writer.nextControlFlow("else if (name.equals(\"%s\") && reader.peek() != JsonToken.NULL)", fieldName);
+            }
+            if (typeUtils.isAssignable(field.asType(), realmObject)) {
+                RealmJsonTypeHelper.emitFillStandaloneObjectFromStream(
+                        metadata.getSetter(fieldName),
+                        fieldName,
+                        qualifiedFieldType,
+                        Utils.getProxyClassSimpleName(field),
+                        writer);
+            } else if (typeUtils.isAssignable(field.asType(), realmList)) {
+                RealmJsonTypeHelper.emitFillStandaloneListFromStream(
+                        metadata.getSetter(fieldName),
+                        fieldName,
+                        ((DeclaredType) field.asType()).getTypeArguments().get(0).toString(),
+                        Utils.getProxyClassSimpleName(field),
+                        writer);
+            } else {
+                RealmJsonTypeHelper.emitFillJavaTypeFromStream(
+                        metadata.getSetter(fieldName),
+                        fieldName,
+                        qualifiedFieldType,
+                        writer);
+            }
+        }
+
+        if (fields.size() > 0) {
+            writer.nextControlFlow("else");
+            writer.emitStatement("reader.skipValue()");
+            writer.endControlFlow();
+        }
+        writer.endControlFlow();
+        writer.emitStatement("reader.endObject()");
+        writer.emitStatement("return obj");
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitCreateOrUpdateUsingJsonStream(JavaWriter writer) throws IOException {
+        writer.beginMethod(
+                className,
+                "createOrUpdateUsingJsonStream",
+                EnumSet.of(Modifier.PUBLIC, Modifier.STATIC),
+                Arrays.asList("Realm", "realm", "JsonReader", "reader"),
+                Arrays.asList("IOException"));
+
+        if (!metadata.hasPrimaryKey()) {
+            writer
+                .emitSingleLineComment("Without a primary key there is nothing to update")
+                .emitStatement("return createUsingJsonStream(realm, reader)")
+                .endMethod()
+                .emitEmptyLine();
+            return;
+        }
+
+        VariableElement primaryKey = metadata.getPrimaryKey();
+        String pkType = Utils.isString(primaryKey) ? "String" : "Long";
+        List<VariableElement> bufferedFields = new ArrayList<VariableElement>(metadata.getFields());
+        bufferedFields.remove(primaryKey);
+
+        writer
+            .emitStatement("Table table = realm.getTable(%s.class)", className)
+            .emitStatement("long pkColumnIndex = table.getPrimaryKey()")
+            .emitSingleLineComment("Fields read before the primary key are kept in a standalone object, until the row is known")
+            .emitStatement("%s managedObj = null", className)
+            .emitStatement("%s buffer = new %s()", className, className)
+            .emitStatement("boolean[] buffered = new boolean[%d]", bufferedFields.size())
+            .emitStatement("reader.beginObject()")
+            .beginControlFlow("while (reader.hasNext())")
+                .emitStatement("String name = reader.nextName()")
+                .emitStatement("%s obj = managedObj != null ? managedObj : buffer", className)
+                .beginControlFlow("if (name.equals(\"%s\") && reader.peek() != JsonToken.NULL)", primaryKey.getSimpleName())
+                    .emitStatement("%s primaryKey = reader.next%s()", pkType.equals("String") ? "String" : "long", pkType)
+                    .beginControlFlow("if (managedObj == null)")
+                        .emitStatement("long rowIndex = table.findFirst%s(pkColumnIndex, primaryKey)", pkType)
+                        .beginControlFlow("if (rowIndex != TableOrView.NO_MATCH)")
+                            .emitStatement("managedObj = new %s()", Utils.getProxyClassName(className))
+                            .emitStatement("managedObj.realm = realm")
+                            .emitStatement("managedObj.row = table.getUncheckedRow(rowIndex)")
+                        .nextControlFlow("else")
+                            .emitStatement("managedObj = realm.createObject(%s.class, primaryKey)", className)
+                        .endControlFlow()
+                        .emitStatement("applyBufferedJsonFields(buffer, buffered, managedObj)")
+                    .endControlFlow();
+
+        for (int i = 0; i < bufferedFields.size(); i++) {
+            VariableElement field = bufferedFields.get(i);
+            String fieldName = field.getSimpleName().toString();
+            String qualifiedFieldType = field.asType().toString();
+
+            writer.nextControlFlow("else if (name.equals(\"%s\") && reader.peek() != JsonToken.NULL)", fieldName);
+            if (typeUtils.isAssignable(field.asType(), realmObject)) {
+                RealmJsonTypeHelper.emitUpdateRealmObjectFromStream(
+                        metadata.getSetter(fieldName),
+                        fieldName,
+                        qualifiedFieldType,
+                        Utils.getProxyClassSimpleName(field),
+                        writer);
+            } else if (typeUtils.isAssignable(field.asType(), realmList)) {
+                RealmJsonTypeHelper.emitUpdateRealmListFromStream(
+                        metadata.getSetter(fieldName),
+                        fieldName,
+                        ((DeclaredType) field.asType()).getTypeArguments().get(0).toString(),
+                        Utils.getProxyClassSimpleName(field),
+                        writer);
+            } else {
+                RealmJsonTypeHelper.emitFillJavaTypeFromStream(
+                        metadata.getSetter(fieldName),
+                        fieldName,
+                        qualifiedFieldType,
+                        writer);
+            }
+            writer.emitStatement("buffered[%d] = managedObj == null", i);
+        }
+
+        writer
+                .nextControlFlow("else")
+                    .emitStatement("reader.skipValue()")
+                .endControlFlow()
+            .endControlFlow()
+            .emitStatement("reader.endObject()")
+            .beginControlFlow("if (managedObj == null)")
+                .emitStatement("managedObj = realm.createObject(%s.class)", className)
+                .emitStatement("applyBufferedJsonFields(buffer, buffered, managedObj)")
+            .endControlFlow()
+            .emitStatement("return managedObj")
+            .endMethod()
+            .emitEmptyLine();
+
+        writer.beginMethod(
+                "void",
+                "applyBufferedJsonFields",
+                EnumSet.of(Modifier.PRIVATE, Modifier.STATIC),
+                className, "buffer", "boolean[]", "buffered", className, "obj");
+        for (int i = 0; i < bufferedFields.size(); i++) {
+            VariableElement field = bufferedFields.get(i);
+            String fieldName = field.getSimpleName().toString();
+            if (field.asType().getKind().isPrimitive()) {
+                writer.beginControlFlow("if (buffered[%d])", i);
+            } else {
+                // Values which were not given in the JSON are left as they are
+                writer.beginControlFlow("if (buffered[%d] && buffer.%s() != null)", i, metadata.getGetter(fieldName));
+            }
+            writer
+                    .emitStatement("obj.%s(buffer.%s())", metadata.getSetter(fieldName), metadata.getGetter(fieldName))
+                .endControlFlow();
+        }
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
     private void emitCreateUsingJsonStream(JavaWriter writer) throws IOException {
         writer.beginMethod(
                 className,
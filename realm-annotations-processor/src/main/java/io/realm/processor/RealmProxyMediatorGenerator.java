@@ -66,12 +66,16 @@ public class RealmProxyMediatorGenerator {
 
         writer.emitImports(
                 "android.util.JsonReader",
+                "android.util.JsonWriter",
                 "java.io.IOException",
                 "java.util.ArrayList",
+                "java.util.Collection",
                 "java.util.Collections",
+                "java.util.IdentityHashMap",
                 "java.util.List",
                 "java.util.Map",
                 "io.realm.exceptions.RealmException",
+                "io.realm.internal.DetachedObjectCache",
                 "io.realm.internal.ImplicitTransaction",
                 "io.realm.internal.RealmObjectProxy",
                 "io.realm.internal.RealmProxyMediator",
@@ -100,8 +104,14 @@ public class RealmProxyMediatorGenerator {
         emitGetClassModelList(writer);
         emitGetColumnIndices(writer);
         emitCopyToRealmMethod(writer);
+        emitInsertMethod(writer);
+        emitCreateDetachedCopiesMethod(writer);
+        emitCopyDetachedLinksMethod(writer);
+        emitWriteJsonMethod(writer);
         emitCreteOrUpdateUsingJsonObject(writer);
         emitCreateUsingJsonStream(writer);
+        emitCreateOrUpdateUsingJsonStream(writer);
+        emitCreateStandaloneUsingJsonStream(writer);
 
         writer.endType();
         writer.close();
@@ -109,14 +119,29 @@ public class RealmProxyMediatorGenerator {
 
     private void emitFields(JavaWriter writer) throws IOException {
         writer.emitField("List<Class<? extends RealmObject>>", "MODEL_CLASSES", EnumSet.of(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL));
+        writer.emitField("Map<Class<? extends RealmObject>, Integer>", "CLASS_IDS", EnumSet.of(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL));
         writer.beginInitializer(true);
         writer.emitStatement("List<Class<? extends RealmObject>> modelClasses = new ArrayList<Class<? extends RealmObject>>()");
         for (String clazz : simpleModelClasses) {
             writer.emitStatement("modelClasses.add(%s.class)", clazz);
         }
         writer.emitStatement("MODEL_CLASSES = Collections.unmodifiableList(modelClasses)");
+        writer.emitEmptyLine();
+        writer.emitSingleLineComment("Proxy classes share the id of their model class");
+        writer.emitStatement("Map<Class<? extends RealmObject>, Integer> classIds = new IdentityHashMap<Class<? extends RealmObject>, Integer>()");
+        for (int i = 0; i < simpleModelClasses.size(); i++) {
+            writer.emitStatement("classIds.put(%s.class, %d)", simpleModelClasses.get(i), i);
+            writer.emitStatement("classIds.put(%s.class, %d)", proxyClasses.get(i), i);
+        }
+        writer.emitStatement("CLASS_IDS = classIds");
         writer.endInitializer();
         writer.emitEmptyLine();
+
+        writer.beginMethod("int", "getClassId", EnumSet.of(Modifier.PRIVATE, Modifier.STATIC), "Class<? extends RealmObject>", "clazz");
+        writer.emitStatement("Integer classId = CLASS_IDS.get(clazz)");
+        writer.emitStatement("return (classId != null) ? classId : -1");
+        writer.endMethod();
+        writer.emitEmptyLine();
     }
 
     private void emitCreateTableMethod(JavaWriter writer) throws IOException {
@@ -129,8 +154,8 @@ public class RealmProxyMediatorGenerator {
         );
         emitMediatorSwitch(new ProxySwitchStatement() {
             @Override
-            public void emitStatement(int i, JavaWriter writer) throws IOException {
-                writer.emitStatement("return %s.initTable(transaction)", proxyClasses.get(i));
+            public String getStatement(int i) {
+                return String.format("return %s.initTable(transaction)", proxyClasses.get(i));
             }
         }, writer);
         writer.endMethod();
@@ -147,8 +172,8 @@ public class RealmProxyMediatorGenerator {
         );
         emitMediatorSwitch(new ProxySwitchStatement() {
             @Override
-            public void emitStatement(int i, JavaWriter writer) throws IOException {
-                writer.emitStatement("%s.validateTable(transaction)", proxyClasses.get(i));
+            public String getStatement(int i) {
+                return String.format("%s.validateTable(transaction); break", proxyClasses.get(i));
             }
         }, writer);
         writer.endMethod();
@@ -165,8 +190,8 @@ public class RealmProxyMediatorGenerator {
         );
         emitMediatorSwitch(new ProxySwitchStatement() {
             @Override
-            public void emitStatement(int i, JavaWriter writer) throws IOException {
-                writer.emitStatement("return %s.getFieldNames()", proxyClasses.get(i));
+            public String getStatement(int i) {
+                return String.format("return %s.getFieldNames()", proxyClasses.get(i));
             }
         }, writer);
         writer.endMethod();
@@ -183,8 +208,8 @@ public class RealmProxyMediatorGenerator {
         );
         emitMediatorSwitch(new ProxySwitchStatement() {
             @Override
-            public void emitStatement(int i, JavaWriter writer) throws IOException {
-                writer.emitStatement("return %s.getTableName()", proxyClasses.get(i));
+            public String getStatement(int i) {
+                return String.format("return %s.getTableName()", proxyClasses.get(i));
             }
         }, writer);
         writer.endMethod();
@@ -201,8 +226,8 @@ public class RealmProxyMediatorGenerator {
         );
         emitMediatorSwitch(new ProxySwitchStatement() {
             @Override
-            public void emitStatement(int i, JavaWriter writer) throws IOException {
-                writer.emitStatement("return clazz.cast(new %s())", proxyClasses.get(i));
+            public String getStatement(int i) {
+                return String.format("return clazz.cast(new %s())", proxyClasses.get(i));
             }
         }, writer);
         writer.endMethod();
@@ -227,8 +252,8 @@ public class RealmProxyMediatorGenerator {
         );
         emitMediatorSwitch(new ProxySwitchStatement() {
             @Override
-            public void emitStatement(int i, JavaWriter writer) throws IOException {
-                writer.emitStatement("return %s.getColumnIndices()", proxyClasses.get(i));
+            public String getStatement(int i) {
+                return String.format("return %s.getColumnIndices()", proxyClasses.get(i));
             }
         }, writer, true);
         writer.endMethod();
@@ -243,20 +268,99 @@ public class RealmProxyMediatorGenerator {
                 EnumSet.of(Modifier.PUBLIC),
                 "Realm", "realm", "E", "obj", "boolean", "update", "Map<RealmObject, RealmObjectProxy>",  "cache"
         );
-        writer.emitSingleLineComment("This cast is correct because obj is either ");
-        writer.emitSingleLineComment("generated by RealmProxy or the original type extending directly from RealmObject");
-        writer.emitStatement("@SuppressWarnings(\"unchecked\") Class<E> clazz = (Class<E>) ((obj instanceof RealmObjectProxy) ? obj.getClass().getSuperclass() : obj.getClass())");
+        writer.emitSingleLineComment("Proxy classes have the id of their model class, and the copy of a proxy is of the same ");
+        writer.emitSingleLineComment("proxy class, so the class of obj can be used both for the dispatch and the cast");
+        writer.emitStatement("@SuppressWarnings(\"unchecked\") Class<E> clazz = (Class<E>) obj.getClass()");
         writer.emitEmptyLine();
         emitMediatorSwitch(new ProxySwitchStatement() {
             @Override
-            public void emitStatement(int i, JavaWriter writer) throws IOException {
-                writer.emitStatement("return clazz.cast(%s.copyOrUpdate(realm, (%s) obj, update, cache))", proxyClasses.get(i), simpleModelClasses.get(i));
+            public String getStatement(int i) {
+                return String.format("return clazz.cast(%s.copyOrUpdate(realm, (%s) obj, update, cache))", proxyClasses.get(i), simpleModelClasses.get(i));
             }
         }, writer, false);
         writer.endMethod();
         writer.emitEmptyLine();
     }
 
+    private void emitInsertMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.emitAnnotation("SuppressWarnings", "\"unchecked\"");
+        writer.beginMethod(
+                "<E extends RealmObject> void",
+                "insert",
+                EnumSet.of(Modifier.PUBLIC),
+                "Class<E>", "clazz", "Realm", "realm", "Collection<? extends E>", "objects"
+        );
+        emitMediatorSwitch(new ProxySwitchStatement() {
+            @Override
+            public String getStatement(int i) {
+                return String.format("%s.insert(realm, (Collection<%s>) objects); break", proxyClasses.get(i), simpleModelClasses.get(i));
+            }
+        }, writer);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitCreateDetachedCopiesMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.emitAnnotation("SuppressWarnings", "\"unchecked\"");
+        writer.beginMethod(
+                "<E extends RealmObject> List<E>",
+                "createDetachedCopies",
+                EnumSet.of(Modifier.PUBLIC),
+                "Class<E>", "clazz", "Realm", "realm", "long[]", "rowIndexes", "int", "maxDepth",
+                "DetachedObjectCache", "cache"
+        );
+        emitMediatorSwitch(new ProxySwitchStatement() {
+            @Override
+            public String getStatement(int i) {
+                return String.format("return (List<E>) %s.createDetachedCopies(realm, rowIndexes, 0, maxDepth, cache)", proxyClasses.get(i));
+            }
+        }, writer);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitCopyDetachedLinksMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.emitAnnotation("SuppressWarnings", "\"unchecked\"");
+        writer.beginMethod(
+                "<E extends RealmObject> void",
+                "copyDetachedLinks",
+                EnumSet.of(Modifier.PUBLIC),
+                "Class<E>", "clazz", "Realm", "realm", "List<E>", "copies", "long[]", "rowIndexes",
+                "int", "currentDepth", "int", "maxDepth", "DetachedObjectCache", "cache"
+        );
+        emitMediatorSwitch(new ProxySwitchStatement() {
+            @Override
+            public String getStatement(int i) {
+                return String.format("%s.copyDetachedLinks(realm, (List<%s>) copies, rowIndexes, currentDepth, maxDepth, cache); break",
+                        proxyClasses.get(i), simpleModelClasses.get(i));
+            }
+        }, writer);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitWriteJsonMethod(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.beginMethod(
+                "<E extends RealmObject> void",
+                "writeJson",
+                EnumSet.of(Modifier.PUBLIC),
+                Arrays.asList("Class<E>", "clazz", "Realm", "realm", "long[]", "rowIndexes", "JsonWriter", "writer", "int", "maxDepth"),
+                Arrays.asList("IOException")
+        );
+        emitMediatorSwitch(new ProxySwitchStatement() {
+            @Override
+            public String getStatement(int i) {
+                return String.format("%s.writeJson(realm, rowIndexes, writer, 0, maxDepth); break", proxyClasses.get(i));
+            }
+        }, writer);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
     private void emitCreteOrUpdateUsingJsonObject(JavaWriter writer) throws IOException {
         writer.emitAnnotation("Override");
         writer.beginMethod(
@@ -268,8 +372,8 @@ public class RealmProxyMediatorGenerator {
         );
         emitMediatorSwitch(new ProxySwitchStatement() {
             @Override
-            public void emitStatement(int i, JavaWriter writer) throws IOException {
-                writer.emitStatement("return clazz.cast(%s.createOrUpdateUsingJsonObject(realm, json, update))", proxyClasses.get(i));
+            public String getStatement(int i) {
+                return String.format("return clazz.cast(%s.createOrUpdateUsingJsonObject(realm, json, update))", proxyClasses.get(i));
             }
         }, writer);
         writer.endMethod();
@@ -287,17 +391,54 @@ public class RealmProxyMediatorGenerator {
         );
         emitMediatorSwitch(new ProxySwitchStatement() {
             @Override
-            public void emitStatement(int i, JavaWriter writer) throws IOException {
-                writer.emitStatement("return clazz.cast(%s.createUsingJsonStream(realm, reader))", proxyClasses.get(i));
+            public String getStatement(int i) {
+                return String.format("return clazz.cast(%s.createUsingJsonStream(realm, reader))", proxyClasses.get(i));
             }
         }, writer);
         writer.endMethod();
         writer.emitEmptyLine();
     }
 
-    // Emits the control flow for selecting the appropriate proxy class based on the model class
-    // Currently it is just if..else, which is inefficient for large amounts amounts of model classes.
-    // Consider switching to HashMap or similar.
+    private void emitCreateOrUpdateUsingJsonStream(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.beginMethod(
+                "<E extends RealmObject> E",
+                "createOrUpdateUsingJsonStream",
+                EnumSet.of(Modifier.PUBLIC),
+                Arrays.asList("Class<E>", "clazz", "Realm", "realm", "JsonReader", "reader"),
+                Arrays.asList("java.io.IOException")
+        );
+        emitMediatorSwitch(new ProxySwitchStatement() {
+            @Override
+            public String getStatement(int i) {
+                return String.format("return clazz.cast(%s.createOrUpdateUsingJsonStream(realm, reader))", proxyClasses.get(i));
+            }
+        }, writer);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    private void emitCreateStandaloneUsingJsonStream(JavaWriter writer) throws IOException {
+        writer.emitAnnotation("Override");
+        writer.beginMethod(
+                "<E extends RealmObject> E",
+                "createStandaloneUsingJsonStream",
+                EnumSet.of(Modifier.PUBLIC),
+                Arrays.asList("Class<E>", "clazz", "JsonReader", "reader"),
+                Arrays.asList("java.io.IOException")
+        );
+        emitMediatorSwitch(new ProxySwitchStatement() {
+            @Override
+            public String getStatement(int i) {
+                return String.format("return clazz.cast(%s.createStandaloneUsingJsonStream(reader))", proxyClasses.get(i));
+            }
+        }, writer);
+        writer.endMethod();
+        writer.emitEmptyLine();
+    }
+
+    // Emits a switch on the id of the model class, so selecting the proxy class takes constant time regardless of the
+    // number of model classes
     private void emitMediatorSwitch(ProxySwitchStatement statement, JavaWriter writer) throws IOException {
         emitMediatorSwitch(statement, writer, true);
     }
@@ -311,14 +452,11 @@ public class RealmProxyMediatorGenerator {
         if (simpleModelClasses.size() == 0) {
             writer.emitStatement("throw getMissingProxyClassException(clazz)");
         } else {
-            writer.beginControlFlow("if (clazz.equals(%s.class))", simpleModelClasses.get(0));
-            statement.emitStatement(0, writer);
-            for (int i = 1; i < simpleModelClasses.size(); i++) {
-                writer.nextControlFlow("else if (clazz.equals(%s.class))", simpleModelClasses.get(i));
-                statement.emitStatement(i, writer);
+            writer.beginControlFlow("switch (getClassId(clazz))");
+            for (int i = 0; i < simpleModelClasses.size(); i++) {
+                writer.emitStatement("case %d: %s", i, statement.getStatement(i));
             }
-            writer.nextControlFlow("else");
-            writer.emitStatement("throw getMissingProxyClassException(clazz)");
+            writer.emitStatement("default: throw getMissingProxyClassException(clazz)");
             writer.endControlFlow();
         }
     }
@@ -328,6 +466,7 @@ public class RealmProxyMediatorGenerator {
     }
 
     private interface ProxySwitchStatement {
-        public void emitStatement(int i, JavaWriter writer) throws IOException;
+        // Returns the statement for the model class with the given id
+        public String getStatement(int i);
     }
 }
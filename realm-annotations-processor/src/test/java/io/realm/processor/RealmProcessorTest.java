@@ -42,6 +42,9 @@ public class RealmProcessorTest {
     private JavaFileObject fieldNamesModel = JavaFileObjects.forResource("some/test/FieldNames.java");
     private JavaFileObject customAccessorModel = JavaFileObjects.forResource("some/test/CustomAccessor.java");
     private JavaFileObject missingGenericTypeModel = JavaFileObjects.forResource("some/test/MissingGenericType.java");
+    private JavaFileObject customerModel = JavaFileObjects.forResource("some/test/Customer.java");
+    private JavaFileObject orderModel = JavaFileObjects.forResource("some/test/Order.java");
+    private JavaFileObject invalidLinkingObjectsModel = JavaFileObjects.forResource("some/test/InvalidLinkingObjects.java");
 
     @Test
     public void compileSimpleFile() {
@@ -242,4 +245,20 @@ public class RealmProcessorTest {
                 .processedWith(new RealmProcessor())
                 .failsToCompile();
     }
+
+    @Test
+    public void compileLinkingObjects() {
+        ASSERT.about(javaSources())
+                .that(Arrays.asList(customerModel, orderModel))
+                .processedWith(new RealmProcessor())
+                .compilesWithoutError();
+    }
+
+    @Test
+    public void compileInvalidLinkingObjects() {
+        ASSERT.about(javaSources())
+                .that(Arrays.asList(invalidLinkingObjectsModel, orderModel, customerModel))
+                .processedWith(new RealmProcessor())
+                .failsToCompile();
+    }
 }
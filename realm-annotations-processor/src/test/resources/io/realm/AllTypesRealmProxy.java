@@ -3,10 +3,12 @@ package io.realm;
 
 import android.util.JsonReader;
 import android.util.JsonToken;
+import android.util.JsonWriter;
 import io.realm.RealmObject;
 import io.realm.exceptions.RealmException;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnType;
+import io.realm.internal.DetachedObjectCache;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
@@ -16,6 +18,7 @@ import io.realm.internal.android.JsonUtils;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -421,6 +424,154 @@ public class AllTypesRealmProxy extends AllTypes
         return obj;
     }
 
+    public static AllTypes createOrUpdateUsingJsonStream(Realm realm, JsonReader reader)
+        throws IOException {
+        Table table = realm.getTable(AllTypes.class);
+        long pkColumnIndex = table.getPrimaryKey();
+        // Fields read before the primary key are kept in a standalone object, until the row is known
+        AllTypes managedObj = null;
+        AllTypes buffer = new AllTypes();
+        boolean[] buffered = new boolean[8];
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            AllTypes obj = managedObj != null ? managedObj : buffer;
+            if (name.equals("columnString") && reader.peek() != JsonToken.NULL) {
+                String primaryKey = reader.nextString();
+                if (managedObj == null) {
+                    long rowIndex = table.findFirstString(pkColumnIndex, primaryKey);
+                    if (rowIndex != TableOrView.NO_MATCH) {
+                        managedObj = new AllTypesRealmProxy();
+                        managedObj.realm = realm;
+                        managedObj.row = table.getUncheckedRow(rowIndex);
+                    } else {
+                        managedObj = realm.createObject(AllTypes.class, primaryKey);
+                    }
+                    applyBufferedJsonFields(buffer, buffered, managedObj);
+                }
+            } else if (name.equals("columnLong") && reader.peek() != JsonToken.NULL) {
+                obj.setColumnLong((long) reader.nextLong());
+                buffered[0] = managedObj == null;
+            } else if (name.equals("columnFloat") && reader.peek() != JsonToken.NULL) {
+                obj.setColumnFloat((float) reader.nextDouble());
+                buffered[1] = managedObj == null;
+            } else if (name.equals("columnDouble") && reader.peek() != JsonToken.NULL) {
+                obj.setColumnDouble((double) reader.nextDouble());
+                buffered[2] = managedObj == null;
+            } else if (name.equals("columnBoolean") && reader.peek() != JsonToken.NULL) {
+                obj.setColumnBoolean((boolean) reader.nextBoolean());
+                buffered[3] = managedObj == null;
+            } else if (name.equals("columnDate") && reader.peek() != JsonToken.NULL) {
+                if (reader.peek() == JsonToken.NUMBER) {
+                    long timestamp = reader.nextLong();
+                    if (timestamp > -1) {
+                        obj.setColumnDate(new Date(timestamp));
+                    }
+                } else {
+                    obj.setColumnDate(JsonUtils.stringToDate(reader.nextString()));
+                }
+                buffered[4] = managedObj == null;
+            } else if (name.equals("columnBinary") && reader.peek() != JsonToken.NULL) {
+                obj.setColumnBinary(JsonUtils.stringToBytes(reader.nextString()));
+                buffered[5] = managedObj == null;
+            } else if (name.equals("columnObject") && reader.peek() != JsonToken.NULL) {
+                some.test.AllTypes columnObjectObj = AllTypesRealmProxy.createOrUpdateUsingJsonStream(realm, reader);
+                obj.setColumnObject(columnObjectObj);
+                buffered[6] = managedObj == null;
+            } else if (name.equals("columnRealmList") && reader.peek() != JsonToken.NULL) {
+                RealmList<some.test.AllTypes> columnRealmListList = new RealmList<some.test.AllTypes>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    columnRealmListList.add(AllTypesRealmProxy.createOrUpdateUsingJsonStream(realm, reader));
+                }
+                reader.endArray();
+                obj.setColumnRealmList(columnRealmListList);
+                buffered[7] = managedObj == null;
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (managedObj == null) {
+            managedObj = realm.createObject(AllTypes.class);
+            applyBufferedJsonFields(buffer, buffered, managedObj);
+        }
+        return managedObj;
+    }
+
+    private static void applyBufferedJsonFields(AllTypes buffer, boolean[] buffered, AllTypes obj) {
+        if (buffered[0]) {
+            obj.setColumnLong(buffer.getColumnLong());
+        }
+        if (buffered[1]) {
+            obj.setColumnFloat(buffer.getColumnFloat());
+        }
+        if (buffered[2]) {
+            obj.setColumnDouble(buffer.getColumnDouble());
+        }
+        if (buffered[3]) {
+            obj.setColumnBoolean(buffer.isColumnBoolean());
+        }
+        if (buffered[4] && buffer.getColumnDate() != null) {
+            obj.setColumnDate(buffer.getColumnDate());
+        }
+        if (buffered[5] && buffer.getColumnBinary() != null) {
+            obj.setColumnBinary(buffer.getColumnBinary());
+        }
+        if (buffered[6] && buffer.getColumnObject() != null) {
+            obj.setColumnObject(buffer.getColumnObject());
+        }
+        if (buffered[7] && buffer.getColumnRealmList() != null) {
+            obj.setColumnRealmList(buffer.getColumnRealmList());
+        }
+    }
+
+    public static AllTypes createStandaloneUsingJsonStream(JsonReader reader)
+        throws IOException {
+        AllTypes obj = new AllTypes();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("columnString") && reader.peek() != JsonToken.NULL) {
+                obj.setColumnString((String) reader.nextString());
+            } else if (name.equals("columnLong") && reader.peek() != JsonToken.NULL) {
+                obj.setColumnLong((long) reader.nextLong());
+            } else if (name.equals("columnFloat") && reader.peek() != JsonToken.NULL) {
+                obj.setColumnFloat((float) reader.nextDouble());
+            } else if (name.equals("columnDouble") && reader.peek() != JsonToken.NULL) {
+                obj.setColumnDouble((double) reader.nextDouble());
+            } else if (name.equals("columnBoolean") && reader.peek() != JsonToken.NULL) {
+                obj.setColumnBoolean((boolean) reader.nextBoolean());
+            } else if (name.equals("columnDate") && reader.peek() != JsonToken.NULL) {
+                if (reader.peek() == JsonToken.NUMBER) {
+                    long timestamp = reader.nextLong();
+                    if (timestamp > -1) {
+                        obj.setColumnDate(new Date(timestamp));
+                    }
+                } else {
+                    obj.setColumnDate(JsonUtils.stringToDate(reader.nextString()));
+                }
+            } else if (name.equals("columnBinary") && reader.peek() != JsonToken.NULL) {
+                obj.setColumnBinary(JsonUtils.stringToBytes(reader.nextString()));
+            } else if (name.equals("columnObject") && reader.peek() != JsonToken.NULL) {
+                some.test.AllTypes columnObjectObj = AllTypesRealmProxy.createStandaloneUsingJsonStream(reader);
+                obj.setColumnObject(columnObjectObj);
+            } else if (name.equals("columnRealmList") && reader.peek() != JsonToken.NULL) {
+                RealmList<some.test.AllTypes> columnRealmListList = new RealmList<some.test.AllTypes>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    columnRealmListList.add(AllTypesRealmProxy.createStandaloneUsingJsonStream(reader));
+                }
+                reader.endArray();
+                obj.setColumnRealmList(columnRealmListList);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return obj;
+    }
+
     public static AllTypes copyOrUpdate(Realm realm, AllTypes object, boolean update, Map<RealmObject,RealmObjectProxy> cache) {
         if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
             return object;
@@ -524,6 +675,229 @@ public class AllTypesRealmProxy extends AllTypes
         return realmObject;
     }
 
+    public static void insert(Realm realm, Collection<? extends AllTypes> objects) {
+        Table table = realm.getTable(AllTypes.class);
+        List<AllTypes> newObjects = new ArrayList<AllTypes>(objects.size());
+        for (AllTypes object : objects) {
+            if (object == null) {
+                throw new IllegalArgumentException("Null objects cannot be copied into Realm.");
+            }
+            if (object.realm == null || !object.realm.getPath().equals(realm.getPath())) {
+                newObjects.add(object);
+            }
+        }
+        int count = newObjects.size();
+        if (count == 0) {
+            return;
+        }
+
+        String[] primaryKeys = new String[count];
+        for (int i = 0; i < count; i++) {
+            primaryKeys[i] = newObjects.get(i).getColumnString();
+        }
+        long firstRowIndex = table.addEmptyRowsWithPrimaryKeys(primaryKeys);
+        Map<RealmObject,RealmObjectProxy> cache = new HashMap<RealmObject,RealmObjectProxy>();
+
+        // columnString was set when the rows were added
+
+        long[] columnLongValues = new long[count];
+        for (int i = 0; i < count; i++) {
+            columnLongValues[i] = newObjects.get(i).getColumnLong();
+        }
+        table.setLongs(INDEX_COLUMNLONG, firstRowIndex, columnLongValues);
+
+        float[] columnFloatValues = new float[count];
+        for (int i = 0; i < count; i++) {
+            columnFloatValues[i] = newObjects.get(i).getColumnFloat();
+        }
+        table.setFloats(INDEX_COLUMNFLOAT, firstRowIndex, columnFloatValues);
+
+        double[] columnDoubleValues = new double[count];
+        for (int i = 0; i < count; i++) {
+            columnDoubleValues[i] = newObjects.get(i).getColumnDouble();
+        }
+        table.setDoubles(INDEX_COLUMNDOUBLE, firstRowIndex, columnDoubleValues);
+
+        boolean[] columnBooleanValues = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            columnBooleanValues[i] = newObjects.get(i).isColumnBoolean();
+        }
+        table.setBooleans(INDEX_COLUMNBOOLEAN, firstRowIndex, columnBooleanValues);
+
+        Date[] columnDateValues = new Date[count];
+        for (int i = 0; i < count; i++) {
+            Date columnDateValue = newObjects.get(i).getColumnDate();
+            columnDateValues[i] = columnDateValue != null ? columnDateValue : new Date(0);
+        }
+        table.setDates(INDEX_COLUMNDATE, firstRowIndex, columnDateValues);
+
+        for (int i = 0; i < count; i++) {
+            byte[] columnBinaryValue = newObjects.get(i).getColumnBinary();
+            table.setBinaryByteArray(INDEX_COLUMNBINARY, firstRowIndex + i, columnBinaryValue != null ? columnBinaryValue : new byte[0]);
+        }
+
+        for (int i = 0; i < count; i++) {
+            some.test.AllTypes columnObjectObj = newObjects.get(i).getColumnObject();
+            if (columnObjectObj != null) {
+                some.test.AllTypes cachecolumnObject = (some.test.AllTypes) cache.get(columnObjectObj);
+                if (cachecolumnObject == null) {
+                    cachecolumnObject = AllTypesRealmProxy.copyOrUpdate(realm, columnObjectObj, false, cache);
+                }
+                table.setLink(INDEX_COLUMNOBJECT, firstRowIndex + i, cachecolumnObject.row.getIndex());
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            RealmList<AllTypes> columnRealmListList = newObjects.get(i).getColumnRealmList();
+            if (columnRealmListList != null) {
+                LinkView columnRealmListLinks = table.getUncheckedRow(firstRowIndex + i).getLinkList(INDEX_COLUMNREALMLIST);
+                for (AllTypes columnRealmListItem : columnRealmListList) {
+                    AllTypes cachecolumnRealmList = (AllTypes) cache.get(columnRealmListItem);
+                    if (cachecolumnRealmList == null) {
+                        cachecolumnRealmList = AllTypesRealmProxy.copyOrUpdate(realm, columnRealmListItem, false, cache);
+                    }
+                    columnRealmListLinks.add(cachecolumnRealmList.row.getIndex());
+                }
+            }
+        }
+    }
+
+    public static List<AllTypes> createDetachedCopies(Realm realm, long[] rowIndexes, int currentDepth, int maxDepth, DetachedObjectCache cache) {
+        Table table = realm.getTable(AllTypes.class);
+        List<AllTypes> copies = new ArrayList<AllTypes>(rowIndexes.length);
+        List<AllTypes> newCopies = new ArrayList<AllTypes>(rowIndexes.length);
+        long[] newRowIndexes = new long[rowIndexes.length];
+        int count = 0;
+        for (long rowIndex : rowIndexes) {
+            AllTypes copy = cache.get(AllTypes.class, rowIndex, currentDepth);
+            if (copy == null) {
+                copy = new AllTypes();
+                cache.put(AllTypes.class, rowIndex, currentDepth, copy);
+                newCopies.add(copy);
+                newRowIndexes[count++] = rowIndex;
+            }
+            copies.add(copy);
+        }
+        if (count == 0) {
+            return copies;
+        }
+        if (count < newRowIndexes.length) {
+            newRowIndexes = Arrays.copyOf(newRowIndexes, count);
+        }
+
+        String[] columnStringValues = table.getStrings(INDEX_COLUMNSTRING, newRowIndexes);
+        for (int i = 0; i < count; i++) {
+            newCopies.get(i).setColumnString(columnStringValues[i]);
+        }
+
+        long[] columnLongValues = table.getLongs(INDEX_COLUMNLONG, newRowIndexes);
+        for (int i = 0; i < count; i++) {
+            newCopies.get(i).setColumnLong(columnLongValues[i]);
+        }
+
+        float[] columnFloatValues = table.getFloats(INDEX_COLUMNFLOAT, newRowIndexes);
+        for (int i = 0; i < count; i++) {
+            newCopies.get(i).setColumnFloat(columnFloatValues[i]);
+        }
+
+        double[] columnDoubleValues = table.getDoubles(INDEX_COLUMNDOUBLE, newRowIndexes);
+        for (int i = 0; i < count; i++) {
+            newCopies.get(i).setColumnDouble(columnDoubleValues[i]);
+        }
+
+        boolean[] columnBooleanValues = table.getBooleans(INDEX_COLUMNBOOLEAN, newRowIndexes);
+        for (int i = 0; i < count; i++) {
+            newCopies.get(i).setColumnBoolean(columnBooleanValues[i]);
+        }
+
+        Date[] columnDateValues = table.getDates(INDEX_COLUMNDATE, newRowIndexes);
+        for (int i = 0; i < count; i++) {
+            newCopies.get(i).setColumnDate(columnDateValues[i]);
+        }
+
+        for (int i = 0; i < count; i++) {
+            newCopies.get(i).setColumnBinary(table.getBinaryByteArray(INDEX_COLUMNBINARY, newRowIndexes[i]));
+        }
+
+        if (currentDepth < maxDepth) {
+            cache.addPendingLinks(AllTypes.class, newCopies, newRowIndexes, currentDepth);
+        }
+        return copies;
+    }
+
+    public static void copyDetachedLinks(Realm realm, List<AllTypes> copies, long[] rowIndexes, int currentDepth, int maxDepth, DetachedObjectCache cache) {
+        Table table = realm.getTable(AllTypes.class);
+        int count = rowIndexes.length;
+        long[] columnObjectTargets = table.getLinks(INDEX_COLUMNOBJECT, rowIndexes);
+        int[] columnObjectPositions = new int[count];
+        int columnObjectCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (columnObjectTargets[i] != -1) {
+                columnObjectTargets[columnObjectCount] = columnObjectTargets[i];
+                columnObjectPositions[columnObjectCount++] = i;
+            }
+        }
+        List<some.test.AllTypes> columnObjectCopies = AllTypesRealmProxy.createDetachedCopies(realm, Arrays.copyOf(columnObjectTargets, columnObjectCount), currentDepth + 1, maxDepth, cache);
+        for (int i = 0; i < columnObjectCount; i++) {
+            copies.get(columnObjectPositions[i]).setColumnObject(columnObjectCopies.get(i));
+        }
+        int[] columnRealmListSizes = new int[count];
+        long[] columnRealmListTargets = DetachedObjectCache.getLinkListTargets(table, INDEX_COLUMNREALMLIST, rowIndexes, columnRealmListSizes);
+        List<AllTypes> columnRealmListCopies = AllTypesRealmProxy.createDetachedCopies(realm, columnRealmListTargets, currentDepth + 1, maxDepth, cache);
+        int columnRealmListPos = 0;
+        for (int i = 0; i < count; i++) {
+            RealmList<AllTypes> columnRealmListList = new RealmList<AllTypes>();
+            for (int j = 0; j < columnRealmListSizes[i]; j++) {
+                columnRealmListList.add(columnRealmListCopies.get(columnRealmListPos++));
+            }
+            copies.get(i).setColumnRealmList(columnRealmListList);
+        }
+    }
+
+    public static void writeJson(Realm realm, long[] rowIndexes, JsonWriter writer, int currentDepth, int maxDepth)
+        throws IOException {
+        Table table = realm.getTable(AllTypes.class);
+        String[] columnStringValues = table.getStrings(INDEX_COLUMNSTRING, rowIndexes);
+        long[] columnLongValues = table.getLongs(INDEX_COLUMNLONG, rowIndexes);
+        float[] columnFloatValues = table.getFloats(INDEX_COLUMNFLOAT, rowIndexes);
+        double[] columnDoubleValues = table.getDoubles(INDEX_COLUMNDOUBLE, rowIndexes);
+        boolean[] columnBooleanValues = table.getBooleans(INDEX_COLUMNBOOLEAN, rowIndexes);
+        Date[] columnDateValues = table.getDates(INDEX_COLUMNDATE, rowIndexes);
+        long[] columnObjectTargets = currentDepth < maxDepth ? table.getLinks(INDEX_COLUMNOBJECT, rowIndexes) : null;
+        for (int i = 0; i < rowIndexes.length; i++) {
+            writer.beginObject();
+            writer.name("columnString").value(columnStringValues[i]);
+            writer.name("columnLong").value(columnLongValues[i]);
+            writer.name("columnFloat").value(Float.valueOf(columnFloatValues[i]));
+            writer.name("columnDouble").value(columnDoubleValues[i]);
+            writer.name("columnBoolean").value(columnBooleanValues[i]);
+            writer.name("columnDate").value(columnDateValues[i].getTime());
+            writer.name("columnBinary").value(JsonUtils.bytesToString(table.getBinaryByteArray(INDEX_COLUMNBINARY, rowIndexes[i])));
+            if (currentDepth < maxDepth) {
+                writer.name("columnObject");
+                if (columnObjectTargets[i] == -1) {
+                    writer.nullValue();
+                } else {
+                    AllTypesRealmProxy.writeJson(realm, new long[] {columnObjectTargets[i]}, writer, currentDepth + 1, maxDepth);
+                }
+            }
+            if (currentDepth < maxDepth) {
+                LinkView columnRealmListLinks = table.getUncheckedRow(rowIndexes[i]).getLinkList(INDEX_COLUMNREALMLIST);
+                long columnRealmListSize = columnRealmListLinks.size();
+                writer.name("columnRealmList").beginArray();
+                for (long start = 0; start < columnRealmListSize; start += RealmResults.JSON_CHUNK_SIZE) {
+                    long[] columnRealmListTargets = new long[(int) Math.min(RealmResults.JSON_CHUNK_SIZE, columnRealmListSize - start)];
+                    for (int j = 0; j < columnRealmListTargets.length; j++) {
+                        columnRealmListTargets[j] = columnRealmListLinks.getTargetRowIndex(start + j);
+                    }
+                    AllTypesRealmProxy.writeJson(realm, columnRealmListTargets, writer, currentDepth + 1, maxDepth);
+                }
+                writer.endArray();
+            }
+            writer.endObject();
+        }
+    }
+
     @Override
     public String toString() {
         if (!isValid()) {
@@ -3,10 +3,12 @@ package io.realm;
 
 import android.util.JsonReader;
 import android.util.JsonToken;
+import android.util.JsonWriter;
 import io.realm.RealmObject;
 import io.realm.exceptions.RealmException;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnType;
+import io.realm.internal.DetachedObjectCache;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
@@ -16,6 +18,7 @@ import io.realm.internal.android.JsonUtils;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -211,6 +214,34 @@ public class BooleansRealmProxy extends Booleans implements RealmObjectProxy {
         return obj;
     }
 
+    public static Booleans createOrUpdateUsingJsonStream(Realm realm, JsonReader reader)
+        throws IOException {
+        // Without a primary key there is nothing to update
+        return createUsingJsonStream(realm, reader);
+    }
+
+    public static Booleans createStandaloneUsingJsonStream(JsonReader reader)
+        throws IOException {
+        Booleans obj = new Booleans();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("done") && reader.peek() != JsonToken.NULL) {
+                obj.setDone((boolean) reader.nextBoolean());
+            } else if (name.equals("isReady") && reader.peek() != JsonToken.NULL) {
+                obj.setReady((boolean) reader.nextBoolean());
+            } else if (name.equals("mCompleted") && reader.peek() != JsonToken.NULL) {
+                obj.setmCompleted((boolean) reader.nextBoolean());
+            } else if (name.equals("anotherBoolean") && reader.peek() != JsonToken.NULL) {
+                obj.setAnotherBoolean((boolean) reader.nextBoolean());
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return obj;
+    }
+
     public static Booleans copyOrUpdate(Realm realm, Booleans object, boolean update, Map<RealmObject,RealmObjectProxy> cache) {
         if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
             return object;
@@ -236,6 +267,114 @@ public class BooleansRealmProxy extends Booleans implements RealmObjectProxy {
         return realmObject;
     }
 
+    public static void insert(Realm realm, Collection<? extends Booleans> objects) {
+        Table table = realm.getTable(Booleans.class);
+        List<Booleans> newObjects = new ArrayList<Booleans>(objects.size());
+        for (Booleans object : objects) {
+            if (object == null) {
+                throw new IllegalArgumentException("Null objects cannot be copied into Realm.");
+            }
+            if (object.realm == null || !object.realm.getPath().equals(realm.getPath())) {
+                newObjects.add(object);
+            }
+        }
+        int count = newObjects.size();
+        if (count == 0) {
+            return;
+        }
+
+        long firstRowIndex = table.addEmptyRows(count);
+
+        boolean[] doneValues = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            doneValues[i] = newObjects.get(i).isDone();
+        }
+        table.setBooleans(INDEX_DONE, firstRowIndex, doneValues);
+
+        boolean[] isReadyValues = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            isReadyValues[i] = newObjects.get(i).isReady();
+        }
+        table.setBooleans(INDEX_ISREADY, firstRowIndex, isReadyValues);
+
+        boolean[] mCompletedValues = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            mCompletedValues[i] = newObjects.get(i).ismCompleted();
+        }
+        table.setBooleans(INDEX_MCOMPLETED, firstRowIndex, mCompletedValues);
+
+        boolean[] anotherBooleanValues = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            anotherBooleanValues[i] = newObjects.get(i).getAnotherBoolean();
+        }
+        table.setBooleans(INDEX_ANOTHERBOOLEAN, firstRowIndex, anotherBooleanValues);
+    }
+
+    public static List<Booleans> createDetachedCopies(Realm realm, long[] rowIndexes, int currentDepth, int maxDepth, DetachedObjectCache cache) {
+        Table table = realm.getTable(Booleans.class);
+        List<Booleans> copies = new ArrayList<Booleans>(rowIndexes.length);
+        List<Booleans> newCopies = new ArrayList<Booleans>(rowIndexes.length);
+        long[] newRowIndexes = new long[rowIndexes.length];
+        int count = 0;
+        for (long rowIndex : rowIndexes) {
+            Booleans copy = cache.get(Booleans.class, rowIndex, currentDepth);
+            if (copy == null) {
+                copy = new Booleans();
+                cache.put(Booleans.class, rowIndex, currentDepth, copy);
+                newCopies.add(copy);
+                newRowIndexes[count++] = rowIndex;
+            }
+            copies.add(copy);
+        }
+        if (count == 0) {
+            return copies;
+        }
+        if (count < newRowIndexes.length) {
+            newRowIndexes = Arrays.copyOf(newRowIndexes, count);
+        }
+
+        boolean[] doneValues = table.getBooleans(INDEX_DONE, newRowIndexes);
+        for (int i = 0; i < count; i++) {
+            newCopies.get(i).setDone(doneValues[i]);
+        }
+
+        boolean[] isReadyValues = table.getBooleans(INDEX_ISREADY, newRowIndexes);
+        for (int i = 0; i < count; i++) {
+            newCopies.get(i).setReady(isReadyValues[i]);
+        }
+
+        boolean[] mCompletedValues = table.getBooleans(INDEX_MCOMPLETED, newRowIndexes);
+        for (int i = 0; i < count; i++) {
+            newCopies.get(i).setmCompleted(mCompletedValues[i]);
+        }
+
+        boolean[] anotherBooleanValues = table.getBooleans(INDEX_ANOTHERBOOLEAN, newRowIndexes);
+        for (int i = 0; i < count; i++) {
+            newCopies.get(i).setAnotherBoolean(anotherBooleanValues[i]);
+        }
+        return copies;
+    }
+
+    public static void copyDetachedLinks(Realm realm, List<Booleans> copies, long[] rowIndexes, int currentDepth, int maxDepth, DetachedObjectCache cache) {
+    }
+
+    public static void writeJson(Realm realm, long[] rowIndexes, JsonWriter writer, int currentDepth, int maxDepth)
+        throws IOException {
+        Table table = realm.getTable(Booleans.class);
+        boolean[] doneValues = table.getBooleans(INDEX_DONE, rowIndexes);
+        boolean[] isReadyValues = table.getBooleans(INDEX_ISREADY, rowIndexes);
+        boolean[] mCompletedValues = table.getBooleans(INDEX_MCOMPLETED, rowIndexes);
+        boolean[] anotherBooleanValues = table.getBooleans(INDEX_ANOTHERBOOLEAN, rowIndexes);
+        for (int i = 0; i < rowIndexes.length; i++) {
+            writer.beginObject();
+            writer.name("done").value(doneValues[i]);
+            writer.name("isReady").value(isReadyValues[i]);
+            writer.name("mCompleted").value(mCompletedValues[i]);
+            writer.name("anotherBoolean").value(anotherBooleanValues[i]);
+            writer.endObject();
+        }
+    }
+
     @Override
     public String toString() {
         if (!isValid()) {
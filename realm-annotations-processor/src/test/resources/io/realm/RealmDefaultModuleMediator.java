@@ -2,14 +2,18 @@ package io.realm;
 
 
 import android.util.JsonReader;
+import android.util.JsonWriter;
 import io.realm.exceptions.RealmException;
+import io.realm.internal.DetachedObjectCache;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
 import io.realm.internal.Table;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import org.json.JSONException;
@@ -20,20 +24,31 @@ import some.test.AllTypes;
 class DefaultRealmModuleMediator extends RealmProxyMediator {
 
     private static final List<Class<? extends RealmObject>> MODEL_CLASSES;
+    private static final Map<Class<? extends RealmObject>, Integer> CLASS_IDS;
     static {
         List<Class<? extends RealmObject>> modelClasses = new ArrayList<Class<? extends RealmObject>>();
         modelClasses.add(AllTypes.class);
         MODEL_CLASSES = Collections.unmodifiableList(modelClasses);
+
+        // Proxy classes share the id of their model class
+        Map<Class<? extends RealmObject>, Integer> classIds = new IdentityHashMap<Class<? extends RealmObject>, Integer>();
+        classIds.put(AllTypes.class, 0);
+        classIds.put(AllTypesRealmProxy.class, 0);
+        CLASS_IDS = classIds;
+    }
+
+    private static int getClassId(Class<? extends RealmObject> clazz) {
+        Integer classId = CLASS_IDS.get(clazz);
+        return (classId != null) ? classId : -1;
     }
 
     @Override
     public Table createTable(Class<? extends RealmObject> clazz, ImplicitTransaction transaction) {
         checkClass(clazz);
 
-        if (clazz.equals(AllTypes.class)) {
-            return AllTypesRealmProxy.initTable(transaction);
-        } else {
-            throw getMissingProxyClassException(clazz);
+        switch (getClassId(clazz)) {
+            case 0: return AllTypesRealmProxy.initTable(transaction);
+            default: throw getMissingProxyClassException(clazz);
         }
     }
 
@@ -41,10 +56,9 @@ class DefaultRealmModuleMediator extends RealmProxyMediator {
     public void validateTable(Class<? extends RealmObject> clazz, ImplicitTransaction transaction) {
         checkClass(clazz);
 
-        if (clazz.equals(AllTypes.class)) {
-            AllTypesRealmProxy.validateTable(transaction);
-        } else {
-            throw getMissingProxyClassException(clazz);
+        switch (getClassId(clazz)) {
+            case 0: AllTypesRealmProxy.validateTable(transaction); break;
+            default: throw getMissingProxyClassException(clazz);
         }
     }
 
@@ -52,10 +66,9 @@ class DefaultRealmModuleMediator extends RealmProxyMediator {
     public List<String> getFieldNames(Class<? extends RealmObject> clazz) {
         checkClass(clazz);
 
-        if (clazz.equals(AllTypes.class)) {
-            return AllTypesRealmProxy.getFieldNames();
-        } else {
-            throw getMissingProxyClassException(clazz);
+        switch (getClassId(clazz)) {
+            case 0: return AllTypesRealmProxy.getFieldNames();
+            default: throw getMissingProxyClassException(clazz);
         }
     }
 
@@ -63,10 +76,9 @@ class DefaultRealmModuleMediator extends RealmProxyMediator {
     public String getTableName(Class<? extends RealmObject> clazz) {
         checkClass(clazz);
 
-        if (clazz.equals(AllTypes.class)) {
-            return AllTypesRealmProxy.getTableName();
-        } else {
-            throw getMissingProxyClassException(clazz);
+        switch (getClassId(clazz)) {
+            case 0: return AllTypesRealmProxy.getTableName();
+            default: throw getMissingProxyClassException(clazz);
         }
     }
 
@@ -74,10 +86,9 @@ class DefaultRealmModuleMediator extends RealmProxyMediator {
     public <E extends RealmObject> E newInstance(Class<E> clazz) {
         checkClass(clazz);
 
-        if (clazz.equals(AllTypes.class)) {
-            return clazz.cast(new AllTypesRealmProxy());
-        } else {
-            throw getMissingProxyClassException(clazz);
+        switch (getClassId(clazz)) {
+            case 0: return clazz.cast(new AllTypesRealmProxy());
+            default: throw getMissingProxyClassException(clazz);
         }
     }
 
@@ -90,47 +101,109 @@ class DefaultRealmModuleMediator extends RealmProxyMediator {
     public Map<String, Long> getColumnIndices(Class<? extends RealmObject> clazz) {
         checkClass(clazz);
 
-        if (clazz.equals(AllTypes.class)) {
-            return AllTypesRealmProxy.getColumnIndices();
-        } else {
-            throw getMissingProxyClassException(clazz);
+        switch (getClassId(clazz)) {
+            case 0: return AllTypesRealmProxy.getColumnIndices();
+            default: throw getMissingProxyClassException(clazz);
         }
     }
 
     @Override
     public <E extends RealmObject> E copyOrUpdate(Realm realm, E obj, boolean update, Map<RealmObject, RealmObjectProxy> cache) {
-        // This cast is correct because obj is either
-        // generated by RealmProxy or the original type extending directly from RealmObject
-        @SuppressWarnings("unchecked") Class<E> clazz = (Class<E>) ((obj instanceof RealmObjectProxy) ? obj.getClass().getSuperclass() : obj.getClass());
-
-        if (clazz.equals(AllTypes.class)) {
-            return clazz.cast(AllTypesRealmProxy.copyOrUpdate(realm, (AllTypes) obj, update, cache));
-        } else {
-            throw getMissingProxyClassException(clazz);
+        // Proxy classes have the id of their model class, and the copy of a proxy is of the same 
+        // proxy class, so the class of obj can be used both for the dispatch and the cast
+        @SuppressWarnings("unchecked") Class<E> clazz = (Class<E>) obj.getClass();
+
+        switch (getClassId(clazz)) {
+            case 0: return clazz.cast(AllTypesRealmProxy.copyOrUpdate(realm, (AllTypes) obj, update, cache));
+            default: throw getMissingProxyClassException(clazz);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E extends RealmObject> void insert(Class<E> clazz, Realm realm, Collection<? extends E> objects) {
+        checkClass(clazz);
+
+        switch (getClassId(clazz)) {
+            case 0: AllTypesRealmProxy.insert(realm, (Collection<AllTypes>) objects); break;
+            default: throw getMissingProxyClassException(clazz);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E extends RealmObject> List<E> createDetachedCopies(Class<E> clazz, Realm realm, long[] rowIndexes, int maxDepth, DetachedObjectCache cache) {
+        checkClass(clazz);
+
+        switch (getClassId(clazz)) {
+            case 0: return (List<E>) AllTypesRealmProxy.createDetachedCopies(realm, rowIndexes, 0, maxDepth, cache);
+            default: throw getMissingProxyClassException(clazz);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E extends RealmObject> void copyDetachedLinks(Class<E> clazz, Realm realm, List<E> copies, long[] rowIndexes, int currentDepth, int maxDepth, DetachedObjectCache cache) {
+        checkClass(clazz);
+
+        switch (getClassId(clazz)) {
+            case 0: AllTypesRealmProxy.copyDetachedLinks(realm, (List<AllTypes>) copies, rowIndexes, currentDepth, maxDepth, cache); break;
+            default: throw getMissingProxyClassException(clazz);
+        }
+    }
+
+    @Override
+    public <E extends RealmObject> void writeJson(Class<E> clazz, Realm realm, long[] rowIndexes, JsonWriter writer, int maxDepth)
+        throws IOException {
+        checkClass(clazz);
+
+        switch (getClassId(clazz)) {
+            case 0: AllTypesRealmProxy.writeJson(realm, rowIndexes, writer, 0, maxDepth); break;
+            default: throw getMissingProxyClassException(clazz);
         }
     }
 
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update)
-            throws JSONException {
+        throws JSONException {
         checkClass(clazz);
 
-        if (clazz.equals(AllTypes.class)) {
-            return clazz.cast(AllTypesRealmProxy.createOrUpdateUsingJsonObject(realm, json, update));
-        } else {
-            throw getMissingProxyClassException(clazz);
+        switch (getClassId(clazz)) {
+            case 0: return clazz.cast(AllTypesRealmProxy.createOrUpdateUsingJsonObject(realm, json, update));
+            default: throw getMissingProxyClassException(clazz);
         }
     }
 
     @Override
     public <E extends RealmObject> E createUsingJsonStream(Class<E> clazz, Realm realm, JsonReader reader)
-            throws IOException {
+        throws IOException {
+        checkClass(clazz);
+
+        switch (getClassId(clazz)) {
+            case 0: return clazz.cast(AllTypesRealmProxy.createUsingJsonStream(realm, reader));
+            default: throw getMissingProxyClassException(clazz);
+        }
+    }
+
+    @Override
+    public <E extends RealmObject> E createOrUpdateUsingJsonStream(Class<E> clazz, Realm realm, JsonReader reader)
+        throws IOException {
+        checkClass(clazz);
+
+        switch (getClassId(clazz)) {
+            case 0: return clazz.cast(AllTypesRealmProxy.createOrUpdateUsingJsonStream(realm, reader));
+            default: throw getMissingProxyClassException(clazz);
+        }
+    }
+
+    @Override
+    public <E extends RealmObject> E createStandaloneUsingJsonStream(Class<E> clazz, JsonReader reader)
+        throws IOException {
         checkClass(clazz);
 
-        if (clazz.equals(AllTypes.class)) {
-            return clazz.cast(AllTypesRealmProxy.createUsingJsonStream(realm, reader));
-        } else {
-            throw getMissingProxyClassException(clazz);
+        switch (getClassId(clazz)) {
+            case 0: return clazz.cast(AllTypesRealmProxy.createStandaloneUsingJsonStream(reader));
+            default: throw getMissingProxyClassException(clazz);
         }
     }
 
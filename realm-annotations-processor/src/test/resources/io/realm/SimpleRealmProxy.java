@@ -3,10 +3,12 @@ package io.realm;
 
 import android.util.JsonReader;
 import android.util.JsonToken;
+import android.util.JsonWriter;
 import io.realm.RealmObject;
 import io.realm.exceptions.RealmException;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnType;
+import io.realm.internal.DetachedObjectCache;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.LinkView;
 import io.realm.internal.RealmObjectProxy;
@@ -16,6 +18,7 @@ import io.realm.internal.android.JsonUtils;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -158,6 +161,30 @@ public class SimpleRealmProxy extends Simple
         return obj;
     }
 
+    public static Simple createOrUpdateUsingJsonStream(Realm realm, JsonReader reader)
+        throws IOException {
+        // Without a primary key there is nothing to update
+        return createUsingJsonStream(realm, reader);
+    }
+
+    public static Simple createStandaloneUsingJsonStream(JsonReader reader)
+        throws IOException {
+        Simple obj = new Simple();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("name") && reader.peek() != JsonToken.NULL) {
+                obj.setName((String) reader.nextString());
+            } else if (name.equals("age") && reader.peek() != JsonToken.NULL) {
+                obj.setAge((int) reader.nextInt());
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return obj;
+    }
+
     public static Simple copyOrUpdate(Realm realm, Simple object, boolean update, Map<RealmObject,RealmObjectProxy> cache) {
         if (object.realm != null && object.realm.getPath().equals(realm.getPath())) {
             return object;
@@ -179,6 +206,89 @@ public class SimpleRealmProxy extends Simple
         return realmObject;
     }
 
+    public static void insert(Realm realm, Collection<? extends Simple> objects) {
+        Table table = realm.getTable(Simple.class);
+        List<Simple> newObjects = new ArrayList<Simple>(objects.size());
+        for (Simple object : objects) {
+            if (object == null) {
+                throw new IllegalArgumentException("Null objects cannot be copied into Realm.");
+            }
+            if (object.realm == null || !object.realm.getPath().equals(realm.getPath())) {
+                newObjects.add(object);
+            }
+        }
+        int count = newObjects.size();
+        if (count == 0) {
+            return;
+        }
+
+        long firstRowIndex = table.addEmptyRows(count);
+
+        String[] nameValues = new String[count];
+        for (int i = 0; i < count; i++) {
+            String nameValue = newObjects.get(i).getName();
+            nameValues[i] = nameValue != null ? nameValue : "";
+        }
+        table.setStrings(INDEX_NAME, firstRowIndex, nameValues);
+
+        long[] ageValues = new long[count];
+        for (int i = 0; i < count; i++) {
+            ageValues[i] = newObjects.get(i).getAge();
+        }
+        table.setLongs(INDEX_AGE, firstRowIndex, ageValues);
+    }
+
+    public static List<Simple> createDetachedCopies(Realm realm, long[] rowIndexes, int currentDepth, int maxDepth, DetachedObjectCache cache) {
+        Table table = realm.getTable(Simple.class);
+        List<Simple> copies = new ArrayList<Simple>(rowIndexes.length);
+        List<Simple> newCopies = new ArrayList<Simple>(rowIndexes.length);
+        long[] newRowIndexes = new long[rowIndexes.length];
+        int count = 0;
+        for (long rowIndex : rowIndexes) {
+            Simple copy = cache.get(Simple.class, rowIndex, currentDepth);
+            if (copy == null) {
+                copy = new Simple();
+                cache.put(Simple.class, rowIndex, currentDepth, copy);
+                newCopies.add(copy);
+                newRowIndexes[count++] = rowIndex;
+            }
+            copies.add(copy);
+        }
+        if (count == 0) {
+            return copies;
+        }
+        if (count < newRowIndexes.length) {
+            newRowIndexes = Arrays.copyOf(newRowIndexes, count);
+        }
+
+        String[] nameValues = table.getStrings(INDEX_NAME, newRowIndexes);
+        for (int i = 0; i < count; i++) {
+            newCopies.get(i).setName(nameValues[i]);
+        }
+
+        long[] ageValues = table.getLongs(INDEX_AGE, newRowIndexes);
+        for (int i = 0; i < count; i++) {
+            newCopies.get(i).setAge((int) ageValues[i]);
+        }
+        return copies;
+    }
+
+    public static void copyDetachedLinks(Realm realm, List<Simple> copies, long[] rowIndexes, int currentDepth, int maxDepth, DetachedObjectCache cache) {
+    }
+
+    public static void writeJson(Realm realm, long[] rowIndexes, JsonWriter writer, int currentDepth, int maxDepth)
+        throws IOException {
+        Table table = realm.getTable(Simple.class);
+        String[] nameValues = table.getStrings(INDEX_NAME, rowIndexes);
+        long[] ageValues = table.getLongs(INDEX_AGE, rowIndexes);
+        for (int i = 0; i < rowIndexes.length; i++) {
+            writer.beginObject();
+            writer.name("name").value(nameValues[i]);
+            writer.name("age").value(ageValues[i]);
+            writer.endObject();
+        }
+    }
+
     @Override
     public String toString() {
         if (!isValid()) {
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The @LinkingObjects annotation marks a field as the inverse of a relationship. The field must be of type
+ * {@code RealmResults<T>}, where T is the class containing the relationship, and {@link #value()} is the name of the
+ * field in T which refers to this class. The field can either be a single object reference or a RealmList.
+ *
+ * <pre>
+ * public class Customer extends RealmObject {
+ *     &#64;LinkingObjects("customer")
+ *     private RealmResults&lt;Order&gt; orders;
+ *     ...
+ * }
+ * </pre>
+ *
+ * The field is not stored in the Realm. Its getter returns the objects currently referring to this object, which
+ * are found using the backlinks kept by the Realm rather than by searching all objects of class T. Only a getter
+ * may be declared for the field.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface LinkingObjects {
+
+    /**
+     * The name of the field in the linking class which refers to this class.
+     */
+    String value();
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#include "change_journal.hpp"
+
+#include <algorithm>
+#include <deque>
+#include <mutex>
+
+#include <realm/table.hpp>
+
+using namespace realm;
+
+namespace change_journal {
+
+namespace {
+
+struct Entry {
+    uint64_t seq;
+    TableChanges changes;
+};
+
+struct Journal {
+    std::deque<Entry> entries;
+    size_t size;            // number of row operations and modified rows held
+    uint64_t dropped_seq;   // changes up to this sequence number were dropped without being fetched
+};
+
+struct Consumer {
+    const Group* group;
+    std::vector<size_t> table_ndxs;
+    uint64_t seq;           // the consumer has seen the changes up to this sequence number
+};
+
+// Consumers are removed from the finalizer thread as well, so everything is locked
+std::mutex journal_mutex;
+uint64_t last_seq = 0;
+std::map<const Group*, std::map<size_t, Journal> > journals;
+std::map<const void*, Consumer> consumers;
+
+// A consumer only follows the changes while they are few compared to the size of what it watches, so a journal is
+// not allowed to grow much beyond that either.
+const size_t journal_min_capacity = 1024;
+
+size_t entry_size(const TableChanges& changes)
+{
+    return 1 + changes.ops.size() + changes.modified.size();
+}
+
+// Drops the entries all consumers of a table have seen, and the journal itself once no consumer is left.
+// journal_mutex must be held.
+void prune(const Group* group, size_t table_ndx)
+{
+    std::map<const Group*, std::map<size_t, Journal> >::iterator group_it = journals.find(group);
+    if (group_it == journals.end())
+        return;
+    std::map<size_t, Journal>::iterator it = group_it->second.find(table_ndx);
+    if (it == group_it->second.end())
+        return;
+
+    bool watched = false;
+    uint64_t min_seq = last_seq;
+    for (std::map<const void*, Consumer>::const_iterator c = consumers.begin(); c != consumers.end(); ++c) {
+        const Consumer& consumer = c->second;
+        if (consumer.group != group)
+            continue;
+        if (std::find(consumer.table_ndxs.begin(), consumer.table_ndxs.end(), table_ndx) != consumer.table_ndxs.end()) {
+            watched = true;
+            min_seq = std::min(min_seq, consumer.seq);
+        }
+    }
+    if (!watched) {
+        group_it->second.erase(it);
+        if (group_it->second.empty())
+            journals.erase(group_it);
+        return;
+    }
+
+    Journal& journal = it->second;
+    while (!journal.entries.empty() && journal.entries.front().seq <= min_seq) {
+        journal.size -= entry_size(journal.entries.front().changes);
+        journal.entries.pop_front();
+    }
+}
+
+// journal_mutex must be held
+void remove_consumer(const void* key)
+{
+    std::map<const void*, Consumer>::iterator it = consumers.find(key);
+    if (it == consumers.end())
+        return;
+    Consumer consumer = it->second;
+    consumers.erase(it);
+    for (size_t i = 0; i < consumer.table_ndxs.size(); ++i)
+        prune(consumer.group, consumer.table_ndxs[i]);
+}
+
+} // anonymous namespace
+
+void watch(const void* key, const Group* group, const std::vector<size_t>& table_ndxs)
+{
+    std::lock_guard<std::mutex> lock(journal_mutex);
+    remove_consumer(key);
+
+    Consumer& consumer = consumers[key];
+    consumer.group = group;
+    consumer.table_ndxs = table_ndxs;
+    consumer.seq = last_seq;
+    std::map<size_t, Journal>& tables = journals[group];
+    for (size_t i = 0; i < table_ndxs.size(); ++i) {
+        std::map<size_t, Journal>::iterator it = tables.find(table_ndxs[i]);
+        if (it == tables.end()) {
+            Journal& journal = tables[table_ndxs[i]];
+            journal.size = 0;
+            journal.dropped_seq = last_seq;
+        }
+    }
+}
+
+void unwatch(const void* key)
+{
+    std::lock_guard<std::mutex> lock(journal_mutex);
+    remove_consumer(key);
+}
+
+bool get_changes(const void* key, size_t table_ndx, std::vector<TableChanges>& changes)
+{
+    std::lock_guard<std::mutex> lock(journal_mutex);
+    std::map<const void*, Consumer>::const_iterator c = consumers.find(key);
+    if (c == consumers.end())
+        return false;
+    const Consumer& consumer = c->second;
+    std::map<const Group*, std::map<size_t, Journal> >::const_iterator group_it = journals.find(consumer.group);
+    if (group_it == journals.end())
+        return false;
+    std::map<size_t, Journal>::const_iterator it = group_it->second.find(table_ndx);
+    if (it == group_it->second.end())
+        return false;
+
+    const Journal& journal = it->second;
+    if (journal.dropped_seq > consumer.seq)
+        return false;
+    for (std::deque<Entry>::const_iterator e = journal.entries.begin(); e != journal.entries.end(); ++e) {
+        if (e->seq <= consumer.seq)
+            continue;
+        if (!e->changes.complete)
+            return false;
+        changes.push_back(e->changes);
+    }
+    return true;
+}
+
+Recorder::Recorder(Group& group) : m_group(group), m_current(NULL)
+{
+    std::vector<size_t> table_ndxs;
+    {
+        std::lock_guard<std::mutex> lock(journal_mutex);
+        std::map<const Group*, std::map<size_t, Journal> >::const_iterator group_it = journals.find(&group);
+        if (group_it == journals.end())
+            return;
+        for (std::map<size_t, Journal>::const_iterator it = group_it->second.begin(); it != group_it->second.end(); ++it)
+            table_ndxs.push_back(it->first);
+    }
+
+    // A table whose columns are inserted or removed is not followed, as its rows are not changed one by one. Such
+    // changes are found by comparing the columns before and after the transaction.
+    for (size_t i = 0; i < table_ndxs.size(); ++i) {
+        RecordedTable& table = m_tables[table_ndxs[i]];
+        table.changes.complete = true;
+        table.column_count = table_ndxs[i] < group.size() ? group.get_table(table_ndxs[i])->get_column_count() : 0;
+        table.touched = false;
+    }
+}
+
+void Recorder::select_table(size_t group_level_ndx, int levels)
+{
+    // Changes to subtables do not change the rows of the group level table as far as its consumers are concerned
+    m_current = NULL;
+    if (levels != 0)
+        return;
+    std::map<size_t, RecordedTable>::iterator it = m_tables.find(group_level_ndx);
+    if (it != m_tables.end())
+        m_current = &it->second;
+}
+
+void Recorder::insert_rows(size_t row_ndx, size_t num_rows, size_t prior_size, bool unordered)
+{
+    if (!m_current)
+        return;
+    m_current->touched = true;
+    TableChanges& changes = m_current->changes;
+    if (!changes.complete)
+        return;
+    if (!unordered && row_ndx != prior_size) {
+        changes.complete = false;
+        return;
+    }
+    RowOp op = { true, unordered, row_ndx, num_rows, prior_size };
+    changes.ops.push_back(op);
+    if (unordered) {
+        // The rows at the insertion point are moved to the end to make room
+        move_modified(row_ndx, std::min(row_ndx + num_rows, prior_size), prior_size);
+    }
+}
+
+void Recorder::erase_rows(size_t row_ndx, size_t num_rows, size_t prior_size, bool unordered)
+{
+    if (!m_current)
+        return;
+    m_current->touched = true;
+    TableChanges& changes = m_current->changes;
+    if (!changes.complete)
+        return;
+    if (!unordered && row_ndx + num_rows != prior_size) {
+        changes.complete = false;
+        return;
+    }
+    RowOp op = { false, unordered, row_ndx, num_rows, prior_size };
+    changes.ops.push_back(op);
+    changes.modified.erase(changes.modified.lower_bound(row_ndx), changes.modified.lower_bound(row_ndx + num_rows));
+    if (unordered) {
+        // The last rows are moved into the gap
+        size_t moved_from = prior_size - num_rows;
+        move_modified(std::max(moved_from, row_ndx + num_rows), prior_size,
+                      row_ndx + (std::max(moved_from, row_ndx + num_rows) - moved_from));
+    }
+}
+
+void Recorder::clear_table()
+{
+    if (!m_current)
+        return;
+    m_current->touched = true;
+    m_current->changes.complete = false;
+}
+
+void Recorder::modify(size_t col_ndx, size_t row_ndx)
+{
+    if (!m_current)
+        return;
+    m_current->touched = true;
+    if (m_current->changes.complete)
+        m_current->changes.modified[row_ndx] |= column_bit(col_ndx);
+}
+
+// Gives the modified rows in [first, last) the indexes from new_first on. The new indexes do not overlap any
+// modified row.
+void Recorder::move_modified(size_t first, size_t last, size_t new_first)
+{
+    std::map<size_t, uint64_t>& modified = m_current->changes.modified;
+    std::map<size_t, uint64_t>::iterator begin = modified.lower_bound(first);
+    std::map<size_t, uint64_t>::iterator end = modified.lower_bound(last);
+    std::vector<std::pair<size_t, uint64_t> > moved(begin, end);
+    modified.erase(begin, end);
+    for (size_t i = 0; i < moved.size(); ++i)
+        modified[new_first + (moved[i].first - first)] |= moved[i].second;
+}
+
+void Recorder::end()
+{
+    if (m_tables.empty())
+        return;
+
+    std::map<size_t, size_t> capacities;
+    for (std::map<size_t, RecordedTable>::iterator it = m_tables.begin(); it != m_tables.end(); ++it) {
+        RecordedTable& table = it->second;
+        size_t table_size = 0;
+        if (it->first < m_group.size()) {
+            ConstTableRef ref = m_group.get_table(it->first);
+            table_size = ref->size();
+            if (ref->get_column_count() != table.column_count) {
+                table.touched = true;
+                table.changes.complete = false;
+            }
+        }
+        else {
+            table.touched = true;
+            table.changes.complete = false;
+        }
+        capacities[it->first] = std::max(journal_min_capacity, table_size / 2);
+    }
+
+    std::lock_guard<std::mutex> lock(journal_mutex);
+    std::map<const Group*, std::map<size_t, Journal> >::iterator group_it = journals.find(&m_group);
+    if (group_it == journals.end())
+        return;
+    uint64_t seq = ++last_seq;
+    for (std::map<size_t, RecordedTable>::iterator it = m_tables.begin(); it != m_tables.end(); ++it) {
+        if (!it->second.touched)
+            continue;
+        std::map<size_t, Journal>::iterator journal_it = group_it->second.find(it->first);
+        if (journal_it == group_it->second.end())
+            continue;   // no longer watched
+        Journal& journal = journal_it->second;
+        TableChanges& changes = it->second.changes;
+        if (!changes.complete) {
+            changes.ops.clear();
+            changes.modified.clear();
+        }
+        journal.size += entry_size(changes);
+        journal.entries.push_back(Entry());
+        journal.entries.back().seq = seq;
+        journal.entries.back().changes.complete = changes.complete;
+        journal.entries.back().changes.ops.swap(changes.ops);
+        journal.entries.back().changes.modified.swap(changes.modified);
+        if (journal.size > capacities[it->first]) {
+            journal.entries.clear();
+            journal.size = 0;
+            journal.dropped_seq = seq;
+        }
+    }
+}
+
+} // namespace change_journal
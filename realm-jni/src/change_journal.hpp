@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+#ifndef __REALM_CHANGE_JOURNAL__
+#define __REALM_CHANGE_JOURNAL__
+
+#include <stdint.h>
+#include <map>
+#include <vector>
+
+#include <realm/group.hpp>
+
+// Records how the rows of group level tables change in the transactions read in or committed through a shared group,
+// so a consumer such as a sorted view can bring itself up to date by looking at the changed rows only. Tables are
+// only recorded while a consumer watches them, and the transaction logs of a group are only parsed for this while
+// one of its tables is watched.
+namespace change_journal {
+
+// An insert_empty_rows() or erase_rows() instruction. Rows are only inserted at the end or with the rows at the
+// insertion point moved to the end, and only erased at the end or with the last rows moved into the gap. Other
+// inserts and erases shift all rows behind them and make the changes of the transaction incomplete.
+struct RowOp {
+    bool insert;
+    bool unordered;
+    size_t row_ndx;
+    size_t num_rows;
+    size_t prior_size;  // size of the table before the instruction
+};
+
+// The changes made to a table by one transaction. The modified rows are given by their index after all row
+// operations of the transaction, with a mask of their modified columns in which bit 62 stands for all columns
+// from 62 and up.
+struct TableChanges {
+    bool complete;      // false if the rows were changed in a way which is not recorded row by row
+    std::vector<RowOp> ops;
+    std::map<size_t, uint64_t> modified;
+};
+
+inline uint64_t column_bit(size_t col_ndx)
+{
+    return uint64_t(1) << (col_ndx < 62 ? col_ndx : 62);
+}
+
+// Starts (or restarts) recording the changes of the given tables of a group for a consumer. Changes the consumer
+// has not fetched yet are dropped, so this is called whenever the consumer has caught up with the group.
+void watch(const void* consumer, const realm::Group* group, const std::vector<size_t>& table_ndxs);
+
+void unwatch(const void* consumer);
+
+// Appends the changes made to a table of the group since the consumer last called watch(). Returns false if they are
+// not all known, which is the case if the table is not watched by the consumer, if too many changes were recorded
+// for them to be kept, or if a transaction changed the table in a way which is not recorded row by row.
+bool get_changes(const void* consumer, size_t table_ndx, std::vector<TableChanges>& changes);
+
+// Fed with the instructions of one transaction of a group. The tables watched are those being watched when it is
+// created, and their changes are added to the journal by end().
+class Recorder {
+public:
+    explicit Recorder(realm::Group& group);
+
+    bool is_recording() const
+    {
+        return !m_tables.empty();
+    }
+
+    void select_table(size_t group_level_ndx, int levels);
+    void insert_rows(size_t row_ndx, size_t num_rows, size_t prior_size, bool unordered);
+    void erase_rows(size_t row_ndx, size_t num_rows, size_t prior_size, bool unordered);
+    void clear_table();
+    void modify(size_t col_ndx, size_t row_ndx);
+
+    // Must be called once the transaction has been applied to the group
+    void end();
+
+private:
+    struct RecordedTable {
+        TableChanges changes;
+        size_t column_count;
+        bool touched;
+    };
+
+    realm::Group& m_group;
+    std::map<size_t, RecordedTable> m_tables;
+    RecordedTable* m_current;
+
+    void move_modified(size_t first, size_t last, size_t new_first);
+};
+
+} // namespace change_journal
+
+#endif // __REALM_CHANGE_JOURNAL__
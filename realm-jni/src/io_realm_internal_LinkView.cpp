@@ -20,6 +20,70 @@
 
 using namespace realm;
 
+namespace {
+
+// Aggregates are computed by visiting the link targets directly, without creating a query or any row accessors.
+template <typename T, typename R>
+struct LinkViewAggregate {
+    size_t count;
+    R sum;
+    T min;
+    T max;
+};
+
+template <typename T, typename R, typename Getter>
+LinkViewAggregate<T, R> aggregate_links(LinkView* lv, size_t column_ndx, Getter get)
+{
+    const Table& target = lv->get_target_table();
+    LinkViewAggregate<T, R> result;
+    result.count = lv->size();
+    result.sum = R();
+    result.min = T();
+    result.max = T();
+    for (size_t i = 0; i < result.count; ++i) {
+        T value = get(target, column_ndx, lv->get(i).get_index());
+        result.sum += value;
+        if (i == 0 || value < result.min)
+            result.min = value;
+        if (i == 0 || value > result.max)
+            result.max = value;
+    }
+    return result;
+}
+
+inline int64_t get_int_value(const Table& table, size_t column_ndx, size_t row_ndx)
+{
+    return table.get_int(column_ndx, row_ndx);
+}
+
+inline float get_float_value(const Table& table, size_t column_ndx, size_t row_ndx)
+{
+    return table.get_float(column_ndx, row_ndx);
+}
+
+inline double get_double_value(const Table& table, size_t column_ndx, size_t row_ndx)
+{
+    return table.get_double(column_ndx, row_ndx);
+}
+
+inline int64_t get_datetime_value(const Table& table, size_t column_ndx, size_t row_ndx)
+{
+    return table.get_datetime(column_ndx, row_ndx).get_datetime();
+}
+
+inline bool link_view_column_valid(JNIEnv* env, LinkView* lv, jlong columnIndex, DataType type)
+{
+    return COL_INDEX_AND_TYPE_VALID(env, &lv->get_target_table(), columnIndex, type);
+}
+
+template <typename R, typename Aggregate>
+inline R average(const Aggregate& aggregate)
+{
+    return aggregate.count == 0 ? R() : R(aggregate.sum) / aggregate.count;
+}
+
+} // anonymous namespace
+
 JNIEXPORT void JNICALL Java_io_realm_internal_LinkView_nativeClose
   (JNIEnv*, jclass, jlong nativeLinkViewPtr)
 {
@@ -165,3 +229,185 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeWhere
     } CATCH_STD()
     return 0;
 }
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeSumLong
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    LinkView* lv = LV(nativeLinkViewPtr);
+    if (!link_view_column_valid(env, lv, columnIndex, type_Int))
+        return 0;
+    try {
+        return aggregate_links<int64_t, int64_t>(lv, S(columnIndex), get_int_value).sum;
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeMaximumLong
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    LinkView* lv = LV(nativeLinkViewPtr);
+    if (!link_view_column_valid(env, lv, columnIndex, type_Int))
+        return 0;
+    try {
+        return aggregate_links<int64_t, int64_t>(lv, S(columnIndex), get_int_value).max;
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeMinimumLong
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    LinkView* lv = LV(nativeLinkViewPtr);
+    if (!link_view_column_valid(env, lv, columnIndex, type_Int))
+        return 0;
+    try {
+        return aggregate_links<int64_t, int64_t>(lv, S(columnIndex), get_int_value).min;
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jdouble JNICALL Java_io_realm_internal_LinkView_nativeAverageLong
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    LinkView* lv = LV(nativeLinkViewPtr);
+    if (!link_view_column_valid(env, lv, columnIndex, type_Int))
+        return 0;
+    try {
+        return average<double>(aggregate_links<int64_t, int64_t>(lv, S(columnIndex), get_int_value));
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jdouble JNICALL Java_io_realm_internal_LinkView_nativeSumFloat
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    LinkView* lv = LV(nativeLinkViewPtr);
+    if (!link_view_column_valid(env, lv, columnIndex, type_Float))
+        return 0;
+    try {
+        return aggregate_links<float, double>(lv, S(columnIndex), get_float_value).sum;
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jfloat JNICALL Java_io_realm_internal_LinkView_nativeMaximumFloat
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    LinkView* lv = LV(nativeLinkViewPtr);
+    if (!link_view_column_valid(env, lv, columnIndex, type_Float))
+        return 0;
+    try {
+        return aggregate_links<float, double>(lv, S(columnIndex), get_float_value).max;
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jfloat JNICALL Java_io_realm_internal_LinkView_nativeMinimumFloat
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    LinkView* lv = LV(nativeLinkViewPtr);
+    if (!link_view_column_valid(env, lv, columnIndex, type_Float))
+        return 0;
+    try {
+        return aggregate_links<float, double>(lv, S(columnIndex), get_float_value).min;
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jdouble JNICALL Java_io_realm_internal_LinkView_nativeAverageFloat
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    LinkView* lv = LV(nativeLinkViewPtr);
+    if (!link_view_column_valid(env, lv, columnIndex, type_Float))
+        return 0;
+    try {
+        return average<double>(aggregate_links<float, double>(lv, S(columnIndex), get_float_value));
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jdouble JNICALL Java_io_realm_internal_LinkView_nativeSumDouble
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    LinkView* lv = LV(nativeLinkViewPtr);
+    if (!link_view_column_valid(env, lv, columnIndex, type_Double))
+        return 0;
+    try {
+        return aggregate_links<double, double>(lv, S(columnIndex), get_double_value).sum;
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jdouble JNICALL Java_io_realm_internal_LinkView_nativeMaximumDouble
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    LinkView* lv = LV(nativeLinkViewPtr);
+    if (!link_view_column_valid(env, lv, columnIndex, type_Double))
+        return 0;
+    try {
+        return aggregate_links<double, double>(lv, S(columnIndex), get_double_value).max;
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jdouble JNICALL Java_io_realm_internal_LinkView_nativeMinimumDouble
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    LinkView* lv = LV(nativeLinkViewPtr);
+    if (!link_view_column_valid(env, lv, columnIndex, type_Double))
+        return 0;
+    try {
+        return aggregate_links<double, double>(lv, S(columnIndex), get_double_value).min;
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jdouble JNICALL Java_io_realm_internal_LinkView_nativeAverageDouble
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    LinkView* lv = LV(nativeLinkViewPtr);
+    if (!link_view_column_valid(env, lv, columnIndex, type_Double))
+        return 0;
+    try {
+        return average<double>(aggregate_links<double, double>(lv, S(columnIndex), get_double_value));
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeMaximumDate
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    LinkView* lv = LV(nativeLinkViewPtr);
+    if (!link_view_column_valid(env, lv, columnIndex, type_DateTime))
+        return 0;
+    try {
+        return aggregate_links<int64_t, int64_t>(lv, S(columnIndex), get_datetime_value).max;
+    } CATCH_STD()
+    return 0;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeMinimumDate
+  (JNIEnv* env, jobject, jlong nativeLinkViewPtr, jlong columnIndex)
+{
+    TR_ENTER_PTR(nativeLinkViewPtr)
+    LinkView* lv = LV(nativeLinkViewPtr);
+    if (!link_view_column_valid(env, lv, columnIndex, type_DateTime))
+        return 0;
+    try {
+        return aggregate_links<int64_t, int64_t>(lv, S(columnIndex), get_datetime_value).min;
+    } CATCH_STD()
+    return 0;
+}
@@ -103,6 +103,118 @@ JNIEXPORT jboolean JNICALL Java_io_realm_internal_LinkView_nativeIsEmpty
 JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeWhere
   (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeSumLong
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeSumLong
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeMaximumLong
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeMaximumLong
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeMinimumLong
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeMinimumLong
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeAverageLong
+ * Signature: (JJ)D
+ */
+JNIEXPORT jdouble JNICALL Java_io_realm_internal_LinkView_nativeAverageLong
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeSumFloat
+ * Signature: (JJ)D
+ */
+JNIEXPORT jdouble JNICALL Java_io_realm_internal_LinkView_nativeSumFloat
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeMaximumFloat
+ * Signature: (JJ)F
+ */
+JNIEXPORT jfloat JNICALL Java_io_realm_internal_LinkView_nativeMaximumFloat
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeMinimumFloat
+ * Signature: (JJ)F
+ */
+JNIEXPORT jfloat JNICALL Java_io_realm_internal_LinkView_nativeMinimumFloat
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeAverageFloat
+ * Signature: (JJ)D
+ */
+JNIEXPORT jdouble JNICALL Java_io_realm_internal_LinkView_nativeAverageFloat
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeSumDouble
+ * Signature: (JJ)D
+ */
+JNIEXPORT jdouble JNICALL Java_io_realm_internal_LinkView_nativeSumDouble
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeMaximumDouble
+ * Signature: (JJ)D
+ */
+JNIEXPORT jdouble JNICALL Java_io_realm_internal_LinkView_nativeMaximumDouble
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeMinimumDouble
+ * Signature: (JJ)D
+ */
+JNIEXPORT jdouble JNICALL Java_io_realm_internal_LinkView_nativeMinimumDouble
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeAverageDouble
+ * Signature: (JJ)D
+ */
+JNIEXPORT jdouble JNICALL Java_io_realm_internal_LinkView_nativeAverageDouble
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeMaximumDate
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeMaximumDate
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_LinkView
+ * Method:    nativeMinimumDate
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_LinkView_nativeMinimumDate
+  (JNIEnv *, jobject, jlong, jlong);
+
 #ifdef __cplusplus
 }
 #endif
@@ -15,15 +15,20 @@
  */
 
 #include <jni.h>
+#include <map>
+#include <set>
 
 #include "util.hpp"
 
 #include <realm/group_shared.hpp>
 #include <realm/replication.hpp>
 #include <realm/commit_log.hpp>
+#include <realm/impl/input_stream.hpp>
+#include <realm/impl/transact_log.hpp>
 
 #include "util.hpp"
 #include "io_realm_internal_SharedGroup.h"
+#include "change_journal.hpp"
 
 using namespace std;
 using namespace realm;
@@ -83,15 +88,24 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_SharedGroup_nativeCreate(
 }
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_SharedGroup_createNativeWithImplicitTransactions
-  (JNIEnv* env, jobject, jlong native_replication_ptr, jbyteArray keyArray)
+  (JNIEnv* env, jobject, jlong native_replication_ptr, jint durability, jbyteArray keyArray)
 {
     TR_ENTER()
+    SharedGroup::DurabilityLevel level;
+    if (durability == 0)
+        level = SharedGroup::durability_Full;
+    else if (durability == 1)
+        level = SharedGroup::durability_MemOnly;
+    else {
+        ThrowException(env, UnsupportedOperation, "Unsupported durability.");
+        return 0;
+    }
     try {
         KeyBuffer key(env, keyArray);
 #ifdef REALM_ENABLE_ENCRYPTION
-        SharedGroup* db = new SharedGroup(*reinterpret_cast<realm::Replication*>(native_replication_ptr), SharedGroup::durability_Full, key.data());
+        SharedGroup* db = new SharedGroup(*reinterpret_cast<realm::Replication*>(native_replication_ptr), level, key.data());
 #else
-        SharedGroup* db = new SharedGroup(*reinterpret_cast<realm::Replication*>(native_replication_ptr));
+        SharedGroup* db = new SharedGroup(*reinterpret_cast<realm::Replication*>(native_replication_ptr), level);
 #endif
 
         return reinterpret_cast<jlong>(db);
@@ -134,32 +148,352 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_SharedGroup_nativeBeginImplicit
     return 0;
 }
 
+namespace {
+
+// Follows a set of rows through the instructions of transaction logs, recording which of their columns were modified
+// and whether they were deleted. Row indexes are adjusted as rows are inserted, moved and erased, so they always
+// refer to the state the instruction being parsed applies to. The group level tables whose rows were modified are
+// recorded too, without following links, so a table is only reported when its own rows changed. The instructions
+// are passed on to the recorder of the change journal, if any.
+class RowChangeObserver : public _impl::NullInstructionObserver {
+public:
+    struct WatchedRow {
+        size_t table_ndx;
+        size_t row_ndx;
+        uint64_t changed_columns; // bit 62 stands for all columns from 62 and up, so the mask is never negative
+        bool deleted;
+    };
+
+    RowChangeObserver(std::vector<WatchedRow>& rows, change_journal::Recorder* recorder)
+        : m_recorder(recorder)
+    {
+        for (size_t i = 0; i < rows.size(); ++i)
+            m_tables[rows[i].table_ndx][rows[i].row_ndx].push_back(&rows[i]);
+    }
+
+    const std::set<size_t>& changed_tables() const
+    {
+        return m_changed_tables;
+    }
+
+    bool select_table(size_t group_level_ndx, int levels, const size_t*)
+    {
+        // A change to a subtable changes the row of the group level table holding it, but subtable rows are not
+        // tracked
+        m_table_ndx = group_level_ndx;
+        m_table = nullptr;
+        if (m_recorder)
+            m_recorder->select_table(group_level_ndx, levels);
+        if (levels == 0) {
+            std::map<size_t, RowMap>::iterator it = m_tables.find(group_level_ndx);
+            if (it != m_tables.end())
+                m_table = &it->second;
+        }
+        m_link_list_col = npos;
+        return true;
+    }
+
+    bool insert_empty_rows(size_t row_ndx, size_t num_rows, size_t tbl_sz, bool unordered)
+    {
+        touch_table();
+        if (m_recorder)
+            m_recorder->insert_rows(row_ndx, num_rows, tbl_sz, unordered);
+        if (!m_table)
+            return true;
+        if (unordered) {
+            // The rows at the insertion point are moved to the end to make room
+            move_rows(m_table->lower_bound(row_ndx), m_table->lower_bound(row_ndx + num_rows),
+                      [=](size_t ndx) { return tbl_sz + (ndx - row_ndx); });
+        }
+        else {
+            move_rows(m_table->lower_bound(row_ndx), m_table->end(),
+                      [=](size_t ndx) { return ndx + num_rows; });
+        }
+        return true;
+    }
+
+    bool erase_rows(size_t row_ndx, size_t num_rows, size_t tbl_sz, bool unordered)
+    {
+        touch_table();
+        if (m_recorder)
+            m_recorder->erase_rows(row_ndx, num_rows, tbl_sz, unordered);
+        if (!m_table)
+            return true;
+        RowMap::iterator first = m_table->lower_bound(row_ndx);
+        RowMap::iterator last = m_table->lower_bound(row_ndx + num_rows);
+        for (RowMap::iterator it = first; it != last; ++it) {
+            for (size_t i = 0; i < it->second.size(); ++i)
+                it->second[i]->deleted = true;
+        }
+        m_table->erase(first, last);
+        if (unordered) {
+            // The last rows are moved into the gap
+            size_t moved_from = tbl_sz - num_rows;
+            move_rows(m_table->lower_bound(moved_from), m_table->end(),
+                      [=](size_t ndx) { return row_ndx + (ndx - moved_from); });
+        }
+        else {
+            move_rows(m_table->lower_bound(row_ndx + num_rows), m_table->end(),
+                      [=](size_t ndx) { return ndx - num_rows; });
+        }
+        return true;
+    }
+
+    bool clear_table()
+    {
+        touch_table();
+        if (m_recorder)
+            m_recorder->clear_table();
+        if (!m_table)
+            return true;
+        for (RowMap::iterator it = m_table->begin(); it != m_table->end(); ++it) {
+            for (size_t i = 0; i < it->second.size(); ++i)
+                it->second[i]->deleted = true;
+        }
+        m_table->clear();
+        return true;
+    }
+
+    bool set_int(size_t col_ndx, size_t row_ndx, int_fast64_t) { return mark(col_ndx, row_ndx); }
+    bool set_bool(size_t col_ndx, size_t row_ndx, bool) { return mark(col_ndx, row_ndx); }
+    bool set_float(size_t col_ndx, size_t row_ndx, float) { return mark(col_ndx, row_ndx); }
+    bool set_double(size_t col_ndx, size_t row_ndx, double) { return mark(col_ndx, row_ndx); }
+    bool set_string(size_t col_ndx, size_t row_ndx, StringData) { return mark(col_ndx, row_ndx); }
+    bool set_binary(size_t col_ndx, size_t row_ndx, BinaryData) { return mark(col_ndx, row_ndx); }
+    bool set_date_time(size_t col_ndx, size_t row_ndx, DateTime) { return mark(col_ndx, row_ndx); }
+    bool set_table(size_t col_ndx, size_t row_ndx) { return mark(col_ndx, row_ndx); }
+    bool set_mixed(size_t col_ndx, size_t row_ndx, const Mixed&) { return mark(col_ndx, row_ndx); }
+    bool set_link(size_t col_ndx, size_t row_ndx, size_t) { return mark(col_ndx, row_ndx); }
+    bool set_null(size_t col_ndx, size_t row_ndx) { return mark(col_ndx, row_ndx); }
+    bool nullify_link(size_t col_ndx, size_t row_ndx) { return mark(col_ndx, row_ndx); }
+
+    bool select_link_list(size_t col_ndx, size_t row_ndx)
+    {
+        m_link_list_col = col_ndx;
+        m_link_list_row = row_ndx;
+        return true;
+    }
+
+    bool link_list_set(size_t, size_t) { return mark_link_list(); }
+    bool link_list_insert(size_t, size_t) { return mark_link_list(); }
+    bool link_list_move(size_t, size_t) { return mark_link_list(); }
+    bool link_list_erase(size_t) { return mark_link_list(); }
+    bool link_list_clear() { return mark_link_list(); }
+    bool link_list_nullify(size_t) { return mark_link_list(); }
+
+private:
+    // Watched rows of a table by their current row index. Deleted rows are removed.
+    typedef std::map<size_t, std::vector<WatchedRow*> > RowMap;
+
+    change_journal::Recorder* m_recorder;
+    std::map<size_t, RowMap> m_tables;
+    std::set<size_t> m_changed_tables;
+    size_t m_table_ndx = npos;
+    RowMap* m_table = nullptr;
+    size_t m_link_list_col = npos;
+    size_t m_link_list_row = npos;
+
+    // Gives the rows in [first, last) of the selected table the index returned by new_ndx. The rows are taken out
+    // before any is put back, so the new indexes may overlap the old ones.
+    template<class F>
+    void move_rows(RowMap::iterator first, RowMap::iterator last, F new_ndx)
+    {
+        std::vector<WatchedRow*> moved;
+        for (RowMap::iterator it = first; it != last; ++it)
+            moved.insert(moved.end(), it->second.begin(), it->second.end());
+        m_table->erase(first, last);
+        for (size_t i = 0; i < moved.size(); ++i) {
+            moved[i]->row_ndx = new_ndx(moved[i]->row_ndx);
+            (*m_table)[moved[i]->row_ndx].push_back(moved[i]);
+        }
+    }
+
+    void touch_table()
+    {
+        if (m_table_ndx != npos)
+            m_changed_tables.insert(m_table_ndx);
+    }
+
+    bool mark(size_t col_ndx, size_t row_ndx)
+    {
+        touch_table();
+        if (m_recorder)
+            m_recorder->modify(col_ndx, row_ndx);
+        if (!m_table)
+            return true;
+        RowMap::iterator it = m_table->find(row_ndx);
+        if (it != m_table->end()) {
+            for (size_t i = 0; i < it->second.size(); ++i)
+                it->second[i]->changed_columns |= uint64_t(1) << std::min<size_t>(col_ndx, 62);
+        }
+        return true;
+    }
+
+    bool mark_link_list()
+    {
+        if (m_link_list_col != npos)
+            mark(m_link_list_col, m_link_list_row);
+        return true;
+    }
+};
+
+} // anonymous namespace
+
+namespace {
+
+std::vector<RowChangeObserver::WatchedRow> get_watched_rows(JNIEnv* env, jlongArray table_ptrs, jlongArray row_indexes)
+{
+    jsize count = env->GetArrayLength(table_ptrs);
+    std::vector<jlong> tables(count);
+    std::vector<jlong> indexes(count);
+    env->GetLongArrayRegion(table_ptrs, 0, count, tables.data());
+    env->GetLongArrayRegion(row_indexes, 0, count, indexes.data());
+
+    std::vector<RowChangeObserver::WatchedRow> rows(count);
+    for (jsize i = 0; i < count; ++i) {
+        rows[i].table_ndx = TBL(tables[i])->get_index_in_group();
+        rows[i].row_ndx = S(indexes[i]);
+        rows[i].changed_columns = 0;
+        rows[i].deleted = false;
+    }
+    return rows;
+}
+
+// The changes of the rows are followed by the indexes of the changed tables
+jlongArray to_row_changes(JNIEnv* env, const std::vector<RowChangeObserver::WatchedRow>& rows,
+                          const RowChangeObserver& observer)
+{
+    std::vector<jlong> changes(rows.size());
+    for (size_t i = 0; i < rows.size(); ++i) {
+        changes[i] = rows[i].deleted ? jlong(-1) : jlong(rows[i].changed_columns);
+    }
+    const std::set<size_t>& tables = observer.changed_tables();
+    for (std::set<size_t>::const_iterator it = tables.begin(); it != tables.end(); ++it) {
+        changes.push_back(jlong(*it));
+    }
+    jlongArray result = env->NewLongArray(jsize(changes.size()));
+    if (result == NULL) {
+        ThrowException(env, OutOfMemory, "Could not allocate memory to return the changed rows.");
+        return NULL;
+    }
+    env->SetLongArrayRegion(result, 0, jsize(changes.size()), changes.data());
+    return result;
+}
+
+void parse_uncommitted_changes(jlong native_replication_ptr, RowChangeObserver& observer)
+{
+    BinaryData log = reinterpret_cast<Replication*>(native_replication_ptr)->get_uncommitted_changes();
+    _impl::SimpleInputStream in(log.data(), log.size());
+    _impl::TransactLogParser parser;
+    parser.parse(in, observer);
+}
+
+} // anonymous namespace
+
 JNIEXPORT void JNICALL Java_io_realm_internal_SharedGroup_nativeAdvanceRead
-(JNIEnv *env, jobject, jlong native_ptr)
+(JNIEnv *env, jobject, jlong native_ptr, jlong native_group_ptr)
+{
+    TR_ENTER_PTR(native_ptr)
+    try {
+        change_journal::Recorder recorder(*G(native_group_ptr));
+        if (recorder.is_recording()) {
+            std::vector<RowChangeObserver::WatchedRow> rows;
+            RowChangeObserver observer(rows, &recorder);
+            LangBindHelper::advance_read(*SG(native_ptr), observer);
+            recorder.end();
+        }
+        else {
+            LangBindHelper::advance_read( *SG(native_ptr) );
+        }
+    }
+    CATCH_STD()
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_SharedGroup_nativeAdvanceReadTrackingRows
+  (JNIEnv *env, jobject, jlong native_ptr, jlong native_group_ptr, jlongArray table_ptrs, jlongArray row_indexes)
 {
     TR_ENTER_PTR(native_ptr)
     try {
-        LangBindHelper::advance_read( *SG(native_ptr) );
+        std::vector<RowChangeObserver::WatchedRow> rows = get_watched_rows(env, table_ptrs, row_indexes);
+        change_journal::Recorder recorder(*G(native_group_ptr));
+        RowChangeObserver observer(rows, &recorder);
+        LangBindHelper::advance_read(*SG(native_ptr), observer);
+        recorder.end();
+        return to_row_changes(env, rows, observer);
     }
     CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_SharedGroup_nativePromoteToWriteTrackingRows
+  (JNIEnv *env, jobject, jlong native_ptr, jlong native_group_ptr, jlongArray table_ptrs, jlongArray row_indexes)
+{
+    TR_ENTER_PTR(native_ptr)
+    try {
+        std::vector<RowChangeObserver::WatchedRow> rows = get_watched_rows(env, table_ptrs, row_indexes);
+        change_journal::Recorder recorder(*G(native_group_ptr));
+        RowChangeObserver observer(rows, &recorder);
+        LangBindHelper::promote_to_write(*SG(native_ptr), observer);
+        recorder.end();
+        return to_row_changes(env, rows, observer);
+    }
+    CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_SharedGroup_nativeCommitAndContinueAsReadTrackingRows
+  (JNIEnv *env, jobject, jlong native_ptr, jlong native_group_ptr, jlong native_replication_ptr,
+   jlongArray table_ptrs, jlongArray row_indexes)
+{
+    TR_ENTER_PTR(native_ptr)
+    try {
+        // The row indexes are those from the start of the write transaction, which is the state the log of the
+        // changes made in it applies to. The log is parsed before committing, as it is only kept until then.
+        std::vector<RowChangeObserver::WatchedRow> rows = get_watched_rows(env, table_ptrs, row_indexes);
+        change_journal::Recorder recorder(*G(native_group_ptr));
+        RowChangeObserver observer(rows, &recorder);
+        parse_uncommitted_changes(native_replication_ptr, observer);
+
+        LangBindHelper::commit_and_continue_as_read(*SG(native_ptr));
+        recorder.end();
+        return to_row_changes(env, rows, observer);
+    }
+    CATCH_STD()
+    return NULL;
 }
 
 JNIEXPORT void JNICALL Java_io_realm_internal_SharedGroup_nativePromoteToWrite
-  (JNIEnv *env, jobject, jlong native_ptr)
+  (JNIEnv *env, jobject, jlong native_ptr, jlong native_group_ptr)
 {
     TR_ENTER_PTR(native_ptr) 
     try {
-        LangBindHelper::promote_to_write( *SG(native_ptr) );
+        change_journal::Recorder recorder(*G(native_group_ptr));
+        if (recorder.is_recording()) {
+            std::vector<RowChangeObserver::WatchedRow> rows;
+            RowChangeObserver observer(rows, &recorder);
+            LangBindHelper::promote_to_write(*SG(native_ptr), observer);
+            recorder.end();
+        }
+        else {
+            LangBindHelper::promote_to_write( *SG(native_ptr) );
+        }
     }
     CATCH_STD()
 }
 
 JNIEXPORT void JNICALL Java_io_realm_internal_SharedGroup_nativeCommitAndContinueAsRead
-  (JNIEnv *env, jobject, jlong native_ptr)
+  (JNIEnv *env, jobject, jlong native_ptr, jlong native_group_ptr, jlong native_replication_ptr)
 {
     TR_ENTER_PTR(native_ptr)
     try {
+        change_journal::Recorder recorder(*G(native_group_ptr));
+        if (recorder.is_recording()) {
+            std::vector<RowChangeObserver::WatchedRow> rows;
+            RowChangeObserver observer(rows, &recorder);
+            parse_uncommitted_changes(native_replication_ptr, observer);
+        }
         LangBindHelper::commit_and_continue_as_read( *SG(native_ptr) );
+        recorder.end();
     }
     CATCH_STD()
 }
@@ -253,6 +587,16 @@ JNIEXPORT jboolean JNICALL Java_io_realm_internal_SharedGroup_nativeHasChanged
     return SG(native_ptr)->has_changed();   // noexcept
 }
 
+JNIEXPORT jlong JNICALL Java_io_realm_internal_SharedGroup_nativeGetVersion
+  (JNIEnv *env, jobject, jlong native_ptr)
+{
+    TR_ENTER_PTR(native_ptr)
+    try {
+        return static_cast<jlong>(SG(native_ptr)->get_version_of_current_transaction().version);
+    } CATCH_STD()
+    return 0;
+}
+
 JNIEXPORT jstring JNICALL Java_io_realm_internal_SharedGroup_nativeGetDefaultReplicationDatabaseFileName(
     JNIEnv* env, jclass)
 {
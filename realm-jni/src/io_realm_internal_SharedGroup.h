@@ -10,10 +10,10 @@ extern "C" {
 /*
  * Class:     io_realm_internal_SharedGroup
  * Method:    createNativeWithImplicitTransactions
- * Signature: (J[B)J
+ * Signature: (JI[B)J
  */
 JNIEXPORT jlong JNICALL Java_io_realm_internal_SharedGroup_createNativeWithImplicitTransactions
-  (JNIEnv *, jobject, jlong, jbyteArray);
+  (JNIEnv *, jobject, jlong, jint, jbyteArray);
 
 /*
  * Class:     io_realm_internal_SharedGroup
@@ -26,26 +26,50 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_SharedGroup_nativeCreateReplicati
 /*
  * Class:     io_realm_internal_SharedGroup
  * Method:    nativeAdvanceRead
- * Signature: (J)V
+ * Signature: (JJ)V
  */
 JNIEXPORT void JNICALL Java_io_realm_internal_SharedGroup_nativeAdvanceRead
-  (JNIEnv *, jobject, jlong);
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_SharedGroup
+ * Method:    nativeAdvanceReadTrackingRows
+ * Signature: (JJ[J[J)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_SharedGroup_nativeAdvanceReadTrackingRows
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jlongArray);
+
+/*
+ * Class:     io_realm_internal_SharedGroup
+ * Method:    nativePromoteToWriteTrackingRows
+ * Signature: (JJ[J[J)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_SharedGroup_nativePromoteToWriteTrackingRows
+  (JNIEnv *, jobject, jlong, jlong, jlongArray, jlongArray);
+
+/*
+ * Class:     io_realm_internal_SharedGroup
+ * Method:    nativeCommitAndContinueAsReadTrackingRows
+ * Signature: (JJJ[J[J)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_SharedGroup_nativeCommitAndContinueAsReadTrackingRows
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlongArray, jlongArray);
 
 /*
  * Class:     io_realm_internal_SharedGroup
  * Method:    nativePromoteToWrite
- * Signature: (J)V
+ * Signature: (JJ)V
  */
 JNIEXPORT void JNICALL Java_io_realm_internal_SharedGroup_nativePromoteToWrite
-  (JNIEnv *, jobject, jlong);
+  (JNIEnv *, jobject, jlong, jlong);
 
 /*
  * Class:     io_realm_internal_SharedGroup
  * Method:    nativeCommitAndContinueAsRead
- * Signature: (J)V
+ * Signature: (JJJ)V
  */
 JNIEXPORT void JNICALL Java_io_realm_internal_SharedGroup_nativeCommitAndContinueAsRead
-  (JNIEnv *, jobject, jlong);
+  (JNIEnv *, jobject, jlong, jlong, jlong);
 
 /*
  * Class:     io_realm_internal_SharedGroup
@@ -87,6 +111,14 @@ JNIEXPORT void JNICALL Java_io_realm_internal_SharedGroup_nativeReserve
 JNIEXPORT jboolean JNICALL Java_io_realm_internal_SharedGroup_nativeHasChanged
   (JNIEnv *, jobject, jlong);
 
+/*
+ * Class:     io_realm_internal_SharedGroup
+ * Method:    nativeGetVersion
+ * Signature: (J)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_SharedGroup_nativeGetVersion
+  (JNIEnv *, jobject, jlong);
+
 /*
  * Class:     io_realm_internal_SharedGroup
  * Method:    nativeBeginRead
@@ -321,6 +321,62 @@ JNIEXPORT jdouble JNICALL Java_io_realm_internal_Table_nativeGetDouble
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetDateTime
   (JNIEnv *, jobject, jlong, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetLongs
+ * Signature: (JJ[J)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeGetLongs
+  (JNIEnv *, jobject, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetBooleans
+ * Signature: (JJ[J)[Z
+ */
+JNIEXPORT jbooleanArray JNICALL Java_io_realm_internal_Table_nativeGetBooleans
+  (JNIEnv *, jobject, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetFloats
+ * Signature: (JJ[J)[F
+ */
+JNIEXPORT jfloatArray JNICALL Java_io_realm_internal_Table_nativeGetFloats
+  (JNIEnv *, jobject, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetDoubles
+ * Signature: (JJ[J)[D
+ */
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_Table_nativeGetDoubles
+  (JNIEnv *, jobject, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetDateTimes
+ * Signature: (JJ[J)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeGetDateTimes
+  (JNIEnv *, jobject, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetLinks
+ * Signature: (JJ[J)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeGetLinks
+  (JNIEnv *, jobject, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetStrings
+ * Signature: (JJ[J)[Ljava/lang/String;
+ */
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_Table_nativeGetStrings
+  (JNIEnv *, jobject, jlong, jlong, jlongArray);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeGetString
@@ -457,6 +513,54 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDate
 JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetString
   (JNIEnv *, jobject, jlong, jlong, jlong, jstring);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetLongs
+ * Signature: (JJJ[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLongs
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetBooleans
+ * Signature: (JJJ[Z)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetBooleans
+  (JNIEnv *, jobject, jlong, jlong, jlong, jbooleanArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetFloats
+ * Signature: (JJJ[F)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetFloats
+  (JNIEnv *, jobject, jlong, jlong, jlong, jfloatArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetDoubles
+ * Signature: (JJJ[D)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDoubles
+  (JNIEnv *, jobject, jlong, jlong, jlong, jdoubleArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetDates
+ * Signature: (JJJ[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDates
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeSetStrings
+ * Signature: (JJJ[Ljava/lang/String;)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetStrings
+  (JNIEnv *, jobject, jlong, jlong, jlong, jobjectArray);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeSetByteArray
@@ -745,6 +849,22 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindFirstDate
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindFirstString
   (JNIEnv *, jobject, jlong, jlong, jstring);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeFindDuplicateLong
+ * Signature: (JJ[J)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindDuplicateLong
+  (JNIEnv *, jobject, jlong, jlong, jlongArray);
+
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeFindDuplicateString
+ * Signature: (JJ[Ljava/lang/String;)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindDuplicateString
+  (JNIEnv *, jobject, jlong, jlong, jobjectArray);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeFindAllInt
@@ -825,6 +945,14 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativePivot
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetDistinctView
   (JNIEnv *, jobject, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_Table
+ * Method:    nativeGetLinkDerivedView
+ * Signature: (JJ)J
+ */
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetLinkDerivedView
+  (JNIEnv *, jobject, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_Table
  * Method:    nativeGetName
@@ -31,6 +31,22 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeSize
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetSourceRowIndex
   (JNIEnv *, jobject, jlong, jlong);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetSourceRowIndexes
+ * Signature: (J)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableView_nativeGetSourceRowIndexes
+  (JNIEnv *, jobject, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeGetSourceRowIndexesInRange
+ * Signature: (JJJ)[J
+ */
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableView_nativeGetSourceRowIndexesInRange
+  (JNIEnv *, jobject, jlong, jlong, jlong);
+
 /*
  * Class:     io_realm_internal_TableView
  * Method:    nativeGetColumnCount
@@ -503,6 +519,46 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSort
 JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSortMulti
   (JNIEnv *, jobject, jlong, jlongArray, jbooleanArray);
 
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSortByLinkPaths
+ * Signature: (JJ[[J[ZZ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSortByLinkPaths
+  (JNIEnv *, jobject, jlong, jlong, jobjectArray, jbooleanArray, jboolean);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeResortByLinkPaths
+ * Signature: (JJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeResortByLinkPaths
+  (JNIEnv *, jobject, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeFindBacklinks
+ * Signature: (JJJJ)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeFindBacklinks
+  (JNIEnv *, jobject, jlong, jlong, jlong, jlong);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeFindReachableRows
+ * Signature: (JJJI)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeFindReachableRows
+  (JNIEnv *, jobject, jlong, jlong, jlong, jint);
+
+/*
+ * Class:     io_realm_internal_TableView
+ * Method:    nativeSetQueryResult
+ * Signature: (J[J)V
+ */
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetQueryResult
+  (JNIEnv *, jobject, jlong, jlongArray);
+
 /*
  * Class:     io_realm_internal_TableView
  * Method:    createNativeTableView
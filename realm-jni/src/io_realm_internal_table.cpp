@@ -15,6 +15,9 @@
  */
 
 #include <sstream>
+#include <string>
+#include <unordered_set>
+#include <vector>
 
 #include "util.hpp"
 #include "mixedutil.hpp"
@@ -455,6 +458,211 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetDateTime(
     return TBL(nativeTablePtr)->get_datetime( S(columnIndex), S(rowIndex)).get_datetime();  // noexcept
 }
 
+// Bulk getters, returning the cells of a column for the given rows
+
+// Copies the row indexes and checks that they are all in the table
+static bool tbl_GetRowIndexes(JNIEnv* env, Table* pTable, jlongArray rowIndexes, std::vector<jlong>& rows)
+{
+    jsize count = env->GetArrayLength(rowIndexes);
+    rows.resize(count);
+    if (count > 0)
+        env->GetLongArrayRegion(rowIndexes, 0, count, rows.data());
+    for (jsize i = 0; i < count; ++i) {
+        if (rows[i] < 0 || static_cast<size_t>(rows[i]) >= pTable->size()) {
+            ThrowException(env, IndexOutOfBounds, "rowIndex > available rows.");
+            return false;
+        }
+    }
+    return true;
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeGetLongs(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndexes)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_Int))
+        return NULL;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        std::vector<jlong> rows;
+        if (!tbl_GetRowIndexes(env, pTable, rowIndexes, rows))
+            return NULL;
+        jsize count = static_cast<jsize>(rows.size());
+        std::vector<jlong> values(count);
+        for (jsize i = 0; i < count; ++i)
+            values[i] = pTable->get_int( S(columnIndex), S(rows[i]));
+        jlongArray result = env->NewLongArray(count);
+        if (result == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory for the column values.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(result, 0, count, values.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jbooleanArray JNICALL Java_io_realm_internal_Table_nativeGetBooleans(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndexes)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_Bool))
+        return NULL;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        std::vector<jlong> rows;
+        if (!tbl_GetRowIndexes(env, pTable, rowIndexes, rows))
+            return NULL;
+        jsize count = static_cast<jsize>(rows.size());
+        std::vector<jboolean> values(count);
+        for (jsize i = 0; i < count; ++i)
+            values[i] = pTable->get_bool( S(columnIndex), S(rows[i])) ? JNI_TRUE : JNI_FALSE;
+        jbooleanArray result = env->NewBooleanArray(count);
+        if (result == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory for the column values.");
+            return NULL;
+        }
+        env->SetBooleanArrayRegion(result, 0, count, values.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jfloatArray JNICALL Java_io_realm_internal_Table_nativeGetFloats(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndexes)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_Float))
+        return NULL;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        std::vector<jlong> rows;
+        if (!tbl_GetRowIndexes(env, pTable, rowIndexes, rows))
+            return NULL;
+        jsize count = static_cast<jsize>(rows.size());
+        std::vector<jfloat> values(count);
+        for (jsize i = 0; i < count; ++i)
+            values[i] = pTable->get_float( S(columnIndex), S(rows[i]));
+        jfloatArray result = env->NewFloatArray(count);
+        if (result == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory for the column values.");
+            return NULL;
+        }
+        env->SetFloatArrayRegion(result, 0, count, values.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jdoubleArray JNICALL Java_io_realm_internal_Table_nativeGetDoubles(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndexes)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_Double))
+        return NULL;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        std::vector<jlong> rows;
+        if (!tbl_GetRowIndexes(env, pTable, rowIndexes, rows))
+            return NULL;
+        jsize count = static_cast<jsize>(rows.size());
+        std::vector<jdouble> values(count);
+        for (jsize i = 0; i < count; ++i)
+            values[i] = pTable->get_double( S(columnIndex), S(rows[i]));
+        jdoubleArray result = env->NewDoubleArray(count);
+        if (result == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory for the column values.");
+            return NULL;
+        }
+        env->SetDoubleArrayRegion(result, 0, count, values.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeGetDateTimes(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndexes)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_DateTime))
+        return NULL;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        std::vector<jlong> rows;
+        if (!tbl_GetRowIndexes(env, pTable, rowIndexes, rows))
+            return NULL;
+        jsize count = static_cast<jsize>(rows.size());
+        std::vector<jlong> values(count);
+        for (jsize i = 0; i < count; ++i)
+            values[i] = pTable->get_datetime( S(columnIndex), S(rows[i])).get_datetime();
+        jlongArray result = env->NewLongArray(count);
+        if (result == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory for the column values.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(result, 0, count, values.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_Table_nativeGetLinks(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndexes)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_Link))
+        return NULL;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        std::vector<jlong> rows;
+        if (!tbl_GetRowIndexes(env, pTable, rowIndexes, rows))
+            return NULL;
+        jsize count = static_cast<jsize>(rows.size());
+        std::vector<jlong> values(count);
+        for (jsize i = 0; i < count; ++i)
+            values[i] = pTable->is_null_link( S(columnIndex), S(rows[i])) ? -1 : static_cast<jlong>(pTable->get_link( S(columnIndex), S(rows[i])));
+        jlongArray result = env->NewLongArray(count);
+        if (result == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory for the column values.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(result, 0, count, values.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jobjectArray JNICALL Java_io_realm_internal_Table_nativeGetStrings(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray rowIndexes)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_String))
+        return NULL;
+    jobjectArray result = NULL;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        std::vector<jlong> rows;
+        if (!tbl_GetRowIndexes(env, pTable, rowIndexes, rows))
+            return NULL;
+        jsize count = static_cast<jsize>(rows.size());
+        jclass stringClass = env->FindClass("java/lang/String");
+        if (stringClass == NULL)
+            return NULL;
+        result = env->NewObjectArray(count, stringClass, NULL);
+        env->DeleteLocalRef(stringClass);
+        if (result == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory for the column values.");
+            return NULL;
+        }
+        for (jsize i = 0; i < count; ++i) {
+            jstring value = to_jstring(env, pTable->get_string( S(columnIndex), S(rows[i])));
+            if (value == NULL)
+                break;
+            env->SetObjectArrayElement(result, i, value);
+            env->DeleteLocalRef(value);
+        }
+        if (!env->ExceptionCheck())
+            return result;
+    } CATCH_STD()
+    // Only reached with a pending exception, so the partly filled array is released
+    if (result != NULL)
+        env->DeleteLocalRef(result);
+    return NULL;
+}
+
 JNIEXPORT jstring JNICALL Java_io_realm_internal_Table_nativeGetString(
     JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex)
 {
@@ -643,6 +851,112 @@ JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDate(
     } CATCH_STD()
 }
 
+// Bulk setters, setting the cells of a column from startRowIndex onwards
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetLongs(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong startRowIndex, jlongArray values)
+{
+    jsize count = env->GetArrayLength(values);
+    if (count == 0 || !TBL_AND_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, startRowIndex + count - 1, type_Int))
+        return;
+    jlong* elements = env->GetLongArrayElements(values, NULL);
+    if (!elements)
+        return;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        for (jsize i = 0; i < count; ++i)
+            pTable->set_int( S(columnIndex), S(startRowIndex + i), elements[i]);
+    } CATCH_STD()
+    env->ReleaseLongArrayElements(values, elements, JNI_ABORT);
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetBooleans(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong startRowIndex, jbooleanArray values)
+{
+    jsize count = env->GetArrayLength(values);
+    if (count == 0 || !TBL_AND_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, startRowIndex + count - 1, type_Bool))
+        return;
+    jboolean* elements = env->GetBooleanArrayElements(values, NULL);
+    if (!elements)
+        return;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        for (jsize i = 0; i < count; ++i)
+            pTable->set_bool( S(columnIndex), S(startRowIndex + i), elements[i] == JNI_TRUE ? true : false);
+    } CATCH_STD()
+    env->ReleaseBooleanArrayElements(values, elements, JNI_ABORT);
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetFloats(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong startRowIndex, jfloatArray values)
+{
+    jsize count = env->GetArrayLength(values);
+    if (count == 0 || !TBL_AND_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, startRowIndex + count - 1, type_Float))
+        return;
+    jfloat* elements = env->GetFloatArrayElements(values, NULL);
+    if (!elements)
+        return;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        for (jsize i = 0; i < count; ++i)
+            pTable->set_float( S(columnIndex), S(startRowIndex + i), elements[i]);
+    } CATCH_STD()
+    env->ReleaseFloatArrayElements(values, elements, JNI_ABORT);
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDoubles(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong startRowIndex, jdoubleArray values)
+{
+    jsize count = env->GetArrayLength(values);
+    if (count == 0 || !TBL_AND_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, startRowIndex + count - 1, type_Double))
+        return;
+    jdouble* elements = env->GetDoubleArrayElements(values, NULL);
+    if (!elements)
+        return;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        for (jsize i = 0; i < count; ++i)
+            pTable->set_double( S(columnIndex), S(startRowIndex + i), elements[i]);
+    } CATCH_STD()
+    env->ReleaseDoubleArrayElements(values, elements, JNI_ABORT);
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetDates(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong startRowIndex, jlongArray values)
+{
+    jsize count = env->GetArrayLength(values);
+    if (count == 0 || !TBL_AND_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, startRowIndex + count - 1, type_DateTime))
+        return;
+    jlong* elements = env->GetLongArrayElements(values, NULL);
+    if (!elements)
+        return;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        for (jsize i = 0; i < count; ++i)
+            pTable->set_datetime( S(columnIndex), S(startRowIndex + i), elements[i]);
+    } CATCH_STD()
+    env->ReleaseLongArrayElements(values, elements, JNI_ABORT);
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetStrings(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong startRowIndex, jobjectArray values)
+{
+    jsize count = env->GetArrayLength(values);
+    if (count == 0 || !TBL_AND_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, startRowIndex + count - 1, type_String))
+        return;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        for (jsize i = 0; i < count; ++i) {
+            jstring value = static_cast<jstring>(env->GetObjectArrayElement(values, i));
+            {
+                JStringAccessor value2(env, value); // throws
+                pTable->set_string( S(columnIndex), S(startRowIndex + i), value2);
+            }
+            env->DeleteLocalRef(value);
+        }
+    } CATCH_STD()
+}
+
 /*
 JNIEXPORT void JNICALL Java_io_realm_internal_Table_nativeSetByteBuffer(
     JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlong rowIndex, jobject byteBuffer)
@@ -1085,6 +1399,57 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindFirstString(
     return 0;
 }
 
+// The values are new primary keys. Each one is looked up with the search index of the column.
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindDuplicateLong(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jlongArray values)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_Int))
+        return -1;
+    jsize count = env->GetArrayLength(values);
+    jlong* elements = env->GetLongArrayElements(values, NULL);
+    if (!elements)
+        return -1;
+    jlong duplicate = -1;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        std::unordered_set<int64_t> seen(count);
+        for (jsize i = 0; i < count; ++i) {
+            if (!seen.insert(elements[i]).second || pTable->find_first_int( S(columnIndex), elements[i]) != not_found) {
+                duplicate = i;
+                break;
+            }
+        }
+    } CATCH_STD()
+    env->ReleaseLongArrayElements(values, elements, JNI_ABORT);
+    return duplicate;
+}
+
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindDuplicateString(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jobjectArray values)
+{
+    if (!TBL_AND_COL_INDEX_AND_TYPE_VALID(env, TBL(nativeTablePtr), columnIndex, type_String))
+        return -1;
+    try {
+        Table* pTable = TBL(nativeTablePtr);
+        jsize count = env->GetArrayLength(values);
+        std::unordered_set<std::string> seen(count);
+        for (jsize i = 0; i < count; ++i) {
+            jstring value = static_cast<jstring>(env->GetObjectArrayElement(values, i));
+            bool found;
+            {
+                JStringAccessor value2(env, value); // throws
+                StringData data = value2;
+                found = !seen.insert(std::string(data.data(), data.size())).second
+                        || pTable->find_first_string( S(columnIndex), data) != not_found;
+            }
+            env->DeleteLocalRef(value);
+            if (found)
+                return i;
+        }
+    } CATCH_STD()
+    return -1;
+}
+
 // FindAll
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeFindAllInt(
@@ -1215,6 +1580,25 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetDistinctView(
     return 0;
 }
 
+JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetLinkDerivedView(
+    JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex)
+{
+    Table* pTable = TBL(nativeTablePtr);
+    if (!TBL_AND_COL_INDEX_VALID(env, pTable, columnIndex))
+        return 0;
+    DataType colType = pTable->get_column_type(S(columnIndex));
+    if (colType != type_Link && colType != type_LinkList) {
+        ThrowException(env, IllegalArgument, "Invalid columntype - only link and link list columns are supported.");
+        return 0;
+    }
+    try {
+        // The view starts out empty. Its rows are filled in by TableView.nativeFindBacklinks() or
+        // TableView.nativeFindReachableRows().
+        TableView* pTableView = new TableView( pTable->where().find_all(0, 0, 0) );
+        return reinterpret_cast<jlong>(pTableView);
+    } CATCH_STD()
+    return 0;
+}
 
 JNIEXPORT jlong JNICALL Java_io_realm_internal_Table_nativeGetSortedView(
     JNIEnv* env, jobject, jlong nativeTablePtr, jlong columnIndex, jboolean ascending)
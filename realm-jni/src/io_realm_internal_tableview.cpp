@@ -19,7 +19,14 @@
 #include "mixedutil.hpp"
 #include "tablebase_tpl.hpp"
 #include "tablequery.hpp"
+#include "change_journal.hpp"
+#include <algorithm>
+#include <map>
+#include <mutex>
 #include <ostream>
+#include <set>
+#include <vector>
+#include <realm/unicode.hpp>
 
 using namespace realm;
 
@@ -39,6 +46,37 @@ inline bool view_valid_and_in_sync(JNIEnv* env, jlong nativeViewPtr) {
 }
 
 
+namespace {
+
+// A sort by column paths, kept for each view between syncs so that the next sort can start from the previous order.
+struct LinkSort {
+    std::vector<std::vector<size_t> > paths;
+    std::vector<bool> ascending;
+    std::vector<size_t> sorted_rows;    // source rows in the order of the last sort
+    bool journaled;                     // the changes since the last sort are recorded in the change journal
+};
+
+// Views are closed from the finalizer thread as well, so the map is locked. An entry is only used by the thread
+// owning its view, and stays in place while other entries are added or removed.
+std::mutex link_sorts_mutex;
+std::map<const TableView*, LinkSort> link_sorts;
+
+LinkSort* find_link_sort(const TableView* tv)
+{
+    std::lock_guard<std::mutex> lock(link_sorts_mutex);
+    std::map<const TableView*, LinkSort>::iterator it = link_sorts.find(tv);
+    return it == link_sorts.end() ? NULL : &it->second;
+}
+
+void forget_link_sort(const TableView* tv)
+{
+    change_journal::unwatch(tv);
+    std::lock_guard<std::mutex> lock(link_sorts_mutex);
+    link_sorts.erase(tv);
+}
+
+} // anonymous namespace
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_createNativeTableView(
     JNIEnv* env, jobject, jobject, jlong)
 {
@@ -87,6 +125,7 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeClose(
     if (nativeViewPtr == 0)
         return;
 
+    forget_link_sort(TV(nativeViewPtr));
     delete TV(nativeViewPtr);
 }
 
@@ -112,6 +151,56 @@ JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetSourceRowIndex
     return TV(nativeViewPtr)->get_source_ndx(S(rowIndex));   // noexcept
 }
 
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableView_nativeGetSourceRowIndexes
+  (JNIEnv *env, jobject, jlong nativeViewPtr)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return NULL;
+        TableView* tv = TV(nativeViewPtr);
+        size_t size = tv->size();
+        std::vector<jlong> rows(size);
+        for (size_t i = 0; i < size; ++i) {
+            rows[i] = static_cast<jlong>(tv->get_source_ndx(i));
+        }
+        jlongArray result = env->NewLongArray(static_cast<jsize>(size));
+        if (result == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory for the source row indexes.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(result, 0, static_cast<jsize>(size), rows.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
+JNIEXPORT jlongArray JNICALL Java_io_realm_internal_TableView_nativeGetSourceRowIndexesInRange
+  (JNIEnv *env, jobject, jlong nativeViewPtr, jlong fromIndex, jlong toIndex)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return NULL;
+        TableView* tv = TV(nativeViewPtr);
+        if (fromIndex < 0 || toIndex < fromIndex || static_cast<size_t>(toIndex) > tv->size()) {
+            ThrowException(env, IndexOutOfBounds, "Invalid range of rows in the view.");
+            return NULL;
+        }
+        size_t count = S(toIndex - fromIndex);
+        std::vector<jlong> rows(count);
+        for (size_t i = 0; i < count; ++i) {
+            rows[i] = static_cast<jlong>(tv->get_source_ndx(S(fromIndex) + i));
+        }
+        jlongArray result = env->NewLongArray(static_cast<jsize>(count));
+        if (result == NULL) {
+            ThrowException(env, OutOfMemory, "Could not allocate memory for the source row indexes.");
+            return NULL;
+        }
+        env->SetLongArrayRegion(result, 0, static_cast<jsize>(count), rows.data());
+        return result;
+    } CATCH_STD()
+    return NULL;
+}
+
 JNIEXPORT jlong JNICALL Java_io_realm_internal_TableView_nativeGetColumnCount
   (JNIEnv *env, jobject, jlong nativeViewPtr)
 {
@@ -851,6 +940,7 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSort(
             case type_Float:
             case type_Double:
             case type_String:
+                forget_link_sort(TV(nativeViewPtr));
                 TV(nativeViewPtr)->sort( S(columnIndex), ascending != 0 ? true : false);
                 break;
             default:
@@ -908,12 +998,670 @@ JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSortMulti(
                     return;
             }
         }
+        forget_link_sort(TV(nativeViewPtr));
         TV(nativeViewPtr)->sort(indices, ascendings);
         env->ReleaseLongArrayElements(columnIndices, long_arr, 0);
         env->ReleaseBooleanArrayElements(ascending, bool_arr, 0);
     } CATCH_STD()
 }
 
+namespace {
+
+// Core can only sort a view by columns of its own table, sorts it from scratch whenever it is synced, and cannot
+// build a view from backlinks. Sorts and such views are computed in this file instead, and the rows written back
+// into the view's row index column, which is only reachable from a subclass.
+class DerivedRowsView : public TableView {
+public:
+    void set_source_rows(const std::vector<size_t>& source_rows)
+    {
+        if (m_row_indexes.size() != source_rows.size()) {
+            m_row_indexes.clear();
+            for (size_t i = 0; i < source_rows.size(); ++i) {
+                m_row_indexes.add(source_rows[i]);
+            }
+            return;
+        }
+        for (size_t i = 0; i < source_rows.size(); ++i) {
+            m_row_indexes.set(i, source_rows[i]);
+        }
+    }
+
+    // Used for a view created by running its query with a limit of zero, so that later syncs run the query over
+    // the whole table as a view from find_all() would.
+    void set_query_result(const std::vector<size_t>& source_rows)
+    {
+        set_source_rows(source_rows);
+        m_start = 0;
+        m_end = size_t(-1);
+        m_limit = size_t(-1);
+    }
+};
+
+struct LinkPathSortKey {
+    std::vector<const Table*> tables;   // table holding each link column on the path
+    std::vector<size_t> links;          // link columns followed from the view's table
+    const Table* table;                 // table holding the column to sort by
+    size_t column;
+    DataType type;
+    bool ascending;
+
+    // Returns the row at the end of the path, or npos if a link on the path is null.
+    size_t resolve(size_t row) const
+    {
+        for (size_t i = 0; i < links.size() && row != npos; ++i) {
+            if (tables[i]->is_null_link(links[i], row))
+                row = npos;
+            else
+                row = tables[i]->get_link(links[i], row);
+        }
+        return row;
+    }
+};
+
+template <typename T>
+inline int compare_values(T a, T b)
+{
+    return a < b ? -1 : (b < a ? 1 : 0);
+}
+
+int compare_cells(const LinkPathSortKey& key, size_t row_a, size_t row_b)
+{
+    if (row_a == npos || row_b == npos) {
+        return row_a == row_b ? 0 : (row_a == npos ? -1 : 1);
+    }
+    const Table& table = *key.table;
+    switch (key.type) {
+        case type_Int:
+            return compare_values(table.get_int(key.column, row_a), table.get_int(key.column, row_b));
+        case type_Bool:
+            return compare_values(table.get_bool(key.column, row_a), table.get_bool(key.column, row_b));
+        case type_DateTime:
+            return compare_values(table.get_datetime(key.column, row_a).get_datetime(),
+                                  table.get_datetime(key.column, row_b).get_datetime());
+        case type_Float:
+            return compare_values(table.get_float(key.column, row_a), table.get_float(key.column, row_b));
+        case type_Double:
+            return compare_values(table.get_double(key.column, row_a), table.get_double(key.column, row_b));
+        case type_String: {
+            StringData a = table.get_string(key.column, row_a);
+            StringData b = table.get_string(key.column, row_b);
+            if (a == b)
+                return 0;
+            return utf8_compare(a, b) ? -1 : 1;
+        }
+        default:
+            return 0;
+    }
+}
+
+// Orders source rows by the sort keys, following the links of a row each time it is compared. Rows which compare
+// equal are ordered by their index in the source table, so the order of a view only depends on its content. That
+// way an order which is maintained incrementally is identical to one computed from scratch.
+class LinkPathComparator {
+public:
+    explicit LinkPathComparator(const std::vector<LinkPathSortKey>& keys) : m_keys(keys) {}
+
+    bool operator()(size_t row_a, size_t row_b) const
+    {
+        for (size_t i = 0; i < m_keys.size(); ++i) {
+            const LinkPathSortKey& key = m_keys[i];
+            int cmp = compare_cells(key, key.resolve(row_a), key.resolve(row_b));
+            if (cmp != 0)
+                return key.ascending ? cmp < 0 : cmp > 0;
+        }
+        return row_a < row_b;
+    }
+
+private:
+    const std::vector<LinkPathSortKey>& m_keys;
+};
+
+// Same order as LinkPathComparator, but for positions in a list of rows whose paths have been resolved up front,
+// as a full sort compares every row many times.
+class ResolvedComparator {
+public:
+    ResolvedComparator(const std::vector<LinkPathSortKey>& keys, const std::vector<size_t>& rows,
+                       const std::vector<size_t>& ends)
+        : m_keys(keys), m_rows(rows), m_ends(ends) {}
+
+    bool operator()(size_t pos_a, size_t pos_b) const
+    {
+        size_t key_count = m_keys.size();
+        for (size_t i = 0; i < key_count; ++i) {
+            const LinkPathSortKey& key = m_keys[i];
+            int cmp = compare_cells(key, m_ends[pos_a * key_count + i], m_ends[pos_b * key_count + i]);
+            if (cmp != 0)
+                return key.ascending ? cmp < 0 : cmp > 0;
+        }
+        return m_rows[pos_a] < m_rows[pos_b];
+    }
+
+private:
+    const std::vector<LinkPathSortKey>& m_keys;
+    const std::vector<size_t>& m_rows;
+    const std::vector<size_t>& m_ends;
+};
+
+void sort_rows(const std::vector<LinkPathSortKey>& keys, std::vector<size_t>& rows)
+{
+    size_t size = rows.size();
+    size_t key_count = keys.size();
+    std::vector<size_t> ends(size * key_count);
+    std::vector<size_t> positions(size);
+    for (size_t pos = 0; pos < size; ++pos) {
+        for (size_t i = 0; i < key_count; ++i) {
+            ends[pos * key_count + i] = keys[i].resolve(rows[pos]);
+        }
+        positions[pos] = pos;
+    }
+    std::sort(positions.begin(), positions.end(), ResolvedComparator(keys, rows, ends));
+
+    std::vector<size_t> sorted_rows(size);
+    for (size_t pos = 0; pos < size; ++pos) {
+        sorted_rows[pos] = rows[positions[pos]];
+    }
+    rows.swap(sorted_rows);
+}
+
+// Incremental maintenance only pays off while the rows to (re)insert are few compared to the size of the view.
+const size_t incremental_sort_min_size = 64;
+const size_t incremental_sort_max_change_ratio = 8;
+
+// The columns each table on the sort paths is read at, as masks in the form used by the change journal.
+std::map<const Table*, uint64_t> get_sort_columns(const std::vector<LinkPathSortKey>& keys)
+{
+    std::map<const Table*, uint64_t> columns;
+    for (size_t i = 0; i < keys.size(); ++i) {
+        const LinkPathSortKey& key = keys[i];
+        for (size_t j = 0; j < key.links.size(); ++j) {
+            columns[key.tables[j]] |= change_journal::column_bit(key.links[j]);
+        }
+        columns[key.table] |= change_journal::column_bit(key.column);
+    }
+    return columns;
+}
+
+// Follows rows of a table through the changes recorded for it. Rows in 'changed' are moved along or dropped as
+// rows are moved and erased, and rows with modified sort columns are added. If 'sorted_rows' is given, its rows are
+// followed too, erased rows becoming npos, and rows which are moved are added to 'changed' as their index decides
+// their place among equal rows. Returns false if more than max_changes rows have changed.
+class RowFollower {
+public:
+    RowFollower(std::vector<size_t>* sorted_rows, std::set<size_t>& changed)
+        : m_sorted_rows(sorted_rows), m_changed(changed), m_have_positions(false) {}
+
+    bool follow(const std::vector<change_journal::TableChanges>& changes, uint64_t columns, size_t max_changes)
+    {
+        for (size_t i = 0; i < changes.size(); ++i) {
+            const std::vector<change_journal::RowOp>& ops = changes[i].ops;
+            for (size_t j = 0; j < ops.size(); ++j) {
+                const change_journal::RowOp& op = ops[j];
+                if (op.insert) {
+                    if (!op.unordered)
+                        continue;   // appended
+                    // The rows at the insertion point are moved to the end to make room
+                    size_t last = std::min(op.row_ndx + op.num_rows, op.prior_size);
+                    for (size_t row = op.row_ndx; row < last; ++row)
+                        move(row, op.prior_size + (row - op.row_ndx));
+                }
+                else {
+                    for (size_t row = op.row_ndx; row < op.row_ndx + op.num_rows; ++row)
+                        erase(row);
+                    if (op.unordered) {
+                        // The last rows are moved into the gap
+                        size_t moved_from = op.prior_size - op.num_rows;
+                        for (size_t row = std::max(moved_from, op.row_ndx + op.num_rows); row < op.prior_size; ++row)
+                            move(row, op.row_ndx + (row - moved_from));
+                    }
+                }
+            }
+            const std::map<size_t, uint64_t>& modified = changes[i].modified;
+            for (std::map<size_t, uint64_t>::const_iterator it = modified.begin(); it != modified.end(); ++it) {
+                if (it->second & columns)
+                    m_changed.insert(it->first);
+            }
+            if (m_changed.size() > max_changes)
+                return false;
+        }
+        return true;
+    }
+
+private:
+    std::vector<size_t>* m_sorted_rows;
+    std::set<size_t>& m_changed;
+    std::vector<size_t> m_positions;    // position of each row in m_sorted_rows, or npos
+    bool m_have_positions;
+
+    // Only built once rows are erased or moved, as a row is appended far more often
+    size_t& position(size_t row)
+    {
+        if (!m_have_positions) {
+            for (size_t pos = 0; pos < m_sorted_rows->size(); ++pos) {
+                size_t sorted_row = (*m_sorted_rows)[pos];
+                if (sorted_row >= m_positions.size())
+                    m_positions.resize(sorted_row + 1, npos);
+                m_positions[sorted_row] = pos;
+            }
+            m_have_positions = true;
+        }
+        if (row >= m_positions.size())
+            m_positions.resize(row + 1, npos);
+        return m_positions[row];
+    }
+
+    void erase(size_t row)
+    {
+        m_changed.erase(row);
+        if (!m_sorted_rows)
+            return;
+        size_t& pos = position(row);
+        if (pos != npos) {
+            (*m_sorted_rows)[pos] = npos;
+            pos = npos;
+        }
+    }
+
+    void move(size_t from, size_t to)
+    {
+        if (m_changed.erase(from))
+            m_changed.insert(to);
+        if (!m_sorted_rows)
+            return;
+        size_t pos = position(from);
+        if (pos != npos) {
+            position(from) = npos;
+            position(to) = pos;
+            (*m_sorted_rows)[pos] = to;
+            m_changed.insert(to);
+        }
+    }
+};
+
+// Tries to derive the new order of 'rows' from the order of the previous sort and the changes recorded in the change
+// journal since then. Only rows the journal reports as changed are repositioned: rows whose sort columns were
+// modified, rows linking to such rows through the sort paths, and new rows. Everything else keeps its relative
+// order, so the changed rows are sorted among themselves and inserted by binary search. Returns false, leaving
+// 'rows' untouched, if the changes are not all known or too large for this to be cheaper than sorting the whole
+// view.
+bool update_sorted_rows(const std::vector<LinkPathSortKey>& keys, const TableView* tv,
+                        const std::vector<size_t>& previous_rows, std::vector<size_t>& rows)
+{
+    size_t size = rows.size();
+    if (size < incremental_sort_min_size)
+        return false;
+    size_t max_changes = size / incremental_sort_max_change_ratio;
+
+    const Table* view_table = &tv->get_parent();
+    std::vector<size_t> sorted_rows(previous_rows);
+    std::map<const Table*, std::set<size_t> > changed_rows;
+    std::map<const Table*, uint64_t> columns = get_sort_columns(keys);
+    for (std::map<const Table*, uint64_t>::const_iterator it = columns.begin(); it != columns.end(); ++it) {
+        std::vector<change_journal::TableChanges> changes;
+        if (!change_journal::get_changes(tv, it->first->get_index_in_group(), changes))
+            return false;
+        RowFollower follower(it->first == view_table ? &sorted_rows : NULL, changed_rows[it->first]);
+        if (!follower.follow(changes, it->second, max_changes))
+            return false;
+    }
+
+    // A change at the end of a path changes the rows of the view linking to it, which are found by walking the
+    // backlinks of the path in reverse. Rows along the way whose link changed are picked up at their hop.
+    std::set<size_t> changed(changed_rows[view_table]);
+    for (size_t i = 0; i < keys.size(); ++i) {
+        const LinkPathSortKey& key = keys[i];
+        if (key.links.empty())
+            continue;
+        std::set<size_t> targets(changed_rows[key.table]);
+        for (size_t j = key.links.size(); j-- > 0;) {
+            const Table& target = j + 1 < key.links.size() ? *key.tables[j + 1] : *key.table;
+            const Table& origin = *key.tables[j];
+            std::set<size_t> origins(changed_rows[&origin]);
+            for (std::set<size_t>::const_iterator it = targets.begin(); it != targets.end(); ++it) {
+                if (*it >= target.size())
+                    continue;
+                size_t count = target.get_backlink_count(*it, origin, key.links[j]);
+                for (size_t k = 0; k < count; ++k)
+                    origins.insert(target.get_backlink(*it, origin, key.links[j], k));
+                if (origins.size() > max_changes)
+                    return false;
+            }
+            targets.swap(origins);
+        }
+        changed.insert(targets.begin(), targets.end());
+        if (changed.size() > max_changes)
+            return false;
+    }
+
+    // Core has re-run the query of the view, which decides which rows are in it. A row of the previous order is kept
+    // in place if it is still in the view and has not changed.
+    enum { not_in_view, in_view, changed_in_view, kept_in_view };
+    size_t table_size = view_table->size();
+    std::vector<char> states(table_size, not_in_view);
+    for (size_t pos = 0; pos < size; ++pos)
+        states[rows[pos]] = in_view;
+    for (std::set<size_t>::const_iterator it = changed.begin(); it != changed.end(); ++it) {
+        if (*it < table_size && states[*it] == in_view)
+            states[*it] = changed_in_view;
+    }
+    std::vector<size_t> kept;
+    kept.reserve(size);
+    for (size_t pos = 0; pos < sorted_rows.size(); ++pos) {
+        size_t row = sorted_rows[pos];
+        if (row < table_size && states[row] == in_view) {
+            kept.push_back(row);
+            states[row] = kept_in_view;
+        }
+    }
+    if (size - kept.size() > max_changes)
+        return false;
+
+    std::vector<size_t> inserted;
+    inserted.reserve(size - kept.size());
+    for (size_t pos = 0; pos < size; ++pos) {
+        if (states[rows[pos]] != kept_in_view)
+            inserted.push_back(rows[pos]);
+    }
+    LinkPathComparator less(keys);
+    std::sort(inserted.begin(), inserted.end(), less);
+
+    rows.clear();
+    std::vector<size_t>::iterator from = kept.begin();
+    for (size_t i = 0; i < inserted.size(); ++i) {
+        std::vector<size_t>::iterator to = std::upper_bound(from, kept.end(), inserted[i], less);
+        rows.insert(rows.end(), from, to);
+        rows.push_back(inserted[i]);
+        from = to;
+    }
+    rows.insert(rows.end(), from, kept.end());
+    return true;
+}
+
+// Resolves a column path against the view's table.
+bool build_sort_key(JNIEnv* env, TableView* tv, const std::vector<size_t>& path, bool ascending, LinkPathSortKey& key)
+{
+    if (path.empty()) {
+        ThrowException(env, IllegalArgument, "You must provide at least one column index for each sort path.");
+        return false;
+    }
+
+    const Table* table = &tv->get_parent();
+    for (size_t i = 0; i < path.size(); ++i) {
+        if (!COL_INDEX_VALID(env, table, path[i]))
+            return false;
+        if (i == path.size() - 1)
+            break;
+        if (table->get_column_type(path[i]) != type_Link) {
+            ThrowException(env, IllegalArgument, "Sorting by a field of a linked object is only supported through object links, not lists.");
+            return false;
+        }
+        key.tables.push_back(table);
+        key.links.push_back(path[i]);
+        table = table->get_link_target(path[i]).get();
+    }
+
+    key.table = table;
+    key.column = path.back();
+    key.type = table->get_column_type(key.column);
+    key.ascending = ascending;
+    switch (key.type) {
+        case type_Bool:
+        case type_Int:
+        case type_DateTime:
+        case type_Float:
+        case type_Double:
+        case type_String:
+            return true;
+        default:
+            ThrowException(env, IllegalArgument, "Sort is currently only supported on integer, float, double, boolean, Date, and String columns.");
+            return false;
+    }
+}
+
+bool build_sort_keys(JNIEnv* env, TableView* tv, const LinkSort& sort, std::vector<LinkPathSortKey>& keys)
+{
+    keys.resize(sort.paths.size());
+    for (size_t i = 0; i < sort.paths.size(); ++i) {
+        if (!build_sort_key(env, tv, sort.paths[i], sort.ascending[i], keys[i]))
+            return false;
+    }
+    return true;
+}
+
+// Has the change journal record the changes of the tables a sort reads from, so the next sort can follow them. This is
+// only done if the view is in sync with the transaction logs of its group, which is given as zero otherwise.
+void journal_sort(TableView* tv, jlong nativeGroupPtr, const std::vector<LinkPathSortKey>& keys, LinkSort& sort)
+{
+    if (nativeGroupPtr == 0 || !tv->get_parent().is_group_level()) {
+        change_journal::unwatch(tv);
+        sort.journaled = false;
+        return;
+    }
+    std::map<const Table*, uint64_t> columns = get_sort_columns(keys);
+    std::vector<size_t> table_ndxs;
+    for (std::map<const Table*, uint64_t>::const_iterator it = columns.begin(); it != columns.end(); ++it) {
+        table_ndxs.push_back(it->first->get_index_in_group());
+    }
+    change_journal::watch(tv, G(nativeGroupPtr), table_ndxs);
+    sort.journaled = true;
+}
+
+void get_source_rows(TableView* tv, std::vector<size_t>& rows)
+{
+    size_t size = tv->size();
+    rows.resize(size);
+    for (size_t pos = 0; pos < size; ++pos) {
+        rows[pos] = tv->get_source_ndx(pos);
+    }
+}
+
+} // anonymous namespace
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSortByLinkPaths(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong nativeGroupPtr, jobjectArray columnPaths,
+    jbooleanArray ascending, jboolean rowsInOrder)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return;
+
+        jsize paths_len = env->GetArrayLength(columnPaths);
+        jsize asc_len = env->GetArrayLength(ascending);
+        if (paths_len == 0) {
+            ThrowException(env, IllegalArgument, "You must provide at least one field name.");
+            return;
+        }
+        if (paths_len != asc_len) {
+            ThrowException(env, IllegalArgument, "Number of column indices and sort orders do not match.");
+            return;
+        }
+
+        std::vector<jboolean> ascendings(asc_len);
+        env->GetBooleanArrayRegion(ascending, 0, asc_len, ascendings.data());
+
+        LinkSort sort;
+        for (jsize i = 0; i < paths_len; ++i) {
+            jlongArray jpath = static_cast<jlongArray>(env->GetObjectArrayElement(columnPaths, i));
+            jsize path_len = env->GetArrayLength(jpath);
+            std::vector<jlong> jcolumns(path_len);
+            env->GetLongArrayRegion(jpath, 0, path_len, jcolumns.data());
+            env->DeleteLocalRef(jpath);
+
+            std::vector<size_t> path;
+            for (jsize j = 0; j < path_len; ++j) {
+                path.push_back(S(jcolumns[j]));
+            }
+            sort.paths.push_back(path);
+            sort.ascending.push_back(B(ascendings[i]));
+        }
+
+        TableView* tv = TV(nativeViewPtr);
+        std::vector<LinkPathSortKey> keys;
+        if (!build_sort_keys(env, tv, sort, keys))
+            return;
+
+        get_source_rows(tv, sort.sorted_rows);
+        if (!rowsInOrder) {
+            sort_rows(keys, sort.sorted_rows);
+            static_cast<DerivedRowsView*>(tv)->set_source_rows(sort.sorted_rows);
+        }
+        journal_sort(tv, nativeGroupPtr, keys, sort);
+
+        std::lock_guard<std::mutex> lock(link_sorts_mutex);
+        LinkSort& entry = link_sorts[tv];
+        entry.paths.swap(sort.paths);
+        entry.ascending.swap(sort.ascending);
+        entry.sorted_rows.swap(sort.sorted_rows);
+        entry.journaled = sort.journaled;
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeResortByLinkPaths(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong nativeGroupPtr)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return;
+
+        TableView* tv = TV(nativeViewPtr);
+        LinkSort* sort = find_link_sort(tv);
+        if (sort == NULL)
+            return;
+        std::vector<LinkPathSortKey> keys;
+        if (!build_sort_keys(env, tv, *sort, keys))
+            return;
+
+        std::vector<size_t> rows;
+        get_source_rows(tv, rows);
+        bool followed = nativeGroupPtr != 0 && sort->journaled && update_sorted_rows(keys, tv, sort->sorted_rows, rows);
+        if (!followed) {
+            sort_rows(keys, rows);
+        }
+        static_cast<DerivedRowsView*>(tv)->set_source_rows(rows);
+        sort->sorted_rows.swap(rows);
+        journal_sort(tv, nativeGroupPtr, keys, *sort);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeFindBacklinks(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong nativeTargetTablePtr, jlong targetRowIndex, jlong columnIndex)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return;
+
+        TableView* tv = TV(nativeViewPtr);
+        Table& origin = tv->get_parent();
+        Table* target = TBL(nativeTargetTablePtr);
+        if (!COL_INDEX_VALID(env, &origin, columnIndex))
+            return;
+        DataType type = origin.get_column_type(S(columnIndex));
+        if ((type != type_Link && type != type_LinkList) || origin.get_link_target(S(columnIndex)).get() != target) {
+            ThrowException(env, IllegalArgument, "The column does not link to the table of the row.");
+            return;
+        }
+
+        // A negative row index means the row has been deleted, so nothing links to it.
+        std::vector<size_t> rows;
+        if (targetRowIndex >= 0) {
+            size_t count = target->get_backlink_count(S(targetRowIndex), origin, S(columnIndex));
+            rows.reserve(count);
+            for (size_t i = 0; i < count; ++i) {
+                rows.push_back(target->get_backlink(S(targetRowIndex), origin, S(columnIndex), i));
+            }
+            // A row linking several times to the target through a link list is only included once
+            std::sort(rows.begin(), rows.end());
+            rows.erase(std::unique(rows.begin(), rows.end()), rows.end());
+        }
+        static_cast<DerivedRowsView*>(tv)->set_source_rows(rows);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeFindReachableRows(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlong startRowIndex, jlong columnIndex, jint maxDepth)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return;
+
+        TableView* tv = TV(nativeViewPtr);
+        Table& table = tv->get_parent();
+        if (!COL_INDEX_VALID(env, &table, columnIndex))
+            return;
+        size_t col = S(columnIndex);
+        DataType type = table.get_column_type(col);
+        if ((type != type_Link && type != type_LinkList) || table.get_link_target(col).get() != &table) {
+            ThrowException(env, IllegalArgument, "Only link columns linking to their own table can be traversed.");
+            return;
+        }
+
+        // Breadth-first expansion, one level per step. Rows are marked as visited when first reached, so every
+        // row is expanded at most once and cycles terminate. A negative row index means the start row has been
+        // deleted, so nothing is reachable.
+        std::vector<size_t> rows;
+        if (startRowIndex >= 0) {
+            std::vector<bool> visited(table.size(), false);
+            visited[S(startRowIndex)] = true;
+            std::vector<size_t> frontier(1, S(startRowIndex));
+            std::vector<size_t> next;
+            for (jint depth = 0; depth < maxDepth && !frontier.empty(); ++depth) {
+                next.clear();
+                for (size_t i = 0; i < frontier.size(); ++i) {
+                    size_t row = frontier[i];
+                    if (type == type_Link) {
+                        if (table.is_null_link(col, row))
+                            continue;
+                        size_t target = table.get_link(col, row);
+                        if (!visited[target]) {
+                            visited[target] = true;
+                            next.push_back(target);
+                        }
+                    }
+                    else {
+                        LinkViewRef links = table.get_linklist(col, row);
+                        size_t count = links->size();
+                        for (size_t j = 0; j < count; ++j) {
+                            size_t target = links->get(j).get_index();
+                            if (!visited[target]) {
+                                visited[target] = true;
+                                next.push_back(target);
+                            }
+                        }
+                    }
+                }
+                rows.insert(rows.end(), next.begin(), next.end());
+                frontier.swap(next);
+            }
+        }
+        static_cast<DerivedRowsView*>(tv)->set_source_rows(rows);
+    } CATCH_STD()
+}
+
+JNIEXPORT void JNICALL Java_io_realm_internal_TableView_nativeSetQueryResult(
+    JNIEnv* env, jobject, jlong nativeViewPtr, jlongArray sourceRowIndexes)
+{
+    try {
+        if (!VIEW_VALID_AND_IN_SYNC(env, nativeViewPtr))
+            return;
+
+        TableView* tv = TV(nativeViewPtr);
+        size_t table_size = tv->get_parent().size();
+        jsize count = env->GetArrayLength(sourceRowIndexes);
+        jlong* indexes = env->GetLongArrayElements(sourceRowIndexes, NULL);
+        std::vector<size_t> rows;
+        rows.reserve(count);
+        for (jsize i = 0; i < count; ++i) {
+            if (indexes[i] < 0 || S(indexes[i]) >= table_size) {
+                env->ReleaseLongArrayElements(sourceRowIndexes, indexes, JNI_ABORT);
+                ThrowException(env, IllegalArgument, "Row index out of range.");
+                return;
+            }
+            rows.push_back(S(indexes[i]));
+        }
+        env->ReleaseLongArrayElements(sourceRowIndexes, indexes, JNI_ABORT);
+        static_cast<DerivedRowsView*>(tv)->set_query_result(rows);
+    } CATCH_STD()
+}
+
 JNIEXPORT jstring JNICALL Java_io_realm_internal_TableView_nativeToJson(
     JNIEnv *env, jobject, jlong nativeViewPtr)
 {
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.realm;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.test.AndroidTestCase;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.realm.entities.Dog;
+
+public class NotificationStatsTest extends AndroidTestCase {
+
+    private RealmConfiguration config;
+    private HandlerThread handlerThread;
+    private Handler handler;
+    private Realm looperRealm;
+    private Realm realm;
+
+    @Override
+    protected void setUp() throws Exception {
+        // The statistics are kept per file for the lifetime of the process, so other tests must not use this file
+        config = new RealmConfiguration.Builder(getContext()).name("notificationstats.realm").build();
+        Realm.deleteRealm(config);
+        handlerThread = new HandlerThread("NotificationStatsTest");
+        handlerThread.start();
+        handler = new Handler(handlerThread.getLooper());
+        runOnLooper(new Runnable() {
+            @Override
+            public void run() {
+                looperRealm = Realm.getInstance(config);
+            }
+        });
+        realm = Realm.getInstance(config);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        realm.close();
+        runOnLooper(new Runnable() {
+            @Override
+            public void run() {
+                looperRealm.close();
+            }
+        });
+        handlerThread.quit();
+    }
+
+    // Also waits for the change messages posted before
+    private void runOnLooper(final Runnable runnable) throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    runnable.run();
+                } finally {
+                    done.countDown();
+                }
+            }
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    private void addDog() throws InterruptedException {
+        realm.beginTransaction();
+        realm.createObject(Dog.class);
+        realm.commitTransaction();
+        runOnLooper(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+    }
+
+    public void testAdvanceIsDeferredWithoutListeners() throws Exception {
+        NotificationStats before = Realm.getNotificationStats(config);
+        addDog();
+
+        NotificationStats stats = Realm.getNotificationStats(config);
+        assertEquals(before.getWakeUps() + 1, stats.getWakeUps());
+        assertEquals(before.getDeferredAdvances() + 1, stats.getDeferredAdvances());
+        assertEquals(before.getImmediateAdvances(), stats.getImmediateAdvances());
+        assertEquals(before.getAdvancesOnAccess(), stats.getAdvancesOnAccess());
+
+        final AtomicInteger size = new AtomicInteger();
+        runOnLooper(new Runnable() {
+            @Override
+            public void run() {
+                size.set(looperRealm.allObjects(Dog.class).size());
+            }
+        });
+        assertEquals(1, size.get());
+        assertEquals(before.getAdvancesOnAccess() + 1, Realm.getNotificationStats(config).getAdvancesOnAccess());
+    }
+
+    public void testNoMessagesWhileAdvanceIsDeferred() throws Exception {
+        addDog();
+        NotificationStats before = Realm.getNotificationStats(config);
+        addDog();
+        addDog();
+
+        NotificationStats stats = Realm.getNotificationStats(config);
+        assertEquals(before.getMessagesPosted(), stats.getMessagesPosted());
+        assertEquals(before.getMessagesSkipped() + 2, stats.getMessagesSkipped());
+        assertEquals(before.getWakeUps(), stats.getWakeUps());
+
+        final AtomicInteger size = new AtomicInteger();
+        runOnLooper(new Runnable() {
+            @Override
+            public void run() {
+                size.set(looperRealm.allObjects(Dog.class).size());
+            }
+        });
+        assertEquals(3, size.get());
+    }
+
+    public void testAdvanceIsImmediateWithListeners() throws Exception {
+        final AtomicInteger changes = new AtomicInteger();
+        runOnLooper(new Runnable() {
+            @Override
+            public void run() {
+                looperRealm.addChangeListener(new RealmChangeListener() {
+                    @Override
+                    public void onChange() {
+                        changes.incrementAndGet();
+                    }
+                });
+            }
+        });
+        NotificationStats before = Realm.getNotificationStats(config);
+        addDog();
+
+        NotificationStats stats = Realm.getNotificationStats(config);
+        assertEquals(1, changes.get());
+        assertEquals(before.getMessagesPosted() + 1, stats.getMessagesPosted());
+        assertEquals(before.getImmediateAdvances() + 1, stats.getImmediateAdvances());
+        assertEquals(before.getDeferredAdvances(), stats.getDeferredAdvances());
+    }
+}
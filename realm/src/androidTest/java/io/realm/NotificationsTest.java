@@ -17,7 +17,11 @@ package io.realm;
 
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.test.AndroidTestCase;
+import android.util.Log;
+
+import java.io.File;
 
 import java.lang.ref.WeakReference;
 import java.util.Map;
@@ -35,6 +39,10 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import io.realm.entities.AllTypes;
 import io.realm.entities.Dog;
+import io.realm.entities.Owner;
+import io.realm.entities.StringOnly;
+import io.realm.internal.SharedGroup;
+import io.realm.internal.WriteTransaction;
 
 public class NotificationsTest extends AndroidTestCase {
 
@@ -482,4 +490,198 @@ public class NotificationsTest extends AndroidTestCase {
         assertEquals(0, counter.get());
         assertEquals(0, realm.getChangeListeners().size());
     }
+
+    public void testClassChangeListener() {
+        final AtomicInteger dogChanges = new AtomicInteger(0);
+        RealmChangeListener listener = new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                dogChanges.incrementAndGet();
+            }
+        };
+        realm = Realm.getInstance(getContext());
+        realm.addChangeListener(Dog.class, listener);
+        realm.addChangeListener(Dog.class, listener);
+
+        realm.beginTransaction();
+        realm.createObject(AllTypes.class);
+        realm.commitTransaction();
+        assertEquals(0, dogChanges.get());
+
+        realm.beginTransaction();
+        Dog dog = realm.createObject(Dog.class);
+        realm.commitTransaction();
+        assertEquals(1, dogChanges.get());
+
+        realm.beginTransaction();
+        dog.setName("Fido");
+        realm.commitTransaction();
+        assertEquals(2, dogChanges.get());
+
+        realm.removeChangeListener(listener);
+        realm.beginTransaction();
+        dog.setName("Rex");
+        realm.commitTransaction();
+        assertEquals(2, dogChanges.get());
+    }
+
+    // Only tables modified by the transaction count, not tables linking to them
+    public void testClassChangeListenerIgnoresLinkedClasses() {
+        final AtomicInteger dogChanges = new AtomicInteger(0);
+        RealmChangeListener listener = new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                dogChanges.incrementAndGet();
+            }
+        };
+        realm = Realm.getInstance(getContext());
+        realm.beginTransaction();
+        Dog dog = realm.createObject(Dog.class);
+        Owner owner = realm.createObject(Owner.class);
+        dog.setOwner(owner);
+        realm.commitTransaction();
+
+        realm.addChangeListener(Dog.class, listener);
+        realm.beginTransaction();
+        owner.setName("Owner");
+        realm.commitTransaction();
+        assertEquals(0, dogChanges.get());
+
+        realm.beginTransaction();
+        dog.setOwner(null);
+        realm.commitTransaction();
+        assertEquals(1, dogChanges.get());
+    }
+
+    public void testClassChangeListenerOnOtherThread() throws InterruptedException, ExecutionException {
+        final AtomicInteger dogChanges = new AtomicInteger(0);
+        final AtomicInteger otherChanges = new AtomicInteger(0);
+        final CountDownLatch isReady = new CountDownLatch(1);
+        final CountDownLatch dogChanged = new CountDownLatch(1);
+        final Looper[] looper = new Looper[1];
+        final RealmChangeListener dogListener = new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                dogChanges.incrementAndGet();
+                dogChanged.countDown();
+            }
+        };
+        final RealmChangeListener otherListener = new RealmChangeListener() {
+            @Override
+            public void onChange() {
+                otherChanges.incrementAndGet();
+            }
+        };
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Boolean> future = executorService.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                Realm realm = null;
+                try {
+                    Looper.prepare();
+                    looper[0] = Looper.myLooper();
+                    realm = Realm.getInstance(getContext());
+                    realm.addChangeListener(Dog.class, dogListener);
+                    realm.addChangeListener(StringOnly.class, otherListener);
+                    isReady.countDown();
+                    Looper.loop();
+                } finally {
+                    if (realm != null) {
+                        realm.close();
+                    }
+                }
+                return true;
+            }
+        });
+        isReady.await();
+
+        realm = Realm.getInstance(getContext());
+        realm.beginTransaction();
+        realm.createObject(Dog.class).setName("Rex");
+        realm.commitTransaction();
+
+        assertTrue(dogChanged.await(2, TimeUnit.SECONDS));
+        looper[0].quit();
+        assertTrue(future.get());
+        assertEquals(1, dogChanges.get());
+        assertEquals(0, otherChanges.get());
+    }
+
+    // Two notifiers on the same file behave like two processes, as each has its own inotify watch
+    public void testCrossProcessNotifierWakesUpOtherWatcher() throws InterruptedException {
+        RealmConfiguration config = new RealmConfiguration.Builder(getContext()).build();
+        final CountDownLatch committed = new CountDownLatch(1);
+        final long[] wokenUpAt = new long[1];
+        CrossProcessNotifier writer = new CrossProcessNotifier(config.getPath(), null);
+        CrossProcessNotifier reader = new CrossProcessNotifier(config.getPath(), new Runnable() {
+            @Override
+            public void run() {
+                wokenUpAt[0] = SystemClock.elapsedRealtime();
+                committed.countDown();
+            }
+        });
+        assertTrue(new File(config.getPath() + CrossProcessNotifier.NOTIFICATION_FILE_SUFFIX).exists());
+
+        reader.startWatching();
+        try {
+            long start = SystemClock.elapsedRealtime();
+            writer.notifyCommit();
+            assertTrue(committed.await(2, TimeUnit.SECONDS));
+            Log.d("NotificationsTest", String.format("Woken up after %d ms.", wokenUpAt[0] - start));
+        } finally {
+            reader.stopWatching();
+        }
+    }
+
+    public void testCrossProcessNotificationsCallListener() throws InterruptedException, ExecutionException {
+        final RealmConfiguration config = new RealmConfiguration.Builder(getContext())
+                .crossProcessNotifications()
+                .build();
+        final CountDownLatch isReady = new CountDownLatch(1);
+        final CountDownLatch changed = new CountDownLatch(1);
+        final Looper[] looper = new Looper[1];
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Boolean> future = executorService.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                Realm realm = null;
+                try {
+                    Looper.prepare();
+                    looper[0] = Looper.myLooper();
+                    realm = Realm.getInstance(config);
+                    realm.addChangeListener(new RealmChangeListener() {
+                        @Override
+                        public void onChange() {
+                            changed.countDown();
+                        }
+                    });
+                    isReady.countDown();
+                    Looper.loop();
+                } finally {
+                    if (realm != null) {
+                        realm.close();
+                    }
+                }
+                return true;
+            }
+        });
+        isReady.await();
+
+        // Simulate a commit by another process: change the file, then only signal it through the notification file
+        realm = Realm.getInstance(config);
+        SharedGroup sharedGroup = new SharedGroup(config.getPath(), SharedGroup.Durability.FULL, null);
+        WriteTransaction transaction = sharedGroup.beginWrite();
+        transaction.getTable("class_Dog").addEmptyRow();
+        transaction.commit();
+        sharedGroup.close();
+        new CrossProcessNotifier(config.getPath(), null).notifyCommit();
+
+        assertTrue(changed.await(2, TimeUnit.SECONDS));
+        looper[0].quit();
+        assertTrue(future.get());
+        realm.refresh();
+        assertEquals(1, realm.allObjects(Dog.class).size());
+    }
 }
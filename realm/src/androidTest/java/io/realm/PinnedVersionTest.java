@@ -0,0 +1,198 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.realm;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
+import android.test.AndroidTestCase;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.realm.entities.Dog;
+
+public class PinnedVersionTest extends AndroidTestCase {
+
+    private RealmConfiguration config;
+    private ExecutorService executorService;
+
+    @Override
+    protected void setUp() throws Exception {
+        config = new RealmConfiguration.Builder(getContext()).build();
+        Realm.deleteRealm(config);
+        executorService = Executors.newSingleThreadExecutor();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        executorService.shutdownNow();
+    }
+
+    private <T> T runOnExecutor(Callable<T> callable) throws Exception {
+        return executorService.submit(callable).get(10, TimeUnit.SECONDS);
+    }
+
+    private void addDogs(RealmConfiguration configuration, int count) {
+        Realm realm = Realm.getInstance(configuration);
+        for (int i = 0; i < count; i++) {
+            realm.beginTransaction();
+            Dog dog = realm.createObject(Dog.class);
+            dog.setName("Dog " + i);
+            realm.commitTransaction();
+        }
+        realm.close();
+    }
+
+    public void testNoOpenInstance() {
+        assertNull(Realm.getOldestPinnedVersion(config));
+    }
+
+    public void testOldestVersionIsReportedWithItsThread() throws Exception {
+        final Realm[] idleRealm = new Realm[1];
+        final String threadName = runOnExecutor(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                idleRealm[0] = Realm.getInstance(config);
+                return Thread.currentThread().getName();
+            }
+        });
+
+        Realm realm = Realm.getInstance(config);
+        long pinnedVersion = Realm.getOldestPinnedVersion(config).getVersion();
+        addDogs(config, 100);
+
+        PinnedVersion oldest = Realm.getOldestPinnedVersion(config);
+        assertEquals(pinnedVersion, oldest.getVersion());
+        assertEquals(threadName, oldest.getThreadName());
+        assertTrue(oldest.getFileGrowth() >= 0);
+
+        runOnExecutor(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                idleRealm[0].close();
+                return null;
+            }
+        });
+        // Only this thread's instance is left, and it has read in its own commits
+        oldest = Realm.getOldestPinnedVersion(config);
+        assertTrue(oldest.getVersion() > pinnedVersion);
+        assertEquals(Thread.currentThread().getName(), oldest.getThreadName());
+        realm.close();
+        assertNull(Realm.getOldestPinnedVersion(config));
+    }
+
+    public void testIdleReadIsAdvancedOnGetInstance() throws Exception {
+        final RealmConfiguration idleConfig = new RealmConfiguration.Builder(getContext())
+                .autoAdvanceIdleReads(50, TimeUnit.MILLISECONDS)
+                .build();
+        final Realm[] idleRealm = new Realm[1];
+        runOnExecutor(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                idleRealm[0] = Realm.getInstance(idleConfig);
+                return null;
+            }
+        });
+        addDogs(idleConfig, 1);
+        SystemClock.sleep(100);
+
+        long dogs = runOnExecutor(new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                assertEquals(0, idleRealm[0].where(Dog.class).count());
+                Realm realm = Realm.getInstance(idleConfig);
+                try {
+                    return realm.where(Dog.class).count();
+                } finally {
+                    realm.close();
+                    idleRealm[0].close();
+                }
+            }
+        });
+        assertEquals(1, dogs);
+    }
+
+    public void testIdleReadIsAdvancedOnLooperThread() throws Exception {
+        final RealmConfiguration idleConfig = new RealmConfiguration.Builder(getContext())
+                .autoAdvanceIdleReads(50, TimeUnit.MILLISECONDS)
+                .build();
+        HandlerThread handlerThread = new HandlerThread("PinnedVersionTest");
+        handlerThread.start();
+        Handler handler = new Handler(handlerThread.getLooper());
+        final AtomicReference<Realm> looperRealm = new AtomicReference<Realm>();
+        final CountDownLatch opened = new CountDownLatch(1);
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                Realm realm = Realm.getInstance(idleConfig);
+                realm.setAutoRefresh(false);
+                looperRealm.set(realm);
+                opened.countDown();
+            }
+        });
+        assertTrue(opened.await(10, TimeUnit.SECONDS));
+
+        addDogs(idleConfig, 1);
+        SystemClock.sleep(500);
+
+        final AtomicLong dogs = new AtomicLong(-1);
+        final CountDownLatch checked = new CountDownLatch(1);
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                dogs.set(looperRealm.get().where(Dog.class).count());
+                looperRealm.get().close();
+                checked.countDown();
+            }
+        });
+        assertTrue(checked.await(10, TimeUnit.SECONDS));
+        handlerThread.quit();
+        assertEquals(1, dogs.get());
+    }
+
+    public void testIdleReadIsNotAdvancedWithoutPolicy() throws Exception {
+        final Realm[] idleRealm = new Realm[1];
+        runOnExecutor(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                idleRealm[0] = Realm.getInstance(config);
+                return null;
+            }
+        });
+        addDogs(config, 1);
+        SystemClock.sleep(100);
+
+        long dogs = runOnExecutor(new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                Realm realm = Realm.getInstance(config);
+                try {
+                    return realm.where(Dog.class).count();
+                } finally {
+                    realm.close();
+                    idleRealm[0].close();
+                }
+            }
+        });
+        assertEquals(0, dogs);
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.realm;
+
+import android.os.Looper;
+import android.test.AndroidTestCase;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.realm.entities.Dog;
+
+public class RealmAsyncTransactionTest extends AndroidTestCase {
+
+    @Override
+    protected void setUp() throws Exception {
+        Realm.deleteRealmFile(getContext());
+    }
+
+    // Runs the given callable on a new Looper thread, and returns its result once the Looper has been quit.
+    private <T> T runOnLooperThread(final Callable<T> callable) throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<T> future = executorService.submit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                Looper.prepare();
+                T result = callable.call();
+                Looper.loop();
+                return result;
+            }
+        });
+        return future.get(10, TimeUnit.SECONDS);
+    }
+
+    public void testExecuteTransactionAsync() throws Exception {
+        final AtomicInteger dogsSeenInCallback = new AtomicInteger(-1);
+        runOnLooperThread(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                final Realm realm = Realm.getInstance(getContext());
+                final RealmResults<Dog> dogs = realm.allObjects(Dog.class);
+                realm.executeTransactionAsync(new Realm.Transaction() {
+                    @Override
+                    public void execute(Realm bgRealm) {
+                        bgRealm.createObject(Dog.class).setName("Fido");
+                    }
+                }, new Realm.Transaction.OnSuccess() {
+                    @Override
+                    public void onSuccess() {
+                        dogsSeenInCallback.set(dogs.size());
+                        realm.close();
+                        Looper.myLooper().quit();
+                    }
+                }, null);
+                return null;
+            }
+        });
+
+        assertEquals(1, dogsSeenInCallback.get());
+        Realm realm = Realm.getInstance(getContext());
+        assertEquals("Fido", realm.allObjects(Dog.class).first().getName());
+        realm.close();
+    }
+
+    public void testExecuteTransactionAsyncWithoutAutoRefresh() throws Exception {
+        final AtomicInteger dogsSeenInCallback = new AtomicInteger(-1);
+        runOnLooperThread(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                final Realm realm = Realm.getInstance(getContext());
+                realm.setAutoRefresh(false);
+                realm.executeTransactionAsync(new Realm.Transaction() {
+                    @Override
+                    public void execute(Realm bgRealm) {
+                        bgRealm.createObject(Dog.class);
+                    }
+                }, new Realm.Transaction.OnSuccess() {
+                    @Override
+                    public void onSuccess() {
+                        dogsSeenInCallback.set(realm.allObjects(Dog.class).size());
+                        realm.close();
+                        Looper.myLooper().quit();
+                    }
+                }, null);
+                return null;
+            }
+        });
+
+        assertEquals(1, dogsSeenInCallback.get());
+    }
+
+    public void testExecuteTransactionAsyncError() throws Exception {
+        final Throwable[] errorSeenInCallback = new Throwable[1];
+        runOnLooperThread(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                final Realm realm = Realm.getInstance(getContext());
+                realm.executeTransactionAsync(new Realm.Transaction() {
+                    @Override
+                    public void execute(Realm bgRealm) {
+                        bgRealm.createObject(Dog.class);
+                        throw new IllegalStateException("Boom");
+                    }
+                }, new Realm.Transaction.OnSuccess() {
+                    @Override
+                    public void onSuccess() {
+                        fail();
+                    }
+                }, new Realm.Transaction.OnError() {
+                    @Override
+                    public void onError(Throwable error) {
+                        errorSeenInCallback[0] = error;
+                        realm.close();
+                        Looper.myLooper().quit();
+                    }
+                });
+                return null;
+            }
+        });
+
+        assertTrue(errorSeenInCallback[0] instanceof IllegalStateException);
+        Realm realm = Realm.getInstance(getContext());
+        assertEquals(0, realm.allObjects(Dog.class).size());
+        realm.close();
+    }
+
+    public void testCancelExecuteTransactionAsync() throws Exception {
+        final CountDownLatch writerBlocked = new CountDownLatch(1);
+        final CountDownLatch releaseWriter = new CountDownLatch(1);
+        final CountDownLatch lastTransactionDone = new CountDownLatch(1);
+        Realm realm = Realm.getInstance(getContext());
+
+        // Keep the writer thread busy, so the next transaction can be cancelled before it starts
+        realm.executeTransactionAsync(new Realm.Transaction() {
+            @Override
+            public void execute(Realm bgRealm) {
+                writerBlocked.countDown();
+                try {
+                    releaseWriter.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }, null, null);
+        writerBlocked.await();
+
+        RealmAsyncTask task = realm.executeTransactionAsync(new Realm.Transaction() {
+            @Override
+            public void execute(Realm bgRealm) {
+                bgRealm.createObject(Dog.class);
+            }
+        }, null, null);
+        task.cancel();
+        assertTrue(task.isCancelled());
+        realm.executeTransactionAsync(new Realm.Transaction() {
+            @Override
+            public void execute(Realm bgRealm) {
+                lastTransactionDone.countDown();
+            }
+        }, null, null);
+        releaseWriter.countDown();
+        assertTrue(lastTransactionDone.await(10, TimeUnit.SECONDS));
+
+        realm.refresh();
+        assertEquals(0, realm.allObjects(Dog.class).size());
+        realm.close();
+    }
+
+    public void testExecuteTransactionAsyncCallbacksWithoutLooper() throws ExecutionException, InterruptedException {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Boolean> future = executorService.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                Realm realm = Realm.getInstance(getContext());
+                try {
+                    realm.executeTransactionAsync(new Realm.Transaction() {
+                        @Override
+                        public void execute(Realm bgRealm) {
+                        }
+                    }, new Realm.Transaction.OnSuccess() {
+                        @Override
+                        public void onSuccess() {
+                        }
+                    }, null);
+                    return false;
+                } catch (IllegalStateException ignored) {
+                    return true;
+                } finally {
+                    realm.close();
+                }
+            }
+        });
+        assertTrue(future.get());
+    }
+
+    public void testExecuteTransactionAsyncNullTransaction() {
+        Realm realm = Realm.getInstance(getContext());
+        try {
+            realm.executeTransactionAsync(null, null, null);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        } finally {
+            realm.close();
+        }
+    }
+
+    private RealmConfiguration groupCommitConfig() {
+        return new RealmConfiguration.Builder(getContext())
+                .name("groupcommit.realm")
+                .groupCommit(50, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    // Submits the given number of transactions each adding a dog, with the transaction at failingIndex throwing,
+    // and waits until all callbacks have been called. Returns the number of successful transactions.
+    private int runDogTransactions(final RealmConfiguration config, final int count, final int failingIndex)
+            throws Exception {
+        final AtomicInteger succeeded = new AtomicInteger(0);
+        final AtomicInteger completed = new AtomicInteger(0);
+        final Realm[] realm = new Realm[1];
+        runOnLooperThread(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                realm[0] = Realm.getInstance(config);
+                for (int i = 0; i < count; i++) {
+                    final int index = i;
+                    realm[0].executeTransactionAsync(new Realm.Transaction() {
+                        @Override
+                        public void execute(Realm bgRealm) {
+                            bgRealm.createObject(Dog.class).setAge(index);
+                            if (index == failingIndex) {
+                                throw new IllegalStateException("Boom");
+                            }
+                        }
+                    }, new Realm.Transaction.OnSuccess() {
+                        @Override
+                        public void onSuccess() {
+                            succeeded.incrementAndGet();
+                            onCompleted();
+                        }
+                    }, new Realm.Transaction.OnError() {
+                        @Override
+                        public void onError(Throwable error) {
+                            onCompleted();
+                        }
+                    });
+                }
+                return null;
+            }
+
+            private void onCompleted() {
+                if (completed.incrementAndGet() == count) {
+                    realm[0].close();
+                    Looper.myLooper().quit();
+                }
+            }
+        });
+        return succeeded.get();
+    }
+
+    public void testGroupCommit() throws Exception {
+        RealmConfiguration config = groupCommitConfig();
+        Realm.deleteRealm(config);
+
+        assertEquals(20, runDogTransactions(config, 20, -1));
+
+        Realm realm = Realm.getInstance(config);
+        assertEquals(20, realm.allObjects(Dog.class).size());
+        realm.close();
+    }
+
+    public void testGroupCommitFailingTransaction() throws Exception {
+        RealmConfiguration config = groupCommitConfig();
+        Realm.deleteRealm(config);
+
+        assertEquals(9, runDogTransactions(config, 10, 4));
+
+        Realm realm = Realm.getInstance(config);
+        assertEquals(9, realm.allObjects(Dog.class).size());
+        assertEquals(0, realm.where(Dog.class).equalTo("age", 4).count());
+        realm.close();
+    }
+
+    // Returns the number of write transactions started on the file of the configuration
+    private long countWriteTransactions(RealmConfiguration config) {
+        WriteLockStats stats = Realm.getWriteLockStats(config);
+        return (stats != null) ? stats.getAcquisitions() : 0;
+    }
+
+    public void testGroupCommitUsesOneWriteTransaction() throws Exception {
+        final int count = 20;
+        RealmConfiguration[] configs = {
+                new RealmConfiguration.Builder(getContext()).name("single.realm").build(),
+                groupCommitConfig()
+        };
+        for (RealmConfiguration config : configs) {
+            Realm.deleteRealm(config);
+            // Opens the file first, so creating the schema is not counted
+            Realm realm = Realm.getInstance(config);
+            long writeTransactions = countWriteTransactions(config);
+
+            assertEquals(count, runDogTransactions(config, count, -1));
+
+            long groupWriteTransactions = countWriteTransactions(config) - writeTransactions;
+            if (config.getGroupCommitWindow() > 0) {
+                assertEquals(1, groupWriteTransactions);
+            } else {
+                assertEquals(count, groupWriteTransactions);
+            }
+            realm.close();
+        }
+    }
+
+    public void testGroupCommitFailingTransactionRunsGroupAgain() throws Exception {
+        RealmConfiguration config = groupCommitConfig();
+        Realm.deleteRealm(config);
+        Realm realm = Realm.getInstance(config);
+        long writeTransactions = countWriteTransactions(config);
+
+        assertEquals(9, runDogTransactions(config, 10, 4));
+
+        // The group is rolled back once and committed without the failing transaction
+        assertEquals(2, countWriteTransactions(config) - writeTransactions);
+        realm.close();
+    }
+}
@@ -20,6 +20,7 @@ import android.test.AndroidTestCase;
 
 import java.io.File;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
 import io.realm.entities.AllTypes;
 import io.realm.entities.AllTypesPrimaryKey;
@@ -96,6 +97,35 @@ public class RealmConfigurationTest extends AndroidTestCase {
         }
     }
 
+    public void testInvalidGroupCommitWindowThrows() {
+        try {
+            new RealmConfiguration.Builder(getContext()).groupCommit(0, TimeUnit.MILLISECONDS).build();
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            new RealmConfiguration.Builder(getContext()).groupCommit(10, null).build();
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testGroupCommitWindow() {
+        assertEquals(0, defaultConfig.getGroupCommitWindow());
+        RealmConfiguration config = new RealmConfiguration.Builder(getContext())
+                .groupCommit(2, TimeUnit.SECONDS)
+                .build();
+        assertEquals(2000, config.getGroupCommitWindow());
+    }
+
+    public void testNullDurabilityThrows() {
+        try {
+            new RealmConfiguration.Builder(getContext()).durability(null).build();
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
     public void testNullKeyThrows() {
         try {
             new RealmConfiguration.Builder(getContext()).encryptionKey(null).build();
@@ -343,4 +373,73 @@ public class RealmConfigurationTest extends AndroidTestCase {
             realm1.close();
         }
     }
+
+    public void testDifferentDurabilityThrows() {
+        RealmConfiguration config1 = new RealmConfiguration.Builder(getContext()).build();
+        RealmConfiguration config2 = new RealmConfiguration.Builder(getContext())
+                .durability(RealmConfiguration.Durability.MEM_ONLY)
+                .build();
+
+        Realm realm1 = Realm.getInstance(config1);
+        try {
+            Realm.getInstance(config2);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        } finally {
+            realm1.close();
+        }
+    }
+
+    public void testDifferentGroupCommitWindowsThrows() {
+        RealmConfiguration config1 = new RealmConfiguration.Builder(getContext()).build();
+        RealmConfiguration config2 = new RealmConfiguration.Builder(getContext())
+                .groupCommit(50, TimeUnit.MILLISECONDS)
+                .build();
+        assertFalse(config1.equals(config2));
+
+        Realm realm1 = Realm.getInstance(config1);
+        try {
+            Realm.getInstance(config2);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        } finally {
+            realm1.close();
+        }
+    }
+
+    public void testMemOnlyDurability() {
+        RealmConfiguration config = new RealmConfiguration.Builder(getContext())
+                .name("memonly.realm")
+                .durability(RealmConfiguration.Durability.MEM_ONLY)
+                .build();
+        Realm.deleteRealm(config);
+
+        realm = Realm.getInstance(config);
+        realm.beginTransaction();
+        realm.createObject(Dog.class).setName("Fido");
+        realm.commitTransaction();
+        assertEquals(1, realm.allObjects(Dog.class).size());
+        realm.close();
+
+        assertFalse(new File(config.getPath()).exists());
+        realm = Realm.getInstance(config);
+        assertEquals(0, realm.allObjects(Dog.class).size());
+    }
+
+    public void testFullDurabilityKeepsCommitsAfterReopen() {
+        RealmConfiguration config = new RealmConfiguration.Builder(getContext())
+                .name("full.realm")
+                .durability(RealmConfiguration.Durability.FULL)
+                .build();
+        Realm.deleteRealm(config);
+
+        realm = Realm.getInstance(config);
+        realm.beginTransaction();
+        realm.createObject(Dog.class).setName("Fido");
+        realm.commitTransaction();
+        realm.close();
+
+        realm = Realm.getInstance(config);
+        assertEquals("Fido", realm.allObjects(Dog.class).first().getName());
+    }
 }
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.realm;
+
+import android.test.AndroidTestCase;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.entities.Dog;
+import io.realm.entities.Owner;
+import io.realm.entities.PrimaryKeyAsString;
+
+public class RealmHandoverTest extends AndroidTestCase {
+
+    private Realm realm;
+
+    @Override
+    protected void setUp() throws Exception {
+        Realm.deleteRealmFile(getContext());
+        realm = Realm.getInstance(getContext());
+        realm.beginTransaction();
+        for (int i = 0; i < 10; i++) {
+            Dog dog = realm.createObject(Dog.class);
+            dog.setName("Dog " + (9 - i));
+            dog.setAge(i);
+        }
+        realm.commitTransaction();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        realm.close();
+    }
+
+    // Runs the given export on another thread with its own Realm instance.
+    private <T> RealmHandover<T> exportOnOtherThread(final Export<T> export) throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        return executorService.submit(new Callable<RealmHandover<T>>() {
+            @Override
+            public RealmHandover<T> call() throws Exception {
+                Realm otherRealm = Realm.getInstance(getContext());
+                try {
+                    return export.run(otherRealm);
+                } finally {
+                    otherRealm.close();
+                }
+            }
+        }).get(10, TimeUnit.SECONDS);
+    }
+
+    private interface Export<T> {
+        RealmHandover<T> run(Realm realm);
+    }
+
+    private void addDog(String name, long age) {
+        realm.beginTransaction();
+        Dog dog = realm.createObject(Dog.class);
+        dog.setName(name);
+        dog.setAge(age);
+        realm.commitTransaction();
+    }
+
+    public void testImportResultsAtSameVersion() throws Exception {
+        RealmHandover<RealmResults<Dog>> handover = exportOnOtherThread(new Export<RealmResults<Dog>>() {
+            @Override
+            public RealmHandover<RealmResults<Dog>> run(Realm realm) {
+                return realm.exportForHandover(realm.where(Dog.class).greaterThan("age", 4).findAllSorted("name"));
+            }
+        });
+
+        RealmResults<Dog> dogs = realm.importFromHandover(handover);
+        assertEquals(5, dogs.size());
+        assertEquals("Dog 0", dogs.first().getName());
+        assertEquals("Dog 4", dogs.last().getName());
+
+        // The imported results are kept up to date like any other results
+        addDog("Dog 10", 10);
+        assertEquals(6, dogs.size());
+        assertEquals("Dog 10", dogs.get(2).getName());
+    }
+
+    public void testImportResultsAtOtherVersion() throws Exception {
+        RealmHandover<RealmResults<Dog>> handover = exportOnOtherThread(new Export<RealmResults<Dog>>() {
+            @Override
+            public RealmHandover<RealmResults<Dog>> run(Realm realm) {
+                return realm.exportForHandover(realm.where(Dog.class).greaterThan("age", 4).findAll());
+            }
+        });
+        addDog("Dog 10", 10);
+        addDog("Dog -1", -1);
+
+        // The query is run again at the version of this Realm
+        RealmResults<Dog> dogs = realm.importFromHandover(handover);
+        assertEquals(6, dogs.size());
+        assertEquals(realm.where(Dog.class).greaterThan("age", 4).count(), dogs.size());
+    }
+
+    public void testImportQueryOnResultsAtOtherVersion() throws Exception {
+        RealmHandover<RealmResults<Dog>> handover = exportOnOtherThread(new Export<RealmResults<Dog>>() {
+            @Override
+            public RealmHandover<RealmResults<Dog>> run(Realm realm) {
+                RealmResults<Dog> young = realm.where(Dog.class).lessThan("age", 5).findAllSorted("age", false);
+                return realm.exportForHandover(young.where().equalTo("age", 1).or().equalTo("age", 3).findAll());
+            }
+        });
+        addDog("Dog 11", 3);
+        addDog("Dog 12", 7);
+
+        RealmResults<Dog> dogs = realm.importFromHandover(handover);
+        assertEquals(3, dogs.size());
+        assertEquals(3, dogs.first().getAge());
+        assertEquals(1, dogs.last().getAge());
+    }
+
+    public void testImportObject() throws Exception {
+        RealmHandover<Dog> handover = exportOnOtherThread(new Export<Dog>() {
+            @Override
+            public RealmHandover<Dog> run(Realm realm) {
+                return realm.exportForHandover(realm.where(Dog.class).equalTo("age", 3).findFirst());
+            }
+        });
+
+        Dog dog = realm.importFromHandover(handover);
+        assertEquals("Dog 6", dog.getName());
+    }
+
+    public void testImportObjectByPrimaryKeyAtOtherVersion() throws Exception {
+        realm.beginTransaction();
+        for (int i = 0; i < 3; i++) {
+            PrimaryKeyAsString object = new PrimaryKeyAsString();
+            object.setName("Object " + i);
+            object.setId(i);
+            realm.copyToRealm(object);
+        }
+        realm.commitTransaction();
+        RealmHandover<PrimaryKeyAsString> handover = exportOnOtherThread(new Export<PrimaryKeyAsString>() {
+            @Override
+            public RealmHandover<PrimaryKeyAsString> run(Realm realm) {
+                return realm.exportForHandover(realm.where(PrimaryKeyAsString.class).equalTo("id", 2).findFirst());
+            }
+        });
+        // Moves the last row into the deleted one, so the row index of the object changes
+        realm.beginTransaction();
+        realm.where(PrimaryKeyAsString.class).equalTo("id", 0).findFirst().removeFromRealm();
+        realm.commitTransaction();
+
+        PrimaryKeyAsString object = realm.importFromHandover(handover);
+        assertEquals("Object 2", object.getName());
+    }
+
+    public void testImportObjectWithoutPrimaryKeyAtOtherVersionThrows() throws Exception {
+        RealmHandover<Dog> handover = exportOnOtherThread(new Export<Dog>() {
+            @Override
+            public RealmHandover<Dog> run(Realm realm) {
+                return realm.exportForHandover(realm.where(Dog.class).findFirst());
+            }
+        });
+        addDog("Dog 10", 10);
+
+        try {
+            realm.importFromHandover(handover);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    public void testExportResultsOfRealmListQueryThrows() {
+        realm.beginTransaction();
+        Owner owner = realm.createObject(Owner.class);
+        owner.getDogs().add(realm.allObjects(Dog.class).first());
+        realm.commitTransaction();
+
+        try {
+            realm.exportForHandover(owner.getDogs().where().findAll());
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    public void testImportIntoRealmOfOtherFileThrows() {
+        RealmHandover<RealmResults<Dog>> handover = realm.exportForHandover(realm.allObjects(Dog.class));
+        Realm otherRealm = Realm.getInstance(getContext(), "other.realm");
+        try {
+            otherRealm.importFromHandover(handover);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+        } finally {
+            otherRealm.close();
+            Realm.deleteRealmFile(getContext(), "other.realm");
+        }
+    }
+}
@@ -31,6 +31,7 @@ import io.realm.entities.AllTypes;
 import io.realm.entities.AllTypesPrimaryKey;
 import io.realm.entities.AnnotationTypes;
 import io.realm.entities.Dog;
+import io.realm.entities.DogPrimaryKey;
 import io.realm.exceptions.RealmException;
 
 import static io.realm.internal.test.ExtraTests.assertArrayEquals;
@@ -571,6 +572,43 @@ public class RealmJsonTest extends AndroidTestCase {
         fail();
     }
 
+    public void testCreateOrUpdateAllStream_wrongShapeThrows() throws IOException {
+        testRealm.beginTransaction();
+        try {
+            testRealm.createOrUpdateAllFromJson(AllTypesPrimaryKey.class, TestHelper.stringToStream("[[1, 2]]"));
+            fail();
+        } catch (RealmException expected) {
+            assertTrue(expected.getCause() instanceof IllegalStateException);
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testCreateOrUpdateObjectStream_wrongShapeThrows() throws IOException {
+        testRealm.beginTransaction();
+        try {
+            testRealm.createOrUpdateObjectFromJson(AllTypesPrimaryKey.class,
+                    TestHelper.stringToStream("{ \"columnLong\" : 1, \"columnString\" : { \"value\" : \"Foo\" } }"));
+            fail();
+        } catch (RealmException expected) {
+            assertTrue(expected.getCause() instanceof IllegalStateException);
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testCreateOrUpdateObjectStream_wrongNumberThrows() throws IOException {
+        testRealm.beginTransaction();
+        try {
+            testRealm.createOrUpdateObjectFromJson(AllTypesPrimaryKey.class,
+                    TestHelper.stringToStream("{ \"columnLong\" : \"one\" }"));
+            fail();
+        } catch (RealmException expected) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
     public void testCreateOrUpdateAllString_noPrimaryKeyThrows() throws IOException {
         try {
             testRealm.createOrUpdateAllFromJson(AllTypes.class, "{}");
@@ -607,6 +645,130 @@ public class RealmJsonTest extends AndroidTestCase {
         assertAllTypesPrimaryKeyUpdated();
     }
 
+    public void testCreateOrUpdateAllStream_primaryKeyLast() throws IOException {
+        testRealm.beginTransaction();
+        testRealm.createOrUpdateAllFromJson(AllTypesPrimaryKey.class, TestHelper.stringToStream(
+                "[{ \"columnString\" : \"Foo\", \"columnDate\" : 1000, \"columnRealmObject\" : { \"name\" : \"Dog1\", \"id\" : 1 }, \"columnLong\" : 1 }," +
+                " { \"columnString\" : \"Bar\", \"columnRealmList\" : [{ \"name\" : \"Dog2\", \"id\" : 1 }], \"columnLong\" : 1 }]"));
+        testRealm.commitTransaction();
+
+        assertEquals(1, testRealm.allObjects(AllTypesPrimaryKey.class).size());
+        assertEquals(1, testRealm.allObjects(DogPrimaryKey.class).size());
+        AllTypesPrimaryKey obj = testRealm.allObjects(AllTypesPrimaryKey.class).first();
+        assertEquals("Bar", obj.getColumnString());
+        assertEquals(new Date(1000), obj.getColumnDate());
+        assertEquals("Dog2", obj.getColumnRealmObject().getName());
+        assertEquals(1, obj.getColumnRealmList().size());
+    }
+
+    public void testCreateOrUpdateObjectStream_withoutPrimaryKey() throws IOException {
+        testRealm.beginTransaction();
+        AllTypesPrimaryKey obj = testRealm.createOrUpdateObjectFromJson(AllTypesPrimaryKey.class,
+                TestHelper.stringToStream("{ \"columnString\" : \"Foo\" }"));
+        testRealm.commitTransaction();
+
+        assertEquals(1, testRealm.allObjects(AllTypesPrimaryKey.class).size());
+        assertEquals("Foo", obj.getColumnString());
+        assertEquals(0, obj.getColumnLong());
+    }
+
+    public void testCreateAllFromJsonStream_parallel() throws IOException {
+        int objects = JsonImportPipeline.BATCH_SIZE * 3 + 1;
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < objects; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{ \"columnString\" : \"Foo [").append(i).append("] \\\"}\", \"columnLong\" : ").append(i)
+                    .append(", \"columnRealmList\" : [{ \"name\" : \"Fido-").append(i).append("\" }] }");
+        }
+        json.append("]");
+
+        testRealm.beginTransaction();
+        JsonImportStats stats = testRealm.createAllFromJson(AllTypes.class,
+                TestHelper.stringToStream(json.toString()), 4);
+        testRealm.commitTransaction();
+
+        assertEquals(objects, stats.getObjects());
+        assertEquals(4, stats.getParserThreads());
+        RealmResults<AllTypes> result = testRealm.allObjects(AllTypes.class);
+        assertEquals(objects, result.size());
+        assertEquals(objects, testRealm.allObjects(Dog.class).size());
+        for (int i = 0; i < objects; i++) {
+            AllTypes obj = result.get(i);
+            assertEquals("Foo [" + i + "] \"}", obj.getColumnString());
+            assertEquals(i, obj.getColumnLong());
+            assertEquals("Fido-" + i, obj.getColumnRealmList().first().getName());
+        }
+    }
+
+    public void testCreateAllFromJsonStream_parallelEmptyArray() throws IOException {
+        testRealm.beginTransaction();
+        JsonImportStats stats = testRealm.createAllFromJson(AllTypes.class, TestHelper.stringToStream(" [ ] "), 2);
+        testRealm.commitTransaction();
+
+        assertEquals(0, stats.getObjects());
+        assertEquals(0, testRealm.allObjects(AllTypes.class).size());
+    }
+
+    public void testCreateAllFromJsonStream_parallelInvalidJson() throws IOException {
+        testRealm.beginTransaction();
+        try {
+            testRealm.createAllFromJson(AllTypes.class,
+                    TestHelper.stringToStream("[{ \"columnString\" : \"Foo\" }, { \"columnString\" : "), 2);
+            fail();
+        } catch (RealmException expected) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testCreateAllFromJsonStream_parallelNotArray() throws IOException {
+        testRealm.beginTransaction();
+        try {
+            testRealm.createAllFromJson(AllTypes.class, TestHelper.stringToStream("{ \"columnString\" : \"Foo\" }"), 2);
+            fail();
+        } catch (RealmException expected) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testCreateAllFromJsonStream_parallelWrongType() throws IOException {
+        testRealm.beginTransaction();
+        try {
+            testRealm.createAllFromJson(AllTypes.class, TestHelper.stringToStream("[{ \"columnString\" : {} }]"), 2);
+            fail();
+        } catch (RealmException expected) {
+            assertTrue(expected.getCause() instanceof IllegalStateException);
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testCreateAllFromJsonStream_parallelThreadsAreDaemons() throws IOException {
+        testRealm.beginTransaction();
+        testRealm.createAllFromJson(AllTypes.class, TestHelper.stringToStream("[{ \"columnString\" : \"Foo\" }]"), 2);
+        testRealm.commitTransaction();
+
+        boolean found = false;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals(JsonImportPipeline.THREAD_NAME)) {
+                assertTrue(thread.isDaemon());
+                found = true;
+            }
+        }
+        assertTrue(found);
+    }
+
+    public void testCreateAllFromJsonStream_parallelInvalidThreadCount() throws IOException {
+        try {
+            testRealm.createAllFromJson(AllTypes.class, TestHelper.stringToStream("[]"), 0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
     // Assert that the list of AllTypesPrimaryKey objects where inserted and updated properly.
     private void assertAllTypesPrimaryKeyUpdated() {
         assertEquals(1, testRealm.allObjects(AllTypesPrimaryKey.class).size());
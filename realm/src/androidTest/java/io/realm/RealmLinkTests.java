@@ -21,7 +21,10 @@ import android.test.AndroidTestCase;
 import java.util.Date;
 
 import io.realm.entities.Cat;
+import io.realm.entities.Customer;
+import io.realm.entities.CyclicType;
 import io.realm.entities.Dog;
+import io.realm.entities.Order;
 import io.realm.entities.Owner;
 
 public class RealmLinkTests extends AndroidTestCase {
@@ -520,4 +523,180 @@ public class RealmLinkTests extends AndroidTestCase {
         } catch (IllegalArgumentException expected) {
         }
     }
+
+    private Customer populateOrders() {
+        testRealm.beginTransaction();
+        Customer customer = testRealm.createObject(Customer.class);
+        customer.setName("Alice");
+        Customer other = testRealm.createObject(Customer.class);
+        other.setName("Bob");
+        for (int i = 0; i < 10; i++) {
+            Order order = testRealm.createObject(Order.class);
+            order.setAmount(i);
+            order.setCustomer(i % 2 == 0 ? customer : other);
+            if (i < 3) {
+                order.getSharedWith().add(customer);
+                order.getSharedWith().add(customer);
+            }
+        }
+        testRealm.commitTransaction();
+        return customer;
+    }
+
+    public void testLinkingObjects() {
+        Customer customer = populateOrders();
+
+        RealmResults<Order> orders = customer.getOrders();
+        assertEquals(5, orders.size());
+        for (Order order : orders) {
+            assertEquals("Alice", order.getCustomer().getName());
+        }
+    }
+
+    public void testLinkingObjectsThroughList() {
+        Customer customer = populateOrders();
+
+        // Orders linking twice through the list are only included once
+        assertEquals(3, customer.getSharedOrders().size());
+    }
+
+    public void testLinkingObjectsUpdated() {
+        Customer customer = populateOrders();
+        RealmResults<Order> orders = customer.getOrders();
+
+        testRealm.beginTransaction();
+        orders.first().setCustomer(null);
+        Order order = testRealm.createObject(Order.class);
+        order.setAmount(100);
+        order.setCustomer(customer);
+        Order order2 = testRealm.createObject(Order.class);
+        order2.setAmount(200);
+        order2.setCustomer(customer);
+        testRealm.commitTransaction();
+
+        assertEquals(6, orders.size());
+        assertEquals(320, orders.sum("amount").longValue());
+    }
+
+    public void testLinkingObjectsQuery() {
+        Customer customer = populateOrders();
+
+        RealmResults<Order> largeOrders = customer.getOrders().where().greaterThan("amount", 4).findAll();
+        assertEquals(2, largeOrders.size());
+        assertEquals(14, largeOrders.sum("amount").longValue());
+    }
+
+    public void testLinkingObjectsOfDeletedObject() {
+        Customer customer = populateOrders();
+        RealmResults<Order> orders = customer.getOrders();
+
+        testRealm.beginTransaction();
+        customer.removeFromRealm();
+        testRealm.commitTransaction();
+
+        assertEquals(0, orders.size());
+    }
+
+    // Builds the chain "0" -> "1" -> ... -> "n-1" through both the single link and the link list, and returns
+    // the first object of the chain.
+    private CyclicType populateChain(int n) {
+        testRealm.beginTransaction();
+        testRealm.clear(CyclicType.class);
+        CyclicType first = null;
+        CyclicType previous = null;
+        for (int i = 0; i < n; i++) {
+            CyclicType current = testRealm.createObject(CyclicType.class);
+            current.setName(Integer.toString(i));
+            if (previous == null) {
+                first = current;
+            } else {
+                previous.setObject(current);
+                previous.getObjects().add(current);
+            }
+            previous = current;
+        }
+        testRealm.commitTransaction();
+        return first;
+    }
+
+    public void testTraverseLink() {
+        CyclicType first = populateChain(5);
+
+        RealmResults<CyclicType> reachable = testRealm.traverse(CyclicType.class, first, "object", 2);
+        assertEquals(2, reachable.size());
+        assertEquals("1", reachable.get(0).getName());
+        assertEquals("2", reachable.get(1).getName());
+
+        assertEquals(4, testRealm.traverse(CyclicType.class, first, "object", 10).size());
+    }
+
+    public void testTraverseLinkListBreadthFirst() {
+        CyclicType first = populateChain(3);
+        testRealm.beginTransaction();
+        CyclicType extra = testRealm.createObject(CyclicType.class);
+        extra.setName("extra");
+        first.getObjects().add(extra);
+        testRealm.commitTransaction();
+
+        RealmResults<CyclicType> reachable = testRealm.traverse(CyclicType.class, first, "objects", 2);
+        assertEquals(3, reachable.size());
+        assertEquals("1", reachable.get(0).getName());
+        assertEquals("extra", reachable.get(1).getName());
+        assertEquals("2", reachable.get(2).getName());
+    }
+
+    public void testTraverseCycle() {
+        CyclicType first = populateChain(3);
+        testRealm.beginTransaction();
+        CyclicType last = testRealm.where(CyclicType.class).equalTo("name", "2").findFirst();
+        last.setObject(first);
+        last.getObjects().add(first);
+        last.getObjects().add(first);
+        testRealm.commitTransaction();
+
+        RealmResults<CyclicType> reachable = testRealm.traverse(CyclicType.class, first, "objects", 100);
+        assertEquals(2, reachable.size());
+        assertEquals("1", reachable.get(0).getName());
+        assertEquals("2", reachable.get(1).getName());
+    }
+
+    public void testTraverseUpdated() {
+        CyclicType first = populateChain(3);
+        RealmResults<CyclicType> reachable = testRealm.traverse(CyclicType.class, first, "object", 5);
+        assertEquals(2, reachable.size());
+
+        testRealm.beginTransaction();
+        CyclicType last = testRealm.where(CyclicType.class).equalTo("name", "2").findFirst();
+        CyclicType added = testRealm.createObject(CyclicType.class);
+        added.setName("3");
+        last.setObject(added);
+        testRealm.commitTransaction();
+
+        assertEquals(3, reachable.size());
+        assertEquals("3", reachable.last().getName());
+    }
+
+    public void testTraverseInvalidArguments() {
+        CyclicType first = populateChain(2);
+        try {
+            testRealm.traverse(CyclicType.class, first, "object", 0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            testRealm.traverse(CyclicType.class, first, "name", 1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            testRealm.traverse(CyclicType.class, first, "unknown", 1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            testRealm.traverse(CyclicType.class, new CyclicType(), "object", 1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
 }
@@ -18,6 +18,8 @@ package io.realm;
 
 import android.test.AndroidTestCase;
 
+import java.util.Date;
+
 import io.realm.entities.AllTypes;
 import io.realm.entities.CyclicType;
 import io.realm.entities.CyclicTypePrimaryKey;
@@ -522,4 +524,109 @@ public class RealmListTest extends AndroidTestCase {
 
         assertEquals(1, two.getObjects().size());
     }
+
+    private RealmList<Dog> populateDogAttributes() {
+        Owner owner = testRealm.where(Owner.class).findFirst();
+        RealmList<Dog> dogs = owner.getDogs();
+        testRealm.beginTransaction();
+        for (int i = 0; i < dogs.size(); i++) {
+            Dog dog = dogs.get(i);
+            dog.setAge(i);
+            dog.setHeight(i + 0.5f);
+            dog.setWeight(i * 2.0);
+            dog.setBirthday(new Date(i * 1000L));
+        }
+        // Dogs not in the list must not affect the aggregates
+        Dog stray = testRealm.createObject(Dog.class);
+        stray.setAge(1000);
+        stray.setHeight(1000f);
+        stray.setWeight(1000.0);
+        stray.setBirthday(new Date(1000000L));
+        testRealm.commitTransaction();
+        return dogs;
+    }
+
+    public void testAggregates() {
+        RealmList<Dog> dogs = populateDogAttributes();
+
+        assertEquals(45L, dogs.sum("age").longValue());
+        assertEquals(0L, dogs.min("age").longValue());
+        assertEquals(9L, dogs.max("age").longValue());
+        assertEquals(4.5, dogs.average("age"), 0.0001);
+
+        assertEquals(50.0, dogs.sum("height").doubleValue(), 0.0001);
+        assertEquals(0.5f, dogs.min("height").floatValue(), 0.0001f);
+        assertEquals(9.5f, dogs.max("height").floatValue(), 0.0001f);
+        assertEquals(5.0, dogs.average("height"), 0.0001);
+
+        assertEquals(90.0, dogs.sum("weight").doubleValue(), 0.0001);
+        assertEquals(0.0, dogs.min("weight").doubleValue(), 0.0001);
+        assertEquals(18.0, dogs.max("weight").doubleValue(), 0.0001);
+        assertEquals(9.0, dogs.average("weight"), 0.0001);
+
+        assertEquals(new Date(0), dogs.minDate("birthday"));
+        assertEquals(new Date(9000), dogs.maxDate("birthday"));
+    }
+
+    public void testAggregatesOnEmptyList() {
+        testRealm.beginTransaction();
+        Owner owner = testRealm.createObject(Owner.class);
+        testRealm.commitTransaction();
+
+        assertEquals(0L, owner.getDogs().sum("age").longValue());
+        assertEquals(0.0, owner.getDogs().average("weight"), 0.0);
+    }
+
+    public void testAggregatesWrongFieldThrows() {
+        RealmList<Dog> dogs = testRealm.where(Owner.class).findFirst().getDogs();
+        try {
+            dogs.sum("name");
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            dogs.max("birthday");
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            dogs.minDate("age");
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            dogs.average("foo");
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testAggregatesOnNonManagedListThrows() {
+        RealmList<Dog> list = createNonManagedDogList();
+        try {
+            list.sum("age");
+            fail();
+        } catch (RealmException expected) {
+        }
+    }
+
+    public void testSort() {
+        RealmList<Dog> dogs = populateDogAttributes();
+
+        RealmResults<Dog> sorted = dogs.sort("age", RealmResults.SORT_ORDER_DESCENDING);
+        assertEquals(TEST_OBJECTS, sorted.size());
+        assertEquals(9, sorted.first().getAge());
+        assertEquals(0, sorted.last().getAge());
+        // The list itself keeps its order
+        assertEquals(0, dogs.first().getAge());
+    }
+
+    public void testQueryFindAllSorted() {
+        RealmList<Dog> dogs = populateDogAttributes();
+
+        RealmResults<Dog> sorted = dogs.where().greaterThan("age", 4).findAllSorted("height", false);
+        assertEquals(5, sorted.size());
+        assertEquals(9, sorted.first().getAge());
+        assertEquals(5, sorted.last().getAge());
+    }
 }
@@ -16,21 +16,29 @@
 
 package io.realm;
 
+import android.os.Looper;
 import android.test.AndroidTestCase;
 
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.realm.entities.AllTypes;
 import io.realm.entities.CyclicType;
 import io.realm.entities.Dog;
+import io.realm.entities.Owner;
 import io.realm.entities.Thread;
 import io.realm.internal.Row;
 
@@ -512,4 +520,234 @@ public class RealmObjectTest extends AndroidTestCase {
         testRealm.commitTransaction();
         assertTrue(allTypes.isValid());
     }
+
+    public void testObjectChangeListenerLocalCommit() {
+        testRealm.beginTransaction();
+        final Dog dog = testRealm.createObject(Dog.class);
+        testRealm.commitTransaction();
+
+        final AtomicInteger calls = new AtomicInteger(0);
+        final Set<String> lastChangedFields = new HashSet<String>();
+        dog.addChangeListener(new RealmObjectChangeListener() {
+            @Override
+            public void onChange(Set<String> changedFields) {
+                calls.incrementAndGet();
+                lastChangedFields.clear();
+                lastChangedFields.addAll(changedFields);
+            }
+        });
+
+        testRealm.beginTransaction();
+        testRealm.createObject(AllTypes.class);
+        testRealm.commitTransaction();
+        assertEquals(0, calls.get());
+
+        testRealm.beginTransaction();
+        dog.setName("Fido");
+        testRealm.commitTransaction();
+        assertEquals(1, calls.get());
+        assertTrue(lastChangedFields.contains("name"));
+
+        testRealm.beginTransaction();
+        dog.removeFromRealm();
+        testRealm.commitTransaction();
+        assertEquals(2, calls.get());
+        assertTrue(lastChangedFields.isEmpty());
+    }
+
+    // Local commits are tracked per object and per field through the transaction log
+    public void testObjectChangeListenerLocalCommitOnlyChangedRows() {
+        testRealm.beginTransaction();
+        final Dog dog = testRealm.createObject(Dog.class);
+        Dog otherDog = testRealm.createObject(Dog.class);
+        Owner owner = testRealm.createObject(Owner.class);
+        dog.setOwner(owner);
+        testRealm.commitTransaction();
+
+        final AtomicInteger calls = new AtomicInteger(0);
+        final Set<String> lastChangedFields = new HashSet<String>();
+        dog.addChangeListener(new RealmObjectChangeListener() {
+            @Override
+            public void onChange(Set<String> changedFields) {
+                calls.incrementAndGet();
+                lastChangedFields.clear();
+                lastChangedFields.addAll(changedFields);
+            }
+        });
+
+        // Another object of the same class
+        testRealm.beginTransaction();
+        otherDog.setName("Other");
+        testRealm.commitTransaction();
+        assertEquals(0, calls.get());
+
+        // An object linked to
+        testRealm.beginTransaction();
+        owner.setName("Owner");
+        testRealm.commitTransaction();
+        assertEquals(0, calls.get());
+
+        // Deleting the object
+        testRealm.beginTransaction();
+        testRealm.where(Dog.class).findAll().clear();
+        testRealm.createObject(Dog.class).setAge(1);
+        testRealm.commitTransaction();
+        assertEquals(1, calls.get());
+        assertTrue(lastChangedFields.isEmpty());
+        assertFalse(dog.isValid());
+    }
+
+    public void testObjectChangeListenerLocalCommitChangedFields() {
+        testRealm.beginTransaction();
+        testRealm.createObject(Dog.class);
+        final Dog dog = testRealm.createObject(Dog.class);
+        testRealm.commitTransaction();
+
+        final AtomicInteger calls = new AtomicInteger(0);
+        final Set<String> lastChangedFields = new HashSet<String>();
+        dog.addChangeListener(new RealmObjectChangeListener() {
+            @Override
+            public void onChange(Set<String> changedFields) {
+                calls.incrementAndGet();
+                lastChangedFields.clear();
+                lastChangedFields.addAll(changedFields);
+            }
+        });
+
+        // The last row, which is the object, is moved into the place of the deleted row
+        testRealm.beginTransaction();
+        testRealm.where(Dog.class).findAll().get(0).removeFromRealm();
+        dog.setAge(3);
+        dog.setHeight(1.5f);
+        testRealm.commitTransaction();
+        assertEquals(1, calls.get());
+        assertEquals(2, lastChangedFields.size());
+        assertTrue(lastChangedFields.contains("age"));
+        assertTrue(lastChangedFields.contains("height"));
+
+        // Cancelled changes are not reported
+        testRealm.beginTransaction();
+        dog.setName("Fido");
+        testRealm.cancelTransaction();
+        assertEquals(1, calls.get());
+    }
+
+    public void testRemoveObjectChangeListener() {
+        testRealm.beginTransaction();
+        Dog dog = testRealm.createObject(Dog.class);
+        testRealm.commitTransaction();
+
+        final AtomicInteger calls = new AtomicInteger(0);
+        RealmObjectChangeListener listener = new RealmObjectChangeListener() {
+            @Override
+            public void onChange(Set<String> changedFields) {
+                calls.incrementAndGet();
+            }
+        };
+        dog.addChangeListener(listener);
+        dog.removeChangeListener(listener);
+
+        testRealm.beginTransaction();
+        dog.setName("Fido");
+        testRealm.commitTransaction();
+        assertEquals(0, calls.get());
+    }
+
+    public void testObjectChangeListenerOnStandaloneObjectThrows() {
+        try {
+            new Dog().addChangeListener(new RealmObjectChangeListener() {
+                @Override
+                public void onChange(Set<String> changedFields) {
+                }
+            });
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    // Changes read in from other threads are tracked per object and per field
+    public void testObjectChangeListenerOtherThread() throws Exception {
+        testRealm.beginTransaction();
+        testRealm.createObject(Dog.class).setName("Watched");
+        testRealm.createObject(Dog.class).setName("Other");
+        testRealm.commitTransaction();
+
+        final AtomicInteger calls = new AtomicInteger(0);
+        final Set<String> changedFieldsSeen = new HashSet<String>();
+        final CountDownLatch isReady = new CountDownLatch(1);
+        final CountDownLatch changed = new CountDownLatch(1);
+        final Looper[] looper = new Looper[1];
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Boolean> future = executorService.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                Looper.prepare();
+                looper[0] = Looper.myLooper();
+                Realm realm = Realm.getInstance(getContext());
+                try {
+                    Dog watched = realm.where(Dog.class).equalTo("name", "Watched").findFirst();
+                    watched.addChangeListener(new RealmObjectChangeListener() {
+                        @Override
+                        public void onChange(Set<String> changedFields) {
+                            calls.incrementAndGet();
+                            changedFieldsSeen.addAll(changedFields);
+                            changed.countDown();
+                        }
+                    });
+                    isReady.countDown();
+                    Looper.loop();
+                    // Keep the object referenced while the Looper runs
+                    return watched.isValid();
+                } finally {
+                    realm.close();
+                }
+            }
+        });
+        assertTrue(isReady.await(2, TimeUnit.SECONDS));
+
+        testRealm.beginTransaction();
+        testRealm.where(Dog.class).equalTo("name", "Other").findFirst().setAge(1);
+        testRealm.commitTransaction();
+        testRealm.beginTransaction();
+        testRealm.where(Dog.class).equalTo("name", "Watched").findFirst().setAge(2);
+        testRealm.commitTransaction();
+
+        assertTrue(changed.await(2, TimeUnit.SECONDS));
+        looper[0].quit();
+        assertTrue(future.get());
+        assertEquals(1, calls.get());
+        assertEquals(1, changedFieldsSeen.size());
+        assertTrue(changedFieldsSeen.contains("age"));
+    }
+
+    public void testWriteJsonCyclic() throws Exception {
+        testRealm.beginTransaction();
+        CyclicType first = testRealm.createObject(CyclicType.class);
+        first.setName("first");
+        CyclicType second = testRealm.createObject(CyclicType.class);
+        second.setName("second");
+        first.setObject(second);
+        second.setObject(first);
+        testRealm.commitTransaction();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        first.writeJson(out, 2);
+
+        // The cycle is written until the depth is reached
+        JSONObject json = new JSONObject(out.toString("UTF-8"));
+        assertEquals("first", json.getString("name"));
+        assertEquals(0, json.getJSONArray("objects").length());
+        JSONObject nested = json.getJSONObject("object").getJSONObject("object");
+        assertEquals("first", nested.getString("name"));
+        assertFalse(nested.has("object"));
+        assertFalse(nested.has("objects"));
+    }
+
+    public void testWriteJsonStandaloneThrows() throws Exception {
+        try {
+            new Dog().writeJson(new ByteArrayOutputStream(), 0);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
 }
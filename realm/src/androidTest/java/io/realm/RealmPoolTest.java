@@ -0,0 +1,150 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.realm;
+
+import android.os.SystemClock;
+import android.test.AndroidTestCase;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.entities.Dog;
+
+public class RealmPoolTest extends AndroidTestCase {
+
+    private RealmConfiguration config;
+    private RealmPool pool;
+
+    @Override
+    protected void setUp() throws Exception {
+        config = new RealmConfiguration.Builder(getContext()).build();
+        Realm.deleteRealm(config);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private <T> T runOnNewThread(Callable<T> callable) throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            return executorService.submit(callable).get(10, TimeUnit.SECONDS);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private final Callable<Realm> leaseAndClose = new Callable<Realm>() {
+        @Override
+        public Realm call() throws Exception {
+            Realm realm = pool.lease();
+            realm.close();
+            return realm;
+        }
+    };
+
+    public void testLeasedInstanceIsReusedByOtherThread() throws Exception {
+        pool = new RealmPool(config, 1, TimeUnit.MINUTES);
+        Realm first = runOnNewThread(leaseAndClose);
+        assertEquals(1, pool.getIdleCount());
+
+        Realm second = runOnNewThread(leaseAndClose);
+        assertSame(first, second);
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    public void testGetInstanceReturnsLeasedInstance() throws Exception {
+        pool = new RealmPool(config, 1, TimeUnit.MINUTES);
+        boolean same = runOnNewThread(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                Realm leased = pool.lease();
+                Realm realm = Realm.getInstance(config);
+                realm.close();
+                leased.close();
+                return realm == leased;
+            }
+        });
+        assertTrue(same);
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    public void testLeaseReadsInChanges() throws Exception {
+        pool = new RealmPool(config, 1, TimeUnit.MINUTES);
+        runOnNewThread(leaseAndClose);
+
+        Realm realm = Realm.getInstance(config);
+        realm.beginTransaction();
+        realm.createObject(Dog.class);
+        realm.commitTransaction();
+        realm.close();
+
+        long dogs = runOnNewThread(new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                Realm realm = pool.lease();
+                try {
+                    return realm.where(Dog.class).count();
+                } finally {
+                    realm.close();
+                }
+            }
+        });
+        assertEquals(1, dogs);
+    }
+
+    public void testIdleInstancesAreClosed() throws Exception {
+        pool = new RealmPool(config, 50, TimeUnit.MILLISECONDS);
+        runOnNewThread(leaseAndClose);
+        assertEquals(1, pool.getIdleCount());
+
+        SystemClock.sleep(500);
+        assertEquals(0, pool.getIdleCount());
+        // Fails if any instance of the file is still open
+        assertTrue(Realm.deleteRealm(config));
+    }
+
+    public void testCloseClosesIdleInstances() throws Exception {
+        pool = new RealmPool(config, 1, TimeUnit.MINUTES);
+        runOnNewThread(leaseAndClose);
+        pool.close();
+
+        assertEquals(0, pool.getIdleCount());
+        assertTrue(Realm.deleteRealm(config));
+        try {
+            pool.lease();
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    public void testSweeperThreadIsDaemon() {
+        pool = new RealmPool(config, 1, TimeUnit.MINUTES);
+        boolean found = false;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals(RealmPool.SWEEPER_THREAD_NAME)) {
+                assertTrue(thread.isDaemon());
+                found = true;
+            }
+        }
+        assertTrue(found);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.realm;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
+import android.test.AndroidTestCase;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.entities.AllTypes;
+import io.realm.entities.Dog;
+
+public class RealmQueryPublisherTest extends AndroidTestCase {
+
+    private HandlerThread handlerThread;
+    private Handler handler;
+    private Realm realm;
+    private RecordingSubscriber subscriber;
+
+    // Records the sizes of the emitted results. Called on the thread of the Realm.
+    private static class RecordingSubscriber implements Subscriber<RealmResults<Dog>> {
+        final List<Integer> sizes = Collections.synchronizedList(new ArrayList<Integer>());
+        final long initialRequest;
+        Subscription subscription;
+        Throwable error;
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(RealmResults<Dog> dogs) {
+            sizes.add(dogs.size());
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        Realm.deleteRealmFile(getContext());
+        handlerThread = new HandlerThread("RealmQueryPublisherTest");
+        handlerThread.start();
+        handler = new Handler(handlerThread.getLooper());
+        runOnLooper(new Runnable() {
+            @Override
+            public void run() {
+                realm = Realm.getInstance(getContext());
+            }
+        });
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        runOnLooper(new Runnable() {
+            @Override
+            public void run() {
+                if (subscriber != null && subscriber.subscription != null) {
+                    subscriber.subscription.cancel();
+                }
+                realm.close();
+            }
+        });
+        handlerThread.quit();
+    }
+
+    private void runOnLooper(final Runnable runnable) throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    runnable.run();
+                } finally {
+                    done.countDown();
+                }
+            }
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    private void subscribe(final long initialRequest, final boolean evaluateInBackground) throws Exception {
+        runOnLooper(new Runnable() {
+            @Override
+            public void run() {
+                subscriber = new RecordingSubscriber(initialRequest);
+                realm.where(Dog.class).greaterThan("age", 1).asPublisher(evaluateInBackground).subscribe(subscriber);
+            }
+        });
+    }
+
+    private void addDogs(final int count) throws Exception {
+        runOnLooper(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < count; i++) {
+                    realm.beginTransaction();
+                    realm.createObject(Dog.class).setAge(10);
+                    realm.commitTransaction();
+                }
+            }
+        });
+    }
+
+    // Waits for scheduled emissions
+    private void settle() throws Exception {
+        SystemClock.sleep(RealmResultsPublisher.COALESCE_WINDOW_MS * 10);
+        runOnLooper(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+    }
+
+    public void testEmitsOnlyOnDemand() throws Exception {
+        subscribe(0, false);
+        settle();
+        assertEquals(0, subscriber.sizes.size());
+
+        subscriber.subscription.request(1);
+        settle();
+        assertEquals(Collections.singletonList(0), subscriber.sizes);
+
+        addDogs(1);
+        settle();
+        assertEquals(1, subscriber.sizes.size());
+
+        // The change made without demand is delivered by the next request
+        subscriber.subscription.request(1);
+        settle();
+        assertEquals(2, subscriber.sizes.size());
+        assertEquals(1, subscriber.sizes.get(1).intValue());
+    }
+
+    public void testBurstOfCommitsIsCoalesced() throws Exception {
+        subscribe(Long.MAX_VALUE, false);
+        addDogs(10);
+        settle();
+        assertEquals(2, subscriber.sizes.size());
+        assertEquals(10, subscriber.sizes.get(1).intValue());
+    }
+
+    public void testCommitToOtherClassIsNotEmitted() throws Exception {
+        subscribe(Long.MAX_VALUE, false);
+        settle();
+        runOnLooper(new Runnable() {
+            @Override
+            public void run() {
+                realm.beginTransaction();
+                realm.createObject(AllTypes.class);
+                realm.commitTransaction();
+            }
+        });
+        settle();
+        assertEquals(1, subscriber.sizes.size());
+    }
+
+    public void testCancelStopsEmissions() throws Exception {
+        subscribe(Long.MAX_VALUE, false);
+        settle();
+        subscriber.subscription.cancel();
+        addDogs(1);
+        settle();
+        assertEquals(1, subscriber.sizes.size());
+    }
+
+    public void testNonPositiveRequestSignalsError() throws Exception {
+        subscribe(0, false);
+        subscriber.subscription.request(0);
+        settle();
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+
+    public void testEvaluateInBackground() throws Exception {
+        subscribe(Long.MAX_VALUE, true);
+        settle();
+        addDogs(3);
+        settle();
+        assertTrue(subscriber.sizes.size() >= 2);
+        assertEquals(0, subscriber.sizes.get(0).intValue());
+        assertEquals(3, subscriber.sizes.get(subscriber.sizes.size() - 1).intValue());
+    }
+}
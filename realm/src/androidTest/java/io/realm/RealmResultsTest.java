@@ -18,6 +18,11 @@ package io.realm;
 
 import android.test.AndroidTestCase;
 
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -568,20 +573,75 @@ public class RealmResultsTest extends AndroidTestCase {
     }
 
     public void testSortByChildObject() {
+        testRealm.beginTransaction();
+        String[] names = {"b", "c", "a"};
+        for (String name : names) {
+            Owner owner = testRealm.createObject(Owner.class);
+            owner.setName("owner " + name);
+            Cat cat = testRealm.createObject(Cat.class);
+            cat.setName(name);
+            owner.setCat(cat);
+        }
+        Owner noCat = testRealm.createObject(Owner.class);
+        noCat.setName("no cat");
+        testRealm.commitTransaction();
+
+        RealmResults<Owner> owners = testRealm.where(Owner.class).findAll();
+        owners.sort("cat.name");
+        assertEquals(4, owners.size());
+        assertEquals("no cat", owners.first().getName());
+        assertEquals("owner a", owners.get(1).getName());
+        assertEquals("owner c", owners.last().getName());
+
+        owners.sort("cat.name", RealmResults.SORT_ORDER_DESCENDING);
+        assertEquals("owner c", owners.first().getName());
+        assertEquals("no cat", owners.last().getName());
+
+        RealmResults<Owner> sorted = testRealm.where(Owner.class).findAllSorted("cat.name", false);
+        assertEquals("owner c", sorted.first().getName());
+        assertEquals("no cat", sorted.last().getName());
+    }
+
+    public void testSortByChildObjectStaysSortedAfterCommit() {
         testRealm.beginTransaction();
         Owner owner = testRealm.createObject(Owner.class);
-        owner.setName("owner");
+        owner.setName("owner b");
         Cat cat = testRealm.createObject(Cat.class);
-        cat.setName("cat");
+        cat.setName("b");
         owner.setCat(cat);
         testRealm.commitTransaction();
 
-        RealmQuery<Owner> query = testRealm.where(Owner.class);
-        RealmResults<Owner> owners = query.findAll();
+        RealmResults<Owner> owners = testRealm.where(Owner.class).findAllSorted("cat.name", true);
 
+        testRealm.beginTransaction();
+        Owner other = testRealm.createObject(Owner.class);
+        other.setName("owner a");
+        Cat otherCat = testRealm.createObject(Cat.class);
+        otherCat.setName("a");
+        other.setCat(otherCat);
+        testRealm.commitTransaction();
+
+        assertEquals(2, owners.size());
+        assertEquals("owner a", owners.first().getName());
+        assertEquals("owner b", owners.last().getName());
+    }
+
+    public void testSortByChildObjectMultipleFields() {
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class).findAllSorted(
+                new String[]{"columnRealmObject.name", FIELD_LONG}, new boolean[]{false, true});
+        assertEquals(TEST_DATA_SIZE, results.size());
+        for (int i = 1; i < results.size(); i++) {
+            String previous = results.get(i - 1).getColumnRealmObject().getName();
+            String current = results.get(i).getColumnRealmObject().getName();
+            assertTrue(previous.compareTo(current) >= 0);
+        }
+    }
+
+    public void testSortByListFieldThrows() {
+        RealmResults<Owner> owners = testRealm.where(Owner.class).findAll();
         try {
-            owners.sort("cat.name");
-            fail("Sorting by child object properties should result in a IllegalArgumentException");
+            owners.sort("dogs.name");
+            fail("Sorting through a RealmList should result in a IllegalArgumentException");
         } catch (IllegalArgumentException ignore) {
         }
     }
@@ -723,5 +783,67 @@ public class RealmResultsTest extends AndroidTestCase {
         try { result.removeLast();  fail(); } catch (IllegalStateException expected) {}
     }
 
+    public void testWriteJson() throws Exception {
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class)
+                .findAllSorted(FIELD_LONG, RealmResults.SORT_ORDER_DESCENDING);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        results.writeJson(out);
+
+        // More objects than are written in one chunk
+        JSONArray array = new JSONArray(out.toString("UTF-8"));
+        assertEquals(TEST_DATA_SIZE, array.length());
+        for (int i = 0; i < array.length(); i += 100) {
+            JSONObject json = array.getJSONObject(i);
+            AllTypes realmObject = results.get(i);
+            assertEquals(realmObject.getColumnString(), json.getString(FIELD_STRING));
+            assertEquals(realmObject.getColumnLong(), json.getLong(FIELD_LONG));
+            assertEquals(realmObject.getColumnFloat(), (float) json.getDouble(FIELD_FLOAT));
+            assertEquals(realmObject.getColumnDouble(), json.getDouble(FIELD_DOUBLE));
+            assertEquals(realmObject.isColumnBoolean(), json.getBoolean(FIELD_BOOLEAN));
+            assertEquals(realmObject.getColumnDate().getTime(), json.getLong(FIELD_DATE));
+            assertFalse(json.has("columnRealmObject"));
+            assertFalse(json.has("columnRealmList"));
+        }
+    }
+
+    public void testWriteJsonLinks() throws Exception {
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 10).findAll();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        results.writeJson(out, 1);
+
+        JSONArray array = new JSONArray(out.toString("UTF-8"));
+        assertEquals(10, array.length());
+        JSONObject json = array.getJSONObject(3);
+        assertEquals("Foo 3", json.getJSONObject("columnRealmObject").getString("name"));
+        assertEquals(1, json.getJSONArray("columnRealmList").length());
+        assertEquals("Foo 3", json.getJSONArray("columnRealmList").getJSONObject(0).getString("name"));
+    }
+
+    public void testWriteJsonCanBeImported() throws Exception {
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class).lessThan(FIELD_LONG, 10).findAll();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        results.writeJson(out, 1);
+
+        testRealm.beginTransaction();
+        testRealm.clear(AllTypes.class);
+        testRealm.createAllFromJson(AllTypes.class, new ByteArrayInputStream(out.toByteArray()));
+        testRealm.commitTransaction();
+
+        assertEquals(10, testRealm.allObjects(AllTypes.class).size());
+        AllTypes realmObject = testRealm.where(AllTypes.class).equalTo(FIELD_LONG, 5).findFirst();
+        assertEquals("test data 5", realmObject.getColumnString());
+        assertEquals(new Date(5000), realmObject.getColumnDate());
+        assertEquals(3, realmObject.getColumnBinary().length);
+        assertEquals("Foo 5", realmObject.getColumnRealmObject().getName());
+    }
+
+    public void testWriteJsonNegativeDepthThrows() throws Exception {
+        try {
+            testRealm.allObjects(AllTypes.class).writeJson(new ByteArrayOutputStream(), -1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
     // TODO: More extended tests of querying all types must be done.
 }
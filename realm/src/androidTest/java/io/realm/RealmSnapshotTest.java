@@ -0,0 +1,176 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.realm;
+
+import android.test.AndroidTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.entities.Dog;
+
+public class RealmSnapshotTest extends AndroidTestCase {
+
+    private RealmConfiguration config;
+    private Realm realm;
+    private RealmSnapshot<Dog> snapshot;
+
+    @Override
+    protected void setUp() throws Exception {
+        config = new RealmConfiguration.Builder(getContext()).build();
+        Realm.deleteRealm(config);
+        realm = Realm.getInstance(config);
+        for (int i = 0; i < 10; i++) {
+            addDog("Dog " + i, i);
+        }
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        if (snapshot != null) {
+            snapshot.close();
+        }
+        realm.close();
+    }
+
+    private void addDog(String name, long age) {
+        realm.beginTransaction();
+        Dog dog = realm.createObject(Dog.class);
+        dog.setName(name);
+        dog.setAge(age);
+        realm.commitTransaction();
+    }
+
+    public void testSnapshotDoesNotChange() {
+        RealmResults<Dog> dogs = realm.where(Dog.class).greaterThan("age", 4).findAllSorted("age");
+        snapshot = dogs.freeze();
+        assertEquals(5, snapshot.size());
+
+        addDog("Dog 10", 10);
+        realm.beginTransaction();
+        dogs.first().setName("Renamed");
+        realm.commitTransaction();
+
+        assertEquals(6, dogs.size());
+        assertEquals(5, snapshot.size());
+        assertEquals("Dog 5", snapshot.get(0).getName());
+        assertEquals(9, snapshot.max("age").longValue());
+    }
+
+    public void testSnapshotIsReadableFromOtherThreads() throws Exception {
+        snapshot = realm.where(Dog.class).findAllSorted("age").freeze();
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+        List<Future<Long>> sums = new ArrayList<Future<Long>>();
+        for (int i = 0; i < 3; i++) {
+            sums.add(executorService.submit(new Callable<Long>() {
+                @Override
+                public Long call() throws Exception {
+                    long sum = 0;
+                    for (Dog dog : snapshot) {
+                        sum += dog.getAge();
+                    }
+                    return sum;
+                }
+            }));
+        }
+        for (Future<Long> sum : sums) {
+            assertEquals(45, sum.get(10, TimeUnit.SECONDS).longValue());
+        }
+        executorService.shutdown();
+    }
+
+    public void testObjectsAreStandaloneCopies() {
+        snapshot = realm.where(Dog.class).findAllSorted("age").freeze();
+        Dog dog = snapshot.get(0);
+        snapshot.close();
+
+        assertEquals("Dog 0", dog.getName());
+        dog.setName("Renamed");
+        assertEquals("Dog 0", realm.where(Dog.class).findAllSorted("age").first().getName());
+    }
+
+    public void testFreezeResultsOfRealmBehindLatestVersion() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final RealmResults<Dog>[] dogs = new RealmResults[1];
+        final Realm[] otherRealm = new Realm[1];
+        executorService.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                otherRealm[0] = Realm.getInstance(config);
+                dogs[0] = otherRealm[0].where(Dog.class).lessThan("age", 3).findAll();
+                return null;
+            }
+        }).get(10, TimeUnit.SECONDS);
+        addDog("Dog -1", -1);
+
+        int[] sizes = executorService.submit(new Callable<int[]>() {
+            @Override
+            public int[] call() throws Exception {
+                RealmSnapshot<Dog> snapshot = dogs[0].freeze();
+                try {
+                    return new int[] {dogs[0].size(), snapshot.size()};
+                } finally {
+                    snapshot.close();
+                    otherRealm[0].close();
+                }
+            }
+        }).get(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+        assertEquals(3, sizes[0]);
+        assertEquals(4, sizes[1]);
+    }
+
+    public void testFreezeInWriteTransactionThrows() {
+        RealmResults<Dog> dogs = realm.allObjects(Dog.class);
+        realm.beginTransaction();
+        try {
+            dogs.freeze();
+            fail();
+        } catch (IllegalStateException ignored) {
+        } finally {
+            realm.cancelTransaction();
+        }
+    }
+
+    public void testClosedSnapshotThrows() {
+        snapshot = realm.allObjects(Dog.class).freeze();
+        snapshot.close();
+        assertTrue(snapshot.isClosed());
+        try {
+            snapshot.get(0);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+    }
+
+    public void testSnapshotKeepsFileOpen() {
+        snapshot = realm.allObjects(Dog.class).freeze();
+        realm.close();
+        try {
+            Realm.deleteRealm(config);
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        snapshot.close();
+        assertTrue(Realm.deleteRealm(config));
+        realm = Realm.getInstance(config);
+    }
+}
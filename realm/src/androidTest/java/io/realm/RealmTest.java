@@ -1194,6 +1194,278 @@ public class RealmTest extends AndroidTestCase {
         assertEquals(dog2.getName(), copiedList.get(1).getName());
     }
 
+    public void testInsert() {
+        Date date = new Date();
+        date.setTime(1000); // Remove ms. precision as Realm doesn't support it yet.
+        Dog dog = new Dog();
+        dog.setName("Fido");
+
+        List<AllTypes> objects = new ArrayList<AllTypes>();
+        for (int i = 0; i < 3; i++) {
+            AllTypes allTypes = new AllTypes();
+            allTypes.setColumnString("String " + i);
+            allTypes.setColumnLong(i);
+            allTypes.setColumnFloat(1f);
+            allTypes.setColumnDouble(1d);
+            allTypes.setColumnBoolean(true);
+            allTypes.setColumnDate(date);
+            allTypes.setColumnBinary(new byte[]{1, 2, 3});
+            allTypes.setColumnRealmObject(dog);
+            allTypes.setColumnRealmList(new RealmList<Dog>(dog));
+            objects.add(allTypes);
+        }
+
+        testRealm.beginTransaction();
+        testRealm.insert(objects);
+        testRealm.commitTransaction();
+
+        RealmResults<AllTypes> results = testRealm.allObjectsSorted(AllTypes.class, "columnLong", true);
+        assertEquals(3, results.size());
+        for (int i = 0; i < 3; i++) {
+            AllTypes realmTypes = results.get(i);
+            assertEquals("String " + i, realmTypes.getColumnString());
+            assertEquals(i, realmTypes.getColumnLong());
+            assertEquals(1f, realmTypes.getColumnFloat());
+            assertEquals(1d, realmTypes.getColumnDouble());
+            assertTrue(realmTypes.isColumnBoolean());
+            assertEquals(date, realmTypes.getColumnDate());
+            assertArrayEquals(new byte[]{1, 2, 3}, realmTypes.getColumnBinary());
+            assertEquals("Fido", realmTypes.getColumnRealmObject().getName());
+            assertEquals("Fido", realmTypes.getColumnRealmList().first().getName());
+        }
+        // The dog is shared by all objects, so it is only copied once
+        assertEquals(1, testRealm.allObjects(Dog.class).size());
+    }
+
+    public void testInsertDefaultValues() {
+        testRealm.beginTransaction();
+        testRealm.insert(Arrays.asList(new AllTypes()));
+        testRealm.commitTransaction();
+
+        AllTypes realmTypes = testRealm.allObjects(AllTypes.class).first();
+        assertEquals("", realmTypes.getColumnString());
+        assertEquals(new Date(0), realmTypes.getColumnDate());
+        assertArrayEquals(new byte[0], realmTypes.getColumnBinary());
+    }
+
+    public void testInsertWithPrimaryKey() {
+        List<PrimaryKeyAsLong> objects = new ArrayList<PrimaryKeyAsLong>();
+        for (int i = 0; i < 3; i++) {
+            PrimaryKeyAsLong object = new PrimaryKeyAsLong();
+            object.setId(i);
+            object.setName("Name " + i);
+            objects.add(object);
+        }
+
+        testRealm.beginTransaction();
+        testRealm.insert(objects);
+        testRealm.commitTransaction();
+
+        assertEquals(3, testRealm.allObjects(PrimaryKeyAsLong.class).size());
+        assertEquals("Name 2", testRealm.where(PrimaryKeyAsLong.class).equalTo("id", 2).findFirst().getName());
+    }
+
+    public void testInsertDuplicatePrimaryKeyThrows() {
+        PrimaryKeyAsString first = new PrimaryKeyAsString();
+        first.setName("Foo");
+        PrimaryKeyAsString second = new PrimaryKeyAsString();
+        second.setName("Foo");
+
+        testRealm.beginTransaction();
+        try {
+            testRealm.insert(Arrays.asList(first, second));
+            fail();
+        } catch (RealmException expected) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+        assertEquals(0, testRealm.allObjects(PrimaryKeyAsString.class).size());
+    }
+
+    public void testInsertPrimaryKeyOfExistingRowThrows() {
+        testRealm.beginTransaction();
+        PrimaryKeyAsLong existing = testRealm.createObject(PrimaryKeyAsLong.class);
+        existing.setId(2);
+        testRealm.commitTransaction();
+
+        List<PrimaryKeyAsLong> objects = new ArrayList<PrimaryKeyAsLong>();
+        for (int i = 0; i < 5; i++) {
+            PrimaryKeyAsLong object = new PrimaryKeyAsLong();
+            object.setId(10 - i * 2);
+            objects.add(object);
+        }
+        testRealm.beginTransaction();
+        try {
+            testRealm.insert(objects);
+            fail();
+        } catch (RealmException expected) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+        assertEquals(1, testRealm.allObjects(PrimaryKeyAsLong.class).size());
+    }
+
+    public void testInsertNullObjectThrows() {
+        testRealm.beginTransaction();
+        try {
+            testRealm.insert(Arrays.asList(new Dog(), null));
+            fail();
+        } catch (IllegalArgumentException expected) {
+        } finally {
+            testRealm.cancelTransaction();
+        }
+    }
+
+    public void testCopyFromRealm() {
+        populateTestRealm(testRealm, 3);
+        AllTypes realmObject = testRealm.where(AllTypes.class).equalTo("columnLong", 1).findFirst();
+        testRealm.beginTransaction();
+        Dog dog = testRealm.createObject(Dog.class);
+        dog.setName("Fido");
+        realmObject.setColumnRealmObject(dog);
+        realmObject.getColumnRealmList().add(dog);
+        testRealm.commitTransaction();
+
+        AllTypes copy = testRealm.copyFromRealm(realmObject);
+        assertFalse(copy.isValid());
+        assertEquals(realmObject.getColumnString(), copy.getColumnString());
+        assertEquals(realmObject.getColumnLong(), copy.getColumnLong());
+        assertEquals(realmObject.getColumnFloat(), copy.getColumnFloat());
+        assertEquals(realmObject.getColumnDouble(), copy.getColumnDouble());
+        assertEquals(realmObject.isColumnBoolean(), copy.isColumnBoolean());
+        assertEquals(realmObject.getColumnDate(), copy.getColumnDate());
+        assertArrayEquals(realmObject.getColumnBinary(), copy.getColumnBinary());
+        assertEquals(realmObject.getColumnRealmObject().getName(), copy.getColumnRealmObject().getName());
+        assertEquals(1, copy.getColumnRealmList().size());
+        assertSame(copy.getColumnRealmObject(), copy.getColumnRealmList().get(0));
+    }
+
+    public void testCopyFromRealmResults() {
+        populateTestRealm(testRealm, 10);
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class).greaterThan("columnLong", 4)
+                .findAllSorted("columnLong", RealmResults.SORT_ORDER_DESCENDING);
+
+        List<AllTypes> copies = testRealm.copyFromRealm(results);
+        assertEquals(results.size(), copies.size());
+        for (int i = 0; i < copies.size(); i++) {
+            assertEquals(results.get(i).getColumnLong(), copies.get(i).getColumnLong());
+            assertEquals(results.get(i).getColumnString(), copies.get(i).getColumnString());
+        }
+
+        copies = testRealm.copyFromRealm(testRealm.allObjects(AllTypes.class));
+        assertEquals(10, copies.size());
+    }
+
+    public void testCopyFromRealmMaxDepth() {
+        testRealm.beginTransaction();
+        CyclicType first = testRealm.createObject(CyclicType.class);
+        first.setName("first");
+        CyclicType second = testRealm.createObject(CyclicType.class);
+        second.setName("second");
+        CyclicType third = testRealm.createObject(CyclicType.class);
+        third.setName("third");
+        first.setObject(second);
+        second.setObject(third);
+        first.getObjects().add(second);
+        testRealm.commitTransaction();
+
+        CyclicType copy = testRealm.copyFromRealm(first, 0);
+        assertEquals("first", copy.getName());
+        assertNull(copy.getObject());
+        assertNull(copy.getObjects());
+
+        copy = testRealm.copyFromRealm(first, 1);
+        assertEquals("second", copy.getObject().getName());
+        assertNull(copy.getObject().getObject());
+        assertEquals(1, copy.getObjects().size());
+        assertSame(copy.getObject(), copy.getObjects().get(0));
+    }
+
+    public void testCopyFromRealmCyclic() {
+        testRealm.beginTransaction();
+        CyclicType first = testRealm.createObject(CyclicType.class);
+        first.setName("first");
+        CyclicType second = testRealm.createObject(CyclicType.class);
+        second.setName("second");
+        first.setObject(second);
+        second.setObject(first);
+        testRealm.commitTransaction();
+
+        CyclicType copy = testRealm.copyFromRealm(first);
+        assertEquals("second", copy.getObject().getName());
+        assertSame(copy, copy.getObject().getObject());
+    }
+
+    public void testCopyFromRealmMixedClasses() {
+        testRealm.beginTransaction();
+        Dog dog = testRealm.createObject(Dog.class);
+        dog.setName("Fido");
+        CyclicType cyclic = testRealm.createObject(CyclicType.class);
+        cyclic.setName("cyclic");
+        testRealm.commitTransaction();
+
+        List<RealmObject> objects = new ArrayList<RealmObject>();
+        objects.add(dog);
+        objects.add(cyclic);
+        objects.add(dog);
+        List<RealmObject> copies = testRealm.copyFromRealm(objects);
+        assertEquals(3, copies.size());
+        assertEquals("Fido", ((Dog) copies.get(0)).getName());
+        assertEquals("cyclic", ((CyclicType) copies.get(1)).getName());
+        assertSame(copies.get(0), copies.get(2));
+    }
+
+    public void testCopyFromRealmLongChain() {
+        final int length = 10000;
+        testRealm.beginTransaction();
+        CyclicType first = testRealm.createObject(CyclicType.class);
+        first.setName("0");
+        CyclicType previous = first;
+        for (int i = 1; i < length; i++) {
+            CyclicType next = testRealm.createObject(CyclicType.class);
+            next.setName(Integer.toString(i));
+            previous.setObject(next);
+            previous = next;
+        }
+        testRealm.commitTransaction();
+
+        CyclicType copy = testRealm.copyFromRealm(first);
+        for (int i = 0; i < length; i++) {
+            assertEquals(Integer.toString(i), copy.getName());
+            copy = copy.getObject();
+        }
+        assertNull(copy);
+    }
+
+    public void testCopyFromRealmInvalidArgumentsThrows() {
+        populateTestRealm(testRealm, 1);
+        AllTypes realmObject = testRealm.allObjects(AllTypes.class).first();
+        try {
+            testRealm.copyFromRealm(realmObject, -1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            testRealm.copyFromRealm(new AllTypes());
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            testRealm.copyFromRealm((AllTypes) null);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+
+        testRealm.beginTransaction();
+        realmObject.removeFromRealm();
+        testRealm.commitTransaction();
+        try {
+            testRealm.copyFromRealm(realmObject);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
     public void testCopyToRealmOrUpdateNullThrows() {
         try {
             testRealm.copyToRealmOrUpdate((AllTypes) null);
@@ -1751,4 +2023,79 @@ public class RealmTest extends AndroidTestCase {
         testRealm.checkIfValid();
         testRealm.close();
     }
+
+    public void testInstanceOnOtherThreadUsesValidatedSchema() throws Exception {
+        populateTestRealm();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        long count = executorService.submit(new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                Realm realm = Realm.getInstance(getContext());
+                try {
+                    return realm.where(AllTypes.class).greaterThan(FIELD_LONG, 4).count();
+                } finally {
+                    realm.close();
+                }
+            }
+        }).get(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+        assertEquals(TEST_DATA_SIZE - 5, count);
+    }
+
+    public void testCachedInstanceDoesNotTakeGlobalLock() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Callable<Void> getInstance = new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                Realm.getInstance(getContext());
+                return null;
+            }
+        };
+        executorService.submit(getInstance).get(10, TimeUnit.SECONDS);
+
+        // The thread already has an instance, so it is returned while another thread holds the global lock
+        synchronized (Realm.class) {
+            executorService.submit(getInstance).get(10, TimeUnit.SECONDS);
+        }
+
+        executorService.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                Realm realm = Realm.getInstance(getContext());
+                realm.close();
+                realm.close();
+                realm.close();
+                return null;
+            }
+        }).get(10, TimeUnit.SECONDS);
+        executorService.shutdown();
+    }
+
+    public void testSchemaIsValidatedAgainAfterDelete() {
+        testRealm.close();
+        assertTrue(Realm.deleteRealmFile(getContext()));
+
+        // The tables of the new file must be created, even though the schema was validated for the old one
+        testRealm = Realm.getInstance(getContext());
+        populateTestRealm();
+        assertEquals(TEST_DATA_SIZE, testRealm.allObjects(AllTypes.class).size());
+    }
+
+    public void testGetInstanceOnNewThreadTime() throws Exception {
+        final int threads = 20;
+        long start = SystemClock.elapsedRealtime();
+        for (int i = 0; i < threads; i++) {
+            ExecutorService executorService = Executors.newSingleThreadExecutor();
+            executorService.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    Realm.getInstance(getContext()).close();
+                    return null;
+                }
+            }).get(10, TimeUnit.SECONDS);
+            executorService.shutdown();
+        }
+        android.util.Log.d(RealmTest.class.getName(), String.format("getInstance() on a new thread: %.2f ms",
+                (double) (SystemClock.elapsedRealtime() - start) / threads));
+    }
 }
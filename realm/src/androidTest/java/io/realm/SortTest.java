@@ -16,9 +16,12 @@
 
 package io.realm;
 
+import android.os.SystemClock;
 import android.test.AndroidTestCase;
+import android.util.Log;
 
 import io.realm.entities.AllTypes;
+import io.realm.entities.Dog;
 import io.realm.internal.TableView;
 
 public class SortTest extends AndroidTestCase {
@@ -302,4 +305,135 @@ public class SortTest extends AndroidTestCase {
         } catch (IllegalArgumentException ignored) {
         }
     }
+
+    private void populateLongs(int count, int offset) {
+        testRealm.beginTransaction();
+        for (int i = 0; i < count; i++) {
+            AllTypes object = testRealm.createObject(AllTypes.class);
+            object.setColumnLong((i * 7919L + offset) % count);
+            object.setColumnString("Sorted " + i);
+        }
+        testRealm.commitTransaction();
+    }
+
+    private void assertSortedByLong(RealmResults<AllTypes> results, boolean ascending) {
+        for (int i = 1; i < results.size(); i++) {
+            long previous = results.get(i - 1).getColumnLong();
+            long current = results.get(i).getColumnLong();
+            if (ascending) {
+                assertTrue(previous <= current);
+            } else {
+                assertTrue(previous >= current);
+            }
+        }
+    }
+
+    public void testSortedResultsUpdatedAfterInsert() {
+        populateLongs(1000, 0);
+        RealmResults<AllTypes> results = testRealm.allObjectsSorted(AllTypes.class, FIELD_LONG,
+                RealmResults.SORT_ORDER_ASCENDING);
+
+        testRealm.beginTransaction();
+        AllTypes object = testRealm.createObject(AllTypes.class);
+        object.setColumnLong(-1);
+        testRealm.commitTransaction();
+
+        assertEquals(1005, results.size());
+        assertEquals(-1, results.first().getColumnLong());
+        assertSortedByLong(results, true);
+    }
+
+    public void testSortedResultsUpdatedAfterDelete() {
+        populateLongs(1000, 0);
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class).findAllSorted(FIELD_LONG,
+                RealmResults.SORT_ORDER_DESCENDING);
+        long largest = results.first().getColumnLong();
+
+        // Removing rows moves the last rows of the table into their place
+        testRealm.beginTransaction();
+        results.removeLast();
+        results.remove(0);
+        testRealm.commitTransaction();
+
+        assertEquals(1002, results.size());
+        assertTrue(results.first().getColumnLong() <= largest);
+        assertSortedByLong(results, false);
+    }
+
+    public void testSortedResultsUpdatedAfterChange() {
+        populateLongs(1000, 0);
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class).findAllSorted(ORDER_INT_STRING,
+                ORDER_ASC_DES);
+
+        testRealm.beginTransaction();
+        results.get(10).setColumnLong(100000);
+        results.get(500).setColumnLong(-100000);
+        testRealm.commitTransaction();
+
+        assertEquals(1004, results.size());
+        assertEquals(-100000, results.first().getColumnLong());
+        assertEquals(100000, results.last().getColumnLong());
+        assertSortedByLong(results, true);
+    }
+
+    private void populateDogAges(int count) {
+        testRealm.beginTransaction();
+        for (int i = 0; i < count; i++) {
+            Dog dog = testRealm.createObject(Dog.class);
+            dog.setAge((i * 7919L) % count);
+            testRealm.createObject(AllTypes.class).setColumnRealmObject(dog);
+        }
+        testRealm.commitTransaction();
+    }
+
+    private void assertSortedByDogAge(RealmResults<AllTypes> results) {
+        for (int i = 1; i < results.size(); i++) {
+            Dog previous = results.get(i - 1).getColumnRealmObject();
+            Dog current = results.get(i).getColumnRealmObject();
+            if (previous != null) {
+                assertNotNull(current);
+                assertTrue(previous.getAge() <= current.getAge());
+            }
+        }
+    }
+
+    public void testSortedByLinkUpdatedAfterChange() {
+        populateDogAges(1000);
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class).findAllSorted("columnRealmObject.age");
+        assertSortedByDogAge(results);
+
+        // Moving one of the first rows to the end must not prevent the rest of the order from being kept
+        testRealm.beginTransaction();
+        results.get(4).getColumnRealmObject().setAge(100000);
+        results.get(500).getColumnRealmObject().setAge(-100000);
+        Dog dog = testRealm.createObject(Dog.class);
+        dog.setAge(5);
+        testRealm.createObject(AllTypes.class).setColumnRealmObject(dog);
+        testRealm.commitTransaction();
+
+        assertEquals(1005, results.size());
+        assertNull(results.get(3).getColumnRealmObject());
+        assertEquals(-100000, results.get(4).getColumnRealmObject().getAge());
+        assertEquals(100000, results.last().getColumnRealmObject().getAge());
+        assertSortedByDogAge(results);
+    }
+
+    // Not a correctness test as such, but logs how long syncing a sorted RealmResults takes depending on the number
+    // of rows added since the last sync.
+    public void testSortedResultsSyncCost() {
+        final int viewSize = 20000;
+        populateLongs(viewSize, 0);
+        RealmResults<AllTypes> results = testRealm.where(AllTypes.class).findAllSorted(FIELD_LONG);
+
+        int[] changeSizes = {1, 10, 100, 1000, 5000};
+        for (int changeSize : changeSizes) {
+            populateLongs(changeSize, changeSize / 2);
+            long start = SystemClock.elapsedRealtime();
+            long size = results.size();
+            long elapsed = SystemClock.elapsedRealtime() - start;
+            Log.d("SortTest", String.format("Synced %d sorted rows after adding %d rows in %d ms.",
+                    size, changeSize, elapsed));
+        }
+        assertSortedByLong(results, true);
+    }
 }
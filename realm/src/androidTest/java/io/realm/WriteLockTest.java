@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.realm;
+
+import android.os.SystemClock;
+import android.test.AndroidTestCase;
+
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.entities.Dog;
+
+public class WriteLockTest extends AndroidTestCase {
+
+    private RealmConfiguration config;
+    private Realm realm;
+    private ExecutorService executorService;
+
+    @Override
+    protected void setUp() throws Exception {
+        // The statistics are kept per file for the lifetime of the process, so other tests must not use this file
+        config = new RealmConfiguration.Builder(getContext()).name("writelock.realm").build();
+        Realm.deleteRealm(config);
+        realm = Realm.getInstance(config);
+        executorService = Executors.newSingleThreadExecutor();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        executorService.shutdownNow();
+        realm.close();
+    }
+
+    // Starts a write transaction on the executor, which is committed when the returned latch is counted down
+    private Future<String> holdWriteLock(final CountDownLatch started, final CountDownLatch release) {
+        return executorService.submit(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                Realm realm = Realm.getInstance(config);
+                try {
+                    realm.beginTransaction();
+                    started.countDown();
+                    release.await(10, TimeUnit.SECONDS);
+                    realm.createObject(Dog.class);
+                    realm.commitTransaction();
+                    return Thread.currentThread().getName();
+                } finally {
+                    realm.close();
+                }
+            }
+        });
+    }
+
+    public void testTryBeginTransaction() {
+        long acquisitions = Realm.getWriteLockStats(config).getAcquisitions();
+        assertTrue(realm.tryBeginTransaction(1, TimeUnit.SECONDS));
+        realm.createObject(Dog.class);
+        realm.commitTransaction();
+
+        assertEquals(1, realm.allObjects(Dog.class).size());
+        assertEquals(acquisitions + 1, Realm.getWriteLockStats(config).getAcquisitions());
+    }
+
+    public void testTryBeginTransactionTimesOut() throws Exception {
+        long timeouts = Realm.getWriteLockStats(config).getTimeouts();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> writer = holdWriteLock(started, release);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        assertFalse(realm.tryBeginTransaction(50, TimeUnit.MILLISECONDS));
+        assertFalse(realm.isInTransaction());
+        WriteLockStats stats = Realm.getWriteLockStats(config);
+        assertEquals(timeouts + 1, stats.getTimeouts());
+
+        release.countDown();
+        writer.get(10, TimeUnit.SECONDS);
+        assertTrue(realm.tryBeginTransaction(1, TimeUnit.SECONDS));
+        realm.cancelTransaction();
+    }
+
+    public void testTryBeginTransactionTimesOutOnLockFile() throws Exception {
+        // Holding the lock file is what a writer in another process does
+        RandomAccessFile lockFile = new RandomAccessFile(config.getPath() + WriteLockGate.LOCK_FILE_SUFFIX, "rw");
+        FileLock fileLock = lockFile.getChannel().lock();
+        try {
+            assertFalse(realm.tryBeginTransaction(50, TimeUnit.MILLISECONDS));
+            assertFalse(realm.isInTransaction());
+        } finally {
+            fileLock.release();
+            lockFile.close();
+        }
+
+        assertTrue(realm.tryBeginTransaction(1, TimeUnit.SECONDS));
+        realm.cancelTransaction();
+    }
+
+    public void testHoldTimeIsRecordedWithThread() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> writer = holdWriteLock(started, release);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        SystemClock.sleep(200);
+        release.countDown();
+        String threadName = writer.get(10, TimeUnit.SECONDS);
+
+        WriteLockStats stats = Realm.getWriteLockStats(config);
+        assertTrue(stats.getMaxHoldTimeMs() >= 200);
+        assertEquals(threadName, stats.getMaxHoldThreadName());
+    }
+
+    public void testContendingWriterWaits() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> writer = holdWriteLock(started, release);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        final CountDownLatch releaseLater = release;
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                SystemClock.sleep(100);
+                releaseLater.countDown();
+            }
+        }).start();
+
+        // Waits for the writer
+        realm.beginTransaction();
+        realm.cancelTransaction();
+        writer.get(10, TimeUnit.SECONDS);
+        WriteLockStats stats = Realm.getWriteLockStats(config);
+        assertTrue(stats.getMaxContendingWriters() >= 1);
+        assertEquals(0, stats.getContendingWriters());
+
+        long histogramTotal = 0;
+        for (long count : stats.getWaitTimeHistogram()) {
+            histogramTotal += count;
+        }
+        assertEquals(stats.getAcquisitions(), histogramTotal);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.entities;
+
+import io.realm.RealmObject;
+import io.realm.RealmResults;
+import io.realm.annotations.LinkingObjects;
+
+public class Customer extends RealmObject {
+    private String name;
+
+    @LinkingObjects("customer")
+    private RealmResults<Order> orders;
+
+    @LinkingObjects("sharedWith")
+    private RealmResults<Order> sharedOrders;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public RealmResults<Order> getOrders() {
+        return orders;
+    }
+
+    public RealmResults<Order> getSharedOrders() {
+        return sharedOrders;
+    }
+}
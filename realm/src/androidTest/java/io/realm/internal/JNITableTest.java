@@ -4,6 +4,7 @@ import android.test.AndroidTestCase;
 import android.test.MoreAsserts;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.Date;
 
 import io.realm.internal.test.TestHelper;
@@ -481,4 +482,56 @@ public class JNITableTest extends AndroidTestCase {
 
     }
 
+
+    public void testBulkSetters() {
+        long firstRowIndex = t.addEmptyRows(3);
+        assertEquals(0, firstRowIndex);
+
+        t.setBooleans(1, 0, new boolean[]{true, false, true});
+        t.setDates(2, 0, new Date[]{new Date(1000), new Date(2000), new Date(3000)});
+        t.setDoubles(3, 0, new double[]{1d, 2d, 3d});
+        t.setFloats(4, 0, new float[]{1f, 2f, 3f});
+        t.setLongs(5, 1, new long[]{2, 3});
+        t.setStrings(7, 0, new String[]{"a", "b", "c"});
+
+        assertFalse(t.getBoolean(1, 1));
+        assertEquals(new Date(3000), t.getDate(2, 2));
+        assertEquals(2d, t.getDouble(3, 1));
+        assertEquals(3f, t.getFloat(4, 2));
+        assertEquals(0, t.getLong(5, 0));
+        assertEquals(3, t.getLong(5, 2));
+        assertEquals("b", t.getString(7, 1));
+    }
+
+    public void testBulkGetters() {
+        t.addEmptyRows(3);
+        t.setBooleans(1, 0, new boolean[]{true, false, true});
+        t.setDates(2, 0, new Date[]{new Date(1000), new Date(2000), new Date(3000)});
+        t.setDoubles(3, 0, new double[]{1d, 2d, 3d});
+        t.setFloats(4, 0, new float[]{1f, 2f, 3f});
+        t.setLongs(5, 0, new long[]{1, 2, 3});
+        t.setStrings(7, 0, new String[]{"a", "b", "c"});
+
+        long[] rowIndexes = new long[]{2, 0, 2};
+        assertTrue(Arrays.equals(new boolean[]{true, true, true}, t.getBooleans(1, rowIndexes)));
+        assertTrue(Arrays.equals(new Date[]{new Date(3000), new Date(1000), new Date(3000)}, t.getDates(2, rowIndexes)));
+        assertTrue(Arrays.equals(new double[]{3d, 1d, 3d}, t.getDoubles(3, rowIndexes)));
+        assertTrue(Arrays.equals(new float[]{3f, 1f, 3f}, t.getFloats(4, rowIndexes)));
+        assertTrue(Arrays.equals(new long[]{3, 1, 3}, t.getLongs(5, rowIndexes)));
+        assertTrue(Arrays.equals(new String[]{"c", "a", "c"}, t.getStrings(7, rowIndexes)));
+        assertEquals(0, t.getLongs(5, new long[0]).length);
+    }
+
+    public void testBulkGettersOutsideTableThrows() {
+        t.addEmptyRows(2);
+        try { t.getLongs(5, new long[]{0, 2}); fail(); } catch (IndexOutOfBoundsException expected) {}
+        try { t.getStrings(7, new long[]{-1}); fail(); } catch (IndexOutOfBoundsException expected) {}
+    }
+
+    public void testBulkSettersOutsideTableThrows() {
+        t.addEmptyRows(2);
+        try { t.setLongs(5, 1, new long[]{1, 2}); fail(); } catch (IndexOutOfBoundsException expected) {}
+        try { t.setLongs(5, -1, new long[]{1}); fail(); } catch (IndexOutOfBoundsException expected) {}
+        try { t.setStrings(7, 0, new String[]{"a", null}); fail(); } catch (IllegalArgumentException expected) {}
+    }
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.os.Handler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.realm.internal.log.RealmLog;
+
+/**
+ * Runs the transactions started with {@link Realm#executeTransactionAsync(Realm.Transaction,
+ * Realm.Transaction.OnSuccess, Realm.Transaction.OnError)}.
+ *
+ * All transactions are run one at a time on a single writer thread, so they never compete with each other for the
+ * write lock and the threads starting them never have to wait for it. If group commit is enabled in the
+ * configuration, transactions are collected for a while and then committed together.
+ */
+final class AsyncTransactionWriter {
+
+    private static final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor();
+
+    // Groups waiting for their window to end. Only accessed while synchronized on the map.
+    private static final Map<RealmConfiguration, List<Request>> pendingGroups =
+            new HashMap<RealmConfiguration, List<Request>>();
+
+    private AsyncTransactionWriter() {
+    }
+
+    static final class Request {
+        private final Realm realm;
+        private final Realm.Transaction transaction;
+        private final RealmAsyncTask task;
+        private final Handler callbackHandler;
+        private final Realm.Transaction.OnSuccess onSuccess;
+        private final Realm.Transaction.OnError onError;
+
+        Request(Realm realm, Realm.Transaction transaction, RealmAsyncTask task, Handler callbackHandler,
+                Realm.Transaction.OnSuccess onSuccess, Realm.Transaction.OnError onError) {
+            this.realm = realm;
+            this.transaction = transaction;
+            this.task = task;
+            this.callbackHandler = callbackHandler;
+            this.onSuccess = onSuccess;
+            this.onError = onError;
+        }
+
+        private void deliver(final Throwable error) {
+            if (callbackHandler == null) {
+                if (error != null) {
+                    RealmLog.e("Error during asynchronous transaction.", error);
+                }
+                return;
+            }
+            callbackHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    realm.deliverAsyncTransactionResult(task, error, onSuccess, onError);
+                }
+            });
+        }
+    }
+
+    static void submit(final RealmConfiguration configuration, Request request) {
+        long window = configuration.getGroupCommitWindow();
+        if (window <= 0) {
+            final List<Request> single = Collections.singletonList(request);
+            writer.submit(new Runnable() {
+                @Override
+                public void run() {
+                    commit(configuration, single);
+                }
+            });
+            return;
+        }
+
+        // The first transaction of a group schedules the commit of the whole group
+        synchronized (pendingGroups) {
+            List<Request> group = pendingGroups.get(configuration);
+            if (group != null) {
+                group.add(request);
+                return;
+            }
+            group = new ArrayList<Request>();
+            group.add(request);
+            pendingGroups.put(configuration, group);
+        }
+        writer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                List<Request> group;
+                synchronized (pendingGroups) {
+                    group = pendingGroups.remove(configuration);
+                }
+                commit(configuration, group);
+            }
+        }, window, TimeUnit.MILLISECONDS);
+    }
+
+    // Executes the transactions in a single write transaction, so the whole group is committed and synced once, and
+    // delivers the results after that commit. Core has no savepoints, so the changes of a transaction which throws
+    // or is cancelled after it ran cannot be taken out of the write transaction on their own. The write transaction
+    // is then rolled back and the group is run again without it.
+    private static void commit(RealmConfiguration configuration, List<Request> requests) {
+        List<Request> remaining = new ArrayList<Request>(requests.size());
+        for (Request request : requests) {
+            if (!request.task.isCancelled()) {
+                remaining.add(request);
+            }
+        }
+        if (remaining.isEmpty()) {
+            return;
+        }
+
+        Realm bgRealm;
+        try {
+            bgRealm = Realm.getInstance(configuration);
+        } catch (Throwable e) {
+            // The executor would swallow the exception, so it must be delivered here
+            for (Request request : remaining) {
+                request.deliver(e);
+            }
+            return;
+        }
+
+        try {
+            while (!remaining.isEmpty()) {
+                bgRealm.beginTransaction();
+                Request failed = null;
+                Throwable error = null;
+                Iterator<Request> iterator = remaining.iterator();
+                while (iterator.hasNext()) {
+                    Request request = iterator.next();
+                    if (request.task.isCancelled()) {
+                        // Not run yet, so it has no changes to roll back
+                        iterator.remove();
+                        continue;
+                    }
+                    try {
+                        request.transaction.execute(bgRealm);
+                    } catch (Throwable e) {
+                        failed = request;
+                        error = e;
+                        break;
+                    }
+                }
+                if (failed == null) {
+                    failed = findCancelled(remaining);
+                }
+
+                if (failed == null) {
+                    bgRealm.commitTransaction();
+                    for (Request request : remaining) {
+                        request.deliver(null);
+                    }
+                    return;
+                }
+
+                bgRealm.cancelTransaction();
+                remaining.remove(failed);
+                if (error != null) {
+                    failed.deliver(error);
+                }
+            }
+        } catch (Throwable e) {
+            // Beginning or committing the write transaction failed, so none of the transactions took effect
+            for (Request request : remaining) {
+                request.deliver(e);
+            }
+        } finally {
+            bgRealm.close();
+        }
+    }
+
+    // Returns a request which has been cancelled while the group was running, or null if there is none
+    private static Request findCancelled(List<Request> requests) {
+        for (Request request : requests) {
+            if (request.task.isCancelled()) {
+                return request;
+            }
+        }
+        return null;
+    }
+}
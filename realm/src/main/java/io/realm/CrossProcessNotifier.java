@@ -0,0 +1,114 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.os.FileObserver;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.realm.internal.log.RealmLog;
+
+/**
+ * Signals commits to Realm instances in other processes. Every commit writes to a notification file next to the
+ * Realm's .lock file, and all processes watching the file are woken up by inotify through a {@link FileObserver}.
+ * Own commits wake up the writing process as well, so listeners must check whether anything actually changed.
+ */
+class CrossProcessNotifier {
+
+    static final String NOTIFICATION_FILE_SUFFIX = ".note";
+
+    // One notifier per Realm file in this process, shared by all Realm instances using it.
+    private static final Map<String, CrossProcessNotifier> notifiers = new HashMap<String, CrossProcessNotifier>();
+
+    private final File notificationFile;
+    private final FileObserver observer;
+    private int references = 0;
+
+    CrossProcessNotifier(String realmPath, final Runnable onCommit) {
+        notificationFile = new File(realmPath + NOTIFICATION_FILE_SUFFIX);
+        try {
+            // inotify can only watch files which exist
+            notificationFile.createNewFile();
+        } catch (IOException e) {
+            RealmLog.w("Could not create " + notificationFile.getPath() + ": " + e.getMessage());
+        }
+        observer = new FileObserver(notificationFile.getPath(), FileObserver.CLOSE_WRITE) {
+            @Override
+            public void onEvent(int event, String path) {
+                onCommit.run();
+            }
+        };
+    }
+
+    void startWatching() {
+        observer.startWatching();
+    }
+
+    void stopWatching() {
+        observer.stopWatching();
+    }
+
+    /**
+     * Wakes up the processes watching the Realm file. Closing the file after writing to it triggers the event, so
+     * nothing needs to be synced.
+     */
+    void notifyCommit() {
+        FileOutputStream out = null;
+        try {
+            out = new FileOutputStream(notificationFile);
+            out.write(0);
+        } catch (IOException e) {
+            RealmLog.w("Could not notify other processes of commit: " + e.getMessage());
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    // Returns the notifier of the Realm file, starting it if this is the first reference to it in this process.
+    static synchronized CrossProcessNotifier acquire(final String realmPath) {
+        CrossProcessNotifier notifier = notifiers.get(realmPath);
+        if (notifier == null) {
+            notifier = new CrossProcessNotifier(realmPath, new Runnable() {
+                @Override
+                public void run() {
+                    Realm.notifyExternalCommit(realmPath);
+                }
+            });
+            notifier.startWatching();
+            notifiers.put(realmPath, notifier);
+        }
+        notifier.references++;
+        return notifier;
+    }
+
+    static synchronized void release(String realmPath) {
+        CrossProcessNotifier notifier = notifiers.get(realmPath);
+        if (notifier != null && --notifier.references == 0) {
+            notifier.stopWatching();
+            notifiers.remove(realmPath);
+        }
+    }
+}
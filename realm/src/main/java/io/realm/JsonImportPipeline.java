@@ -0,0 +1,318 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.util.JsonReader;
+import android.util.MalformedJsonException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.realm.exceptions.RealmException;
+import io.realm.internal.RealmProxyMediator;
+
+/**
+ * Imports a JSON array in three stages, see {@link Realm#createAllFromJson(Class, java.io.InputStream, int)}.
+ *
+ * A splitter thread cuts the array into the text of its elements without parsing them, and hands them in batches to
+ * a pool of parser threads which turn them into standalone objects. The futures of the batches are queued in the
+ * order of the array, and the thread calling {@link #run()} takes them from the queue and inserts them into the Realm.
+ * The queue is bounded, so the splitter stops reading when parsing or writing falls behind, and only a few batches
+ * are kept in memory at any time.
+ *
+ * The splitter and the parsers run on a thread pool shared by all imports, so their threads are reused by the next
+ * import instead of being started again. The number of batches parsed at the same time is limited by permits, not by
+ * the size of the pool. The stream is not closed by the pipeline.
+ */
+@TargetApi(Build.VERSION_CODES.HONEYCOMB)
+final class JsonImportPipeline<E extends RealmObject> {
+
+    static final int BATCH_SIZE = 256;
+    static final String THREAD_NAME = "RealmJsonImport";
+    private static final int BUFFER_SIZE = 8192;
+
+    // Threads which have been idle for a minute are stopped by the pool.
+    private static final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            // An idle pool must not keep the process alive
+            Thread thread = new Thread(runnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final Realm realm;
+    private final Class<E> clazz;
+    private final RealmProxyMediator mediator;
+    private final Reader reader;
+    private final int parserThreads;
+    private final Semaphore parserPermits;
+    private final BlockingQueue<Future<List<E>>> batches;
+    // Queued by the splitter after the last batch.
+    private final FutureTask<List<E>> endOfArray = new FutureTask<List<E>>(new Callable<List<E>>() {
+        @Override
+        public List<E> call() {
+            return null;
+        }
+    });
+
+    // Only written by the splitter thread, and read by the writer after the end of the array was taken.
+    private volatile long splitTimeNs;
+    private volatile long splitterBlockedTimeNs;
+    private final AtomicLong parseTimeNs = new AtomicLong();
+
+    // Splitter state, only accessed by the splitter thread.
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    JsonImportPipeline(Realm realm, Class<E> clazz, Reader reader, int parserThreads) {
+        this.realm = realm;
+        this.clazz = clazz;
+        this.mediator = realm.getConfiguration().getSchemaMediator();
+        this.reader = reader;
+        this.parserThreads = parserThreads;
+        this.parserPermits = new Semaphore(parserThreads);
+        this.batches = new ArrayBlockingQueue<Future<List<E>>>(parserThreads * 2);
+    }
+
+    /**
+     * Runs the import and inserts all objects on the calling thread, which must be in a write transaction.
+     */
+    JsonImportStats run() throws IOException {
+        long startTime = System.nanoTime();
+        long writeTimeNs = 0;
+        long writerWaitTimeNs = 0;
+        long objects = 0;
+
+        Future<?> splitter = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                split();
+            }
+        });
+        try {
+            while (true) {
+                long waitStart = System.nanoTime();
+                Future<List<E>> batch = batches.take();
+                if (batch == endOfArray) {
+                    break;
+                }
+                List<E> parsed = getBatch(batch);
+                long writeStart = System.nanoTime();
+                writerWaitTimeNs += writeStart - waitStart;
+                realm.insert(parsed);
+                writeTimeNs += System.nanoTime() - writeStart;
+                objects += parsed.size();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RealmException("Interrupted while importing JSON", e);
+        } finally {
+            // Stops the splitter and the parsers if the import failed. After the end of the array they have already
+            // finished.
+            splitter.cancel(true);
+            Future<List<E>> batch;
+            while ((batch = batches.poll()) != null) {
+                batch.cancel(true);
+            }
+        }
+
+        return new JsonImportStats(objects, parserThreads, System.nanoTime() - startTime, splitTimeNs,
+                splitterBlockedTimeNs, parseTimeNs.get(), writeTimeNs, writerWaitTimeNs);
+    }
+
+    private List<E> getBatch(Future<List<E>> batch) throws IOException, InterruptedException {
+        try {
+            return batch.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof MalformedJsonException || cause instanceof EOFException) {
+                throw new RealmException("Could not parse JSON array", cause);
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RealmException("Could not import JSON", cause);
+        }
+    }
+
+    private void split() {
+        long startTime = System.nanoTime();
+        try {
+            int c = nextNonWhitespace();
+            if (c != '[') {
+                throw new RealmException("Expected a JSON array");
+            }
+            List<String> elements = new ArrayList<String>(BATCH_SIZE);
+            c = nextNonWhitespace();
+            if (c != ']') {
+                StringBuilder element = new StringBuilder();
+                while (true) {
+                    c = readElement(c, element);
+                    elements.add(element.toString());
+                    element.setLength(0);
+                    if (elements.size() == BATCH_SIZE) {
+                        submit(elements);
+                        elements = new ArrayList<String>(BATCH_SIZE);
+                    }
+                    if (c == ']') {
+                        break;
+                    }
+                    c = nextNonWhitespace();
+                }
+            }
+            if (!elements.isEmpty()) {
+                submit(elements);
+            }
+            splitTimeNs = System.nanoTime() - startTime - splitterBlockedTimeNs;
+            put(endOfArray);
+        } catch (InterruptedException e) {
+            // The import failed and the writer is no longer taking batches.
+        } catch (Throwable e) {
+            try {
+                put(failedBatch(e));
+            } catch (InterruptedException ignored) {
+            }
+        }
+    }
+
+    // Copies the element starting with the given character and returns the ',' or ']' that follows it.
+    private int readElement(int c, StringBuilder element) throws IOException {
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        while (true) {
+            if (c == -1) {
+                throw new EOFException("End of input inside the JSON array");
+            }
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                if (depth == 0) {
+                    if (c == ']') {
+                        return c;
+                    }
+                    throw new MalformedJsonException("Unexpected '}' in the JSON array");
+                }
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                return c;
+            }
+            element.append((char) c);
+            c = read();
+        }
+    }
+
+    private void submit(final List<String> elements) throws InterruptedException {
+        long waitStart = System.nanoTime();
+        parserPermits.acquire();
+        splitterBlockedTimeNs += System.nanoTime() - waitStart;
+        put(executor.submit(new Callable<List<E>>() {
+            @Override
+            public List<E> call() {
+                long startTime = System.nanoTime();
+                try {
+                    List<E> parsed = new ArrayList<E>(elements.size());
+                    for (String element : elements) {
+                        JsonReader jsonReader = new JsonReader(new StringReader(element));
+                        parsed.add(mediator.createStandaloneUsingJsonStream(clazz, jsonReader));
+                    }
+                    parseTimeNs.addAndGet(System.nanoTime() - startTime);
+                    return parsed;
+                } catch (IOException e) {
+                    throw new RealmException("Could not map Json", e);
+                } catch (IllegalStateException e) {
+                    throw new RealmException("Could not map Json", e);
+                } finally {
+                    parserPermits.release();
+                }
+            }
+        }));
+    }
+
+    private void put(Future<List<E>> batch) throws InterruptedException {
+        long startTime = System.nanoTime();
+        batches.put(batch);
+        splitterBlockedTimeNs += System.nanoTime() - startTime;
+    }
+
+    private FutureTask<List<E>> failedBatch(final Throwable error) {
+        FutureTask<List<E>> batch = new FutureTask<List<E>>(new Callable<List<E>>() {
+            @Override
+            public List<E> call() throws Exception {
+                if (error instanceof Error) {
+                    throw (Error) error;
+                }
+                throw (Exception) error;
+            }
+        });
+        batch.run();
+        return batch;
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c == ' ' || c == '\t' || c == '\n' || c == '\r');
+        return c;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics about an import with {@link Realm#createAllFromJson(Class, java.io.InputStream, int)}.
+ * <p>
+ * The import runs in three stages. A splitter thread reads the stream and cuts the JSON array into its elements,
+ * parser threads turn batches of elements into standalone objects, and the calling thread inserts the batches into
+ * the Realm in their original order. The busy time of a stage does not include the time it spent waiting for the
+ * stage before or after it, so the stage with the lowest throughput is the bottleneck of the import. The parse time
+ * is the sum over all parser threads.
+ */
+public final class JsonImportStats {
+
+    private final long objects;
+    private final int parserThreads;
+    private final long totalTimeNs;
+    private final long splitTimeNs;
+    private final long splitterBlockedTimeNs;
+    private final long parseTimeNs;
+    private final long writeTimeNs;
+    private final long writerWaitTimeNs;
+
+    JsonImportStats(long objects, int parserThreads, long totalTimeNs, long splitTimeNs, long splitterBlockedTimeNs,
+                    long parseTimeNs, long writeTimeNs, long writerWaitTimeNs) {
+        this.objects = objects;
+        this.parserThreads = parserThreads;
+        this.totalTimeNs = totalTimeNs;
+        this.splitTimeNs = splitTimeNs;
+        this.splitterBlockedTimeNs = splitterBlockedTimeNs;
+        this.parseTimeNs = parseTimeNs;
+        this.writeTimeNs = writeTimeNs;
+        this.writerWaitTimeNs = writerWaitTimeNs;
+    }
+
+    /**
+     * Returns the number of objects imported.
+     */
+    public long getObjects() {
+        return objects;
+    }
+
+    /**
+     * Returns the number of parser threads used.
+     */
+    public int getParserThreads() {
+        return parserThreads;
+    }
+
+    /**
+     * Returns the time the whole import took.
+     */
+    public long getTotalTime(TimeUnit unit) {
+        return unit.convert(totalTimeNs, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the time the splitter spent reading the stream and cutting it into elements.
+     */
+    public long getSplitTime(TimeUnit unit) {
+        return unit.convert(splitTimeNs, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the time the splitter was blocked because the queue of batches was full, which means that parsing or
+     * writing could not keep up.
+     */
+    public long getSplitterBlockedTime(TimeUnit unit) {
+        return unit.convert(splitterBlockedTimeNs, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the time all parser threads together spent parsing elements.
+     */
+    public long getParseTime(TimeUnit unit) {
+        return unit.convert(parseTimeNs, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the time the calling thread spent inserting objects into the Realm.
+     */
+    public long getWriteTime(TimeUnit unit) {
+        return unit.convert(writeTimeNs, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the time the calling thread waited for the next batch to be parsed.
+     */
+    public long getWriterWaitTime(TimeUnit unit) {
+        return unit.convert(writerWaitTimeNs, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the number of objects the splitter handled per second of its busy time.
+     */
+    public double getSplitThroughput() {
+        return throughput(splitTimeNs);
+    }
+
+    /**
+     * Returns the number of objects the parser threads together handled per second of their busy time, divided
+     * over the threads as they ran in parallel.
+     */
+    public double getParseThroughput() {
+        return throughput(parseTimeNs / parserThreads);
+    }
+
+    /**
+     * Returns the number of objects inserted per second of writing.
+     */
+    public double getWriteThroughput() {
+        return throughput(writeTimeNs);
+    }
+
+    private double throughput(long timeNs) {
+        if (timeNs <= 0) {
+            return 0;
+        }
+        return objects * (double) TimeUnit.SECONDS.toNanos(1) / timeNs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d objects in %d ms: split %.0f/s, parse %.0f/s (%d threads), write %.0f/s, " +
+                        "splitter blocked %d ms, writer waited %d ms",
+                objects, getTotalTime(TimeUnit.MILLISECONDS), getSplitThroughput(), getParseThroughput(),
+                parserThreads, getWriteThroughput(), getSplitterBlockedTime(TimeUnit.MILLISECONDS),
+                getWriterWaitTime(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the change notifications sent between the {@link android.os.Looper} threads of a Realm file in this
+ * process, as returned by {@link Realm#getNotificationStats(RealmConfiguration)}.
+ * <p>
+ * Every commit posts a message to the other Looper threads which have the file open, unless a message is already
+ * pending. A thread which receives the message wakes up, and reads in the changes at once if its Realm has change
+ * listeners. A Realm without listeners defers reading in the changes until it is accessed again, and no further
+ * messages are posted to its thread until then.
+ * <p>
+ * A NotificationStats is a snapshot taken when it was returned, and does not change afterwards.
+ */
+public final class NotificationStats {
+
+    // The live counters of a file
+    static final class Counters {
+        private static final Map<String, Counters> counters = new ConcurrentHashMap<String, Counters>();
+
+        final AtomicLong messagesPosted = new AtomicLong();
+        final AtomicLong messagesSkipped = new AtomicLong();
+        final AtomicLong wakeUps = new AtomicLong();
+        final AtomicLong immediateAdvances = new AtomicLong();
+        final AtomicLong deferredAdvances = new AtomicLong();
+        final AtomicLong advancesOnAccess = new AtomicLong();
+
+        static Counters forPath(String path) {
+            Counters pathCounters = counters.get(path);
+            if (pathCounters == null) {
+                synchronized (counters) {
+                    pathCounters = counters.get(path);
+                    if (pathCounters == null) {
+                        pathCounters = new Counters();
+                        counters.put(path, pathCounters);
+                    }
+                }
+            }
+            return pathCounters;
+        }
+
+        static NotificationStats getStats(String path) {
+            Counters pathCounters = counters.get(path);
+            if (pathCounters == null) {
+                return null;
+            }
+            return new NotificationStats(pathCounters.messagesPosted.get(), pathCounters.messagesSkipped.get(),
+                    pathCounters.wakeUps.get(), pathCounters.immediateAdvances.get(),
+                    pathCounters.deferredAdvances.get(), pathCounters.advancesOnAccess.get());
+        }
+    }
+
+    private final long messagesPosted;
+    private final long messagesSkipped;
+    private final long wakeUps;
+    private final long immediateAdvances;
+    private final long deferredAdvances;
+    private final long advancesOnAccess;
+
+    private NotificationStats(long messagesPosted, long messagesSkipped, long wakeUps, long immediateAdvances,
+                              long deferredAdvances, long advancesOnAccess) {
+        this.messagesPosted = messagesPosted;
+        this.messagesSkipped = messagesSkipped;
+        this.wakeUps = wakeUps;
+        this.immediateAdvances = immediateAdvances;
+        this.deferredAdvances = deferredAdvances;
+        this.advancesOnAccess = advancesOnAccess;
+    }
+
+    /**
+     * Returns the number of change messages posted to Looper threads.
+     */
+    public long getMessagesPosted() {
+        return messagesPosted;
+    }
+
+    /**
+     * Returns the number of change messages which were not posted, because a message was already pending or the
+     * Realm of the thread had deferred reading in earlier changes.
+     */
+    public long getMessagesSkipped() {
+        return messagesSkipped;
+    }
+
+    /**
+     * Returns the number of change messages handled by Looper threads.
+     */
+    public long getWakeUps() {
+        return wakeUps;
+    }
+
+    /**
+     * Returns the number of change messages which made a Realm read in the changes at once, because it had
+     * listeners.
+     */
+    public long getImmediateAdvances() {
+        return immediateAdvances;
+    }
+
+    /**
+     * Returns the number of change messages after which a Realm deferred reading in the changes, because it had no
+     * listeners.
+     */
+    public long getDeferredAdvances() {
+        return deferredAdvances;
+    }
+
+    /**
+     * Returns the number of times a Realm read in deferred changes when it was accessed.
+     */
+    public long getAdvancesOnAccess() {
+        return advancesOnAccess;
+    }
+
+    @Override
+    public String toString() {
+        return messagesPosted + " messages posted, " + messagesSkipped + " skipped, " + wakeUps + " wake-ups, " +
+                immediateAdvances + " immediate advances, " + deferredAdvances + " deferred advances, " +
+                advancesOnAccess + " advances on access";
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * Describes the oldest version of a Realm file which is read by a Realm instance in this process, as returned by
+ * {@link Realm#getOldestPinnedVersion(RealmConfiguration)}.
+ * <p>
+ * Every Realm instance reads a single version of the data until it is refreshed. The space used by the data which has
+ * been changed since that version can't be reused while the version is read, so commits made in the meantime grow the
+ * file. Instances on threads without a {@link android.os.Looper} are only refreshed by {@link Realm#refresh()} or when
+ * they write, and an instance which is kept open by an idle thread can make the file grow out of measure.
+ * <p>
+ * A PinnedVersion is a snapshot taken when it was returned, and does not change afterwards.
+ */
+public final class PinnedVersion {
+
+    private final long version;
+    private final String threadName;
+    private final long threadId;
+    private final long pinnedForMs;
+    private final long fileSizeAtPin;
+    private final long fileSize;
+
+    PinnedVersion(long version, String threadName, long threadId, long pinnedForMs, long fileSizeAtPin,
+                  long fileSize) {
+        this.version = version;
+        this.threadName = threadName;
+        this.threadId = threadId;
+        this.pinnedForMs = pinnedForMs;
+        this.fileSizeAtPin = fileSizeAtPin;
+        this.fileSize = fileSize;
+    }
+
+    /**
+     * Returns the version read by the instance.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the name of the thread of the instance which reads the version. For an idle instance of a
+     * {@link RealmPool} this is the thread which leased it last.
+     */
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * Returns the id of the thread of the instance which reads the version.
+     */
+    public long getThreadId() {
+        return threadId;
+    }
+
+    /**
+     * Returns for how many milliseconds the instance has been reading the version.
+     */
+    public long getPinnedForMs() {
+        return pinnedForMs;
+    }
+
+    /**
+     * Returns the size in bytes of the Realm file when the instance started reading the version. The size is sampled
+     * by the first call to {@link Realm#getOldestPinnedVersion(RealmConfiguration)} which returned the version, so
+     * growth before that call is not included.
+     */
+    public long getFileSizeAtPin() {
+        return fileSizeAtPin;
+    }
+
+    /**
+     * Returns by how many bytes the Realm file has grown since the instance started reading the version.
+     */
+    public long getFileGrowth() {
+        return fileSize - fileSizeAtPin;
+    }
+
+    @Override
+    public String toString() {
+        return "Version " + version + " pinned for " + pinnedForMs + " ms by thread '" + threadName + "' (" +
+                threadId + "), file grown by " + getFileGrowth() + " bytes";
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import io.realm.exceptions.RealmException;
+
+/**
+ * Describes how a {@link RealmResults} was created, so that an equivalent query can be built by another Realm
+ * instance of the same file, e.g. on another thread. The conditions are stored as the {@link RealmQuery} methods
+ * which added them and their arguments. Queries on results are flattened into a single query on the table.
+ */
+final class QueryRecipe {
+
+    /**
+     * The {@link RealmQuery} methods which add a condition.
+     */
+    enum Operator {
+        IS_NULL,
+        EQUAL_TO,
+        NOT_EQUAL_TO,
+        GREATER_THAN,
+        GREATER_THAN_OR_EQUAL_TO,
+        LESS_THAN,
+        LESS_THAN_OR_EQUAL_TO,
+        BETWEEN,
+        CONTAINS,
+        BEGINS_WITH,
+        ENDS_WITH,
+        BEGIN_GROUP,
+        END_GROUP,
+        OR,
+        NOT
+    }
+
+    /**
+     * A condition added to a {@link RealmQuery}. The values are boxed, and their types select the overload of the
+     * method when the condition is applied again.
+     */
+    static final class Condition {
+        final Operator operator;
+        final String fieldName;
+        final Object value;
+        final Object value2;
+        final boolean caseSensitive;
+
+        Condition(Operator operator, String fieldName, Object value, Object value2, boolean caseSensitive) {
+            this.operator = operator;
+            this.fieldName = fieldName;
+            this.value = copy(value);
+            this.value2 = copy(value2);
+            this.caseSensitive = caseSensitive;
+        }
+
+        // Dates are mutable, so the query is rebuilt with the values it was created with
+        private static Object copy(Object value) {
+            return (value instanceof Date) ? new Date(((Date) value).getTime()) : value;
+        }
+    }
+
+    private static final Condition BEGIN_GROUP = new Condition(Operator.BEGIN_GROUP, null, null, null, false);
+    private static final Condition END_GROUP = new Condition(Operator.END_GROUP, null, null, null, false);
+
+    private final List<Condition> conditions;
+    private final String[] sortFieldNames;
+    private final boolean[] sortAscending;
+
+    /**
+     * @param parent the recipe of the results the query was run on, or {@code null} for a query on the table.
+     * @param conditions the conditions of the query.
+     */
+    QueryRecipe(QueryRecipe parent, List<Condition> conditions) {
+        if (parent == null || parent.conditions.isEmpty()) {
+            this.conditions = Collections.unmodifiableList(new ArrayList<Condition>(conditions));
+        } else if (conditions.isEmpty()) {
+            this.conditions = parent.conditions;
+        } else {
+            // Both parts are grouped, as an or() at the top level of either would otherwise extend to the other
+            List<Condition> combined = new ArrayList<Condition>(parent.conditions.size() + conditions.size() + 4);
+            combined.add(BEGIN_GROUP);
+            combined.addAll(parent.conditions);
+            combined.add(END_GROUP);
+            combined.add(BEGIN_GROUP);
+            combined.addAll(conditions);
+            combined.add(END_GROUP);
+            this.conditions = Collections.unmodifiableList(combined);
+        }
+        // A query on sorted results finds the rows in the order of the results
+        this.sortFieldNames = (parent != null) ? parent.sortFieldNames : null;
+        this.sortAscending = (parent != null) ? parent.sortAscending : null;
+    }
+
+    private QueryRecipe(List<Condition> conditions, String[] sortFieldNames, boolean[] sortAscending) {
+        this.conditions = conditions;
+        this.sortFieldNames = sortFieldNames;
+        this.sortAscending = sortAscending;
+    }
+
+    QueryRecipe sorted(String[] fieldNames, boolean[] ascending) {
+        return new QueryRecipe(conditions, fieldNames.clone(), ascending.clone());
+    }
+
+    /**
+     * Runs the query in the given Realm.
+     */
+    <E extends RealmObject> RealmResults<E> findAll(Realm realm, Class<E> clazz) {
+        RealmResults<E> results = buildQuery(realm, clazz).findAll();
+        if (sortFieldNames != null) {
+            results.sort(sortFieldNames, sortAscending);
+        }
+        results.setRecipe(this);
+        return results;
+    }
+
+    /**
+     * Creates the results of the query from the rows found by running it in another Realm instance at the same
+     * version, without running it again.
+     */
+    <E extends RealmObject> RealmResults<E> attach(Realm realm, Class<E> clazz, long[] sourceRowIndexes) {
+        RealmResults<E> results = buildQuery(realm, clazz).findAll(sourceRowIndexes, sortFieldNames, sortAscending);
+        results.setRecipe(this);
+        return results;
+    }
+
+    private <E extends RealmObject> RealmQuery<E> buildQuery(Realm realm, Class<E> clazz) {
+        RealmQuery<E> query = realm.where(clazz);
+        for (Condition condition : conditions) {
+            apply(query, condition);
+        }
+        return query;
+    }
+
+    private static void apply(RealmQuery<?> query, Condition condition) {
+        String fieldName = condition.fieldName;
+        Object value = condition.value;
+        Object value2 = condition.value2;
+        switch (condition.operator) {
+            case IS_NULL:
+                query.isNull(fieldName);
+                return;
+            case EQUAL_TO:
+                if (value instanceof String) {
+                    query.equalTo(fieldName, (String) value, condition.caseSensitive);
+                } else if (value instanceof Integer) {
+                    query.equalTo(fieldName, (Integer) value);
+                } else if (value instanceof Long) {
+                    query.equalTo(fieldName, (Long) value);
+                } else if (value instanceof Double) {
+                    query.equalTo(fieldName, (Double) value);
+                } else if (value instanceof Float) {
+                    query.equalTo(fieldName, (Float) value);
+                } else if (value instanceof Boolean) {
+                    query.equalTo(fieldName, (Boolean) value);
+                } else if (value instanceof Date) {
+                    query.equalTo(fieldName, (Date) value);
+                } else {
+                    break;
+                }
+                return;
+            case NOT_EQUAL_TO:
+                if (value instanceof String) {
+                    query.notEqualTo(fieldName, (String) value, condition.caseSensitive);
+                } else if (value instanceof Integer) {
+                    query.notEqualTo(fieldName, (Integer) value);
+                } else if (value instanceof Long) {
+                    query.notEqualTo(fieldName, (Long) value);
+                } else if (value instanceof Double) {
+                    query.notEqualTo(fieldName, (Double) value);
+                } else if (value instanceof Float) {
+                    query.notEqualTo(fieldName, (Float) value);
+                } else if (value instanceof Boolean) {
+                    query.notEqualTo(fieldName, (Boolean) value);
+                } else if (value instanceof Date) {
+                    query.notEqualTo(fieldName, (Date) value);
+                } else {
+                    break;
+                }
+                return;
+            case GREATER_THAN:
+                if (value instanceof Integer) {
+                    query.greaterThan(fieldName, (Integer) value);
+                } else if (value instanceof Long) {
+                    query.greaterThan(fieldName, (Long) value);
+                } else if (value instanceof Double) {
+                    query.greaterThan(fieldName, (Double) value);
+                } else if (value instanceof Float) {
+                    query.greaterThan(fieldName, (Float) value);
+                } else if (value instanceof Date) {
+                    query.greaterThan(fieldName, (Date) value);
+                } else {
+                    break;
+                }
+                return;
+            case GREATER_THAN_OR_EQUAL_TO:
+                if (value instanceof Integer) {
+                    query.greaterThanOrEqualTo(fieldName, (Integer) value);
+                } else if (value instanceof Long) {
+                    query.greaterThanOrEqualTo(fieldName, (Long) value);
+                } else if (value instanceof Double) {
+                    query.greaterThanOrEqualTo(fieldName, (Double) value);
+                } else if (value instanceof Float) {
+                    query.greaterThanOrEqualTo(fieldName, (Float) value);
+                } else if (value instanceof Date) {
+                    query.greaterThanOrEqualTo(fieldName, (Date) value);
+                } else {
+                    break;
+                }
+                return;
+            case LESS_THAN:
+                if (value instanceof Integer) {
+                    query.lessThan(fieldName, (Integer) value);
+                } else if (value instanceof Long) {
+                    query.lessThan(fieldName, (Long) value);
+                } else if (value instanceof Double) {
+                    query.lessThan(fieldName, (Double) value);
+                } else if (value instanceof Float) {
+                    query.lessThan(fieldName, (Float) value);
+                } else if (value instanceof Date) {
+                    query.lessThan(fieldName, (Date) value);
+                } else {
+                    break;
+                }
+                return;
+            case LESS_THAN_OR_EQUAL_TO:
+                if (value instanceof Integer) {
+                    query.lessThanOrEqualTo(fieldName, (Integer) value);
+                } else if (value instanceof Long) {
+                    query.lessThanOrEqualTo(fieldName, (Long) value);
+                } else if (value instanceof Double) {
+                    query.lessThanOrEqualTo(fieldName, (Double) value);
+                } else if (value instanceof Float) {
+                    query.lessThanOrEqualTo(fieldName, (Float) value);
+                } else if (value instanceof Date) {
+                    query.lessThanOrEqualTo(fieldName, (Date) value);
+                } else {
+                    break;
+                }
+                return;
+            case BETWEEN:
+                if (value instanceof Integer) {
+                    query.between(fieldName, (Integer) value, (Integer) value2);
+                } else if (value instanceof Long) {
+                    query.between(fieldName, (Long) value, (Long) value2);
+                } else if (value instanceof Double) {
+                    query.between(fieldName, (Double) value, (Double) value2);
+                } else if (value instanceof Float) {
+                    query.between(fieldName, (Float) value, (Float) value2);
+                } else if (value instanceof Date) {
+                    query.between(fieldName, (Date) value, (Date) value2);
+                } else {
+                    break;
+                }
+                return;
+            case CONTAINS:
+                query.contains(fieldName, (String) value, condition.caseSensitive);
+                return;
+            case BEGINS_WITH:
+                query.beginsWith(fieldName, (String) value, condition.caseSensitive);
+                return;
+            case ENDS_WITH:
+                query.endsWith(fieldName, (String) value, condition.caseSensitive);
+                return;
+            case BEGIN_GROUP:
+                query.beginGroup();
+                return;
+            case END_GROUP:
+                query.endGroup();
+                return;
+            case OR:
+                query.or();
+                return;
+            case NOT:
+                query.not();
+                return;
+        }
+        throw new RealmException("Could not rebuild query: unsupported " + condition.operator + " condition on "
+                + fieldName);
+    }
+}
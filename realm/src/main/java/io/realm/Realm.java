@@ -22,13 +22,17 @@ import android.os.Build;
 import android.os.Handler;
 import android.os.Looper;
 import android.os.Message;
+import android.os.SystemClock;
 import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.MalformedJsonException;
 
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -38,15 +42,21 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import io.realm.exceptions.RealmException;
@@ -54,13 +64,16 @@ import io.realm.exceptions.RealmIOException;
 import io.realm.exceptions.RealmMigrationNeededException;
 import io.realm.internal.ColumnIndices;
 import io.realm.internal.ColumnType;
+import io.realm.internal.DetachedObjectCache;
 import io.realm.internal.FinalizerRunnable;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
+import io.realm.internal.Row;
 import io.realm.internal.UncheckedRow;
 import io.realm.internal.SharedGroup;
 import io.realm.internal.Table;
+import io.realm.internal.TableOrView;
 import io.realm.internal.TableView;
 import io.realm.internal.Util;
 import io.realm.internal.android.DebugAndroidLogger;
@@ -126,7 +139,7 @@ public final class Realm implements Closeable {
     // This single thread executor ensures that only one finalizer thread ever exists
     private static final ExecutorService executorService = Executors.newSingleThreadExecutor();
 
-    // This does not need to be thread safe since it's only used in a synchronized method
+    // Only set while synchronized on Realm.class
     private static volatile boolean isFinalizerStarted = false;
 
     protected static final ThreadLocal<Map<RealmConfiguration, Realm>> realmsCache =
@@ -154,8 +167,37 @@ public final class Realm implements Closeable {
     private static final Map<String, AtomicInteger> globalOpenInstanceCounter =
             new ConcurrentHashMap<String, AtomicInteger>();
 
+    // Schemas which have been validated against a Realm file, by canonical path. Instances of the file which are opened
+    // later use the column indices found then instead of validating the tables again in a write transaction.
+    private static final Map<String, ValidatedSchema> globalValidatedSchemaCache =
+            new ConcurrentHashMap<String, ValidatedSchema>();
+
+    // Held while validating a schema. Validation sets the column indices of the proxy classes, which are shared by all
+    // files, so it is serialized across files. Instances using a cached schema never take it.
+    private static final Object schemaValidationLock = new Object();
+
+    private static class ValidatedSchema {
+        final long schemaVersion;
+        final RealmProxyMediator mediator;
+        final Map<Class<? extends RealmObject>, Map<String, Long>> columnIndices;
+
+        ValidatedSchema(long schemaVersion, RealmProxyMediator mediator,
+                        Map<Class<? extends RealmObject>, Map<String, Long>> columnIndices) {
+            this.schemaVersion = schemaVersion;
+            this.mediator = mediator;
+            this.columnIndices = columnIndices;
+        }
+    }
+
     protected static final Map<Handler, String> handlers = new ConcurrentHashMap<Handler, String>();
     private static final int REALM_CHANGED = 14930352; // Hopefully it won't clash with other message IDs.
+    private static final int REALM_CHANGED_EXTERNALLY = 14930353;
+    private static final int ADVANCE_IDLE_READ = 14930354;
+    private static final long UNKNOWN_FILE_SIZE = -1;
+
+    // All open instances in this process, for getOldestPinnedVersion()
+    private static final Set<Realm> openRealms =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<Realm, Boolean>()));
 
     private static RealmConfiguration defaultConfiguration;
 
@@ -168,8 +210,6 @@ public final class Realm implements Closeable {
     private static final String CLOSED_REALM_MESSAGE = "This Realm instance has already been closed, making it unusable.";
     private static final String DIFFERENT_KEY_MESSAGE = "Wrong key used to decrypt Realm.";
 
-    @SuppressWarnings("UnusedDeclaration")
-    private static SharedGroup.Durability defaultDurability = SharedGroup.Durability.FULL;
     private boolean autoRefresh;
     private Handler handler;
 
@@ -177,9 +217,65 @@ public final class Realm implements Closeable {
     private RealmConfiguration configuration;
     private SharedGroup sharedGroup;
     private final ImplicitTransaction transaction;
+    private CrossProcessNotifier crossProcessNotifier;
+    private final WriteLockGate writeLockGate;
+    private final NotificationStats.Counters notificationCounters;
+
+    // Set when changes from other threads were signalled while nothing listened for them. The changes are read in
+    // when the Realm is accessed next, and no further change messages are posted to the thread until then.
+    private volatile boolean advanceDeferred = false;
+
+    // Set for instances created by a RealmPool. Closing the last reference on the leasing thread hands the instance
+    // back to the pool instead of closing it.
+    private RealmPool pool;
+
+    // The version read by this instance, since when, and the size of the file at that time. Written by the thread of
+    // the instance and read by getOldestPinnedVersion() on any thread. The file size is only sampled by
+    // getOldestPinnedVersion(), and is UNKNOWN_FILE_SIZE until then.
+    private volatile long readVersion = -1;
+    private volatile long readSince;
+    private volatile long fileSizeAtRead = UNKNOWN_FILE_SIZE;
+    private volatile String threadName;
+
+    // Posts ADVANCE_IDLE_READ to the Looper of the thread, if the configuration advances idle reads. Messages are
+    // posted by commits to the file, from any thread, and reposted until the instance has read the latest version.
+    private volatile Handler idleReadHandler;
+
+    // Set for the instances of RealmSnapshots. They are never advanced, and are used by any thread holding the lock of
+    // their snapshot. Their objects are only handed out as standalone copies.
+    private final boolean frozen;
 
     private final List<WeakReference<RealmChangeListener>> changeListeners =
             new CopyOnWriteArrayList<WeakReference<RealmChangeListener>>();
+    private final List<ClassChangeListener> classChangeListeners = new CopyOnWriteArrayList<ClassChangeListener>();
+
+    // Objects with change listeners, grouped by the name of their table
+    private final Map<String, ObjectChangeTargets> objectChangeTargets = new HashMap<String, ObjectChangeTargets>();
+
+    // Changes are tracked per row through the transaction logs, both for the changes read in from other threads and
+    // for the changes made by a local write transaction.
+    private static class ObjectChangeTargets {
+        final List<WeakReference<RealmObject>> objects = new ArrayList<WeakReference<RealmObject>>();
+    }
+
+    // The objects with change listeners when the current write transaction was started, in the order of the rows
+    // tracked through it. Null if no rows are tracked.
+    private List<RealmObject> writeTrackedObjects;
+
+    // A listener which is only notified when objects of a class have changed. The tables modified are found from the
+    // transaction logs, both for local commits and for changes read in from other threads.
+    private static class ClassChangeListener {
+        final Class<? extends RealmObject> clazz;
+        final WeakReference<RealmChangeListener> listener;
+        final String tableName;
+        boolean changed;
+
+        ClassChangeListener(Class<? extends RealmObject> clazz, RealmChangeListener listener, String tableName) {
+            this.clazz = clazz;
+            this.listener = new WeakReference<RealmChangeListener>(listener);
+            this.tableName = tableName;
+        }
+    }
 
     private static final long UNVERSIONED = -1;
 
@@ -196,18 +292,52 @@ public final class Realm implements Closeable {
         }
 
         // Check if we are in the right thread
-        if (threadId != Thread.currentThread().getId()) {
+        if (!frozen && threadId != Thread.currentThread().getId()) {
             throw new IllegalStateException(INCORRECT_THREAD_MESSAGE);
         }
+
+        if (advanceDeferred) {
+            advanceDeferred = false;
+            if (!transaction.isInWriteTransaction()) {
+                notificationCounters.advancesOnAccess.incrementAndGet();
+                advanceRead();
+            }
+        }
     }
 
     // The constructor in private to enforce the use of the static one
     private Realm(RealmConfiguration configuration, boolean autoRefresh) {
+        this(configuration, autoRefresh, false);
+    }
+
+    private Realm(RealmConfiguration configuration, boolean autoRefresh, boolean frozen) {
         this.threadId = Thread.currentThread().getId();
         this.configuration = configuration;
-        this.sharedGroup = new SharedGroup(configuration.getPath(), true, configuration.getEncryptionKey());
+        this.frozen = frozen;
+        this.sharedGroup = new SharedGroup(configuration.getPath(), true, toSharedGroupDurability(configuration),
+                configuration.getEncryptionKey());
         this.transaction = sharedGroup.beginImplicitTransaction();
+        this.writeLockGate = WriteLockGate.forPath(configuration.getPath());
+        this.notificationCounters = NotificationStats.Counters.forPath(configuration.getPath());
+        if (configuration.hasCrossProcessNotifications() && !frozen) {
+            crossProcessNotifier = CrossProcessNotifier.acquire(configuration.getPath());
+        }
         setAutoRefresh(autoRefresh);
+        this.threadName = Thread.currentThread().getName();
+        updateReadVersion();
+        openRealms.add(this);
+        if (configuration.getIdleReadTimeout() > 0 && Looper.myLooper() != null && !frozen) {
+            idleReadHandler = new Handler(new RealmCallback());
+        }
+    }
+
+    private static SharedGroup.Durability toSharedGroupDurability(RealmConfiguration configuration) {
+        switch (configuration.getDurability()) {
+            case MEM_ONLY:
+                return SharedGroup.Durability.MEM_ONLY;
+            default:
+                return SharedGroup.Durability.FULL;
+        }
     }
 
     @Override
@@ -244,17 +374,8 @@ public final class Realm implements Closeable {
         }
         if (sharedGroup != null && references == 1) {
             realmsCache.get().remove(configuration);
-            sharedGroup.close();
-            sharedGroup = null;
-
-            // It is necessary to be synchronized here since there is a chance that before the counter removed,
-            // the other thread could get the counter and increase it in createAndValidate.
-            synchronized (Realm.class) {
-                globalPathConfigurationCache.get(canonicalPath).remove(configuration);
-                AtomicInteger counter = globalOpenInstanceCounter.get(canonicalPath);
-                if (counter.decrementAndGet() == 0) {
-                    globalOpenInstanceCounter.remove(canonicalPath);
-                }
+            if (pool == null || !returnToPool()) {
+                closeSharedGroup();
             }
         }
 
@@ -269,22 +390,213 @@ public final class Realm implements Closeable {
         }
     }
 
+    private void closeSharedGroup() {
+        String canonicalPath = configuration.getPath();
+        openRealms.remove(this);
+        // Closing the shared group rolls back an open write transaction
+        if (transaction.isInWriteTransaction()) {
+            writeLockGate.release();
+        }
+        if (idleReadHandler != null) {
+            idleReadHandler.removeCallbacksAndMessages(null);
+            idleReadHandler = null;
+        }
+        sharedGroup.close();
+        sharedGroup = null;
+        if (crossProcessNotifier != null) {
+            CrossProcessNotifier.release(canonicalPath);
+            crossProcessNotifier = null;
+        }
+
+        unregisterInstance(configuration);
+    }
+
+    // It is necessary to be synchronized here since there is a chance that before the counter removed,
+    // the other thread could get the counter and increase it in registerInstance.
+    private static synchronized void unregisterInstance(RealmConfiguration configuration) {
+        String canonicalPath = configuration.getPath();
+        globalPathConfigurationCache.get(canonicalPath).remove(configuration);
+        AtomicInteger counter = globalOpenInstanceCounter.get(canonicalPath);
+        if (counter.decrementAndGet() == 0) {
+            globalOpenInstanceCounter.remove(canonicalPath);
+        }
+    }
+
+    // Counts a new instance as open, so its file cannot be deleted while it is being opened
+    private static synchronized void registerInstance(RealmConfiguration configuration, boolean firstOnThread) {
+        validateAgainstExistingConfigurations(configuration);
+        if (firstOnThread) {
+            String canonicalPath = configuration.getPath();
+            AtomicInteger counter = globalOpenInstanceCounter.get(canonicalPath);
+            if (counter == null) {
+                globalOpenInstanceCounter.put(canonicalPath, new AtomicInteger(1));
+            } else {
+                counter.incrementAndGet();
+            }
+        }
+    }
+
+    // Hands the instance back to its pool when the leasing thread has closed it. Listeners belong to the task which
+    // leased the instance, so they are dropped. Instances with a handler or an open write transaction are closed.
+    private boolean returnToPool() {
+        if (handler != null || idleReadHandler != null || transaction.isInWriteTransaction()) {
+            return false;
+        }
+        changeListeners.clear();
+        classChangeListeners.clear();
+        objectChangeTargets.clear();
+        return pool.giveBack(this);
+    }
+
+    /**
+     * Returns an instance for a lease of the pool on the calling thread. If the thread already has an instance of the
+     * configuration, that instance is used as for {@link #getInstance(RealmConfiguration)}. Otherwise an idle
+     * instance of the pool is moved to the thread and brought up to date, and a new instance is only opened if the
+     * pool has none.
+     */
+    static Realm leaseFromPool(RealmPool pool, RealmConfiguration configuration) {
+        Map<RealmConfiguration, Integer> localRefCount = referenceCount.get();
+        Integer references = localRefCount.get(configuration);
+        Map<RealmConfiguration, Realm> realms = realmsCache.get();
+        Realm realm = realms.get(configuration);
+        if (realm != null) {
+            localRefCount.put(configuration, references + 1);
+            return realm;
+        }
+
+        realm = pool.takeIdle();
+        if (realm == null) {
+            realm = create(configuration, false);
+            realm.pool = pool;
+            return realm;
+        }
+        realm.threadId = Thread.currentThread().getId();
+        realm.threadName = Thread.currentThread().getName();
+        realms.put(configuration, realm);
+        localRefCount.put(configuration, 1);
+        if (realm.sharedGroup.hasChanged()) {
+            realm.advanceRead();
+        }
+        return realm;
+    }
+
+    // Closes an idle instance of a pool or the instance of a snapshot. These instances are not bound to a thread, so
+    // they can be closed by any thread.
+    void closeDetached() {
+        if (sharedGroup != null) {
+            closeSharedGroup();
+        }
+    }
+
+    /**
+     * Creates a snapshot of the results, see {@link RealmResults#freeze()}. The snapshot has its own instance of the
+     * file, which keeps reading the version it was opened at. If that is the version of this instance, the rows of
+     * the results are used as they are. Otherwise this instance is behind, and the query is run again in the
+     * snapshot.
+     */
+    <E extends RealmObject> RealmSnapshot<E> freeze(RealmResults<E> results) {
+        checkIfValid();
+        if (transaction.isInWriteTransaction()) {
+            throw new IllegalStateException("Results cannot be frozen during a write transaction, as a snapshot " +
+                    "can only contain committed changes.");
+        }
+        Realm snapshotRealm = createFrozen(configuration);
+        try {
+            snapshotRealm.columnIndices.addAll(columnIndices);
+            Class<E> clazz = results.getObjectClass();
+            RealmResults<E> snapshotResults;
+            if (snapshotRealm.readVersion == sharedGroup.getVersion()) {
+                long[] sourceRowIndexes = ((TableView) results.getTable()).getSourceRowIndexes();
+                snapshotResults = snapshotRealm.where(clazz).findAll(sourceRowIndexes, null, null);
+            } else if (results.getRecipe() != null) {
+                snapshotResults = results.getRecipe().findAll(snapshotRealm, clazz);
+            } else {
+                throw new IllegalStateException("These results can only be frozen at the latest version. Call " +
+                        "refresh() before freezing them.");
+            }
+            return new RealmSnapshot<E>(snapshotRealm, snapshotResults, snapshotRealm.readVersion);
+        } catch (RuntimeException e) {
+            snapshotRealm.closeDetached();
+            throw e;
+        }
+    }
+
+    // Opens an instance for a snapshot. It is not cached for the thread, but counted as an open instance of the file.
+    private static synchronized Realm createFrozen(RealmConfiguration configuration) {
+        Realm realm = new Realm(configuration, false, true);
+        globalPathConfigurationCache.get(configuration.getPath()).add(configuration);
+        globalOpenInstanceCounter.get(configuration.getPath()).incrementAndGet();
+        return realm;
+    }
+
     private void removeHandler(Handler handler) {
         handler.removeCallbacksAndMessages(null);
         handlers.remove(handler);
     }
 
+    // The Handler of a Realm with auto-refresh, so committing threads can tell whether its Realm has deferred
+    // reading in changes.
+    private static class RealmHandler extends Handler {
+        final Realm realm;
+
+        RealmHandler(Realm realm, Handler.Callback callback) {
+            super(callback);
+            this.realm = realm;
+        }
+    }
+
     private class RealmCallback implements Handler.Callback {
         @Override
         public boolean handleMessage(Message message) {
             if (message.what == REALM_CHANGED) {
-                transaction.advanceRead();
-                sendNotifications();
+                onRealmChanged();
+            } else if (message.what == REALM_CHANGED_EXTERNALLY) {
+                // Also sent for commits made by this process, which have been handled already
+                if (sharedGroup != null && !transaction.isInWriteTransaction() && sharedGroup.hasChanged()) {
+                    onRealmChanged();
+                }
+            } else if (message.what == ADVANCE_IDLE_READ) {
+                advanceIdleRead();
             }
             return true;
         }
     }
 
+    // Reads in the changes at once if anything listens for them. Otherwise the objects and results of this Realm are
+    // only brought up to date when they are accessed again.
+    private void onRealmChanged() {
+        notificationCounters.wakeUps.incrementAndGet();
+        if (sharedGroup == null) {
+            return;
+        }
+        if (hasChangeListeners() || transaction.isInWriteTransaction()) {
+            notificationCounters.immediateAdvances.incrementAndGet();
+            advanceRead();
+            sendNotifications();
+        } else if (!advanceDeferred) {
+            notificationCounters.deferredAdvances.incrementAndGet();
+            advanceDeferred = true;
+        }
+    }
+
+    private boolean hasChangeListeners() {
+        return !changeListeners.isEmpty() || !classChangeListeners.isEmpty() || !objectChangeTargets.isEmpty();
+    }
+
+    /**
+     * Returns how many change notifications have been sent between the Looper threads of a Realm file in this
+     * process, and how many of them made a Realm read in the changes at once.
+     *
+     * @param configuration the configuration of the Realm file.
+     * @return the statistics, or {@code null} if no Realm instance of the file has been opened in this process.
+     */
+    public static NotificationStats getNotificationStats(RealmConfiguration configuration) {
+        if (configuration == null) {
+            throw new IllegalArgumentException("A non-null RealmConfiguration must be provided");
+        }
+        return NotificationStats.Counters.getStats(configuration.getPath());
+    }
+
     /**
      * Retrieve the auto-refresh status of the Realm instance.
      * @return the auto-refresh status
@@ -309,7 +621,7 @@ public final class Realm implements Closeable {
         }
 
         if (autoRefresh && !this.autoRefresh) { // Switch it on
-            handler = new Handler(new RealmCallback());
+            handler = new RealmHandler(this, new RealmCallback());
             handlers.put(handler, configuration.getPath());
         } else if (!autoRefresh && this.autoRefresh && handler != null) { // Switch it off
             removeHandler(handler);
@@ -557,7 +869,10 @@ public final class Realm implements Closeable {
     }
 
     private static Realm create(RealmConfiguration configuration) {
-        boolean autoRefresh = Looper.myLooper() != null;
+        return create(configuration, Looper.myLooper() != null);
+    }
+
+    private static Realm create(RealmConfiguration configuration, boolean autoRefresh) {
         try {
             return createAndValidate(configuration, true, autoRefresh);
         } catch (RealmMigrationNeededException e) {
@@ -571,12 +886,10 @@ public final class Realm implements Closeable {
         }
     }
 
-    private static synchronized Realm createAndValidate(RealmConfiguration configuration, boolean validateSchema, boolean autoRefresh) {
-        // Start the finalizer thread if needed
-        if (!isFinalizerStarted) {
-            executorService.submit(new FinalizerRunnable());
-            isFinalizerStarted = true;
-        }
+    // Only registering the instance takes the Realm.class monitor. A cached instance of the calling thread is returned
+    // without any lock, and instances of a file whose schema has already been validated are opened in parallel.
+    private static Realm createAndValidate(RealmConfiguration configuration, boolean validateSchema, boolean autoRefresh) {
+        startFinalizerIfNeeded();
 
         // Check if a cached instance already exists for this thread
         String canonicalPath = configuration.getPath();
@@ -589,26 +902,27 @@ public final class Realm implements Closeable {
         Realm realm = realms.get(configuration);
         if (realm != null) {
             localRefCount.put(configuration, references + 1);
+            if (realm.idleReadHandler == null && realm.shouldAdvanceIdleRead()) {
+                realm.advanceRead();
+                realm.sendNotifications();
+            }
             return realm;
         }
 
-
         // Create new Realm and cache it. All exception code paths must close the Realm otherwise we risk serving
         // faulty cache data.
-        validateAgainstExistingConfigurations(configuration);
-        realm = new Realm(configuration, autoRefresh);
-        realms.put(configuration, realm);
-        localRefCount.put(configuration, references + 1);
-
-        // Increment global reference counter
-        if (references == 0) {
-            AtomicInteger counter = globalOpenInstanceCounter.get(canonicalPath);
-            if (counter == null) {
-                globalOpenInstanceCounter.put(canonicalPath, new AtomicInteger(1));
-            } else {
-                counter.incrementAndGet();
+        registerInstance(configuration, references == 0);
+        boolean opened = false;
+        try {
+            realm = new Realm(configuration, autoRefresh);
+            opened = true;
+        } finally {
+            if (!opened) {
+                unregisterInstance(configuration);
             }
         }
+        realms.put(configuration, realm);
+        localRefCount.put(configuration, references + 1);
 
         // Check versions of Realm
         long currentVersion = realm.getVersion();
@@ -625,7 +939,14 @@ public final class Realm implements Closeable {
         // Initialize Realm schema if needed
         if (validateSchema) {
             try {
-                initializeRealm(realm);
+                if (!initializeFromValidatedSchema(realm)) {
+                    synchronized (schemaValidationLock) {
+                        // Another thread may have validated the schema while this one waited
+                        if (!initializeFromValidatedSchema(realm)) {
+                            initializeRealm(realm);
+                        }
+                    }
+                }
             } catch (RuntimeException e) {
                 realm.close();
                 throw e;
@@ -635,6 +956,18 @@ public final class Realm implements Closeable {
         return realm;
     }
 
+    private static void startFinalizerIfNeeded() {
+        if (isFinalizerStarted) {
+            return;
+        }
+        synchronized (Realm.class) {
+            if (!isFinalizerStarted) {
+                executorService.submit(new FinalizerRunnable());
+                isFinalizerStarted = true;
+            }
+        }
+    }
+
     // Make sure that the new configuration doesn't clash with any existing configurations for the Realm
     private static void validateAgainstExistingConfigurations(RealmConfiguration newConfiguration) {
 
@@ -663,6 +996,20 @@ public final class Realm implements Closeable {
                         newConfiguration.getSchemaVersion()));
             }
 
+            // Check that durability is the same
+            if (cachedConfiguration.getDurability() != newConfiguration.getDurability()) {
+                throw new IllegalArgumentException(String.format("Configurations cannot have different " +
+                                "durability if used to open the same file. %s vs. %s",
+                        cachedConfiguration.getDurability(), newConfiguration.getDurability()));
+            }
+
+            // Check that group commit windows are the same, as the writer thread groups transactions per file
+            if (cachedConfiguration.getGroupCommitWindow() != newConfiguration.getGroupCommitWindow()) {
+                throw new IllegalArgumentException(String.format("Configurations cannot have different group " +
+                                "commit windows if used to open the same file. %d vs. %d",
+                        cachedConfiguration.getGroupCommitWindow(), newConfiguration.getGroupCommitWindow()));
+            }
+
             // Check that schema is the same
             RealmProxyMediator cachedSchema = cachedConfiguration.getSchemaMediator();
             RealmProxyMediator schema = newConfiguration.getSchemaMediator();
@@ -680,6 +1027,8 @@ public final class Realm implements Closeable {
     private static void initializeRealm(Realm realm) {
         long version = realm.getVersion();
         boolean commitNeeded = false;
+        Map<Class<? extends RealmObject>, Map<String, Long>> columnIndices =
+                new HashMap<Class<? extends RealmObject>, Map<String, Long>>();
         try {
             realm.beginTransaction();
             if (version == UNVERSIONED) {
@@ -694,7 +1043,9 @@ public final class Realm implements Closeable {
                     mediator.createTable(modelClass, realm.transaction);
                 }
                 mediator.validateTable(modelClass, realm.transaction);
-                realm.columnIndices.addClass(modelClass, mediator.getColumnIndices(modelClass));
+                Map<String, Long> indices = mediator.getColumnIndices(modelClass);
+                realm.columnIndices.addClass(modelClass, indices);
+                columnIndices.put(modelClass, indices);
             }
         } finally {
             if (commitNeeded) {
@@ -703,6 +1054,33 @@ public final class Realm implements Closeable {
                 realm.cancelTransaction();
             }
         }
+        RealmConfiguration configuration = realm.configuration;
+        globalValidatedSchemaCache.put(configuration.getPath(), new ValidatedSchema(configuration.getSchemaVersion(),
+                configuration.getSchemaMediator(), columnIndices));
+    }
+
+    // Uses the schema validated by an earlier instance of the file if the file is still at the same schema version.
+    // Validating the tables sets the column indices of the proxy classes, so another file with a different column
+    // layout may have been validated since. In that case the tables are validated again.
+    private static boolean initializeFromValidatedSchema(Realm realm) {
+        RealmConfiguration configuration = realm.configuration;
+        ValidatedSchema schema = globalValidatedSchemaCache.get(configuration.getPath());
+        if (schema == null
+                || schema.schemaVersion != configuration.getSchemaVersion()
+                || !schema.mediator.equals(configuration.getSchemaMediator())
+                || realm.getVersion() != schema.schemaVersion) {
+            return false;
+        }
+        RealmProxyMediator mediator = configuration.getSchemaMediator();
+        for (Map.Entry<Class<? extends RealmObject>, Map<String, Long>> entry : schema.columnIndices.entrySet()) {
+            if (!entry.getValue().equals(mediator.getColumnIndices(entry.getKey()))) {
+                return false;
+            }
+        }
+        for (Map.Entry<Class<? extends RealmObject>, Map<String, Long>> entry : schema.columnIndices.entrySet()) {
+            realm.columnIndices.addClass(entry.getKey(), entry.getValue());
+        }
+        return true;
     }
 
     /**
@@ -836,6 +1214,50 @@ public final class Realm implements Closeable {
         }
     }
 
+    /**
+     * Create a Realm object for each object in a JSON array, parsing the objects on several threads. This must be
+     * done within a transaction, and the objects are inserted on the calling thread in the order of the array.
+     * Otherwise it works like {@link #createAllFromJson(Class, java.io.InputStream)}, but it is faster for large
+     * arrays on devices with more than one core, as writing no longer has to wait for parsing.
+     * <p>
+     * A background thread reads the stream and cuts the array into batches of objects, which are parsed into
+     * standalone objects by {@code parserThreads} threads and inserted with {@link #insert(java.util.Collection)}.
+     * Only a few batches are kept in memory at once: reading the stream pauses when parsing or writing falls behind.
+     * The returned statistics show the throughput of each stage. The stream is closed when the import is done, as
+     * with {@link #createAllFromJson(Class, java.io.InputStream)}.
+     *
+     * @param clazz         Type of Realm objects created.
+     * @param inputStream   JSON array as a InputStream. All objects in the array must be of the
+     *                      specified class.
+     * @param parserThreads number of threads parsing the objects.
+     * @return statistics about the import, or {@code null} if the class or the stream is {@code null}.
+     *
+     * @throws IllegalArgumentException if {@code parserThreads} is less than 1.
+     * @throws RealmException if mapping from JSON fails, or if a primary key value is already used.
+     * @throws IOException if something was wrong with the input stream.
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public <E extends RealmObject> JsonImportStats createAllFromJson(Class<E> clazz, InputStream inputStream,
+                                                                      int parserThreads) throws IOException {
+        if (parserThreads < 1) {
+            throw new IllegalArgumentException("At least one parser thread is required: " + parserThreads);
+        }
+        if (clazz == null || inputStream == null) {
+            return null;
+        }
+        checkIfValidForWrite();
+
+        JsonImportPipeline<E> pipeline = new JsonImportPipeline<E>(this, clazz,
+                new InputStreamReader(inputStream, "UTF-8"), parserThreads);
+        try {
+            return pipeline.run();
+        } finally {
+            // Closes the stream and not the reader, as closing the reader waits for a read of the splitter still
+            // running after a failed import
+            inputStream.close();
+        }
+    }
+
     /**
      * Tries to update a list of existing objects identified by their primary key with new JSON data. If an existing
      * object could not be found in the Realm, a new object will be created. This must happen within a transaction.
@@ -845,6 +1267,7 @@ public final class Realm implements Closeable {
      *
      * @throws java.lang.IllegalArgumentException if trying to update a class without a
      * {@link io.realm.annotations.PrimaryKey}.
+     * @throws RealmException if the JSON could not be read or does not match the class.
      * @see #createOrUpdateAllFromJson(Class, java.io.InputStream)
      */
     @TargetApi(Build.VERSION_CODES.HONEYCOMB)
@@ -853,22 +1276,30 @@ public final class Realm implements Closeable {
             return;
         }
         checkHasPrimaryKey(clazz);
+        checkIfValid();
 
-        // As we need the primary key value we have to first parse the entire input stream as in the general
-        // case that value might be the last property :(
-        Scanner scanner = null;
+        // The objects are read one at a time. The fields of an object which come before its primary key are kept
+        // until the primary key is read and the object to update is known.
+        JsonReader reader = new JsonReader(new InputStreamReader(in, "UTF-8"));
         try {
-            scanner = getFullStringScanner(in);
-            JSONArray json = new JSONArray(scanner.next());
-            for (int i = 0; i < json.length(); i++) {
-                configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json.getJSONObject(i), true);
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                throw new RealmException("Failed to read JSON: A JSON array was expected.");
             }
-        } catch (JSONException e) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                configuration.getSchemaMediator().createOrUpdateUsingJsonStream(clazz, this, reader);
+            }
+            reader.endArray();
+        } catch (MalformedJsonException e) {
+            throw new RealmException("Failed to read JSON", e);
+        } catch (EOFException e) {
+            throw new RealmException("Failed to read JSON", e);
+        } catch (IllegalStateException e) {
+            throw toJsonReadException(e);
+        } catch (NumberFormatException e) {
             throw new RealmException("Failed to read JSON", e);
         } finally {
-            if (scanner != null) {
-                scanner.close();
-            }
+            reader.close();
         }
     }
 
@@ -1008,6 +1439,7 @@ public final class Realm implements Closeable {
      * @return Created or updated {@link io.realm.RealmObject}.
      * @throws java.lang.IllegalArgumentException if trying to update a class without a
      * {@link io.realm.annotations.PrimaryKey}.
+     * @throws RealmException if the JSON could not be read or does not match the class.
      * @see #createObjectFromJson(Class, java.io.InputStream)
      */
     @TargetApi(Build.VERSION_CODES.HONEYCOMB)
@@ -1016,27 +1448,27 @@ public final class Realm implements Closeable {
             return null;
         }
         checkHasPrimaryKey(clazz);
+        checkIfValid();
 
-        // As we need the primary key value we have to first parse the entire input stream as in the general
-        // case that value might be the last property :(
-        Scanner scanner = null;
+        JsonReader reader = new JsonReader(new InputStreamReader(in, "UTF-8"));
         try {
-            scanner = getFullStringScanner(in);
-            JSONObject json = new JSONObject(scanner.next());
-            return configuration.getSchemaMediator().createOrUpdateUsingJsonObject(clazz, this, json, true);
-        } catch (JSONException e) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                throw new RealmException("Failed to read JSON: A JSON object was expected.");
+            }
+            return configuration.getSchemaMediator().createOrUpdateUsingJsonStream(clazz, this, reader);
+        } catch (MalformedJsonException e) {
+            throw new RealmException("Failed to read JSON", e);
+        } catch (EOFException e) {
+            throw new RealmException("Failed to read JSON", e);
+        } catch (IllegalStateException e) {
+            throw toJsonReadException(e);
+        } catch (NumberFormatException e) {
             throw new RealmException("Failed to read JSON", e);
         } finally {
-            if (scanner != null) {
-                scanner.close();
-            }
+            reader.close();
         }
     }
 
-    private Scanner getFullStringScanner(InputStream in) {
-        return new Scanner(in, "UTF-8").useDelimiter("\\A");
-    }
-
     /**
      * Write a compacted copy of the Realm to the given destination File.
      * <p>
@@ -1114,6 +1546,157 @@ public final class Realm implements Closeable {
         return result;
     }
 
+    // Returns the objects of the given class which refer to the target object through fieldName. Used by the
+    // getters generated for fields annotated with @LinkingObjects.
+    <E extends RealmObject> RealmResults<E> getBacklinks(Class<E> clazz, String fieldName, Row target) {
+        checkIfValid();
+        long columnIndex = columnIndices.getColumnIndex(clazz, fieldName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
+        }
+        TableView view = getTable(clazz).getBacklinkView(target, columnIndex);
+        return new RealmResults<E>(this, view, clazz);
+    }
+
+    /**
+     * Returns the objects which can be reached from an object by following a link field up to {@code maxDepth}
+     * times, e.g. the friends and friends of friends of a person for {@code traverse(Person.class, person,
+     * "friends", 2)}. The traversal is breadth-first and runs in native code, so objects closer to the start object
+     * come first. Each object is only included once and the start object is never included. The results are kept up
+     * to date like any other {@link RealmResults}.
+     *
+     * @param clazz the class of the start object.
+     * @param start the object to start from. It must be managed by this Realm.
+     * @param fieldName the name of a {@link RealmObject} or {@link RealmList} field of {@code clazz} which links to
+     *                  objects of {@code clazz}.
+     * @param maxDepth the maximum number of links to follow. Must be at least 1.
+     * @return the objects reachable from {@code start}.
+     * @throws java.lang.IllegalArgumentException if the object is not managed by this Realm, if the field does not
+     * exist or does not link to {@code clazz}, or if maxDepth is less than 1.
+     */
+    public <E extends RealmObject> RealmResults<E> traverse(Class<E> clazz, E start, String fieldName, int maxDepth) {
+        checkIfValid();
+        if (start == null || start.row == null || start.realm != this) {
+            throw new IllegalArgumentException("The start object must be managed by this Realm.");
+        }
+        long columnIndex = columnIndices.getColumnIndex(clazz, fieldName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
+        }
+        TableView view = getTable(clazz).getReachableView(start.row, columnIndex, maxDepth);
+        return new RealmResults<E>(this, view, clazz);
+    }
+
+    /**
+     * Creates a token for using the results on another thread. The token is turned back into results with
+     * {@link #importFromHandover(RealmHandover)} by a Realm instance of the same file on the other thread, which
+     * uses the rows found by this thread if it is at the same version as this Realm, and only runs the query
+     * otherwise.
+     *
+     * @param results the results to hand over. Only results of {@link RealmQuery#findAll()} and similar methods on a
+     *                class or on such results can be handed over.
+     * @return the token.
+     * @throws java.lang.IllegalArgumentException if the results do not belong to this Realm or cannot be handed over.
+     */
+    public <E extends RealmObject> RealmHandover<RealmResults<E>> exportForHandover(RealmResults<E> results) {
+        checkIfValid();
+        if (results == null || results.getRealm() != this) {
+            throw new IllegalArgumentException("The results must belong to this Realm.");
+        }
+        QueryRecipe recipe = results.getRecipe();
+        if (recipe == null) {
+            throw new IllegalArgumentException("Only the results of queries on a class can be handed over.");
+        }
+        long[] sourceRowIndexes = ((TableView) results.getTable()).getSourceRowIndexes();
+        return new RealmHandover<RealmResults<E>>(configuration.getPath(), results.getObjectClass(),
+                getHandoverVersion(), sourceRowIndexes, recipe, null);
+    }
+
+    /**
+     * Creates a token for using the object on another thread. The token is turned back into an object with
+     * {@link #importFromHandover(RealmHandover)} by a Realm instance of the same file on the other thread. If that
+     * Realm is at another version than this Realm, the object is looked up by its primary key.
+     *
+     * @param object the object to hand over.
+     * @return the token.
+     * @throws java.lang.IllegalArgumentException if the object is not managed by this Realm or has been deleted.
+     */
+    public <E extends RealmObject> RealmHandover<E> exportForHandover(E object) {
+        checkIfValid();
+        if (object == null || object.row == null || object.realm != this) {
+            throw new IllegalArgumentException("The object must be managed by this Realm.");
+        }
+        if (!object.row.isAttached()) {
+            throw new IllegalArgumentException("The object has been deleted.");
+        }
+        Table table = object.row.getTable();
+        Object primaryKey = null;
+        if (table.hasPrimaryKey()) {
+            long columnIndex = table.getPrimaryKey();
+            if (table.getColumnType(columnIndex) == ColumnType.STRING) {
+                primaryKey = object.row.getString(columnIndex);
+            } else {
+                primaryKey = object.row.getLong(columnIndex);
+            }
+        }
+        return new RealmHandover<E>(configuration.getPath(), getRealmClassFromObject(object),
+                getHandoverVersion(), new long[] {object.row.getIndex()}, null, primaryKey);
+    }
+
+    // Rows found during a write transaction may depend on changes which are not committed yet, so they are never
+    // used by other Realm instances.
+    private long getHandoverVersion() {
+        return transaction.isInWriteTransaction() ? -1 : sharedGroup.getVersion();
+    }
+
+    /**
+     * Turns a token created by {@link #exportForHandover(RealmResults)} or {@link #exportForHandover(RealmObject)}
+     * into results or an object of this Realm. If this Realm is at the same version as the Realm which created the
+     * token, the rows found by that Realm are used without running the query. Otherwise the query is run at the
+     * version of this Realm.
+     *
+     * @param handover the token to import.
+     * @return the results or object, or {@code null} for an object which cannot be found at the version of this
+     * Realm.
+     * @throws java.lang.IllegalArgumentException if the token was created by a Realm of another file.
+     * @throws java.lang.IllegalStateException if the token holds an object without a primary key, and this Realm is
+     * at another version than the Realm which created the token.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T importFromHandover(RealmHandover<T> handover) {
+        checkIfValid();
+        if (handover == null || !handover.path.equals(configuration.getPath())) {
+            throw new IllegalArgumentException("The token must be created by a Realm of the same file.");
+        }
+        boolean sameVersion = (handover.version != -1 && handover.version == getHandoverVersion());
+        Class<? extends RealmObject> clazz = handover.clazz;
+
+        if (handover.recipe != null) {
+            if (sameVersion) {
+                return (T) handover.recipe.attach(this, clazz, handover.sourceRowIndexes);
+            } else {
+                return (T) handover.recipe.findAll(this, clazz);
+            }
+        }
+
+        if (sameVersion) {
+            return (T) get(clazz, handover.sourceRowIndexes[0]);
+        }
+        if (handover.primaryKey == null) {
+            throw new IllegalStateException("Objects without a primary key can only be handed over to a Realm at the" +
+                    " same version. Call refresh() on both Realms before handing over the object.");
+        }
+        Table table = getTable(clazz);
+        long columnIndex = table.getPrimaryKey();
+        long rowIndex;
+        if (handover.primaryKey instanceof String) {
+            rowIndex = table.findFirstString(columnIndex, (String) handover.primaryKey);
+        } else {
+            rowIndex = table.findFirstLong(columnIndex, (Long) handover.primaryKey);
+        }
+        return (rowIndex == TableOrView.NO_MATCH) ? null : (T) get(clazz, rowIndex);
+    }
+
     /**
      * Copies a RealmObject to the Realm instance and returns the copy. Any further changes to the original RealmObject
      * will not be reflected in the Realm copy. This is a deep copy, so all referenced objects will be copied. Objects
@@ -1194,6 +1777,191 @@ public final class Realm implements Closeable {
         return realmObjects;
     }
 
+    /**
+     * Inserts copies of a collection of RealmObjects into the Realm, without returning them. This is faster than
+     * {@link #copyToRealm(Iterable)} for large collections, as the rows are added and their fields are set in bulk and no
+     * RealmObjects are created for the copies. Objects linked to are copied as by {@link #copyToRealm(RealmObject)}.
+     * Objects already in this Realm are ignored.
+     *
+     * @param objects RealmObjects of the same class to insert into the Realm.
+     *
+     * @throws io.realm.exceptions.RealmException if the class has a primary key and a value is already used, or used
+     * by more than one of the objects.
+     * @throws java.lang.IllegalArgumentException if any of the elements in the input collection is {@code null}.
+     */
+    public <E extends RealmObject> void insert(Collection<E> objects) {
+        checkIfValid();
+        if (objects == null || objects.isEmpty()) {
+            return;
+        }
+        E first = objects.iterator().next();
+        checkNotNullObject(first);
+        @SuppressWarnings("unchecked")
+        Class<E> clazz = (Class<E>) Util.getOriginalModelClass(first.getClass());
+        configuration.getSchemaMediator().insert(clazz, this, objects);
+    }
+
+    /**
+     * Makes a standalone copy of a RealmObject in this Realm. The copy is not managed by Realm, so changes to it are
+     * not persisted and it can be used on any thread. This is a deep copy, so all referenced objects are copied as
+     * well.
+     *
+     * @param realmObject RealmObject in this Realm to copy.
+     * @return A standalone copy of the object.
+     * @throws java.lang.IllegalArgumentException if the object is {@code null}, standalone, deleted or belongs to
+     * another Realm instance.
+     * @see #copyFromRealm(RealmObject, int)
+     */
+    public <E extends RealmObject> E copyFromRealm(E realmObject) {
+        return copyFromRealm(realmObject, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Makes a standalone copy of a RealmObject in this Realm, following its links up to the given depth. Objects at
+     * the maximum depth are copied without their links, which are left {@code null}. An object referenced more than
+     * once is only copied once, so cyclic references are kept.
+     *
+     * @param realmObject RealmObject in this Realm to copy.
+     * @param maxDepth Number of links to follow from the object. 0 copies the object without any of its links.
+     * @return A standalone copy of the object.
+     * @throws java.lang.IllegalArgumentException if the object is {@code null}, standalone, deleted or belongs to
+     * another Realm instance, or if {@code maxDepth} is negative.
+     */
+    public <E extends RealmObject> E copyFromRealm(E realmObject, int maxDepth) {
+        checkIfValid();
+        checkMaxDepth(maxDepth);
+        checkValidObjectInRealm(realmObject);
+        @SuppressWarnings("unchecked")
+        Class<E> clazz = (Class<E>) Util.getOriginalModelClass(realmObject.getClass());
+        long[] rowIndexes = new long[] { realmObject.row.getIndex() };
+        return createDetachedCopies(clazz, rowIndexes, maxDepth, new DetachedObjectCache()).get(0);
+    }
+
+    /**
+     * Makes standalone copies of a list of RealmObjects in this Realm, such as {@link RealmResults} or a
+     * {@link RealmList}. This is a deep copy, so all referenced objects are copied as well.
+     *
+     * @param realmObjects RealmObjects in this Realm to copy.
+     * @return A list of standalone copies in the same order.
+     * @throws java.lang.IllegalArgumentException if any of the objects is {@code null}, standalone, deleted or belongs
+     * to another Realm instance.
+     * @see #copyFromRealm(Iterable, int)
+     */
+    public <E extends RealmObject> List<E> copyFromRealm(Iterable<E> realmObjects) {
+        return copyFromRealm(realmObjects, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Makes standalone copies of a list of RealmObjects in this Realm, following their links up to the given depth.
+     * The objects are copied in bulk: every column is read for all the objects of a class at once, which is
+     * considerably faster than reading the fields of one object at a time. Objects at the maximum depth are copied
+     * without their links, which are left {@code null}. An object referenced more than once is only copied once, so
+     * cyclic references are kept.
+     *
+     * @param realmObjects RealmObjects in this Realm to copy.
+     * @param maxDepth Number of links to follow from the objects. 0 copies the objects without any of their links.
+     * @return A list of standalone copies in the same order.
+     * @throws java.lang.IllegalArgumentException if any of the objects is {@code null}, standalone, deleted or belongs
+     * to another Realm instance, or if {@code maxDepth} is negative.
+     */
+    public <E extends RealmObject> List<E> copyFromRealm(Iterable<E> realmObjects, int maxDepth) {
+        checkIfValid();
+        checkMaxDepth(maxDepth);
+        if (realmObjects == null) {
+            return new ArrayList<E>();
+        }
+
+        if (realmObjects instanceof RealmResults) {
+            RealmResults<E> results = (RealmResults<E>) realmObjects;
+            if (results.getRealm() != this) {
+                throw new IllegalArgumentException("Only objects in this Realm instance can be copied from it.");
+            }
+            TableOrView table = results.getTable();
+            long[] rowIndexes;
+            if (table instanceof TableView) {
+                rowIndexes = ((TableView) table).getSourceRowIndexes();
+            } else {
+                rowIndexes = new long[(int) table.size()];
+                for (int i = 0; i < rowIndexes.length; i++) {
+                    rowIndexes[i] = i;
+                }
+            }
+            return createDetachedCopies(results.getObjectClass(), rowIndexes, maxDepth, new DetachedObjectCache());
+        }
+
+        // The objects of a list typed with a common superclass can be of different classes, so they are copied in
+        // bulk for each class
+        List<E> objects = new ArrayList<E>();
+        Map<Class<E>, List<Integer>> positionsByClass = new LinkedHashMap<Class<E>, List<Integer>>();
+        for (E realmObject : realmObjects) {
+            checkValidObjectInRealm(realmObject);
+            @SuppressWarnings("unchecked")
+            Class<E> clazz = (Class<E>) Util.getOriginalModelClass(realmObject.getClass());
+            List<Integer> positions = positionsByClass.get(clazz);
+            if (positions == null) {
+                positions = new ArrayList<Integer>();
+                positionsByClass.put(clazz, positions);
+            }
+            positions.add(objects.size());
+            objects.add(realmObject);
+        }
+        if (positionsByClass.size() == 1) {
+            long[] rowIndexes = new long[objects.size()];
+            for (int i = 0; i < rowIndexes.length; i++) {
+                rowIndexes[i] = objects.get(i).row.getIndex();
+            }
+            return createDetachedCopies(positionsByClass.keySet().iterator().next(), rowIndexes, maxDepth,
+                    new DetachedObjectCache());
+        }
+
+        List<E> copies = new ArrayList<E>(Collections.<E>nCopies(objects.size(), null));
+        DetachedObjectCache cache = new DetachedObjectCache();
+        RealmProxyMediator mediator = configuration.getSchemaMediator();
+        for (Map.Entry<Class<E>, List<Integer>> entry : positionsByClass.entrySet()) {
+            List<Integer> positions = entry.getValue();
+            long[] rowIndexes = new long[positions.size()];
+            for (int i = 0; i < rowIndexes.length; i++) {
+                rowIndexes[i] = objects.get(positions.get(i)).row.getIndex();
+            }
+            List<E> classCopies = mediator.createDetachedCopies(entry.getKey(), this, rowIndexes, maxDepth, cache);
+            for (int i = 0; i < rowIndexes.length; i++) {
+                copies.set(positions.get(i), classCopies.get(i));
+            }
+        }
+        cache.copyPendingLinks(mediator, this, maxDepth);
+        return copies;
+    }
+
+    // Copies the rows, then follows their links breadth-first, so the copy does not recurse along link paths
+    private <E extends RealmObject> List<E> createDetachedCopies(Class<E> clazz, long[] rowIndexes, int maxDepth,
+                                                                 DetachedObjectCache cache) {
+        RealmProxyMediator mediator = configuration.getSchemaMediator();
+        List<E> copies = mediator.createDetachedCopies(clazz, this, rowIndexes, maxDepth, cache);
+        cache.copyPendingLinks(mediator, this, maxDepth);
+        return copies;
+    }
+
+    private static void checkMaxDepth(int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must be >= 0. It was: " + maxDepth);
+        }
+    }
+
+    private void checkValidObjectInRealm(RealmObject realmObject) {
+        if (realmObject == null) {
+            throw new IllegalArgumentException("Null objects cannot be copied from Realm.");
+        }
+        if (realmObject.realm == null) {
+            throw new IllegalArgumentException("Only objects managed by Realm can be copied from it.");
+        }
+        if (realmObject.realm != this) {
+            throw new IllegalArgumentException("Only objects in this Realm instance can be copied from it.");
+        }
+        if (!realmObject.isValid()) {
+            throw new IllegalArgumentException("RealmObject is not valid, so it cannot be copied.");
+        }
+    }
+
     boolean contains(Class<? extends RealmObject> clazz) {
         return configuration.getSchemaMediator().getModelClasses().contains(clazz);
     }
@@ -1237,15 +2005,14 @@ public final class Realm implements Closeable {
     public <E extends RealmObject> RealmResults<E> allObjectsSorted(Class<E> clazz, String fieldName,
                                                                     boolean sortAscending) {
         checkIfValid();
-        Table table = getTable(clazz);
-        TableView.Order order = sortAscending ? TableView.Order.ascending : TableView.Order.descending;
         long columnIndex = columnIndices.getColumnIndex(clazz, fieldName);
         if (columnIndex < 0) {
             throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
         }
 
-        TableView tableView = table.getSortedView(columnIndex, order);
-        return new RealmResults<E>(this, tableView, clazz);
+        RealmResults<E> results = allObjects(clazz);
+        results.sort(fieldName, sortAscending);
+        return results;
     }
 
 
@@ -1304,7 +2071,6 @@ public final class Realm implements Closeable {
      * @return A sorted RealmResults containing the objects.
      * @throws java.lang.IllegalArgumentException if a field name does not exist.
      */
-    @SuppressWarnings("unchecked")
     public <E extends RealmObject> RealmResults<E> allObjectsSorted(Class<E> clazz, String fieldNames[],
                                                                     boolean sortAscending[]) {
         if (fieldNames == null) {
@@ -1313,21 +2079,17 @@ public final class Realm implements Closeable {
             throw new IllegalArgumentException("sortAscending must be provided.");
         }
 
-        // Convert field names to column indices
         Table table = this.getTable(clazz);
-        long columnIndices[] = new long[fieldNames.length];
-        for (int i = 0; i < fieldNames.length; i++) {
-            String fieldName = fieldNames[i];
-            long columnIndex = table.getColumnIndex(fieldName);
-            if (columnIndex == -1) {
+        for (String fieldName : fieldNames) {
+            if (table.getColumnIndex(fieldName) == -1) {
                 throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
             }
-            columnIndices[i] = columnIndex;
         }
 
-        // Perform sort
-        TableView tableView = table.getSortedView(columnIndices, sortAscending);
-        return new RealmResults(this, tableView, clazz);
+        // Sorting through RealmResults keeps the order up to date incrementally when the results are synced.
+        RealmResults<E> results = allObjects(clazz);
+        results.sort(fieldNames, sortAscending);
+        return results;
     }
 
     // Notifications
@@ -1351,13 +2113,40 @@ public final class Realm implements Closeable {
     }
 
     /**
-     * Remove the specified change listener
+     * Add a change listener which is only called when objects of the given class have been created, modified or
+     * deleted. Commits which only touch other classes do not call it, including classes the given class links to.
+     * Changes made by a write transaction on this thread are only reported if the listener was added before the
+     * transaction was started.
+     *
+     * @param clazz the class to listen for changes to.
+     * @param listener the change listener.
+     * @see io.realm.RealmChangeListener
+     */
+    public void addChangeListener(Class<? extends RealmObject> clazz, RealmChangeListener listener) {
+        checkIfValid();
+        for (ClassChangeListener classListener : classChangeListeners) {
+            if (classListener.clazz == clazz && classListener.listener.get() == listener) {
+                // It has already been added before
+                return;
+            }
+        }
+
+        classChangeListeners.add(new ClassChangeListener(clazz, listener, getTable(clazz).getName()));
+    }
+
+    /**
+     * Remove the specified change listener, including any registrations of it for specific classes.
      *
      * @param listener the change listener to be removed
      * @see io.realm.RealmChangeListener
      */
     public void removeChangeListener(RealmChangeListener listener) {
         checkIfValid();
+        for (ClassChangeListener classListener : classChangeListeners) {
+            if (classListener.listener.get() == listener) {
+                classChangeListeners.remove(classListener);
+            }
+        }
         WeakReference<RealmChangeListener> weakRefToRemove = null;
         for (WeakReference<RealmChangeListener> weakRef : changeListeners) {
             if (listener == weakRef.get()) {
@@ -1379,6 +2168,7 @@ public final class Realm implements Closeable {
     public void removeAllChangeListeners() {
         checkIfValid();
         changeListeners.clear();
+        classChangeListeners.clear();
     }
 
     /**
@@ -1409,6 +2199,18 @@ public final class Realm implements Closeable {
         if (toRemoveList != null) {
             changeListeners.removeAll(toRemoveList);
         }
+
+        for (ClassChangeListener classListener : classChangeListeners) {
+            RealmChangeListener listener = classListener.listener.get();
+            if (listener == null) {
+                classChangeListeners.remove(classListener);
+                continue;
+            }
+            if (classListener.changed) {
+                classListener.changed = false;
+                listener.onChange();
+            }
+        }
     }
 
     @SuppressWarnings("UnusedDeclaration")
@@ -1426,7 +2228,195 @@ public final class Realm implements Closeable {
     @SuppressWarnings("UnusedDeclaration")
     public void refresh() {
         checkIfValid();
-        transaction.advanceRead();
+        advanceRead();
+    }
+
+    // Reads in the changes from other threads, and notifies the listeners of the objects they changed
+    private void advanceRead() {
+        List<RealmObject> objects = getObjectChangeTargets();
+        if (objects.isEmpty() && classChangeListeners.isEmpty()) {
+            transaction.advanceRead();
+            updateReadVersion();
+            return;
+        }
+
+        long[] changes = transaction.advanceReadTrackingRows(getRows(objects));
+        updateReadVersion();
+        markChangedClasses(transaction.getChangedTables());
+        notifyObjectChanges(objects, changes);
+    }
+
+    // The class listeners of the changed tables are called by the next sendNotifications()
+    private void markChangedClasses(Set<String> changedTables) {
+        for (ClassChangeListener classListener : classChangeListeners) {
+            if (changedTables.contains(classListener.tableName)) {
+                classListener.changed = true;
+            }
+        }
+    }
+
+    // Returns the valid objects with change listeners, and forgets the others
+    private List<RealmObject> getObjectChangeTargets() {
+        List<RealmObject> objects = new ArrayList<RealmObject>();
+        Iterator<ObjectChangeTargets> targetsIterator = objectChangeTargets.values().iterator();
+        while (targetsIterator.hasNext()) {
+            ObjectChangeTargets targets = targetsIterator.next();
+            Iterator<WeakReference<RealmObject>> iterator = targets.objects.iterator();
+            while (iterator.hasNext()) {
+                RealmObject object = iterator.next().get();
+                if (object == null || !object.isValid() || !object.hasChangeListeners()) {
+                    iterator.remove();
+                } else {
+                    objects.add(object);
+                }
+            }
+            if (targets.objects.isEmpty()) {
+                targetsIterator.remove();
+            }
+        }
+        return objects;
+    }
+
+    private static Row[] getRows(List<RealmObject> objects) {
+        Row[] rows = new Row[objects.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = objects.get(i).row;
+        }
+        return rows;
+    }
+
+    // Calls the listeners of the objects which were changed, with the names of the changed fields. Deleted objects
+    // are notified with no field names.
+    private static void notifyObjectChanges(List<RealmObject> objects, long[] changes) {
+        for (int i = 0; i < changes.length; i++) {
+            RealmObject object = objects.get(i);
+            if (changes[i] == -1) {
+                object.notifyChangeListeners(Collections.<String>emptySet());
+            } else if (changes[i] != 0) {
+                object.notifyChangeListeners(getChangedFieldNames(object.row, changes[i]));
+            }
+        }
+    }
+
+    private void updateReadVersion() {
+        long version = sharedGroup.getVersion();
+        if (version != readVersion) {
+            readVersion = version;
+            readSince = SystemClock.elapsedRealtime();
+            fileSizeAtRead = UNKNOWN_FILE_SIZE;
+        }
+    }
+
+    // True if the instance has read the same version for longer than the idle read timeout, and newer versions exist
+    private boolean shouldAdvanceIdleRead() {
+        long idleReadTimeout = configuration.getIdleReadTimeout();
+        return idleReadTimeout > 0
+                && !transaction.isInWriteTransaction()
+                && SystemClock.elapsedRealtime() - readSince >= idleReadTimeout
+                && sharedGroup.hasChanged();
+    }
+
+    // Handled by the Looper between other messages, so no objects of the instance are being accessed
+    private void advanceIdleRead() {
+        if (sharedGroup == null || threadId != Thread.currentThread().getId()) {
+            return;
+        }
+        if (shouldAdvanceIdleRead()) {
+            advanceRead();
+            sendNotifications();
+        }
+        // Once the latest version has been read, the next commit to the file posts the message again
+        if (!transaction.isInWriteTransaction() && sharedGroup.hasChanged()) {
+            scheduleIdleReadAdvance();
+        }
+    }
+
+    // Called on any thread. Posts ADVANCE_IDLE_READ for when the instance has been idle for the timeout, unless it
+    // is already pending.
+    private void scheduleIdleReadAdvance() {
+        Handler idleReadHandler = this.idleReadHandler;
+        if (idleReadHandler != null && !idleReadHandler.hasMessages(ADVANCE_IDLE_READ)) {
+            long idleFor = SystemClock.elapsedRealtime() - readSince;
+            idleReadHandler.sendEmptyMessageDelayed(ADVANCE_IDLE_READ,
+                    Math.max(0, configuration.getIdleReadTimeout() - idleFor));
+        }
+    }
+
+    // Lets the instances of the file which advance idle reads know that a newer version exists
+    private static void scheduleIdleReadAdvances(String realmPath) {
+        synchronized (openRealms) {
+            for (Realm realm : openRealms) {
+                if (realm.idleReadHandler != null && realm.configuration.getPath().equals(realmPath)) {
+                    realm.scheduleIdleReadAdvance();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the oldest version of the Realm file which is read by an open Realm instance in this process, together
+     * with the thread of the instance, for how long it has been read and how much the file has grown since. Versions
+     * read by other processes are not included.
+     *
+     * @param configuration the configuration of the Realm file.
+     * @return the oldest version read, or {@code null} if no instance of the file is open in this process.
+     * @see RealmConfiguration.Builder#autoAdvanceIdleReads(long, java.util.concurrent.TimeUnit)
+     */
+    public static PinnedVersion getOldestPinnedVersion(RealmConfiguration configuration) {
+        if (configuration == null) {
+            throw new IllegalArgumentException("A non-null RealmConfiguration must be provided");
+        }
+        String path = configuration.getPath();
+        Realm oldest = null;
+        synchronized (openRealms) {
+            for (Realm realm : openRealms) {
+                if (realm.configuration.getPath().equals(path)
+                        && (oldest == null || realm.readVersion < oldest.readVersion)) {
+                    oldest = realm;
+                }
+            }
+        }
+        if (oldest == null) {
+            return null;
+        }
+        // The size is sampled here rather than on every read, so growth is measured from the first call which saw
+        // the version
+        long fileSize = new File(path).length();
+        long fileSizeAtRead = oldest.fileSizeAtRead;
+        if (fileSizeAtRead == UNKNOWN_FILE_SIZE) {
+            fileSizeAtRead = fileSize;
+            oldest.fileSizeAtRead = fileSize;
+        }
+        return new PinnedVersion(oldest.readVersion, oldest.threadName, oldest.threadId,
+                SystemClock.elapsedRealtime() - oldest.readSince, fileSizeAtRead, fileSize);
+    }
+
+    // Bit 62 of the mask stands for all columns from index 62 and up
+    private static Set<String> getChangedFieldNames(Row row, long changedColumns) {
+        Set<String> fieldNames = new HashSet<String>();
+        long columnCount = row.getColumnCount();
+        for (long i = 0; i < columnCount; i++) {
+            if ((changedColumns & (1L << Math.min(i, 62))) != 0) {
+                fieldNames.add(row.getColumnName(i));
+            }
+        }
+        return fieldNames;
+    }
+
+    void addObjectChangeListenerTarget(RealmObject object) {
+        Table table = object.row.getTable();
+        String tableName = table.getName();
+        ObjectChangeTargets targets = objectChangeTargets.get(tableName);
+        if (targets == null) {
+            targets = new ObjectChangeTargets();
+            objectChangeTargets.put(tableName, targets);
+        }
+        for (WeakReference<RealmObject> ref : targets.objects) {
+            if (ref.get() == object) {
+                return;
+            }
+        }
+        targets.objects.add(new WeakReference<RealmObject>(object));
     }
 
     /**
@@ -1444,8 +2434,94 @@ public final class Realm implements Closeable {
      *
      */
     public void beginTransaction() {
+        checkIfValidForWrite();
+        writeLockGate.acquire();
+        promoteToWrite();
+    }
+
+    /**
+     * Starts a write transaction like {@link #beginTransaction()}, unless another writer keeps writing to the Realm
+     * for longer than the given timeout.
+     * <p>
+     * Writers in this process and in other processes using this library are waited for with the timeout. They
+     * serialize on a lock file next to the Realm file before taking the write lock of the Realm itself, which can
+     * only be waited for without a timeout. Only a writer which does not use the lock file, like another binding, can
+     * make the call wait longer.
+     *
+     * @param timeout the maximum time to wait for other writers.
+     * @param unit the unit of the timeout.
+     * @return {@code true} if the write transaction was started, {@code false} if the timeout elapsed first.
+     * @throws java.lang.IllegalStateException if already in a write transaction or called from the wrong thread.
+     * @throws io.realm.exceptions.RealmException if the thread is interrupted while waiting.
+     * @see #getWriteLockStats(RealmConfiguration)
+     */
+    public boolean tryBeginTransaction(long timeout, TimeUnit unit) {
+        checkIfValidForWrite();
+        if (transaction.isInWriteTransaction()) {
+            throw new IllegalStateException("Nested transactions are not allowed. Use commitTransaction() after " +
+                    "each beginTransaction().");
+        }
+        try {
+            if (!writeLockGate.tryAcquire(timeout, unit)) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RealmException("Interrupted while waiting to start a write transaction.", e);
+        }
+        promoteToWrite();
+        return true;
+    }
+
+    /**
+     * Returns statistics about the write transactions of a Realm file in this process: how long writers waited for
+     * and held the write lock, and how many writers contended for it.
+     *
+     * @param configuration the configuration of the Realm file.
+     * @return the statistics, or {@code null} if no Realm instance of the file has been opened in this process.
+     */
+    public static WriteLockStats getWriteLockStats(RealmConfiguration configuration) {
+        if (configuration == null) {
+            throw new IllegalArgumentException("A non-null RealmConfiguration must be provided");
+        }
+        return WriteLockGate.getStats(configuration.getPath());
+    }
+
+    // A JsonReader throws IllegalStateException for a token of the wrong type, like an array where an object was
+    // expected. Inside a write transaction that is the only source of it, outside one it means that the rows could
+    // not be changed and is passed on.
+    private RuntimeException toJsonReadException(IllegalStateException e) {
+        if (!transaction.isInWriteTransaction()) {
+            return e;
+        }
+        return new RealmException("Failed to read JSON", e);
+    }
+
+    private void checkIfValidForWrite() {
         checkIfValid();
-        transaction.promoteToWrite();
+        if (frozen) {
+            throw new IllegalStateException("The objects of a RealmSnapshot are read-only.");
+        }
+    }
+
+    // Must be called with the write lock gate acquired. The rows of the objects with change listeners, and the tables
+    // modified, are tracked through the write transaction, and the listeners are called when it ends.
+    private void promoteToWrite() {
+        // Starting a write transaction reads in all changes, including deferred ones
+        advanceDeferred = false;
+        List<RealmObject> objects = getObjectChangeTargets();
+        try {
+            if (objects.isEmpty() && classChangeListeners.isEmpty()) {
+                transaction.promoteToWrite();
+            } else {
+                transaction.promoteToWriteTrackingRows(getRows(objects));
+                writeTrackedObjects = objects;
+            }
+        } catch (RuntimeException e) {
+            writeLockGate.release();
+            throw e;
+        }
+        updateReadVersion();
     }
 
     /**
@@ -1459,7 +2535,26 @@ public final class Realm implements Closeable {
      */
     public void commitTransaction() {
         checkIfValid();
-        transaction.commitAndContinueAsRead();
+        List<RealmObject> objects = writeTrackedObjects;
+        writeTrackedObjects = null;
+        long[] changes = null;
+        try {
+            if (objects == null) {
+                transaction.commitAndContinueAsRead();
+            } else {
+                changes = transaction.commitAndContinueAsReadTrackingRows();
+            }
+        } finally {
+            writeLockGate.release();
+        }
+        updateReadVersion();
+        if (changes != null) {
+            markChangedClasses(transaction.getChangedTables());
+        }
+        if (crossProcessNotifier != null) {
+            crossProcessNotifier.notifyCommit();
+        }
+        scheduleIdleReadAdvances(configuration.getPath());
 
         for (Map.Entry<Handler, String> handlerIntegerEntry : handlers.entrySet()) {
             Handler handler = handlerIntegerEntry.getKey();
@@ -1467,17 +2562,26 @@ public final class Realm implements Closeable {
 
             // Notify at once on thread doing the commit
             if (handler.equals(this.handler)) {
+                if (changes != null) {
+                    notifyObjectChanges(objects, changes);
+                }
                 sendNotifications();
                 continue;
             }
 
             // For all other threads, use the Handler
+            if (!realmPath.equals(configuration.getPath())) {
+                continue;
+            }
             if (
-                    realmPath.equals(configuration.getPath())    // It's the right realm
-                    && !handler.hasMessages(REALM_CHANGED)       // The right message
+                    !handler.hasMessages(REALM_CHANGED)          // The right message
+                    && !isAdvanceDeferred(handler)               // Deferred changes are read in on next access
                     && handler.getLooper().getThread().isAlive() // The receiving thread is alive
             ) {
                 handler.sendEmptyMessage(REALM_CHANGED);
+                notificationCounters.messagesPosted.incrementAndGet();
+            } else {
+                notificationCounters.messagesSkipped.incrementAndGet();
             }
         }
     }
@@ -1495,7 +2599,24 @@ public final class Realm implements Closeable {
      */
     public void cancelTransaction() {
         checkIfValid();
-        transaction.rollbackAndContinueAsRead();
+        List<RealmObject> objects = writeTrackedObjects;
+        writeTrackedObjects = null;
+        long[] changes = null;
+        try {
+            if (objects == null) {
+                transaction.rollbackAndContinueAsRead();
+            } else {
+                changes = transaction.rollbackAndContinueAsReadTrackingRows();
+            }
+        } finally {
+            writeLockGate.release();
+        }
+        updateReadVersion();
+        // Changes read in when the transaction was started are kept
+        if (changes != null) {
+            markChangedClasses(transaction.getChangedTables());
+            notifyObjectChanges(objects, changes);
+        }
     }
 
     /**
@@ -1522,6 +2643,70 @@ public final class Realm implements Closeable {
         }
     }
 
+    /**
+     * Executes a given transaction on a background writer thread, using a Realm instance of its own. The calling
+     * thread never waits for the write lock. The callbacks are called on the calling thread once this Realm has been
+     * updated to include the changes of the transaction, or with the error which caused the transaction to be
+     * cancelled. Callbacks are not called if this Realm has been closed in the meantime.
+     * <p>
+     * If group commit is enabled with
+     * {@link RealmConfiguration.Builder#groupCommit(long, java.util.concurrent.TimeUnit)}, the transaction is
+     * committed together with the other transactions submitted within the window. If another transaction of the
+     * group fails, this one is executed again, so it should not have side effects outside the Realm.
+     *
+     * @param transaction {@link io.realm.Realm.Transaction} to execute. Objects from this Realm must not be used
+     *                    inside it, as it runs on another thread.
+     * @param onSuccess callback called when the transaction has been committed, or {@code null}.
+     * @param onError callback called if the transaction failed and was cancelled, or {@code null}.
+     * @return a {@link RealmAsyncTask} which can be used to cancel the transaction.
+     * @throws java.lang.IllegalArgumentException if the transaction is {@code null}.
+     * @throws java.lang.IllegalStateException if callbacks are given on a thread without a {@link android.os.Looper}.
+     */
+    public RealmAsyncTask executeTransactionAsync(Transaction transaction, Transaction.OnSuccess onSuccess,
+                                                  Transaction.OnError onError) {
+        checkIfValid();
+        if (transaction == null) {
+            throw new IllegalArgumentException("Transaction should not be null");
+        }
+        Handler callbackHandler;
+        if (onSuccess != null || onError != null) {
+            if (Looper.myLooper() == null) {
+                throw new IllegalStateException("Callbacks can only be delivered on a thread with a Looper");
+            }
+            // Using the auto-refresh handler means pending callbacks are dropped when this Realm is closed
+            callbackHandler = (handler != null) ? handler : new Handler();
+        } else {
+            callbackHandler = null;
+        }
+
+        RealmAsyncTask task = new RealmAsyncTask();
+        AsyncTransactionWriter.submit(configuration, new AsyncTransactionWriter.Request(this, transaction, task,
+                callbackHandler, onSuccess, onError));
+        return task;
+    }
+
+    void deliverAsyncTransactionResult(RealmAsyncTask task, Throwable error, Transaction.OnSuccess onSuccess,
+                                       Transaction.OnError onError) {
+        if (sharedGroup == null || task.isCancelled()) {
+            return;
+        }
+        if (error != null) {
+            if (onError != null) {
+                onError.onError(error);
+            }
+            return;
+        }
+        // With auto-refresh on, the change message posted by the commit has already been handled. Otherwise this
+        // Realm is still behind, so catch up here to make the changes visible to the callback.
+        if (!transaction.isInWriteTransaction() && sharedGroup.hasChanged()) {
+            advanceRead();
+            sendNotifications();
+        }
+        if (onSuccess != null) {
+            onSuccess.onSuccess();
+        }
+    }
+
     /**
      * Remove all objects of the specified class.
      *
@@ -1532,6 +2717,27 @@ public final class Realm implements Closeable {
         getTable(clazz).clear();
     }
 
+    // Called by the CrossProcessNotifier when a commit to the Realm file has been signalled, which may have been made
+    // by another process.
+    static void notifyExternalCommit(String realmPath) {
+        scheduleIdleReadAdvances(realmPath);
+        for (Map.Entry<Handler, String> entry : handlers.entrySet()) {
+            Handler handler = entry.getKey();
+            if (entry.getValue().equals(realmPath)
+                    && !handler.hasMessages(REALM_CHANGED_EXTERNALLY)
+                    && !isAdvanceDeferred(handler)
+                    && handler.getLooper().getThread().isAlive()) {
+                handler.sendEmptyMessage(REALM_CHANGED_EXTERNALLY);
+                NotificationStats.Counters.forPath(realmPath).messagesPosted.incrementAndGet();
+            }
+        }
+    }
+
+    // A Realm which has deferred reading in changes will read in all changes committed until it is accessed
+    private static boolean isAdvanceDeferred(Handler handler) {
+        return handler instanceof RealmHandler && ((RealmHandler) handler).realm.advanceDeferred;
+    }
+
     // Returns the Handler for this Realm on the calling thread
     Handler getHandler() {
         String realmPath = configuration.getPath();
@@ -1650,6 +2856,7 @@ public final class Realm implements Closeable {
         }
 
         RealmMigration realmMigration = (migration == null) ? configuration.getMigration() : migration;
+        globalValidatedSchemaCache.remove(configuration.getPath());
         Realm realm = null;
         try {
             realm = Realm.createAndValidate(configuration, false, Looper.myLooper() != null);
@@ -1720,6 +2927,7 @@ public final class Realm implements Closeable {
             throw new IllegalStateException("It's not allowed to delete the file associated with an open Realm. " +
                     "Remember to close() all the instances of the Realm before deleting its file.");
         }
+        globalValidatedSchemaCache.remove(id);
 
         File realmFolder = configuration.getRealmFolder();
         String realmFileName = configuration.getRealmFileName();
@@ -1727,7 +2935,9 @@ public final class Realm implements Closeable {
                 new File(realmFolder, realmFileName + ".lock"),
                 new File(realmFolder, realmFileName + ".lock_a"),
                 new File(realmFolder, realmFileName + ".lock_b"),
-                new File(realmFolder, realmFileName + ".log"));
+                new File(realmFolder, realmFileName + ".log"),
+                new File(realmFolder, realmFileName + WriteLockGate.LOCK_FILE_SUFFIX),
+                new File(realmFolder, realmFileName + CrossProcessNotifier.NOTIFICATION_FILE_SUFFIX));
         for (File fileToDelete : filesToDelete) {
             if (fileToDelete.exists()) {
                 boolean deleteResult = fileToDelete.delete();
@@ -1884,6 +3094,20 @@ public final class Realm implements Closeable {
      */
     public interface Transaction {
         void execute(Realm realm);
+
+        /**
+         * Callback called on the calling thread when an asynchronous transaction has been committed.
+         */
+        interface OnSuccess {
+            void onSuccess();
+        }
+
+        /**
+         * Callback called on the calling thread when an asynchronous transaction failed.
+         */
+        interface OnError {
+            void onError(Throwable error);
+        }
     }
 
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * Represents a transaction started with {@link Realm#executeTransactionAsync(Realm.Transaction,
+ * Realm.Transaction.OnSuccess, Realm.Transaction.OnError)} which has not necessarily completed yet.
+ */
+public final class RealmAsyncTask {
+
+    private volatile boolean cancelled = false;
+
+    RealmAsyncTask() {
+    }
+
+    /**
+     * Cancels the transaction. If it has not been committed yet it will be rolled back. A transaction which has
+     * already been committed can not be undone, but its callbacks will not be called if they have not been already.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks whether {@link #cancel()} has been called.
+     *
+     * @return {@code true} if the task has been cancelled, {@code false} otherwise.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
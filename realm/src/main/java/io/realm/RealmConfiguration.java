@@ -28,6 +28,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import io.realm.annotations.RealmModule;
 import io.realm.exceptions.RealmException;
@@ -57,6 +58,22 @@ public class RealmConfiguration {
 
     public static final int KEY_LENGTH = 64;
 
+    /**
+     * Controls when the changes of a commit are stored on disk.
+     */
+    public enum Durability {
+        /**
+         * Commits are synced to disk before {@link Realm#commitTransaction()} returns. This is the default.
+         */
+        FULL,
+
+        /**
+         * The Realm only exists in memory. The file is still used while the Realm is open, but it is not synced and
+         * is deleted when the last instance of the Realm is closed. Useful for caches and tests.
+         */
+        MEM_ONLY
+    }
+
     private static final Object DEFAULT_MODULE;
     private static final RealmProxyMediator DEFAULT_MODULE_MEDIATOR;
     static {
@@ -76,6 +93,10 @@ public class RealmConfiguration {
     private final RealmMigration migration;
     private final boolean deleteRealmIfMigrationNeeded;
     private final RealmProxyMediator schemaMediator;
+    private final long groupCommitWindowMillis;
+    private final Durability durability;
+    private final boolean crossProcessNotifications;
+    private final long idleReadTimeoutMillis;
 
     private RealmConfiguration(Builder builder) {
         this.realmFolder = builder.folder;
@@ -86,6 +107,10 @@ public class RealmConfiguration {
         this.deleteRealmIfMigrationNeeded = builder.deleteRealmIfMigrationNeeded;
         this.migration = builder.migration;
         this.schemaMediator = createSchemaMediator(builder);
+        this.groupCommitWindowMillis = builder.groupCommitWindowMillis;
+        this.durability = builder.durability;
+        this.crossProcessNotifications = builder.crossProcessNotifications;
+        this.idleReadTimeoutMillis = builder.idleReadTimeoutMillis;
     }
 
     public File getRealmFolder() {
@@ -120,6 +145,34 @@ public class RealmConfiguration {
         return canonicalPath;
     }
 
+    /**
+     * Returns the time asynchronous transactions are collected for before being committed together.
+     *
+     * @return the group commit window in milliseconds, or 0 if group commit is disabled.
+     * @see Builder#groupCommit(long, TimeUnit)
+     */
+    public long getGroupCommitWindow() {
+        return groupCommitWindowMillis;
+    }
+
+    /**
+     * Returns the time after which idle Realm instances read in the changes made by other threads.
+     *
+     * @return the idle read timeout in milliseconds, or 0 if idle instances are not advanced.
+     * @see Builder#autoAdvanceIdleReads(long, TimeUnit)
+     */
+    public long getIdleReadTimeout() {
+        return idleReadTimeoutMillis;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    public boolean hasCrossProcessNotifications() {
+        return crossProcessNotifications;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -129,6 +182,10 @@ public class RealmConfiguration {
 
         if (schemaVersion != that.schemaVersion) return false;
         if (deleteRealmIfMigrationNeeded != that.deleteRealmIfMigrationNeeded) return false;
+        if (groupCommitWindowMillis != that.groupCommitWindowMillis) return false;
+        if (durability != that.durability) return false;
+        if (crossProcessNotifications != that.crossProcessNotifications) return false;
+        if (idleReadTimeoutMillis != that.idleReadTimeoutMillis) return false;
         if (!realmFolder.equals(that.realmFolder)) return false;
         if (!realmFileName.equals(that.realmFileName)) return false;
         if (!canonicalPath.equals(that.canonicalPath)) return false;
@@ -146,6 +203,10 @@ public class RealmConfiguration {
         result = 31 * result + (int)schemaVersion;
         result = 31 * result + (migration != null ? migration.hashCode() : 0);
         result = 31 * result + (deleteRealmIfMigrationNeeded ? 1 : 0);
+        result = 31 * result + (int)groupCommitWindowMillis;
+        result = 31 * result + durability.hashCode();
+        result = 31 * result + (crossProcessNotifications ? 1 : 0);
+        result = 31 * result + (int)idleReadTimeoutMillis;
         result = 31 * result + schemaMediator.hashCode();
         return result;
     }
@@ -206,6 +267,10 @@ public class RealmConfiguration {
         private long schemaVersion;
         private RealmMigration migration;
         private boolean deleteRealmIfMigrationNeeded;
+        private long groupCommitWindowMillis;
+        private Durability durability;
+        private boolean crossProcessNotifications;
+        private long idleReadTimeoutMillis;
         private HashSet<Object> modules = new HashSet<Object>();
         private HashSet<Class<? extends RealmObject>> debugSchema = new HashSet<Class<? extends RealmObject>>();
 
@@ -253,6 +318,10 @@ public class RealmConfiguration {
             this.schemaVersion = 0;
             this.migration = null;
             this.deleteRealmIfMigrationNeeded = false;
+            this.groupCommitWindowMillis = 0;
+            this.durability = Durability.FULL;
+            this.crossProcessNotifications = false;
+            this.idleReadTimeoutMillis = 0;
             if (DEFAULT_MODULE != null) {
                 this.modules.add(DEFAULT_MODULE);
             }
@@ -326,6 +395,87 @@ public class RealmConfiguration {
             return this;
         }
 
+        /**
+         * Sets when the changes of a commit are stored on disk. The default is {@link Durability#FULL}.
+         *
+         * @throws IllegalArgumentException if the durability is {@code null}.
+         * @see Durability
+         */
+        public Builder durability(Durability durability) {
+            if (durability == null) {
+                throw new IllegalArgumentException("A non-null durability must be provided");
+            }
+            this.durability = durability;
+            return this;
+        }
+
+        /**
+         * Notifies Realm instances in other processes about commits, so their objects, {@link RealmResults} and
+         * listeners are updated like for commits made by other threads of the same process. This must be enabled in
+         * all processes using the Realm file. Each commit writes to a small file next to the Realm file, which wakes
+         * up the other processes through inotify.
+         */
+        public Builder crossProcessNotifications() {
+            this.crossProcessNotifications = true;
+            return this;
+        }
+
+        /**
+         * Lets Realm instances which have read the same version of the data for longer than the given time read in
+         * the changes made since, so an idle instance doesn't keep old versions alive and make the file grow.
+         * <p>
+         * A Realm instance can only be refreshed on its own thread. Instances on {@link android.os.Looper} threads
+         * are refreshed by a message posted to the Looper, which is handled between other messages, i.e. when no
+         * objects are being accessed. This also applies to instances which don't refresh automatically. Instances on
+         * other threads are refreshed when the thread calls {@link Realm#getInstance(RealmConfiguration)} again or
+         * leases the instance from a {@link RealmPool}.
+         * <p>
+         * Refreshing an idle instance updates its objects and {@link RealmResults} and calls its listeners as
+         * {@link Realm#refresh()} does. No instance is refreshed during a write transaction.
+         *
+         * @param idleTime the time after which an instance is refreshed.
+         * @param unit the unit of the idle time.
+         * @throws IllegalArgumentException if the idle time is not positive or the unit is {@code null}.
+         * @see Realm#getOldestPinnedVersion(RealmConfiguration)
+         */
+        public Builder autoAdvanceIdleReads(long idleTime, TimeUnit unit) {
+            if (unit == null) {
+                throw new IllegalArgumentException("A non-null TimeUnit must be provided");
+            }
+            if (idleTime <= 0) {
+                throw new IllegalArgumentException("The idle time must be positive. Yours was: " + idleTime);
+            }
+            this.idleReadTimeoutMillis = Math.max(1, unit.toMillis(idleTime));
+            return this;
+        }
+
+        /**
+         * Enables group commit for transactions started with {@link Realm#executeTransactionAsync(Realm.Transaction,
+         * Realm.Transaction.OnSuccess, Realm.Transaction.OnError)}. Transactions submitted within the given window
+         * are executed back-to-back in a single write transaction and made durable by a single commit. Their
+         * callbacks are called once that commit has completed.
+         *
+         * If one of the transactions throws, or is cancelled after it ran, the group is rolled back and the others
+         * are run again without it. Transactions in a group may therefore be executed more than once, and should
+         * only change the Realm.
+         *
+         * All configurations used for the same Realm file must have the same group commit window.
+         *
+         * @param window the time to collect transactions for, counted from the first transaction of a group.
+         * @param unit the unit of the window.
+         * @throws IllegalArgumentException if the window is not positive or the unit is {@code null}.
+         */
+        public Builder groupCommit(long window, TimeUnit unit) {
+            if (unit == null) {
+                throw new IllegalArgumentException("A non-null TimeUnit must be provided");
+            }
+            if (window <= 0) {
+                throw new IllegalArgumentException("The group commit window must be positive. Yours was: " + window);
+            }
+            this.groupCommitWindowMillis = Math.max(1, unit.toMillis(window));
+            return this;
+        }
+
         /**
          * Replaces the existing module(s) with one or more {@link RealmModule}s. Using this method will replace the
          * current schema for this Realm with the schema defined by the provided modules.
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+/**
+ * A token for handing a {@link RealmResults} or a {@link RealmObject} over to another thread. Tokens are created with
+ * {@link Realm#exportForHandover(RealmResults)} or {@link Realm#exportForHandover(RealmObject)}, passed to the other
+ * thread, and turned back into results or an object there with {@link Realm#importFromHandover(RealmHandover)} by a
+ * Realm instance of the same file.
+ * <p>
+ * Realm instances on different threads may see different versions of the data. If the importing instance sees the
+ * same version as the exporting one, the rows found by the exporting thread are used as they are and the query is
+ * not run again. Otherwise the query is run at the version seen by the importing instance, and an object is found
+ * again by its primary key.
+ * <p>
+ * Tokens are immutable and can be imported any number of times, by any thread.
+ *
+ * @param <T> the type of the handed over results or object.
+ */
+public final class RealmHandover<T> {
+
+    final String path;
+    final Class<? extends RealmObject> clazz;
+    final long version;
+    final long[] sourceRowIndexes;
+
+    // Set for results only
+    final QueryRecipe recipe;
+
+    // Set for objects with a primary key only
+    final Object primaryKey;
+
+    RealmHandover(String path, Class<? extends RealmObject> clazz, long version, long[] sourceRowIndexes,
+                  QueryRecipe recipe, Object primaryKey) {
+        this.path = path;
+        this.clazz = clazz;
+        this.version = version;
+        this.sourceRowIndexes = sourceRowIndexes;
+        this.recipe = recipe;
+        this.primaryKey = primaryKey;
+    }
+}
@@ -19,9 +19,11 @@ package io.realm;
 import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 
 import io.realm.exceptions.RealmException;
+import io.realm.internal.ColumnType;
 import io.realm.internal.LinkView;
 
 /**
@@ -45,6 +47,7 @@ public class RealmList<E extends RealmObject> extends AbstractList<E> {
 
     private static final String ONLY_IN_MANAGED_MODE_MESSAGE = "This method is only available in managed mode";
     private static final String NULL_OBJECTS_NOT_ALLOWED_MESSAGE = "RealmList does not accept null values";
+    private static final String TYPE_MISMATCH = "Field '%s': type mismatch - %s expected.";
 
     private final boolean managedMode;
     private Class<E> clazz;
@@ -312,6 +315,175 @@ public class RealmList<E extends RealmObject> extends AbstractList<E> {
         }
     }
 
+    /**
+     * Find the minimum value of a field among the objects in this list.
+     *
+     * @param fieldName   The field to look for a minimum on. Only int, float, and double are supported.
+     * @return            The minimum value.
+     * @throws            java.lang.IllegalArgumentException if field is not int, float or double.
+     */
+    public Number min(String fieldName) {
+        long columnIndex = getAggregateColumnIndex(fieldName);
+        switch (realm.getTable(clazz).getColumnType(columnIndex)) {
+            case INTEGER:
+                return view.minimumLong(columnIndex);
+            case FLOAT:
+                return view.minimumFloat(columnIndex);
+            case DOUBLE:
+                return view.minimumDouble(columnIndex);
+            default:
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
+        }
+    }
+
+    /**
+     * Find the minimum date among the objects in this list.
+     *
+     * @param fieldName  The field to look for the minimum date. If fieldName is not of Date type,
+     *                   an exception is thrown.
+     * @return           The minimum date.
+     * @throws           java.lang.IllegalArgumentException if fieldName is not a Date field.
+     */
+    public Date minDate(String fieldName) {
+        long columnIndex = getAggregateColumnIndex(fieldName);
+        if (realm.getTable(clazz).getColumnType(columnIndex) == ColumnType.DATE) {
+            return view.minimumDate(columnIndex);
+        } else {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "Date"));
+        }
+    }
+
+    /**
+     * Find the maximum value of a field among the objects in this list.
+     *
+     * @param fieldName   The field to look for a maximum on. Only int, float, and double are supported.
+     * @return            The maximum value.
+     * @throws            java.lang.IllegalArgumentException if field is not int, float or double.
+     */
+    public Number max(String fieldName) {
+        long columnIndex = getAggregateColumnIndex(fieldName);
+        switch (realm.getTable(clazz).getColumnType(columnIndex)) {
+            case INTEGER:
+                return view.maximumLong(columnIndex);
+            case FLOAT:
+                return view.maximumFloat(columnIndex);
+            case DOUBLE:
+                return view.maximumDouble(columnIndex);
+            default:
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
+        }
+    }
+
+    /**
+     * Find the maximum date among the objects in this list.
+     *
+     * @param fieldName  The field to look for the maximum date. If fieldName is not of Date type,
+     *                   an exception is thrown.
+     * @return           The maximum date.
+     * @throws           java.lang.IllegalArgumentException if fieldName is not a Date field.
+     */
+    public Date maxDate(String fieldName) {
+        long columnIndex = getAggregateColumnIndex(fieldName);
+        if (realm.getTable(clazz).getColumnType(columnIndex) == ColumnType.DATE) {
+            return view.maximumDate(columnIndex);
+        } else {
+            throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "Date"));
+        }
+    }
+
+    /**
+     * Calculate the sum of a given field among the objects in this list.
+     *
+     * @param fieldName   The field to sum. Only int, float, and double are supported.
+     * @return            The sum.
+     * @throws            java.lang.IllegalArgumentException if field is not int, float or double.
+     */
+    public Number sum(String fieldName) {
+        long columnIndex = getAggregateColumnIndex(fieldName);
+        switch (realm.getTable(clazz).getColumnType(columnIndex)) {
+            case INTEGER:
+                return view.sumLong(columnIndex);
+            case FLOAT:
+                return view.sumFloat(columnIndex);
+            case DOUBLE:
+                return view.sumDouble(columnIndex);
+            default:
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
+        }
+    }
+
+    /**
+     * Returns the average of a given field among the objects in this list.
+     *
+     * @param fieldName  The field to calculate average on. Only properties of type int,
+     *                   float and double are supported.
+     * @return           The average for the given field amongst objects in this list. This
+     *                   will be of type double for both float and double field.
+     * @throws           java.lang.IllegalArgumentException if field is not int, float or double.
+     */
+    public double average(String fieldName) {
+        long columnIndex = getAggregateColumnIndex(fieldName);
+        switch (realm.getTable(clazz).getColumnType(columnIndex)) {
+            case INTEGER:
+                return view.averageLong(columnIndex);
+            case FLOAT:
+                return view.averageFloat(columnIndex);
+            case DOUBLE:
+                return view.averageDouble(columnIndex);
+            default:
+                throw new IllegalArgumentException(String.format(TYPE_MISMATCH, fieldName, "int, float or double"));
+        }
+    }
+
+    private long getAggregateColumnIndex(String fieldName) {
+        if (!managedMode) {
+            throw new RealmException(ONLY_IN_MANAGED_MODE_MESSAGE);
+        }
+        realm.checkIfValid();
+        long columnIndex = realm.columnIndices.getColumnIndex(clazz, fieldName);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
+        }
+        return columnIndex;
+    }
+
+    /**
+     * Returns the objects in this list sorted by a field. The list itself is not modified.
+     *
+     * @param fieldName The field name to sort by. Only fields of type boolean, short, int, long,
+     *                  float, double, Date, and String are supported.
+     * @return A {@link io.realm.RealmResults} containing the objects of this list in ascending order.
+     * @throws java.lang.IllegalArgumentException if field name does not exist.
+     */
+    public RealmResults<E> sort(String fieldName) {
+        return sort(fieldName, RealmResults.SORT_ORDER_ASCENDING);
+    }
+
+    /**
+     * Returns the objects in this list sorted by a field. The list itself is not modified.
+     *
+     * @param fieldName The field name to sort by. Only fields of type boolean, short, int, long,
+     *                  float, double, Date, and String are supported.
+     * @param sortAscending The direction to sort by; if true ascending, otherwise descending.
+     * @return A {@link io.realm.RealmResults} containing the objects of this list in sorted order.
+     * @throws java.lang.IllegalArgumentException if field name does not exist.
+     */
+    public RealmResults<E> sort(String fieldName, boolean sortAscending) {
+        return where().findAllSorted(fieldName, sortAscending);
+    }
+
+    /**
+     * Returns the objects in this list sorted by multiple fields. The list itself is not modified.
+     *
+     * @param fieldNames an array of field names to sort by.
+     * @param sortAscending The directions to sort by; if true ascending, otherwise descending.
+     * @return A {@link io.realm.RealmResults} containing the objects of this list in sorted order.
+     * @throws java.lang.IllegalArgumentException if a field name does not exist.
+     */
+    public RealmResults<E> sort(String fieldNames[], boolean sortAscending[]) {
+        return where().findAllSorted(fieldNames, sortAscending);
+    }
+
     private void checkValidObject(E object) {
         if (object == null) {
             throw new IllegalArgumentException(NULL_OBJECTS_NOT_ALLOWED_MESSAGE);
@@ -16,9 +16,22 @@
 
 package io.realm;
 
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.util.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import io.realm.annotations.RealmClass;
 import io.realm.internal.Row;
 import io.realm.internal.InvalidRow;
+import io.realm.internal.Util;
 
 /**
  * In Realm you define your model classes by sub-classing RealmObject and adding fields to be
@@ -78,6 +91,9 @@ public abstract class RealmObject {
     protected Row row;
     protected Realm realm;
 
+    // Created on first use, as most objects never have listeners
+    private List<RealmObjectChangeListener> changeListeners;
+
     /**
      * Removes the object from the Realm it is currently associated to.
      * <p>
@@ -106,4 +122,108 @@ public abstract class RealmObject {
     public boolean isValid() {
         return row != null && row.isAttached();
     }
+
+    /**
+     * Adds a listener which is called when this object is modified or deleted. Changes to other objects do not
+     * call it. The object is only tracked as long as it is referenced, so keep a reference to it for as long as the
+     * listener should be called. Changes made by a write transaction on this thread are only reported if the listener
+     * was added before the transaction was started.
+     *
+     * @param listener the change listener.
+     * @throws IllegalArgumentException if the listener is {@code null}.
+     * @throws IllegalStateException if the object is not managed by a Realm, or is accessed from the wrong thread.
+     * @see io.realm.RealmObjectChangeListener
+     */
+    public void addChangeListener(RealmObjectChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener should not be null");
+        }
+        if (realm == null) {
+            throw new IllegalStateException("Only objects managed by a Realm can be listened to.");
+        }
+        realm.checkIfValid();
+        if (changeListeners == null) {
+            changeListeners = new CopyOnWriteArrayList<RealmObjectChangeListener>();
+        }
+        if (!changeListeners.contains(listener)) {
+            changeListeners.add(listener);
+        }
+        realm.addObjectChangeListenerTarget(this);
+    }
+
+    /**
+     * Writes the object as a JSON object to an OutputStream, encoded as UTF-8.
+     *
+     * @param out the stream to write to. It is flushed, but not closed.
+     * @param maxDepth number of links to follow from the object. 0 writes the object without any of its links.
+     * @throws IOException if an error occurs writing to the stream.
+     * @throws IllegalArgumentException if {@code maxDepth} is negative.
+     * @throws IllegalStateException if the object is not managed by a Realm or has been deleted.
+     * @see RealmResults#writeJson(OutputStream, int)
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public void writeJson(OutputStream out, int maxDepth) throws IOException {
+        JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(out, "UTF-8")));
+        writeJson(writer, maxDepth);
+        writer.flush();
+    }
+
+    /**
+     * Writes the object as a JSON object to a JsonWriter.
+     *
+     * @param writer the writer to write to.
+     * @param maxDepth number of links to follow from the object. 0 writes the object without any of its links.
+     * @throws IOException if an error occurs writing to the writer.
+     * @throws IllegalArgumentException if {@code maxDepth} is negative.
+     * @throws IllegalStateException if the object is not managed by a Realm or has been deleted.
+     * @see RealmResults#writeJson(OutputStream, int)
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public void writeJson(JsonWriter writer, int maxDepth) throws IOException {
+        if (realm == null) {
+            throw new IllegalStateException("Only objects managed by a Realm can be written as JSON.");
+        }
+        realm.checkIfValid();
+        if (!isValid()) {
+            throw new IllegalStateException("The object has been deleted, so it cannot be written as JSON.");
+        }
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must be >= 0. It was: " + maxDepth);
+        }
+        Class<? extends RealmObject> clazz = Util.getOriginalModelClass(getClass());
+        realm.getConfiguration().getSchemaMediator().writeJson(clazz, realm, new long[] {row.getIndex()}, writer, maxDepth);
+    }
+
+    /**
+     * Removes a listener added with {@link #addChangeListener(RealmObjectChangeListener)}.
+     *
+     * @param listener the change listener to be removed.
+     */
+    public void removeChangeListener(RealmObjectChangeListener listener) {
+        if (changeListeners != null) {
+            changeListeners.remove(listener);
+        }
+    }
+
+    /**
+     * Removes all listeners added with {@link #addChangeListener(RealmObjectChangeListener)}.
+     */
+    public void removeChangeListeners() {
+        if (changeListeners != null) {
+            changeListeners.clear();
+        }
+    }
+
+    boolean hasChangeListeners() {
+        return changeListeners != null && !changeListeners.isEmpty();
+    }
+
+    void notifyChangeListeners(Set<String> changedFields) {
+        if (changeListeners == null) {
+            return;
+        }
+        for (RealmObjectChangeListener listener : changeListeners) {
+            listener.onChange(changedFields);
+        }
+    }
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.Set;
+
+/**
+ * Using RealmObjectChangeListener, it is possible to be notified when a single {@link io.realm.RealmObject} has been
+ * modified or deleted. Unlike a {@link io.realm.RealmChangeListener} added to the Realm, it is not called for
+ * changes to other objects.
+ * <p>
+ * The listener is called on the thread of the object's Realm, when the Realm is updated with changes from other
+ * threads, or right after a commit on the same thread. For changes committed on the same thread the listener is
+ * called if any object of the same class changed, and all fields are reported as changed.
+ *
+ * @see RealmObject#addChangeListener(RealmObjectChangeListener)
+ */
+public interface RealmObjectChangeListener {
+
+    /**
+     * Called when the object has been modified or deleted.
+     *
+     * @param changedFields the names of the fields which were modified. Empty if the object was deleted, in which
+     *                      case {@link RealmObject#isValid()} returns {@code false}.
+     */
+    void onChange(Set<String> changedFields);
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.os.SystemClock;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A pool of open Realm instances for threads which run many short tasks, e.g. the threads of an
+ * {@link java.util.concurrent.Executor}. Opening a Realm instance opens the file, maps the lock file and validates
+ * the schema, which can take longer than the task itself. A pool keeps the instances open between tasks instead:
+ * <pre>
+ *     Realm realm = pool.lease();
+ *     try {
+ *         // Use the Realm
+ *     } finally {
+ *         realm.close();
+ *     }
+ * </pre>
+ * Closing a leased instance hands it back to the pool, and the next lease on any thread reuses it after reading in
+ * the changes made since it was last used. Instances which have not been leased for the idle timeout are closed.
+ * <p>
+ * Leased instances do not refresh automatically. Change listeners added to a leased instance are removed when it is
+ * handed back.
+ */
+public final class RealmPool implements Closeable {
+
+    static final String SWEEPER_THREAD_NAME = "RealmPoolSweeper";
+
+    private final RealmConfiguration configuration;
+    private final long idleTimeoutMs;
+    private final ScheduledExecutorService sweeper;
+
+    // Idle instances with the most recently used first. Only accessed while synchronized on the pool.
+    private final Deque<IdleRealm> idleRealms = new ArrayDeque<IdleRealm>();
+    private boolean closed = false;
+
+    private static class IdleRealm {
+        final Realm realm;
+        final long idleSince;
+
+        IdleRealm(Realm realm, long idleSince) {
+            this.realm = realm;
+            this.idleSince = idleSince;
+        }
+    }
+
+    /**
+     * Creates a pool of instances of the given configuration.
+     *
+     * @param configuration the configuration of the instances.
+     * @param idleTimeout how long an instance is kept open when it is not leased.
+     * @param unit the unit of idleTimeout.
+     * @throws java.lang.IllegalArgumentException if the configuration is null or the timeout is not positive.
+     */
+    public RealmPool(RealmConfiguration configuration, long idleTimeout, TimeUnit unit) {
+        if (configuration == null) {
+            throw new IllegalArgumentException("A non-null RealmConfiguration must be provided");
+        }
+        if (idleTimeout <= 0) {
+            throw new IllegalArgumentException("The idle timeout must be positive: " + idleTimeout);
+        }
+        this.configuration = configuration;
+        this.idleTimeoutMs = Math.max(1, unit.toMillis(idleTimeout));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                // A pool which is never closed must not keep the process alive
+                Thread thread = new Thread(runnable, SWEEPER_THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        sweeper.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                closeIdleRealms(SystemClock.elapsedRealtime() - idleTimeoutMs);
+            }
+        }, idleTimeoutMs, idleTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns an instance for the calling thread. The instance must be closed on the calling thread when it is no
+     * longer used, which hands it back to the pool. If the thread already has an instance of the configuration, that
+     * instance is returned as for {@link Realm#getInstance(RealmConfiguration)}.
+     *
+     * @return an instance which has read in all changes committed before the lease.
+     * @throws java.lang.IllegalStateException if the pool has been closed.
+     */
+    public Realm lease() {
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("The RealmPool has been closed.");
+            }
+        }
+        return Realm.leaseFromPool(this, configuration);
+    }
+
+    /**
+     * Returns the number of instances which are open but not leased.
+     */
+    public synchronized int getIdleCount() {
+        return idleRealms.size();
+    }
+
+    /**
+     * Closes the idle instances and stops pooling. Instances which are leased are closed when their thread closes
+     * them.
+     */
+    @Override
+    public void close() {
+        sweeper.shutdown();
+        List<Realm> realms = new ArrayList<Realm>();
+        synchronized (this) {
+            closed = true;
+            for (IdleRealm idleRealm : idleRealms) {
+                realms.add(idleRealm.realm);
+            }
+            idleRealms.clear();
+        }
+        for (Realm realm : realms) {
+            realm.closeDetached();
+        }
+    }
+
+    synchronized Realm takeIdle() {
+        IdleRealm idleRealm = idleRealms.pollFirst();
+        return (idleRealm != null) ? idleRealm.realm : null;
+    }
+
+    synchronized boolean giveBack(Realm realm) {
+        if (closed) {
+            return false;
+        }
+        idleRealms.addFirst(new IdleRealm(realm, SystemClock.elapsedRealtime()));
+        return true;
+    }
+
+    private void closeIdleRealms(long idleBefore) {
+        List<Realm> realms = new ArrayList<Realm>();
+        synchronized (this) {
+            // The least recently used instances are at the end
+            Iterator<IdleRealm> iterator = idleRealms.descendingIterator();
+            while (iterator.hasNext()) {
+                IdleRealm idleRealm = iterator.next();
+                if (idleRealm.idleSince > idleBefore) {
+                    break;
+                }
+                realms.add(idleRealm.realm);
+                iterator.remove();
+            }
+        }
+        for (Realm realm : realms) {
+            realm.closeDetached();
+        }
+    }
+}
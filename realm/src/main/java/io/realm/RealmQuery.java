@@ -17,12 +17,16 @@
 package io.realm;
 
 
+import org.reactivestreams.Publisher;
+
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import io.realm.QueryRecipe.Operator;
+
 import io.realm.internal.ColumnType;
 import io.realm.internal.LinkView;
 import io.realm.internal.Table;
@@ -57,6 +61,11 @@ public class RealmQuery<E extends RealmObject> {
     private Map<String, Long> columns = new HashMap<String, Long>();
     private Class<E> clazz;
 
+    // The conditions added so far, so the results can be handed over to another thread. Null if the query cannot be
+    // rebuilt, i.e. if it is restricted to a RealmList or to results which cannot be rebuilt.
+    private List<QueryRecipe.Condition> conditions = new ArrayList<QueryRecipe.Condition>();
+    private QueryRecipe parentRecipe;
+
     private static final String LINK_NOT_SUPPORTED_METHOD = "'%s' is not supported for link queries";
 
     public static final boolean CASE_SENSITIVE = true;
@@ -90,6 +99,10 @@ public class RealmQuery<E extends RealmObject> {
         this.table = realm.getTable(clazz);
         this.query = realmList.getTable().where();
         this.columns = realm.columnIndices.getClassFields(clazz);
+        this.parentRecipe = realmList.getRecipe();
+        if (parentRecipe == null) {
+            this.conditions = null;
+        }
     }
 
     RealmQuery(Realm realm, LinkView view, Class<E> clazz) {
@@ -99,6 +112,33 @@ public class RealmQuery<E extends RealmObject> {
         this.view = view;
         this.table = realm.getTable(clazz);
         this.columns = realm.columnIndices.getClassFields(clazz);
+        this.conditions = null;
+    }
+
+    private void record(Operator operator) {
+        record(operator, null, null, null, false);
+    }
+
+    private void record(Operator operator, String fieldName) {
+        record(operator, fieldName, null, null, false);
+    }
+
+    private void record(Operator operator, String fieldName, Object value) {
+        record(operator, fieldName, value, null, false);
+    }
+
+    private void record(Operator operator, String fieldName, String value, boolean caseSensitive) {
+        record(operator, fieldName, value, null, caseSensitive);
+    }
+
+    private void record(Operator operator, String fieldName, Object from, Object to) {
+        record(operator, fieldName, from, to, false);
+    }
+
+    private void record(Operator operator, String fieldName, Object value, Object value2, boolean caseSensitive) {
+        if (conditions != null) {
+            conditions.add(new QueryRecipe.Condition(operator, fieldName, value, value2, caseSensitive));
+        }
     }
 
     private boolean containsDot(String s) {
@@ -184,6 +224,7 @@ public class RealmQuery<E extends RealmObject> {
 
         // checking that fieldName has the correct type is done in C++
         this.query.isNull(columns.get(fieldName));
+        record(Operator.IS_NULL, fieldName);
         return this;
     }
 
@@ -228,6 +269,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> equalTo(String fieldName, String value, boolean caseSensitive) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.STRING);
         this.query.equalTo(columnIndices, value, caseSensitive);
+        record(Operator.EQUAL_TO, fieldName, value, caseSensitive);
         return this;
     }
 
@@ -243,6 +285,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> equalTo(String fieldName, int value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.equalTo(columnIndices, value);
+        record(Operator.EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -258,6 +301,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> equalTo(String fieldName, long value) {
         long[] columnIndices = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.equalTo(columnIndices, value);
+        record(Operator.EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -273,6 +317,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> equalTo(String fieldName, double value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DOUBLE);
         this.query.equalTo(columnIndices, value);
+        record(Operator.EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -288,6 +333,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> equalTo(String fieldName, float value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.FLOAT);
         this.query.equalTo(columnIndices, value);
+        record(Operator.EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -303,6 +349,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> equalTo(String fieldName, boolean value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.BOOLEAN);
         this.query.equalTo(columnIndices, value);
+        record(Operator.EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -318,6 +365,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> equalTo(String fieldName, Date value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DATE);
         this.query.equalTo(columnIndices, value);
+        record(Operator.EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -353,6 +401,7 @@ public class RealmQuery<E extends RealmObject> {
             throw new IllegalArgumentException("Link queries cannot be case insensitive - coming soon.");
         }
         this.query.notEqualTo(columnIndices, value, caseSensitive);
+        record(Operator.NOT_EQUAL_TO, fieldName, value, caseSensitive);
         return this;
     }
 
@@ -368,6 +417,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> notEqualTo(String fieldName, int value) {
         long[] columnIndices = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.notEqualTo(columnIndices, value);
+        record(Operator.NOT_EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -383,6 +433,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> notEqualTo(String fieldName, long value) {
         long[] columnIndices = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.notEqualTo(columnIndices, value);
+        record(Operator.NOT_EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -398,6 +449,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> notEqualTo(String fieldName, double value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DOUBLE);
         this.query.notEqualTo(columnIndices, value);
+        record(Operator.NOT_EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -413,6 +465,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> notEqualTo(String fieldName, float value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.FLOAT);
         this.query.notEqualTo(columnIndices, value);
+        record(Operator.NOT_EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -428,6 +481,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> notEqualTo(String fieldName, boolean value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.BOOLEAN);
         this.query.equalTo(columnIndices, !value);
+        record(Operator.NOT_EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -443,6 +497,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> notEqualTo(String fieldName, Date value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DATE);
         this.query.notEqualTo(columnIndices, value);
+        record(Operator.NOT_EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -460,6 +515,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThan(String fieldName, int value) {
         long[] columnIndices = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.greaterThan(columnIndices, value);
+        record(Operator.GREATER_THAN, fieldName, value);
         return this;
     }
 
@@ -475,6 +531,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThan(String fieldName, long value) {
         long[] columnIndices = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.greaterThan(columnIndices, value);
+        record(Operator.GREATER_THAN, fieldName, value);
         return this;
     }
 
@@ -490,6 +547,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThan(String fieldName, double value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DOUBLE);
         this.query.greaterThan(columnIndices, value);
+        record(Operator.GREATER_THAN, fieldName, value);
         return this;
     }
 
@@ -505,6 +563,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThan(String fieldName, float value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.FLOAT);
         this.query.greaterThan(columnIndices, value);
+        record(Operator.GREATER_THAN, fieldName, value);
         return this;
     }
 
@@ -520,6 +579,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThan(String fieldName, Date value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DATE);
         this.query.greaterThan(columnIndices, value);
+        record(Operator.GREATER_THAN, fieldName, value);
         return this;
     }
 
@@ -535,6 +595,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, int value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.greaterThanOrEqual(columnIndices, value);
+        record(Operator.GREATER_THAN_OR_EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -550,6 +611,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, long value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.greaterThanOrEqual(columnIndices, value);
+        record(Operator.GREATER_THAN_OR_EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -565,6 +627,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, double value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DOUBLE);
         this.query.greaterThanOrEqual(columnIndices, value);
+        record(Operator.GREATER_THAN_OR_EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -580,6 +643,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, float value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.FLOAT);
         this.query.greaterThanOrEqual(columnIndices, value);
+        record(Operator.GREATER_THAN_OR_EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -595,6 +659,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> greaterThanOrEqualTo(String fieldName, Date value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DATE);
         this.query.greaterThanOrEqual(columnIndices, value);
+        record(Operator.GREATER_THAN_OR_EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -612,6 +677,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThan(String fieldName, int value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.lessThan(columnIndices, value);
+        record(Operator.LESS_THAN, fieldName, value);
         return this;
     }
 
@@ -627,6 +693,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThan(String fieldName, long value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.lessThan(columnIndices, value);
+        record(Operator.LESS_THAN, fieldName, value);
         return this;
     }
 
@@ -642,6 +709,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThan(String fieldName, double value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DOUBLE);
         this.query.lessThan(columnIndices, value);
+        record(Operator.LESS_THAN, fieldName, value);
         return this;
     }
 
@@ -657,6 +725,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThan(String fieldName, float value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.FLOAT);
         this.query.lessThan(columnIndices, value);
+        record(Operator.LESS_THAN, fieldName, value);
         return this;
     }
 
@@ -672,6 +741,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThan(String fieldName, Date value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DATE);
         this.query.lessThan(columnIndices, value);
+        record(Operator.LESS_THAN, fieldName, value);
         return this;
     }
 
@@ -687,6 +757,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, int value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.lessThanOrEqual(columnIndices, value);
+        record(Operator.LESS_THAN_OR_EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -702,6 +773,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, long value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.lessThanOrEqual(columnIndices, value);
+        record(Operator.LESS_THAN_OR_EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -717,6 +789,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, double value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DOUBLE);
         this.query.lessThanOrEqual(columnIndices, value);
+        record(Operator.LESS_THAN_OR_EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -732,6 +805,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, float value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.FLOAT);
         this.query.lessThanOrEqual(columnIndices, value);
+        record(Operator.LESS_THAN_OR_EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -747,6 +821,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> lessThanOrEqualTo(String fieldName, Date value) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DATE);
         this.query.lessThanOrEqual(columnIndices, value);
+        record(Operator.LESS_THAN_OR_EQUAL_TO, fieldName, value);
         return this;
     }
 
@@ -765,6 +840,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> between(String fieldName, int from, int to) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.between(columnIndices, from, to);
+        record(Operator.BETWEEN, fieldName, from, to);
         return this;
     }
 
@@ -781,6 +857,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> between(String fieldName, long from, long to) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.INTEGER);
         this.query.between(columnIndices, from, to);
+        record(Operator.BETWEEN, fieldName, from, to);
         return this;
     }
 
@@ -797,6 +874,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> between(String fieldName, double from, double to) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DOUBLE);
         this.query.between(columnIndices, from, to);
+        record(Operator.BETWEEN, fieldName, from, to);
         return this;
     }
 
@@ -813,6 +891,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> between(String fieldName, float from, float to) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.FLOAT);
         this.query.between(columnIndices, from, to);
+        record(Operator.BETWEEN, fieldName, from, to);
         return this;
     }
 
@@ -829,6 +908,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> between(String fieldName, Date from, Date to) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.DATE);
         this.query.between(columnIndices, from, to);
+        record(Operator.BETWEEN, fieldName, from, to);
         return this;
     }
 
@@ -862,6 +942,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> contains(String fieldName, String value, boolean caseSensitive) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.STRING);
         this.query.contains(columnIndices, value, caseSensitive);
+        record(Operator.CONTAINS, fieldName, value, caseSensitive);
         return this;
     }
 
@@ -892,6 +973,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> beginsWith(String fieldName, String value, boolean caseSensitive) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.STRING);
         this.query.beginsWith(columnIndices, value, caseSensitive);
+        record(Operator.BEGINS_WITH, fieldName, value, caseSensitive);
         return this;
     }
 
@@ -922,6 +1004,7 @@ public class RealmQuery<E extends RealmObject> {
     public RealmQuery<E> endsWith(String fieldName, String value, boolean caseSensitive) {
         long columnIndices[] = getColumnIndices(fieldName, ColumnType.STRING);
         this.query.endsWith(columnIndices, value, caseSensitive);
+        record(Operator.ENDS_WITH, fieldName, value, caseSensitive);
         return this;
     }
 
@@ -935,6 +1018,7 @@ public class RealmQuery<E extends RealmObject> {
      */
     public RealmQuery<E> beginGroup() {
         this.query.group();
+        record(Operator.BEGIN_GROUP);
         return this;
     }
 
@@ -946,6 +1030,7 @@ public class RealmQuery<E extends RealmObject> {
      */
     public RealmQuery<E> endGroup() {
         this.query.endGroup();
+        record(Operator.END_GROUP);
         return this;
     }
 
@@ -955,6 +1040,7 @@ public class RealmQuery<E extends RealmObject> {
      */
     public RealmQuery<E> or() {
         this.query.or();
+        record(Operator.OR);
         return this;
     }
 
@@ -964,6 +1050,7 @@ public class RealmQuery<E extends RealmObject> {
      */
     public RealmQuery<E> not() {
         this.query.not();
+        record(Operator.NOT);
         return this;
     }
 
@@ -1152,7 +1239,59 @@ public class RealmQuery<E extends RealmObject> {
      * @throws java.lang.RuntimeException Any other error
      */
     public RealmResults<E> findAll() {
-        return new RealmResults<E>(realm, query.findAll(), clazz);
+        RealmResults<E> results = new RealmResults<E>(realm, query.findAll(), clazz);
+        if (conditions != null) {
+            results.setRecipe(new QueryRecipe(parentRecipe, conditions));
+        }
+        return results;
+    }
+
+    /**
+     * Returns a Reactive Streams {@link Publisher} of the results of the query. Each subscriber receives the results
+     * when it requests them, and again whenever they have changed, on the thread of the Realm. Bursts of commits are
+     * coalesced into a single emission, commits which do not change the results are not emitted, and results are
+     * only emitted while the subscriber has requested more.
+     * <p>
+     * Subscribing must happen on the thread of the Realm, which must have a {@link android.os.Looper}. The query
+     * must not be changed after the publisher has been created.
+     *
+     * @return a publisher of the results of the query.
+     * @see #asPublisher(boolean)
+     */
+    public Publisher<RealmResults<E>> asPublisher() {
+        return asPublisher(false);
+    }
+
+    /**
+     * Returns a Reactive Streams {@link Publisher} of the results of the query, see {@link #asPublisher()}.
+     * <p>
+     * With {@code evaluateInBackground}, the query is kept up to date by a Realm instance on a background thread
+     * instead of the thread of the Realm, and only results which have changed are handed over to it.
+     *
+     * @param evaluateInBackground whether to run the query on a background thread.
+     * @return a publisher of the results of the query.
+     * @throws java.lang.IllegalArgumentException if the query is evaluated in the background but cannot be run by
+     * another Realm instance, e.g. a query on a {@link RealmList}.
+     */
+    public Publisher<RealmResults<E>> asPublisher(boolean evaluateInBackground) {
+        realm.checkIfValid();
+        QueryRecipe recipe = null;
+        if (evaluateInBackground) {
+            if (conditions == null) {
+                throw new IllegalArgumentException("Only queries on a class can be evaluated in the background.");
+            }
+            recipe = new QueryRecipe(parentRecipe, conditions);
+        }
+        return new RealmResultsPublisher<E>(this, realm, clazz, recipe, evaluateInBackground);
+    }
+
+    // Creates the results of this query from the rows found by an equivalent query in another Realm instance at the
+    // same version, without running the query.
+    RealmResults<E> findAll(long[] sourceRowIndexes, String[] sortFieldNames, boolean[] sortAscending) {
+        TableView view = query.findAll(0, 0, 0);
+        RealmResults<E> results = new RealmResults<E>(realm, view, clazz);
+        results.setQueryResult(sourceRowIndexes, sortFieldNames, sortAscending);
+        return results;
     }
 
     /**
@@ -1161,7 +1300,8 @@ public class RealmQuery<E extends RealmObject> {
      * Sorting is currently limited to character sets in 'Latin Basic', 'Latin Supplement', 'Latin Extended A',
      * 'Latin Extended B' (UTF-8 range 0-591). For other character sets, sorting will have no effect.
      *
-     * @param fieldName the field name to sort by.
+     * @param fieldName the field name to sort by. Fields of linked objects can be used by separating the field
+     *                  names with a dot, e.g. "owner.name".
      * @param sortAscending sort ascending if <code>SORT_ORDER_ASCENDING</code>, sort descending
      *                      if <code>SORT_ORDER_DESCENDING</code>
      * @return A {@link io.realm.RealmResults} containing objects. If no objects match the condition,
@@ -1169,14 +1309,21 @@ public class RealmQuery<E extends RealmObject> {
      * @throws java.lang.IllegalArgumentException if field name does not exist.
      */
     public RealmResults<E> findAllSorted(String fieldName, boolean sortAscending) {
-        TableView tableView = query.findAll();
-        TableView.Order order = sortAscending ? TableView.Order.ascending : TableView.Order.descending;
+        checkSortField(fieldName);
+        // Sorting through RealmResults keeps the order up to date incrementally when the results are synced.
+        RealmResults<E> results = findAll();
+        results.sort(fieldName, sortAscending);
+        return results;
+    }
+
+    private void checkSortField(String fieldName) {
+        if (fieldName != null && containsDot(fieldName)) {
+            return; // Link paths are resolved by RealmResults
+        }
         Long columnIndex = columns.get(fieldName);
         if (columnIndex == null || columnIndex < 0) {
             throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
         }
-        tableView.sort(columnIndex, order);
-        return new RealmResults<E>(realm, tableView, clazz);
     }
 
 
@@ -1202,7 +1349,8 @@ public class RealmQuery<E extends RealmObject> {
      * Sorting is currently limited to character sets in 'Latin Basic', 'Latin Supplement', 'Latin Extended A',
      * 'Latin Extended B' (UTF-8 range 0-591). For other character sets, sorting will have no effect.
      *
-     * @param fieldNames an array of field names to sort by.
+     * @param fieldNames an array of field names to sort by. Fields of linked objects can be used by separating
+     *                   the field names with a dot, e.g. "owner.name".
      * @param sortAscending sort ascending if <code>SORT_ORDER_ASCENDING</code>, sort descending
      *                      if <code>SORT_ORDER_DESCENDING</code>.
      * @return A {@link io.realm.RealmResults} containing objects. If no objects match the condition,
@@ -1223,22 +1371,12 @@ public class RealmQuery<E extends RealmObject> {
         if (fieldNames.length == 1 && sortAscending.length == 1) {
             return findAllSorted(fieldNames[0], sortAscending[0]);
         } else {
-            TableView tableView = query.findAll();
-            List<Long> columnIndices = new ArrayList<Long>();
-            List<TableView.Order> orders = new ArrayList<TableView.Order>();
-            for (int i = 0; i < fieldNames.length; i++) {
-                String fieldName = fieldNames[i];
-                Long columnIndex = columns.get(fieldName);
-                if (columnIndex == null || columnIndex < 0) {
-                    throw new IllegalArgumentException(String.format("Field name '%s' does not exist.", fieldName));
-                }
-                columnIndices.add(columnIndex);
-            }
-            for (int i = 0; i < sortAscending.length; i++) {
-                orders.add(sortAscending[i] ? TableView.Order.ascending : TableView.Order.descending);
+            for (String fieldName : fieldNames) {
+                checkSortField(fieldName);
             }
-            tableView.sort(columnIndices, orders);
-            return new RealmResults<E>(realm, tableView, clazz);
+            RealmResults<E> results = findAll();
+            results.sort(fieldNames, sortAscending);
+            return results;
         }
     }
 
@@ -17,16 +17,24 @@
 package io.realm;
 
 
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.util.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.util.AbstractList;
-import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
 import java.util.Date;
 import java.util.Iterator;
-import java.util.List;
 import java.util.ListIterator;
 
 import io.realm.exceptions.RealmException;
 import io.realm.internal.ColumnType;
+import io.realm.internal.RealmProxyMediator;
+import io.realm.internal.Table;
 import io.realm.internal.TableOrView;
 import io.realm.internal.TableView;
 
@@ -62,8 +70,14 @@ public class RealmResults<E extends RealmObject> extends AbstractList<E> {
     public static final boolean SORT_ORDER_DESCENDING = false;
 
     private static final String TYPE_MISMATCH = "Field '%s': type mismatch - %s expected.";
+
+    // Number of objects read and written at a time by writeJson()
+    static final int JSON_CHUNK_SIZE = 1000;
     private long currentTableViewVersion = -1;
 
+    // How to create the results in another Realm instance, or null if they cannot be handed over.
+    private QueryRecipe recipe;
+
     RealmResults(Realm realm, Class<E> classSpec) {
         this.realm = realm;
         this.classSpec = classSpec;
@@ -86,6 +100,54 @@ public class RealmResults<E extends RealmObject> extends AbstractList<E> {
         }
     }
 
+    Class<E> getObjectClass() {
+        return classSpec;
+    }
+
+    QueryRecipe getRecipe() {
+        return recipe;
+    }
+
+    void setRecipe(QueryRecipe recipe) {
+        this.recipe = recipe;
+    }
+
+    // Makes the results hold rows found by an equivalent query in another Realm instance at the same version, in
+    // the order given by the sort fields if any.
+    void setQueryResult(long[] sourceRowIndexes, String[] sortFieldNames, boolean[] sortAscending) {
+        long[][] columnPaths = null;
+        if (sortFieldNames != null) {
+            columnPaths = new long[sortFieldNames.length][];
+            for (int i = 0; i < sortFieldNames.length; i++) {
+                columnPaths[i] = getColumnPath(sortFieldNames[i]);
+            }
+        }
+        ((TableView) table).setQueryResult(sourceRowIndexes, columnPaths, sortAscending);
+    }
+
+    /**
+     * Returns an immutable snapshot of the results which can be read by any thread, e.g. by the threads of an
+     * {@link java.util.concurrent.Executor} rendering or exporting the objects in parallel. All threads see the same
+     * version of the data, which is kept until the snapshot is closed.
+     * <p>
+     * If the Realm of the results has read in all changes, the snapshot holds the same rows as the results.
+     * Otherwise the query of the results is run again at the latest version.
+     *
+     * @return a snapshot of the results.
+     * @throws java.lang.IllegalStateException if called during a write transaction, or if the Realm has not read in
+     * the latest changes and the results do not come from a {@link RealmQuery}.
+     * @see RealmSnapshot
+     */
+    public RealmSnapshot<E> freeze() {
+        return realm.freeze(this);
+    }
+
+    // Brings the results up to date and returns their version, which changes whenever the results may have changed
+    long syncVersion() {
+        realm.checkIfValid();
+        return ((TableView) getTable()).sync();
+    }
+
     /**
      * Returns a typed {@link io.realm.RealmQuery}, which can be used to query for specific
      * objects of this type.
@@ -139,6 +201,74 @@ public class RealmResults<E extends RealmObject> extends AbstractList<E> {
         return get(size()-1);
     }
 
+    /**
+     * Writes the objects as a JSON array to an OutputStream, encoded as UTF-8. Linked objects are not written.
+     *
+     * @param out the stream to write to. It is flushed, but not closed.
+     * @throws IOException if an error occurs writing to the stream.
+     * @see #writeJson(OutputStream, int)
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public void writeJson(OutputStream out) throws IOException {
+        writeJson(out, 0);
+    }
+
+    /**
+     * Writes the objects as a JSON array to an OutputStream, encoded as UTF-8. Every object is written as a JSON
+     * object with the field names as keys, which can be read back by {@link Realm#createAllFromJson(Class, InputStream)}.
+     * Dates are written as milliseconds since the epoch and binary data as Base64.
+     * <p>
+     * Linked objects are written as nested JSON objects up to the given depth, and link fields beyond it are left
+     * out. Objects in a cycle are written again at every level until the depth is reached. The objects are read and
+     * written in chunks, so the memory used does not depend on the number of objects.
+     *
+     * @param out the stream to write to. It is flushed, but not closed.
+     * @param maxDepth number of links to follow from the objects. 0 writes the objects without any of their links.
+     * @throws IOException if an error occurs writing to the stream.
+     * @throws IllegalArgumentException if {@code maxDepth} is negative.
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public void writeJson(OutputStream out, int maxDepth) throws IOException {
+        JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(out, "UTF-8")));
+        writeJson(writer, maxDepth);
+        writer.flush();
+    }
+
+    /**
+     * Writes the objects as a JSON array to a JsonWriter.
+     *
+     * @param writer the writer to write to.
+     * @param maxDepth number of links to follow from the objects. 0 writes the objects without any of their links.
+     * @throws IOException if an error occurs writing to the writer.
+     * @throws IllegalArgumentException if {@code maxDepth} is negative.
+     * @see #writeJson(OutputStream, int)
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public void writeJson(JsonWriter writer, int maxDepth) throws IOException {
+        realm.checkIfValid();
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must be >= 0. It was: " + maxDepth);
+        }
+        RealmProxyMediator mediator = realm.getConfiguration().getSchemaMediator();
+        TableOrView table = getTable();
+        long size = table.size();
+        writer.beginArray();
+        for (long start = 0; start < size; start += JSON_CHUNK_SIZE) {
+            long end = Math.min(start + JSON_CHUNK_SIZE, size);
+            long[] rowIndexes;
+            if (table instanceof TableView) {
+                rowIndexes = ((TableView) table).getSourceRowIndexes(start, end);
+            } else {
+                rowIndexes = new long[(int) (end - start)];
+                for (int i = 0; i < rowIndexes.length; i++) {
+                    rowIndexes[i] = start + i;
+                }
+            }
+            mediator.writeJson(classSpec, realm, rowIndexes, writer, maxDepth);
+        }
+        writer.endArray();
+    }
+
     /**
      * Returns an iterator for the results of a query. Any change to Realm while iterating will
      * cause this iterator to throw a {@link java.util.ConcurrentModificationException} if accessed.
@@ -181,9 +311,6 @@ public class RealmResults<E extends RealmObject> extends AbstractList<E> {
 
     // aux. method used by sort methods
     private long getColumnIndex(String fieldName) {
-        if (fieldName.contains(".")) {
-            throw new IllegalArgumentException("Sorting using child object properties is not supported: " + fieldName);
-        }
         long columnIndex = table.getColumnIndex(fieldName);
         if (columnIndex < 0) {
             throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
@@ -191,11 +318,39 @@ public class RealmResults<E extends RealmObject> extends AbstractList<E> {
         return columnIndex;
     }
 
+    // Converts a field name like "owner.name" into the column indices leading to the field. Only links to single
+    // objects can be followed.
+    private long[] getColumnPath(String fieldName) {
+        if (!fieldName.contains(".")) {
+            return new long[] {getColumnIndex(fieldName)};
+        }
+
+        String[] names = fieldName.split("\\.");
+        long[] columnPath = new long[names.length];
+        Table linkTable = realm.getTable(classSpec);
+        for (int i = 0; i < names.length; i++) {
+            long columnIndex = linkTable.getColumnIndex(names[i]);
+            if (columnIndex < 0) {
+                throw new IllegalArgumentException(String.format("Field '%s' does not exist.", fieldName));
+            }
+            columnPath[i] = columnIndex;
+            if (i < names.length - 1) {
+                if (linkTable.getColumnType(columnIndex) != ColumnType.LINK) {
+                    throw new IllegalArgumentException(String.format("Field '%s': '%s' does not refer to a RealmObject. " +
+                            "Sorting through a RealmList is not supported.", fieldName, names[i]));
+                }
+                linkTable = linkTable.getLinkTarget(columnIndex);
+            }
+        }
+        return columnPath;
+    }
+
     /**
      * Sort (ascending) an existing {@link io.realm.RealmResults}.
      * 
      * @param fieldName  The field name to sort by. Only fields of type boolean, short, int, long,
-     *                   float, double, Date, and String are supported.
+     *                   float, double, Date, and String are supported. Fields of linked objects can be
+     *                   used by separating the field names with a dot, e.g. "owner.name".
      * @throws java.lang.IllegalArgumentException if field name does not exist.
      */
     public void sort(String fieldName) {
@@ -206,7 +361,8 @@ public class RealmResults<E extends RealmObject> extends AbstractList<E> {
      * Sort existing {@link io.realm.RealmResults}.
      *
      * @param fieldName      The field name to sort by. Only fields of type boolean, short, int,
-     *                       long, float, double, Date, and String are supported.
+     *                       long, float, double, Date, and String are supported. Fields of linked
+     *                       objects can be used by separating the field names with a dot, e.g. "owner.name".
      * @param sortAscending  The direction to sort by; if true ascending, otherwise descending
      *                       You can use the constants SORT_ORDER_ASCENDING and SORT_ORDER_DESCENDING
      *                       for readability.
@@ -220,9 +376,10 @@ public class RealmResults<E extends RealmObject> extends AbstractList<E> {
         TableOrView table = getTable();
 
         if (table instanceof TableView) {
-            long columnIndex = getColumnIndex(fieldName);
-            TableView.Order TVOrder = sortAscending ? TableView.Order.ascending : TableView.Order.descending;
-            ((TableView) table).sort(columnIndex, TVOrder);
+            ((TableView) table).sort(new long[][] {getColumnPath(fieldName)}, new boolean[] {sortAscending});
+            if (recipe != null) {
+                recipe = recipe.sorted(new String[] {fieldName}, new boolean[] {sortAscending});
+            }
         } else {
             throw new IllegalArgumentException("Only RealmResults can be sorted - please use allObject() to create a RealmResults.");
         }
@@ -232,7 +389,8 @@ public class RealmResults<E extends RealmObject> extends AbstractList<E> {
      * Sort existing {@link io.realm.RealmResults}.
      *
      * @param fieldNames an array of field names to sort by. Only fields of type boolean, short, int,
-     *                       long, float, double, Date, and String are supported.
+     *                       long, float, double, Date, and String are supported. Fields of linked
+     *                       objects can be used by separating the field names with a dot, e.g. "owner.name".
      * @param sortAscending The directions to sort by; if true ascending, otherwise descending
      *                       You can use the constants SORT_ORDER_ASCENDING and SORT_ORDER_DESCENDING
      *                       for readability.
@@ -251,22 +409,18 @@ public class RealmResults<E extends RealmObject> extends AbstractList<E> {
             realm.checkIfValid();
             TableOrView table = getTable();
             if (table instanceof TableView) {
-                List<TableView.Order> TVOrder = new ArrayList<TableView.Order>();
-                List<Long> columnIndices = new ArrayList<Long>();
+                long[][] columnPaths = new long[fieldNames.length][];
                 for (int i = 0; i < fieldNames.length; i++) {
-                    String fieldName = fieldNames[i];
-                    long columnIndex = getColumnIndex(fieldName);
-                    columnIndices.add(columnIndex);
+                    columnPaths[i] = getColumnPath(fieldNames[i]);
                 }
-                for (int i = 0; i < sortAscending.length; i++) {
-                    TVOrder.add(sortAscending[i] ? TableView.Order.ascending : TableView.Order.descending);
+                ((TableView) table).sort(columnPaths, sortAscending);
+                if (recipe != null) {
+                    recipe = recipe.sorted(fieldNames, sortAscending);
                 }
-                ((TableView) table).sort(columnIndices, TVOrder);
             }
         }
     }
 
-
     /**
      * Sort existing {@link io.realm.RealmResults} using two fields.
      *
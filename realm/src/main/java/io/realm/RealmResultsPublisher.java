@@ -0,0 +1,298 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The publisher returned by {@link RealmQuery#asPublisher()}. Every subscription runs the query once and emits the
+ * results whenever they have changed, on the thread of the Realm.
+ * <p>
+ * Subscriptions listen for changes to the class of the query, so commits which only touch other classes are ignored.
+ * A change schedules an emission {@link #COALESCE_WINDOW_MS} later, and all changes until then are delivered by that
+ * single emission. The results are only emitted if their version has changed since the last emission, and only while
+ * the subscriber has outstanding demand. Changes which arrive without demand are delivered by the next request.
+ * <p>
+ * With background evaluation, the query is kept up to date by a Realm instance on a background thread, and results
+ * which have changed are handed over to the thread of the subscription. If both instances are at the same version,
+ * the rows found in the background are used without running the query again.
+ */
+final class RealmResultsPublisher<E extends RealmObject> implements Publisher<RealmResults<E>> {
+
+    // About one frame, so a hot list is redrawn at most once per frame
+    static final long COALESCE_WINDOW_MS = 16;
+
+    private final RealmQuery<E> query;
+    private final Realm realm;
+    private final Class<E> clazz;
+    private final QueryRecipe recipe;
+    private final boolean evaluateInBackground;
+
+    /**
+     * @param recipe the recipe of the query, only needed for background evaluation.
+     */
+    RealmResultsPublisher(RealmQuery<E> query, Realm realm, Class<E> clazz, QueryRecipe recipe,
+                          boolean evaluateInBackground) {
+        this.query = query;
+        this.realm = realm;
+        this.clazz = clazz;
+        this.recipe = recipe;
+        this.evaluateInBackground = evaluateInBackground;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super RealmResults<E>> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("A non-null Subscriber must be provided");
+        }
+        realm.checkIfValid();
+        if (Looper.myLooper() == null) {
+            throw new IllegalStateException("Results can only be published on a thread with a Looper.");
+        }
+        ResultsSubscription subscription = new ResultsSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.start();
+    }
+
+    private class ResultsSubscription implements Subscription, RealmChangeListener {
+
+        private final Subscriber<? super RealmResults<E>> subscriber;
+        private final Handler handler = new Handler();
+        private final ExecutorService backgroundExecutor;
+
+        // Only accessed on the thread of the Realm
+        private RealmResults<E> results;
+        private long emittedVersion = -1;
+        private long demand = 0;
+        private boolean changed = true;
+        private boolean emissionScheduled = false;
+        private boolean evaluating = false;
+        private boolean started = false;
+        private boolean done = false;
+
+        // Only accessed on the background thread
+        private Realm backgroundRealm;
+        private RealmResults<E> backgroundResults;
+        private long backgroundVersion = -1;
+
+        private final Runnable emission = new Runnable() {
+            @Override
+            public void run() {
+                emissionScheduled = false;
+                emit();
+            }
+        };
+
+        ResultsSubscription(Subscriber<? super RealmResults<E>> subscriber) {
+            this.subscriber = subscriber;
+            this.backgroundExecutor = evaluateInBackground ? Executors.newSingleThreadExecutor() : null;
+        }
+
+        void start() {
+            if (done) {
+                return;
+            }
+            started = true;
+            realm.addChangeListener(clazz, this);
+            if (demand > 0) {
+                emit();
+            }
+        }
+
+        @Override
+        public void request(final long n) {
+            if (Looper.myLooper() == handler.getLooper()) {
+                addDemand(n);
+            } else {
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        addDemand(n);
+                    }
+                });
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (Looper.myLooper() == handler.getLooper()) {
+                finish();
+            } else {
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        finish();
+                    }
+                });
+            }
+        }
+
+        @Override
+        public void onChange() {
+            changed = true;
+            if (!emissionScheduled && demand > 0) {
+                emissionScheduled = true;
+                handler.postDelayed(emission, COALESCE_WINDOW_MS);
+            }
+        }
+
+        private void addDemand(long n) {
+            if (done) {
+                return;
+            }
+            if (n <= 0) {
+                fail(new IllegalArgumentException("The number of requested results must be positive: " + n));
+                return;
+            }
+            boolean hadDemand = demand > 0;
+            demand = (demand + n < 0) ? Long.MAX_VALUE : demand + n;
+            // Changes which arrived without demand are emitted at once
+            if (!hadDemand && started && changed && !emissionScheduled) {
+                emit();
+            }
+        }
+
+        private void emit() {
+            if (done || demand == 0 || !changed || evaluating) {
+                return;
+            }
+            changed = false;
+            try {
+                if (evaluateInBackground) {
+                    evaluateInBackground();
+                } else {
+                    if (results == null) {
+                        results = query.findAll();
+                    }
+                    long version = results.syncVersion();
+                    if (version != emittedVersion) {
+                        emittedVersion = version;
+                        deliver(results);
+                    }
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private void deliver(RealmResults<E> results) {
+            if (demand != Long.MAX_VALUE) {
+                demand--;
+            }
+            subscriber.onNext(results);
+        }
+
+        private void evaluateInBackground() {
+            evaluating = true;
+            backgroundExecutor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    final RealmHandover<RealmResults<E>> handover;
+                    try {
+                        handover = evaluate();
+                    } catch (final RuntimeException e) {
+                        handler.post(new Runnable() {
+                            @Override
+                            public void run() {
+                                evaluating = false;
+                                fail(e);
+                            }
+                        });
+                        return;
+                    }
+                    handler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            evaluating = false;
+                            if (done) {
+                                return;
+                            }
+                            if (handover != null) {
+                                try {
+                                    deliver(realm.importFromHandover(handover));
+                                } catch (RuntimeException e) {
+                                    fail(e);
+                                    return;
+                                }
+                            }
+                            // Changes which arrived during the evaluation
+                            emit();
+                        }
+                    });
+                }
+            });
+        }
+
+        // Runs on the background thread. Returns null if the results have not changed.
+        private RealmHandover<RealmResults<E>> evaluate() {
+            if (backgroundRealm == null) {
+                backgroundRealm = Realm.getInstance(realm.getConfiguration());
+                backgroundResults = recipe.findAll(backgroundRealm, clazz);
+            } else {
+                backgroundRealm.refresh();
+            }
+            long version = backgroundResults.syncVersion();
+            if (version == backgroundVersion) {
+                return null;
+            }
+            backgroundVersion = version;
+            return backgroundRealm.exportForHandover(backgroundResults);
+        }
+
+        private void fail(Throwable error) {
+            if (!done) {
+                finish();
+                subscriber.onError(error);
+            }
+        }
+
+        private void finish() {
+            if (done) {
+                return;
+            }
+            done = true;
+            handler.removeCallbacks(emission);
+            if (started) {
+                try {
+                    realm.removeChangeListener(this);
+                } catch (IllegalStateException ignored) {
+                    // The Realm has been closed, which removed the listener as well
+                }
+            }
+            if (backgroundExecutor != null) {
+                backgroundExecutor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (backgroundRealm != null) {
+                            backgroundRealm.close();
+                            backgroundRealm = null;
+                        }
+                    }
+                });
+                backgroundExecutor.shutdown();
+            }
+        }
+    }
+}
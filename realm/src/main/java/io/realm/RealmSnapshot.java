@@ -0,0 +1,176 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.io.Closeable;
+import java.util.AbstractList;
+import java.util.Date;
+
+/**
+ * An immutable snapshot of a {@link RealmResults}, created with {@link RealmResults#freeze()}. Unlike the results it
+ * was created from, a snapshot can be read by any thread, and it never changes: all readers see the version of the
+ * data the snapshot was created at, even if other threads commit changes in the meantime.
+ * <pre>
+ *     RealmSnapshot&lt;Dog&gt; dogs = realm.where(Dog.class).findAll().freeze();
+ *     try {
+ *         // Hand dogs to other threads
+ *     } finally {
+ *         dogs.close();
+ *     }
+ * </pre>
+ * A snapshot keeps its version of the data alive, which makes the Realm file grow if other threads commit changes.
+ * It must be closed when it is no longer used, as the garbage collector does not release the version.
+ * <p>
+ * The objects returned by a snapshot are standalone copies, see {@link Realm#copyFromRealm(RealmObject)}. They can be
+ * used by any thread and after the snapshot has been closed, and changes to them are not persisted. Calls to the
+ * snapshot are serialized, so large snapshots should be split between threads by index rather than iterated by all
+ * threads.
+ *
+ * @param <E> the class of the objects in the snapshot.
+ */
+public final class RealmSnapshot<E extends RealmObject> extends AbstractList<E> implements Closeable {
+
+    private static final String CLOSED_MESSAGE = "This RealmSnapshot has been closed.";
+
+    private final Realm realm;
+    private final RealmResults<E> results;
+    private final long version;
+    private boolean closed = false;
+
+    RealmSnapshot(Realm realm, RealmResults<E> results, long version) {
+        this.realm = realm;
+        this.results = results;
+        this.version = version;
+    }
+
+    /**
+     * Returns the version of the data seen by the snapshot.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns a standalone copy of the object at the given location, including all objects it refers to.
+     *
+     * @throws java.lang.IllegalStateException if the snapshot has been closed.
+     * @see #get(int, int)
+     */
+    @Override
+    public E get(int location) {
+        return get(location, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a standalone copy of the object at the given location, following its links up to the given depth.
+     *
+     * @param location the index of the object.
+     * @param maxDepth number of links to follow from the object. 0 copies the object without any of its links.
+     * @return a standalone copy of the object.
+     * @throws java.lang.IllegalStateException if the snapshot has been closed.
+     * @see Realm#copyFromRealm(RealmObject, int)
+     */
+    public synchronized E get(int location, int maxDepth) {
+        checkOpen();
+        // The objects of the snapshot's Realm must only be read while holding the lock, so they are never returned
+        return realm.copyFromRealm(results.get(location), maxDepth);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws java.lang.IllegalStateException if the snapshot has been closed.
+     */
+    @Override
+    public synchronized int size() {
+        checkOpen();
+        return results.size();
+    }
+
+    /**
+     * @see RealmResults#min(String)
+     */
+    public synchronized Number min(String fieldName) {
+        checkOpen();
+        return results.min(fieldName);
+    }
+
+    /**
+     * @see RealmResults#minDate(String)
+     */
+    public synchronized Date minDate(String fieldName) {
+        checkOpen();
+        return results.minDate(fieldName);
+    }
+
+    /**
+     * @see RealmResults#max(String)
+     */
+    public synchronized Number max(String fieldName) {
+        checkOpen();
+        return results.max(fieldName);
+    }
+
+    /**
+     * @see RealmResults#maxDate(String)
+     */
+    public synchronized Date maxDate(String fieldName) {
+        checkOpen();
+        return results.maxDate(fieldName);
+    }
+
+    /**
+     * @see RealmResults#sum(String)
+     */
+    public synchronized Number sum(String fieldName) {
+        checkOpen();
+        return results.sum(fieldName);
+    }
+
+    /**
+     * @see RealmResults#average(String)
+     */
+    public synchronized double average(String fieldName) {
+        checkOpen();
+        return results.average(fieldName);
+    }
+
+    /**
+     * Releases the version of the data seen by the snapshot. The snapshot and its objects cannot be used afterwards.
+     * Can be called by any thread.
+     */
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            realm.closeDetached();
+        }
+    }
+
+    /**
+     * Returns {@code true} if the snapshot has been closed.
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException(CLOSED_MESSAGE);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.realm.internal.log.RealmLog;
+
+/**
+ * Serializes the writers of a Realm file before they ask core for the write lock, which can only be waited for
+ * without a timeout. Writers of this process first pass a lock of the process, and then take a file lock on a file
+ * next to the Realm, which serializes them with the writers of other processes. Both can be waited for with a
+ * timeout, and a writer holding both only competes for core's write lock with writers that do not use the gate. The
+ * gate also measures how long writers wait and hold the lock.
+ */
+final class WriteLockGate {
+
+    static final String LOCK_FILE_SUFFIX = ".writer";
+
+    // Bounds of the sleep between attempts to take the file lock while a writer of another process holds it
+    private static final long MIN_FILE_LOCK_RETRY_NS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_FILE_LOCK_RETRY_NS = TimeUnit.MILLISECONDS.toNanos(16);
+
+    private static final Map<String, WriteLockGate> gates = new ConcurrentHashMap<String, WriteLockGate>();
+
+    private final String path;
+    private final ReentrantLock lock = new ReentrantLock(true);
+
+    // Only accessed while synchronized on the gate
+    private long acquisitions;
+    private long timeouts;
+    private int waitingWriters;
+    private int maxWaitingWriters;
+    private final long[] waitTimeHistogram = new long[WriteLockStats.BUCKET_UPPER_BOUNDS_MS.length];
+    private final long[] holdTimeHistogram = new long[WriteLockStats.BUCKET_UPPER_BOUNDS_MS.length];
+    private long totalWaitTimeNs;
+    private long maxWaitTimeNs;
+    private long totalHoldTimeNs;
+    private long maxHoldTimeNs;
+    private String maxHoldThreadName;
+
+    // Only accessed by the thread holding the lock. The file is opened for every write transaction, so a lock file
+    // deleted with the Realm is created again.
+    private long heldSince;
+    private RandomAccessFile lockFile;
+    private FileLock fileLock;
+
+    private WriteLockGate(String path) {
+        this.path = path;
+    }
+
+    static WriteLockGate forPath(String path) {
+        WriteLockGate gate = gates.get(path);
+        if (gate == null) {
+            synchronized (gates) {
+                gate = gates.get(path);
+                if (gate == null) {
+                    gate = new WriteLockGate(path);
+                    gates.put(path, gate);
+                }
+            }
+        }
+        return gate;
+    }
+
+    /**
+     * Waits for the gate without a timeout.
+     */
+    void acquire() {
+        long start = startWaiting();
+        lock.lock();
+        if (lock.getHoldCount() == 1) {
+            try {
+                lockFile(Long.MAX_VALUE);
+            } catch (InterruptedException e) {
+                // Core's write lock is still taken, the file lock only bounds the wait
+                Thread.currentThread().interrupt();
+            }
+        }
+        acquired(start);
+    }
+
+    /**
+     * Waits for the gate for at most the given time.
+     *
+     * @return {@code true} if the gate was acquired, {@code false} on timeout.
+     */
+    boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long start = startWaiting();
+        boolean locked = false;
+        try {
+            locked = lock.tryLock(timeout, unit);
+            if (locked && lock.getHoldCount() == 1
+                    && !lockFile(unit.toNanos(timeout) - (System.nanoTime() - start))) {
+                lock.unlock();
+                locked = false;
+            }
+        } catch (InterruptedException e) {
+            if (locked) {
+                lock.unlock();
+                locked = false;
+            }
+            throw e;
+        } finally {
+            if (locked) {
+                acquired(start);
+            } else {
+                synchronized (this) {
+                    waitingWriters--;
+                    timeouts++;
+                }
+            }
+        }
+        return locked;
+    }
+
+    /**
+     * Releases the gate if the calling thread holds it.
+     */
+    void release() {
+        if (!lock.isHeldByCurrentThread()) {
+            return;
+        }
+        if (lock.getHoldCount() == 1) {
+            unlockFile();
+            long holdTime = System.nanoTime() - heldSince;
+            synchronized (this) {
+                holdTimeHistogram[WriteLockStats.bucketOf(holdTime)]++;
+                totalHoldTimeNs += holdTime;
+                if (holdTime > maxHoldTimeNs) {
+                    maxHoldTimeNs = holdTime;
+                    maxHoldThreadName = Thread.currentThread().getName();
+                }
+            }
+        }
+        lock.unlock();
+    }
+
+    synchronized WriteLockStats getStats() {
+        return new WriteLockStats(path, acquisitions, timeouts, waitingWriters, maxWaitingWriters,
+                waitTimeHistogram.clone(), holdTimeHistogram.clone(), totalWaitTimeNs, maxWaitTimeNs,
+                totalHoldTimeNs, maxHoldTimeNs, maxHoldThreadName);
+    }
+
+    static WriteLockStats getStats(String path) {
+        WriteLockGate gate = gates.get(path);
+        return (gate != null) ? gate.getStats() : null;
+    }
+
+    // Takes the file lock, waiting for writers of other processes for at most the given time. Returns false if the
+    // time passed first. If the lock file cannot be used, writers of other processes are not waited for here.
+    private boolean lockFile(long timeoutNs) throws InterruptedException {
+        long start = System.nanoTime();
+        String lockFilePath = path + LOCK_FILE_SUFFIX;
+        try {
+            lockFile = new RandomAccessFile(lockFilePath, "rw");
+            long retryNs = MIN_FILE_LOCK_RETRY_NS;
+            while ((fileLock = tryLockFile()) == null) {
+                long remainingNs = timeoutNs - (System.nanoTime() - start);
+                if (remainingNs <= 0) {
+                    closeLockFile();
+                    return false;
+                }
+                long sleepNs = Math.min(retryNs, remainingNs);
+                Thread.sleep(TimeUnit.NANOSECONDS.toMillis(sleepNs), (int) (sleepNs % 1000000));
+                retryNs = Math.min(retryNs * 2, MAX_FILE_LOCK_RETRY_NS);
+            }
+        } catch (IOException e) {
+            RealmLog.w("Could not lock " + lockFilePath + ": " + e.getMessage());
+            closeLockFile();
+        } catch (InterruptedException e) {
+            closeLockFile();
+            throw e;
+        }
+        return true;
+    }
+
+    private FileLock tryLockFile() throws IOException {
+        try {
+            return lockFile.getChannel().tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Held through another channel of this process, which is waited for like a writer of another process
+            return null;
+        }
+    }
+
+    private void unlockFile() {
+        if (fileLock != null) {
+            try {
+                fileLock.release();
+            } catch (IOException e) {
+                RealmLog.w("Could not unlock " + path + LOCK_FILE_SUFFIX + ": " + e.getMessage());
+            }
+            fileLock = null;
+        }
+        closeLockFile();
+    }
+
+    private void closeLockFile() {
+        if (lockFile != null) {
+            try {
+                lockFile.close();
+            } catch (IOException ignored) {
+            }
+            lockFile = null;
+        }
+    }
+
+    private long startWaiting() {
+        synchronized (this) {
+            waitingWriters++;
+            maxWaitingWriters = Math.max(maxWaitingWriters, waitingWriters);
+        }
+        return System.nanoTime();
+    }
+
+    private void acquired(long start) {
+        long now = System.nanoTime();
+        long waitTime = now - start;
+        if (lock.getHoldCount() == 1) {
+            heldSince = now;
+        }
+        synchronized (this) {
+            waitingWriters--;
+            acquisitions++;
+            waitTimeHistogram[WriteLockStats.bucketOf(waitTime)]++;
+            totalWaitTimeNs += waitTime;
+            maxWaitTimeNs = Math.max(maxWaitTimeNs, waitTime);
+        }
+    }
+}
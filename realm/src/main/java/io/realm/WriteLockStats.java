@@ -0,0 +1,180 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics about the write transactions of a Realm file in this process, as returned by
+ * {@link Realm#getWriteLockStats(RealmConfiguration)}. They count from the first write transaction on the file since
+ * the process started.
+ * <p>
+ * Wait times run from the call to {@link Realm#beginTransaction()} or
+ * {@link Realm#tryBeginTransaction(long, TimeUnit)} until no other thread of this process writes to the file. Hold
+ * times run from then until the transaction is committed or cancelled, so a long hold time points to a writer doing
+ * too much work in its transaction. Writers in other processes are not measured.
+ * <p>
+ * The histograms count the transactions per time bucket. Bucket {@code i} holds the times which are at most
+ * {@code getBucketUpperBoundsMs()[i]} milliseconds and larger than the bound of the previous bucket.
+ * <p>
+ * A WriteLockStats is a snapshot taken when it was returned, and does not change afterwards.
+ */
+public final class WriteLockStats {
+
+    // The upper bounds in milliseconds of the histogram buckets. The last bucket has no upper bound.
+    static final long[] BUCKET_UPPER_BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000,
+            Long.MAX_VALUE};
+
+    private final String path;
+    private final long acquisitions;
+    private final long timeouts;
+    private final int waitingWriters;
+    private final int maxWaitingWriters;
+    private final long[] waitTimeHistogram;
+    private final long[] holdTimeHistogram;
+    private final long totalWaitTimeNs;
+    private final long maxWaitTimeNs;
+    private final long totalHoldTimeNs;
+    private final long maxHoldTimeNs;
+    private final String maxHoldThreadName;
+
+    WriteLockStats(String path, long acquisitions, long timeouts, int waitingWriters, int maxWaitingWriters,
+                   long[] waitTimeHistogram, long[] holdTimeHistogram, long totalWaitTimeNs, long maxWaitTimeNs,
+                   long totalHoldTimeNs, long maxHoldTimeNs, String maxHoldThreadName) {
+        this.path = path;
+        this.acquisitions = acquisitions;
+        this.timeouts = timeouts;
+        this.waitingWriters = waitingWriters;
+        this.maxWaitingWriters = maxWaitingWriters;
+        this.waitTimeHistogram = waitTimeHistogram;
+        this.holdTimeHistogram = holdTimeHistogram;
+        this.totalWaitTimeNs = totalWaitTimeNs;
+        this.maxWaitTimeNs = maxWaitTimeNs;
+        this.totalHoldTimeNs = totalHoldTimeNs;
+        this.maxHoldTimeNs = maxHoldTimeNs;
+        this.maxHoldThreadName = maxHoldThreadName;
+    }
+
+    /**
+     * Returns the upper bounds in milliseconds of the histogram buckets. The bound of the last bucket is
+     * {@link Long#MAX_VALUE}.
+     */
+    public static long[] getBucketUpperBoundsMs() {
+        return BUCKET_UPPER_BOUNDS_MS.clone();
+    }
+
+    static int bucketOf(long timeNs) {
+        long timeMs = TimeUnit.NANOSECONDS.toMillis(timeNs);
+        int bucket = 0;
+        while (timeMs > BUCKET_UPPER_BOUNDS_MS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    /**
+     * Returns the canonical path of the Realm file.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the number of write transactions which have been started.
+     */
+    public long getAcquisitions() {
+        return acquisitions;
+    }
+
+    /**
+     * Returns the number of calls to {@link Realm#tryBeginTransaction(long, TimeUnit)} which timed out.
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * Returns the number of threads which are waiting to start a write transaction.
+     */
+    public int getContendingWriters() {
+        return waitingWriters;
+    }
+
+    /**
+     * Returns the largest number of threads which have been waiting to start a write transaction at the same time.
+     */
+    public int getMaxContendingWriters() {
+        return maxWaitingWriters;
+    }
+
+    /**
+     * Returns the histogram of the wait times, see {@link #getBucketUpperBoundsMs()}.
+     */
+    public long[] getWaitTimeHistogram() {
+        return waitTimeHistogram.clone();
+    }
+
+    /**
+     * Returns the histogram of the hold times, see {@link #getBucketUpperBoundsMs()}.
+     */
+    public long[] getHoldTimeHistogram() {
+        return holdTimeHistogram.clone();
+    }
+
+    /**
+     * Returns the sum of all wait times in milliseconds.
+     */
+    public long getTotalWaitTimeMs() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitTimeNs);
+    }
+
+    /**
+     * Returns the longest wait time in milliseconds.
+     */
+    public long getMaxWaitTimeMs() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitTimeNs);
+    }
+
+    /**
+     * Returns the sum of all hold times in milliseconds.
+     */
+    public long getTotalHoldTimeMs() {
+        return TimeUnit.NANOSECONDS.toMillis(totalHoldTimeNs);
+    }
+
+    /**
+     * Returns the longest hold time in milliseconds.
+     */
+    public long getMaxHoldTimeMs() {
+        return TimeUnit.NANOSECONDS.toMillis(maxHoldTimeNs);
+    }
+
+    /**
+     * Returns the name of the thread which held the lock for the longest time, or {@code null} if no write
+     * transaction has ended yet.
+     */
+    public String getMaxHoldThreadName() {
+        return maxHoldThreadName;
+    }
+
+    @Override
+    public String toString() {
+        return path + ": " + acquisitions + " transactions, " + timeouts + " timeouts, max " + maxWaitingWriters +
+                " contending writers, max wait " + getMaxWaitTimeMs() + " ms, max hold " + getMaxHoldTimeMs() +
+                " ms by thread '" + maxHoldThreadName + "'";
+    }
+}
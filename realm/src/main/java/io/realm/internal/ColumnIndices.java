@@ -36,6 +36,13 @@ public class ColumnIndices {
         classes.put(clazz, indicies);
     }
 
+    /**
+     * Add the column indices of all model classes from another instance
+     */
+    public void addAll(ColumnIndices other) {
+        classes.putAll(other.classes);
+    }
+
     /**
      * Return mappings for the given class or null if no mapping exists.
      */
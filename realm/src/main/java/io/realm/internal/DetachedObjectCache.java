@@ -0,0 +1,166 @@
+/*
+ * Copyright 2015 Realm Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.realm.internal;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import io.realm.Realm;
+import io.realm.RealmObject;
+
+/**
+ * Keeps track of the standalone copies made while detaching objects from a Realm, so every row is only copied once
+ * and cyclic references between objects end up as cyclic references between the copies.
+ *
+ * A copy is remembered together with the depth it was made at. As the links of a copy are only followed up to the
+ * maximum depth, a copy made deeper in the object graph holds less data than a copy made closer to the root, and is
+ * not reused when the same row is needed closer to the root.
+ *
+ * The links of new copies are not followed at once, but queued as pending links. They are followed breadth-first by
+ * {@link #copyPendingLinks(RealmProxyMediator, Realm, int)}, so long chains of links do not nest calls, and every
+ * row is first copied at the smallest depth it is reached at.
+ */
+public final class DetachedObjectCache {
+
+    private static class PendingLinks<E extends RealmObject> {
+        final Class<E> clazz;
+        final List<E> copies;
+        final long[] rowIndexes;
+        final int depth;
+
+        PendingLinks(Class<E> clazz, List<E> copies, long[] rowIndexes, int depth) {
+            this.clazz = clazz;
+            this.copies = copies;
+            this.rowIndexes = rowIndexes;
+            this.depth = depth;
+        }
+
+        void copy(RealmProxyMediator mediator, Realm realm, int maxDepth, DetachedObjectCache cache) {
+            mediator.copyDetachedLinks(clazz, realm, copies, rowIndexes, depth, maxDepth, cache);
+        }
+    }
+
+    private static class CachedCopy {
+        final RealmObject copy;
+        final int depth;
+
+        CachedCopy(RealmObject copy, int depth) {
+            this.copy = copy;
+            this.depth = depth;
+        }
+    }
+
+    private final Map<Class<? extends RealmObject>, Map<Long, CachedCopy>> copies =
+            new IdentityHashMap<Class<? extends RealmObject>, Map<Long, CachedCopy>>();
+    private final Queue<PendingLinks<?>> pendingLinks = new ArrayDeque<PendingLinks<?>>();
+
+    /**
+     * Returns the copy of a row, if it has been made at the given depth or closer to the root.
+     *
+     * @param clazz     Model class of the row.
+     * @param rowIndex  Index of the row in the table of the model class.
+     * @param depth     Depth the copy is needed at.
+     * @return the copy or {@code null} if the row must be copied.
+     */
+    @SuppressWarnings("unchecked")
+    public <E extends RealmObject> E get(Class<E> clazz, long rowIndex, int depth) {
+        Map<Long, CachedCopy> classCopies = copies.get(clazz);
+        if (classCopies == null) {
+            return null;
+        }
+        CachedCopy cachedCopy = classCopies.get(rowIndex);
+        if (cachedCopy == null || cachedCopy.depth > depth) {
+            return null;
+        }
+        return (E) cachedCopy.copy;
+    }
+
+    /**
+     * Remembers the copy of a row. A copy made earlier at a greater depth is replaced.
+     *
+     * @param clazz     Model class of the row.
+     * @param rowIndex  Index of the row in the table of the model class.
+     * @param depth     Depth the copy was made at.
+     * @param copy      The standalone copy.
+     */
+    public <E extends RealmObject> void put(Class<E> clazz, long rowIndex, int depth, E copy) {
+        Map<Long, CachedCopy> classCopies = copies.get(clazz);
+        if (classCopies == null) {
+            classCopies = new HashMap<Long, CachedCopy>();
+            copies.put(clazz, classCopies);
+        }
+        classCopies.put(rowIndex, new CachedCopy(copy, depth));
+    }
+
+    /**
+     * Queues the links of new copies to be followed by {@link #copyPendingLinks(RealmProxyMediator, Realm, int)}.
+     *
+     * @param clazz         Model class of the rows.
+     * @param copies        The new copies.
+     * @param rowIndexes    Indexes of the rows the copies were made of.
+     * @param depth         Depth the copies were made at.
+     */
+    public <E extends RealmObject> void addPendingLinks(Class<E> clazz, List<E> copies, long[] rowIndexes, int depth) {
+        pendingLinks.add(new PendingLinks<E>(clazz, copies, rowIndexes, depth));
+    }
+
+    /**
+     * Follows the links of all copies, copying the rows they link to, until no links are left within the maximum
+     * depth.
+     *
+     * @param mediator  Mediator of the schema of the Realm.
+     * @param realm     Realm the rows are in.
+     * @param maxDepth  Number of links to follow from the rows copied first.
+     */
+    public void copyPendingLinks(RealmProxyMediator mediator, Realm realm, int maxDepth) {
+        PendingLinks<?> links;
+        while ((links = pendingLinks.poll()) != null) {
+            links.copy(mediator, realm, maxDepth, this);
+        }
+    }
+
+    /**
+     * Reads the target rows of a link list column for a number of rows.
+     *
+     * @param table         Table the rows are in.
+     * @param columnIndex   Index of the link list column.
+     * @param rowIndexes    Rows to read the link lists of.
+     * @param sizes         Filled with the size of the link list of every row.
+     * @return the target row indexes of all the link lists, one list after the other.
+     */
+    public static long[] getLinkListTargets(Table table, long columnIndex, long[] rowIndexes, int[] sizes) {
+        LinkView[] linkViews = new LinkView[rowIndexes.length];
+        int total = 0;
+        for (int i = 0; i < rowIndexes.length; i++) {
+            linkViews[i] = table.getUncheckedRow(rowIndexes[i]).getLinkList(columnIndex);
+            sizes[i] = (int) linkViews[i].size();
+            total += sizes[i];
+        }
+        long[] targets = new long[total];
+        int pos = 0;
+        for (int i = 0; i < rowIndexes.length; i++) {
+            for (int j = 0; j < sizes[i]; j++) {
+                targets[pos++] = linkViews[i].getTargetRowIndex(j);
+            }
+        }
+        return targets;
+    }
+}
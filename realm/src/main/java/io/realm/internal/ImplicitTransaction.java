@@ -16,10 +16,24 @@
 
 package io.realm.internal;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 public class ImplicitTransaction extends Group {
 
     private final SharedGroup parent;
 
+    // The rows followed through the current write transaction, with their indexes from the start of it. Rows which
+    // were deleted by the transactions read in when promoting have an index of -1.
+    private long[] trackedTablePtrs;
+    private long[] trackedRowIndexes;
+    private long[] trackedChanges;
+    private Set<String> trackedChangedTables;
+
+    // The tables modified by the changes reported by the last method tracking rows
+    private Set<String> changedTables = Collections.emptySet();
+
     public ImplicitTransaction(Context context, SharedGroup sharedGroup, long nativePtr) {
         super(context, nativePtr, true);
         parent = sharedGroup;
@@ -30,22 +44,137 @@ public class ImplicitTransaction extends Group {
         parent.advanceRead();
     }
 
+    /**
+     * Advances like {@link #advanceRead()}, and reports how the given rows were changed by the transactions read in.
+     * The changes are found by following the rows through the transaction logs, so rows of tables which were not
+     * changed cost nothing. The tables modified by the transactions are returned by {@link #getChangedTables()}.
+     *
+     * @param rows the rows to track. They must be attached and belong to tables of this group.
+     * @return for each row, -1 if it was deleted, or else a bit mask of the indexes of its changed columns. Bit 62
+     * stands for all columns from index 62 and up.
+     */
+    public long[] advanceReadTrackingRows(Row[] rows) {
+        assertNotClosed();
+        long[] nativeTablePtrs = new long[rows.length];
+        long[] rowIndexes = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            nativeTablePtrs[i] = rows[i].getTable().nativePtr;
+            rowIndexes[i] = rows[i].getIndex();
+        }
+        changedTables = new HashSet<String>();
+        return splitChanges(parent.advanceReadTrackingRows(nativeTablePtrs, rowIndexes), rows.length,
+                changedTables);
+    }
+
+    /**
+     * Returns the names of the tables whose rows were modified by the changes reported by the last call to
+     * {@link #advanceReadTrackingRows(Row[])}, {@link #commitAndContinueAsReadTrackingRows()} or
+     * {@link #rollbackAndContinueAsReadTrackingRows()}. Tables are found from the instructions of the transaction logs,
+     * so a table is not included just because it links to a modified table.
+     *
+     * @return the names of the modified tables.
+     */
+    public Set<String> getChangedTables() {
+        return changedTables;
+    }
+
     public void promoteToWrite() {
         assertNotClosed();
         if (immutable) {
             immutable = false;
+            clearTrackedRows();
             parent.promoteToWrite();
         } else {
             throw new IllegalStateException("Nested transactions are not allowed. Use commitTransaction() after each beginTransaction().");
         }
     }
 
+    /**
+     * Promotes like {@link #promoteToWrite()}, and follows the given rows through both the transactions read in and
+     * the changes made in the write transaction. How they were changed is returned by
+     * {@link #commitAndContinueAsReadTrackingRows()} or {@link #rollbackAndContinueAsReadTrackingRows()}.
+     *
+     * @param rows the rows to track. They must be attached and belong to tables of this group.
+     */
+    public void promoteToWriteTrackingRows(Row[] rows) {
+        assertNotClosed();
+        if (!immutable) {
+            throw new IllegalStateException("Nested transactions are not allowed. Use commitTransaction() after each beginTransaction().");
+        }
+        long[] nativeTablePtrs = new long[rows.length];
+        long[] rowIndexes = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            nativeTablePtrs[i] = rows[i].getTable().nativePtr;
+            rowIndexes[i] = rows[i].getIndex();
+        }
+        immutable = false;
+        clearTrackedRows();
+        Set<String> tables = new HashSet<String>();
+        long[] changes = splitChanges(parent.promoteToWriteTrackingRows(nativeTablePtrs, rowIndexes), rows.length,
+                tables);
+        // The row accessors have been moved along with their rows
+        for (int i = 0; i < rows.length; i++) {
+            rowIndexes[i] = (changes[i] == -1) ? -1 : rows[i].getIndex();
+        }
+        trackedTablePtrs = nativeTablePtrs;
+        trackedRowIndexes = rowIndexes;
+        trackedChanges = changes;
+        trackedChangedTables = tables;
+    }
+
     public void commitAndContinueAsRead() {
         assertNotClosed();
+        clearTrackedRows();
         parent.commitAndContinueAsRead();
         immutable = true;
     }
 
+    /**
+     * Commits like {@link #commitAndContinueAsRead()}, and reports how the rows given to
+     * {@link #promoteToWriteTrackingRows(Row[])} were changed, both by the transactions read in when promoting and by
+     * the write transaction itself. The changes of the write transaction are read from its transaction log, so only
+     * the rows and columns it actually modified are reported. The modified tables are returned by
+     * {@link #getChangedTables()}.
+     *
+     * @return for each row, -1 if it was deleted, or else a bit mask of the indexes of its changed columns. Bit 62
+     * stands for all columns from index 62 and up.
+     */
+    public long[] commitAndContinueAsReadTrackingRows() {
+        assertNotClosed();
+        assertTrackingRows();
+        long[] changes = trackedChanges;
+        long[] rowIndexes = trackedRowIndexes;
+        Set<String> tables = trackedChangedTables;
+        int count = 0;
+        for (long rowIndex : rowIndexes) {
+            if (rowIndex != -1) {
+                count++;
+            }
+        }
+        long[] committedTablePtrs = new long[count];
+        long[] committedRowIndexes = new long[count];
+        for (int i = 0, j = 0; i < rowIndexes.length; i++) {
+            if (rowIndexes[i] != -1) {
+                committedTablePtrs[j] = trackedTablePtrs[i];
+                committedRowIndexes[j] = rowIndexes[i];
+                j++;
+            }
+        }
+        clearTrackedRows();
+        long[] committed = splitChanges(
+                parent.commitAndContinueAsReadTrackingRows(committedTablePtrs, committedRowIndexes), count, tables);
+        immutable = true;
+        changedTables = tables;
+
+        for (int i = 0, j = 0; i < rowIndexes.length; i++) {
+            if (rowIndexes[i] != -1) {
+                changes[i] = (committed[j] == -1) ? -1 : changes[i] | committed[j];
+                j++;
+            }
+        }
+        return changes;
+    }
+
     public void endRead() {
         assertNotClosed();
         parent.endRead();
@@ -54,6 +183,7 @@ public class ImplicitTransaction extends Group {
     public void rollbackAndContinueAsRead() {
         assertNotClosed();
         if (!immutable) {
+            clearTrackedRows();
             parent.rollbackAndContinueAsRead();
             immutable = true;
         } else {
@@ -61,6 +191,54 @@ public class ImplicitTransaction extends Group {
         }
     }
 
+    /**
+     * Rolls back like {@link #rollbackAndContinueAsRead()}, and reports how the rows given to
+     * {@link #promoteToWriteTrackingRows(Row[])} were changed by the transactions read in when promoting. The tables
+     * they modified are returned by {@link #getChangedTables()}.
+     *
+     * @return for each row, -1 if it was deleted, or else a bit mask of the indexes of its changed columns.
+     */
+    public long[] rollbackAndContinueAsReadTrackingRows() {
+        assertNotClosed();
+        assertTrackingRows();
+        long[] changes = trackedChanges;
+        Set<String> tables = trackedChangedTables;
+        rollbackAndContinueAsRead();
+        changedTables = tables;
+        return changes;
+    }
+
+    public boolean isInWriteTransaction() {
+        return !immutable;
+    }
+
+    private void assertTrackingRows() {
+        if (immutable || trackedChanges == null) {
+            throw new IllegalStateException("Not in a write transaction started by promoteToWriteTrackingRows().");
+        }
+    }
+
+    private void clearTrackedRows() {
+        trackedTablePtrs = null;
+        trackedRowIndexes = null;
+        trackedChanges = null;
+        trackedChangedTables = null;
+    }
+
+    // The native methods tracking rows return the changes of the rows followed by the indexes of the modified tables
+    private long[] splitChanges(long[] nativeChanges, int rowCount, Set<String> tables) {
+        long[] changes = new long[rowCount];
+        System.arraycopy(nativeChanges, 0, changes, 0, rowCount);
+        long tableCount = size();
+        for (int i = rowCount; i < nativeChanges.length; i++) {
+            // Tables removed by the transactions have no name anymore
+            if (nativeChanges[i] < tableCount) {
+                tables.add(getTableName((int) nativeChanges[i]));
+            }
+        }
+        return changes;
+    }
+
     private void assertNotClosed() {
         if (isClosed() || parent.isClosed()) {
             throw new IllegalStateException("Cannot use ImplicitTransaction after it or its parent has been closed.");
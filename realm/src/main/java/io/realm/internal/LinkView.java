@@ -16,6 +16,8 @@
 
 package io.realm.internal;
 
+import java.util.Date;
+
 /**
  * The LinkView class represent a core {@link ColumnType#LINK_LIST}.
  */
@@ -112,6 +114,65 @@ public class LinkView {
         }
     }
 
+    // Aggregate functions. They are calculated natively over the link targets, without creating a query or any
+    // row accessors.
+
+    public long sumLong(long columnIndex) {
+        return nativeSumLong(nativeLinkViewPtr, columnIndex);
+    }
+
+    public long maximumLong(long columnIndex) {
+        return nativeMaximumLong(nativeLinkViewPtr, columnIndex);
+    }
+
+    public long minimumLong(long columnIndex) {
+        return nativeMinimumLong(nativeLinkViewPtr, columnIndex);
+    }
+
+    public double averageLong(long columnIndex) {
+        return nativeAverageLong(nativeLinkViewPtr, columnIndex);
+    }
+
+    public double sumFloat(long columnIndex) {
+        return nativeSumFloat(nativeLinkViewPtr, columnIndex);
+    }
+
+    public float maximumFloat(long columnIndex) {
+        return nativeMaximumFloat(nativeLinkViewPtr, columnIndex);
+    }
+
+    public float minimumFloat(long columnIndex) {
+        return nativeMinimumFloat(nativeLinkViewPtr, columnIndex);
+    }
+
+    public double averageFloat(long columnIndex) {
+        return nativeAverageFloat(nativeLinkViewPtr, columnIndex);
+    }
+
+    public double sumDouble(long columnIndex) {
+        return nativeSumDouble(nativeLinkViewPtr, columnIndex);
+    }
+
+    public double maximumDouble(long columnIndex) {
+        return nativeMaximumDouble(nativeLinkViewPtr, columnIndex);
+    }
+
+    public double minimumDouble(long columnIndex) {
+        return nativeMinimumDouble(nativeLinkViewPtr, columnIndex);
+    }
+
+    public double averageDouble(long columnIndex) {
+        return nativeAverageDouble(nativeLinkViewPtr, columnIndex);
+    }
+
+    public Date maximumDate(long columnIndex) {
+        return new Date(nativeMaximumDate(nativeLinkViewPtr, columnIndex) * 1000);
+    }
+
+    public Date minimumDate(long columnIndex) {
+        return new Date(nativeMinimumDate(nativeLinkViewPtr, columnIndex) * 1000);
+    }
+
     /**
      * Returns the Table which all links point to.
      */
@@ -137,4 +198,18 @@ public class LinkView {
     private native long nativeSize(long nativeLinkViewPtr);
     private native boolean nativeIsEmpty(long nativeLinkViewPtr);
     protected native long nativeWhere(long nativeLinkViewPtr);
+    private native long nativeSumLong(long nativeLinkViewPtr, long columnIndex);
+    private native long nativeMaximumLong(long nativeLinkViewPtr, long columnIndex);
+    private native long nativeMinimumLong(long nativeLinkViewPtr, long columnIndex);
+    private native double nativeAverageLong(long nativeLinkViewPtr, long columnIndex);
+    private native double nativeSumFloat(long nativeLinkViewPtr, long columnIndex);
+    private native float nativeMaximumFloat(long nativeLinkViewPtr, long columnIndex);
+    private native float nativeMinimumFloat(long nativeLinkViewPtr, long columnIndex);
+    private native double nativeAverageFloat(long nativeLinkViewPtr, long columnIndex);
+    private native double nativeSumDouble(long nativeLinkViewPtr, long columnIndex);
+    private native double nativeMaximumDouble(long nativeLinkViewPtr, long columnIndex);
+    private native double nativeMinimumDouble(long nativeLinkViewPtr, long columnIndex);
+    private native double nativeAverageDouble(long nativeLinkViewPtr, long columnIndex);
+    private native long nativeMaximumDate(long nativeLinkViewPtr, long columnIndex);
+    private native long nativeMinimumDate(long nativeLinkViewPtr, long columnIndex);
 }
@@ -17,10 +17,12 @@
 package io.realm.internal;
 
 import android.util.JsonReader;
+import android.util.JsonWriter;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -107,6 +109,58 @@ public abstract class RealmProxyMediator {
      */
     public abstract <E extends RealmObject> E copyOrUpdate(Realm realm, E object, boolean update, Map<RealmObject, RealmObjectProxy> cache);
 
+    /**
+     * Inserts copies of standalone RealmObjects, or RealmObjects from another Realm, into this Realm. Unlike
+     * {@link #copyOrUpdate(Realm, RealmObject, boolean, Map)} no RealmProxy objects are created for the copies.
+     * Objects already in this Realm are ignored.
+     *
+     * @param clazz     Type of RealmObject
+     * @param realm     Reference to Realm where to insert the objects.
+     * @param objects   Objects to copy properties from.
+     */
+    public abstract <E extends RealmObject> void insert(Class<E> clazz, Realm realm, Collection<? extends E> objects);
+
+    /**
+     * Creates standalone copies of a number of rows. The column values are read one column at a time for all rows.
+     * The links of the copies are not set yet, but added to the pending links of the cache, see
+     * {@link DetachedObjectCache#copyPendingLinks(RealmProxyMediator, Realm, int)}.
+     *
+     * @param clazz         Type of RealmObject
+     * @param realm         Reference to Realm the rows are in.
+     * @param rowIndexes    Indexes of the rows to copy in the table of the model class.
+     * @param maxDepth      Number of links to follow from the copied rows. Links beyond it are left {@code null}.
+     * @param cache         Copies made so far and links still to be followed.
+     * @return standalone copies in the same order as the row indexes.
+     */
+    public abstract <E extends RealmObject> List<E> createDetachedCopies(Class<E> clazz, Realm realm, long[] rowIndexes, int maxDepth, DetachedObjectCache cache);
+
+    /**
+     * Sets the links of standalone copies made by {@link #createDetachedCopies(Class, Realm, long[], int,
+     * DetachedObjectCache)}, copying the rows they link to.
+     *
+     * @param clazz         Type of RealmObject
+     * @param realm         Reference to Realm the rows are in.
+     * @param copies        Copies to set the links of.
+     * @param rowIndexes    Indexes of the rows the copies were made of.
+     * @param currentDepth  Depth the copies were made at.
+     * @param maxDepth      Number of links to follow from the rows copied first.
+     * @param cache         Copies made so far and links still to be followed.
+     */
+    public abstract <E extends RealmObject> void copyDetachedLinks(Class<E> clazz, Realm realm, List<E> copies, long[] rowIndexes, int currentDepth, int maxDepth, DetachedObjectCache cache);
+
+    /**
+     * Writes a number of rows as JSON objects, one after the other. The column values are read one column at a time
+     * for all rows, and links are written as nested objects up to the given depth.
+     *
+     * @param clazz         Type of RealmObject
+     * @param realm         Reference to Realm the rows are in.
+     * @param rowIndexes    Indexes of the rows to write in the table of the model class.
+     * @param writer        Writer to write the JSON objects to.
+     * @param maxDepth      Number of links to follow from the written rows. Links beyond it are left out.
+     * @throws java.io.IOException if an error occurs writing to the writer.
+     */
+    public abstract <E extends RealmObject> void writeJson(Class<E> clazz, Realm realm, long[] rowIndexes, JsonWriter writer, int maxDepth) throws java.io.IOException;
+
     /**
      * Creates or updates a RealmObject using the provided JSON data.
      *
@@ -130,6 +184,29 @@ public abstract class RealmProxyMediator {
      */
     public abstract <E extends RealmObject> E createUsingJsonStream(Class<E> clazz, Realm realm, JsonReader reader) throws java.io.IOException;
 
+    /**
+     * Creates or updates a RealmObject based on a JSON input stream. If the model has a primary key, the fields read
+     * before it are kept until the primary key is known, so only a single object is held in memory.
+     *
+     * @param clazz     Type of RealmObject
+     * @param realm     Reference to Realm where to create or update the object.
+     * @param reader    Reference to the InputStream containg the JSON data.
+     * @return The created or updated RealmObject
+     * @throws IOException if an error occurs with the inputstream.
+     */
+    public abstract <E extends RealmObject> E createOrUpdateUsingJsonStream(Class<E> clazz, Realm realm, JsonReader reader) throws java.io.IOException;
+
+    /**
+     * Creates a standalone RealmObject based on a JSON input stream. No Realm is needed, so this can be called from
+     * any thread.
+     *
+     * @param clazz     Type of RealmObject
+     * @param reader    Reference to the InputStream containg the JSON data.
+     * @return The standalone RealmObject
+     * @throws IOException if an error occurs with the inputstream.
+     */
+    public abstract <E extends RealmObject> E createStandaloneUsingJsonStream(Class<E> clazz, JsonReader reader) throws java.io.IOException;
+
     @Override
     public boolean equals(Object o) {
         if (!(o instanceof RealmProxyMediator)) {
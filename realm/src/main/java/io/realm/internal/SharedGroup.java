@@ -27,9 +27,13 @@ public class SharedGroup implements Closeable {
     private final String path;
     private long nativePtr;
     private long nativeReplicationPtr;
+    // The group of the implicit transaction, whose tables may have their changes recorded as the transaction moves
+    // to newer versions
+    private long nativeGroupPtr;
     private boolean implicitTransactionsEnabled = false;
     private boolean activeTransaction;
     private final Context context;
+    private Durability durability = Durability.FULL;
 
     static {
         RealmCore.loadLibrary();
@@ -55,15 +59,21 @@ public class SharedGroup implements Closeable {
     }
 
     public SharedGroup(String databaseFile, boolean enableImplicitTransactions, byte[] key) {
+        this(databaseFile, enableImplicitTransactions, Durability.FULL, key);
+    }
+
+    public SharedGroup(String databaseFile, boolean enableImplicitTransactions, Durability durability, byte[] key) {
+        int durabilityValue = durability.value;
         if (enableImplicitTransactions) {
             nativeReplicationPtr = nativeCreateReplication(databaseFile, key);
-            nativePtr = createNativeWithImplicitTransactions(nativeReplicationPtr, key);
+            nativePtr = createNativeWithImplicitTransactions(nativeReplicationPtr, durabilityValue, key);
             implicitTransactionsEnabled = true;
         } else {
-            nativePtr = nativeCreate(databaseFile, Durability.FULL.value, false, false, key);
+            nativePtr = nativeCreate(databaseFile, durabilityValue, false, false, key);
         }
         context = new Context();
         path = databaseFile;
+        this.durability = durability;
         checkNativePtrNotZero();
     }
 
@@ -71,6 +81,7 @@ public class SharedGroup implements Closeable {
         path = databaseFile;
         context = new Context();
         nativePtr = nativeCreate(databaseFile, durability.value, false, false, key);
+        this.durability = durability;
         checkNativePtrNotZero();
     }
 
@@ -78,30 +89,56 @@ public class SharedGroup implements Closeable {
         path = databaseFile;
         context = new Context();
         nativePtr = nativeCreate(databaseFile, durability.value, fileMustExist, false, null);
+        this.durability = durability;
         checkNativePtrNotZero();
     }
 
-    private native long createNativeWithImplicitTransactions(long nativeReplicationPtr, byte[] key);
+    private native long createNativeWithImplicitTransactions(long nativeReplicationPtr, int durabilityValue,
+                                                             byte[] key);
 
     private native long nativeCreateReplication(String databaseFile, byte[] key);
 
     void advanceRead() {
-        nativeAdvanceRead(nativePtr);
+        nativeAdvanceRead(nativePtr, nativeGroupPtr);
+    }
+
+    private native void nativeAdvanceRead(long nativePtr, long nativeGroupPtr);
+
+    long[] advanceReadTrackingRows(long[] nativeTablePtrs, long[] rowIndexes) {
+        return nativeAdvanceReadTrackingRows(nativePtr, nativeGroupPtr, nativeTablePtrs, rowIndexes);
     }
 
-    private native void nativeAdvanceRead(long nativePtr);
+    private native long[] nativeAdvanceReadTrackingRows(long nativePtr, long nativeGroupPtr, long[] nativeTablePtrs,
+                                                        long[] rowIndexes);
 
     void promoteToWrite() {
-        nativePromoteToWrite(nativePtr);
+        nativePromoteToWrite(nativePtr, nativeGroupPtr);
     }
 
-    private native void nativePromoteToWrite(long nativePtr);
+    private native void nativePromoteToWrite(long nativePtr, long nativeGroupPtr);
+
+    long[] promoteToWriteTrackingRows(long[] nativeTablePtrs, long[] rowIndexes) {
+        return nativePromoteToWriteTrackingRows(nativePtr, nativeGroupPtr, nativeTablePtrs, rowIndexes);
+    }
+
+    private native long[] nativePromoteToWriteTrackingRows(long nativePtr, long nativeGroupPtr,
+                                                           long[] nativeTablePtrs, long[] rowIndexes);
 
     void commitAndContinueAsRead() {
-        nativeCommitAndContinueAsRead(nativePtr);
+        nativeCommitAndContinueAsRead(nativePtr, nativeGroupPtr, nativeReplicationPtr);
+    }
+
+    private native void nativeCommitAndContinueAsRead(long nativePtr, long nativeGroupPtr,
+                                                      long nativeReplicationPtr);
+
+    long[] commitAndContinueAsReadTrackingRows(long[] nativeTablePtrs, long[] rowIndexes) {
+        return nativeCommitAndContinueAsReadTrackingRows(nativePtr, nativeGroupPtr, nativeReplicationPtr,
+                nativeTablePtrs, rowIndexes);
     }
 
-    private native void nativeCommitAndContinueAsRead(long nativePtr);
+    private native long[] nativeCommitAndContinueAsReadTrackingRows(long nativePtr, long nativeGroupPtr,
+                                                                    long nativeReplicationPtr,
+                                                                    long[] nativeTablePtrs, long[] rowIndexes);
 
     void rollbackAndContinueAsRead() {
         nativeRollbackAndContinueAsRead(nativePtr);
@@ -114,7 +151,7 @@ public class SharedGroup implements Closeable {
             throw new IllegalStateException(
                     "Can't beginImplicitTransaction() during another active transaction");
         }
-        long nativeGroupPtr = nativeBeginImplicit(nativePtr);
+        nativeGroupPtr = nativeBeginImplicit(nativePtr);
         ImplicitTransaction transaction = new ImplicitTransaction(context, this, nativeGroupPtr);
         activeTransaction = true;
         return transaction;
@@ -215,6 +252,14 @@ public class SharedGroup implements Closeable {
         return nativeHasChanged(nativePtr);
     }
 
+    /**
+     * Returns the version of the data seen by the current transaction. SharedGroups on the same file see the same
+     * data if they are at the same version, so row indexes found by one of them are valid in the other.
+     */
+    public long getVersion() {
+        return nativeGetVersion(nativePtr);
+    }
+
     public void reserve(long bytes) {
         nativeReserve(nativePtr, bytes);
     }
@@ -230,6 +275,10 @@ public class SharedGroup implements Closeable {
     }
 
 
+    public Durability getDurability() {
+        return durability;
+    }
+
     /**
      * Returns the absolute path to the file backing this SharedGroup.
      *
@@ -245,6 +294,8 @@ public class SharedGroup implements Closeable {
 
     private native boolean nativeHasChanged(long nativePtr);
 
+    private native long nativeGetVersion(long nativePtr);
+
     private native long nativeBeginRead(long nativePtr);
 
     private native void nativeEndRead(long nativePtr);
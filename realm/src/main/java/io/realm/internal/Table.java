@@ -431,6 +431,63 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     protected native long nativeAddEmptyRow(long nativeTablePtr, long rows);
 
+    /**
+     * Adds a row for each of the given primary key values, with the primary key column set to the value.
+     *
+     * @param primaryKeyValues the primary key values of the new rows.
+     * @return the index of the first added row. The rows are added in the order of the values.
+     * @throws RealmException if a value is already used in the table or occurs more than once.
+     */
+    public long addEmptyRowsWithPrimaryKeys(long[] primaryKeyValues) {
+        checkImmutable();
+        checkHasPrimaryKey();
+        long primaryKeyColumnIndex = getPrimaryKey();
+        if (primaryKeyValues.length == 0) {
+            return size();
+        }
+        int duplicate = (int) nativeFindDuplicateLong(nativePtr, primaryKeyColumnIndex, primaryKeyValues);
+        if (duplicate != NO_MATCH) {
+            throwDuplicatePrimaryKeyException(primaryKeyValues[duplicate]);
+        }
+        long rowIndex = nativeAddEmptyRow(nativePtr, primaryKeyValues.length);
+        nativeSetLongs(nativePtr, primaryKeyColumnIndex, rowIndex, primaryKeyValues);
+        return rowIndex;
+    }
+
+    // Returns the index of the first value which is used in the column or by an earlier value, or NO_MATCH
+    protected native long nativeFindDuplicateLong(long nativeTablePtr, long columnIndex, long[] values);
+
+    /**
+     * Adds a row for each of the given primary key values, with the primary key column set to the value.
+     *
+     * @param primaryKeyValues the primary key values of the new rows.
+     * @return the index of the first added row. The rows are added in the order of the values.
+     * @throws RealmException if a value is already used in the table or occurs more than once.
+     */
+    public long addEmptyRowsWithPrimaryKeys(String[] primaryKeyValues) {
+        checkImmutable();
+        checkHasPrimaryKey();
+        long primaryKeyColumnIndex = getPrimaryKey();
+        for (String value : primaryKeyValues) {
+            if (value == null) {
+                throw new IllegalArgumentException("Null String is not allowed.");
+            }
+        }
+        if (primaryKeyValues.length == 0) {
+            return size();
+        }
+        int duplicate = (int) nativeFindDuplicateString(nativePtr, primaryKeyColumnIndex, primaryKeyValues);
+        if (duplicate != NO_MATCH) {
+            throwDuplicatePrimaryKeyException(primaryKeyValues[duplicate]);
+        }
+        long rowIndex = nativeAddEmptyRow(nativePtr, primaryKeyValues.length);
+        nativeSetStrings(nativePtr, primaryKeyColumnIndex, rowIndex, primaryKeyValues);
+        return rowIndex;
+    }
+
+    // Returns the index of the first value which is used in the column or by an earlier value, or NO_MATCH
+    protected native long nativeFindDuplicateString(long nativeTablePtr, long columnIndex, String[] values);
+
 
     /**
      * Appends the specified row to the end of the table
@@ -867,6 +924,60 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     protected native String nativeGetString(long nativePtr, long columnIndex, long rowIndex);
 
+    //
+    // Bulk getters. They return the cells of a column for the given rows in a single native call.
+    //
+
+    public long[] getLongs(long columnIndex, long[] rowIndexes) {
+        return nativeGetLongs(nativePtr, columnIndex, rowIndexes);
+    }
+
+    protected native long[] nativeGetLongs(long nativePtr, long columnIndex, long[] rowIndexes);
+
+    public boolean[] getBooleans(long columnIndex, long[] rowIndexes) {
+        return nativeGetBooleans(nativePtr, columnIndex, rowIndexes);
+    }
+
+    protected native boolean[] nativeGetBooleans(long nativePtr, long columnIndex, long[] rowIndexes);
+
+    public float[] getFloats(long columnIndex, long[] rowIndexes) {
+        return nativeGetFloats(nativePtr, columnIndex, rowIndexes);
+    }
+
+    protected native float[] nativeGetFloats(long nativePtr, long columnIndex, long[] rowIndexes);
+
+    public double[] getDoubles(long columnIndex, long[] rowIndexes) {
+        return nativeGetDoubles(nativePtr, columnIndex, rowIndexes);
+    }
+
+    protected native double[] nativeGetDoubles(long nativePtr, long columnIndex, long[] rowIndexes);
+
+    public Date[] getDates(long columnIndex, long[] rowIndexes) {
+        long[] dateTimeValues = nativeGetDateTimes(nativePtr, columnIndex, rowIndexes);
+        Date[] dates = new Date[dateTimeValues.length];
+        for (int i = 0; i < dateTimeValues.length; i++) {
+            dates[i] = new Date(dateTimeValues[i] * 1000);
+        }
+        return dates;
+    }
+
+    protected native long[] nativeGetDateTimes(long nativePtr, long columnIndex, long[] rowIndexes);
+
+    public String[] getStrings(long columnIndex, long[] rowIndexes) {
+        return nativeGetStrings(nativePtr, columnIndex, rowIndexes);
+    }
+
+    protected native String[] nativeGetStrings(long nativePtr, long columnIndex, long[] rowIndexes);
+
+    /**
+     * Returns the target row indexes of a link column for the given rows. Null links are returned as -1.
+     */
+    public long[] getLinks(long columnIndex, long[] rowIndexes) {
+        return nativeGetLinks(nativePtr, columnIndex, rowIndexes);
+    }
+
+    protected native long[] nativeGetLinks(long nativePtr, long columnIndex, long[] rowIndexes);
+
     /**
      * Get the value of a (binary) cell.
      *
@@ -1109,6 +1220,88 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     protected native void nativeSetByteArray(long nativePtr, long columnIndex, long rowIndex, byte[] data);
 
+    //
+    // Bulk setters. They set the cells of a column from startRowIndex onwards in a single native call.
+    //
+
+    public void setLongs(long columnIndex, long startRowIndex, long[] values) {
+        checkBulkSetIsLegal(columnIndex, startRowIndex, values.length);
+        if (values.length > 0) {
+            nativeSetLongs(nativePtr, columnIndex, startRowIndex, values);
+        }
+    }
+
+    protected native void nativeSetLongs(long nativeTablePtr, long columnIndex, long startRowIndex, long[] values);
+
+    public void setBooleans(long columnIndex, long startRowIndex, boolean[] values) {
+        checkBulkSetIsLegal(columnIndex, startRowIndex, values.length);
+        if (values.length > 0) {
+            nativeSetBooleans(nativePtr, columnIndex, startRowIndex, values);
+        }
+    }
+
+    protected native void nativeSetBooleans(long nativeTablePtr, long columnIndex, long startRowIndex, boolean[] values);
+
+    public void setFloats(long columnIndex, long startRowIndex, float[] values) {
+        checkBulkSetIsLegal(columnIndex, startRowIndex, values.length);
+        if (values.length > 0) {
+            nativeSetFloats(nativePtr, columnIndex, startRowIndex, values);
+        }
+    }
+
+    protected native void nativeSetFloats(long nativeTablePtr, long columnIndex, long startRowIndex, float[] values);
+
+    public void setDoubles(long columnIndex, long startRowIndex, double[] values) {
+        checkBulkSetIsLegal(columnIndex, startRowIndex, values.length);
+        if (values.length > 0) {
+            nativeSetDoubles(nativePtr, columnIndex, startRowIndex, values);
+        }
+    }
+
+    protected native void nativeSetDoubles(long nativeTablePtr, long columnIndex, long startRowIndex, double[] values);
+
+    public void setDates(long columnIndex, long startRowIndex, Date[] dates) {
+        checkBulkSetIsLegal(columnIndex, startRowIndex, dates.length);
+        long[] dateTimeValues = new long[dates.length];
+        for (int i = 0; i < dates.length; i++) {
+            if (dates[i] == null) {
+                throw new IllegalArgumentException("Null Date is not allowed.");
+            }
+            dateTimeValues[i] = dates[i].getTime() / 1000;
+        }
+        if (dates.length > 0) {
+            nativeSetDates(nativePtr, columnIndex, startRowIndex, dateTimeValues);
+        }
+    }
+
+    protected native void nativeSetDates(long nativeTablePtr, long columnIndex, long startRowIndex, long[] dateTimeValues);
+
+    public void setStrings(long columnIndex, long startRowIndex, String[] values) {
+        checkBulkSetIsLegal(columnIndex, startRowIndex, values.length);
+        for (String value : values) {
+            if (value == null) {
+                throw new IllegalArgumentException("Null String is not allowed.");
+            }
+        }
+        if (values.length > 0) {
+            nativeSetStrings(nativePtr, columnIndex, startRowIndex, values);
+        }
+    }
+
+    protected native void nativeSetStrings(long nativeTablePtr, long columnIndex, long startRowIndex, String[] values);
+
+    // Primary keys can only be set in bulk by addEmptyRowsWithPrimaryKeys(), which checks them against each other
+    private void checkBulkSetIsLegal(long columnIndex, long startRowIndex, int count) {
+        checkImmutable();
+        if (startRowIndex < 0 || startRowIndex + count > size()) {
+            throw new IndexOutOfBoundsException("Rows " + startRowIndex + " to " + (startRowIndex + count) +
+                    " are not in a table of size " + size());
+        }
+        if (isPrimaryKey(columnIndex)) {
+            throw new IllegalArgumentException("Primary key values cannot be set in bulk.");
+        }
+    }
+
     /**
      * Sets the value for a (mixed typed) cell.
      *
@@ -1601,6 +1794,60 @@ public class Table implements TableOrView, TableSchema, Closeable {
 
     protected native long nativeGetDistinctView(long nativePtr, long columnIndex);
 
+    /**
+     * Returns a view of the rows in this table which link to a row through a {@link ColumnType#LINK} or
+     * {@link ColumnType#LINK_LIST} column. The rows are found using the backlinks of the row, so the cost does
+     * not depend on the size of this table. See {@link TableView#setBacklinks(Row, long)}.
+     *
+     * @param targetRow the row which is linked to.
+     * @param columnIndex index of the link column in this table.
+     * @return a view of the rows linking to targetRow.
+     */
+    public TableView getBacklinkView(Row targetRow, long columnIndex) {
+        // Execute the disposal of abandoned realm objects each time a new realm object is created
+        this.context.executeDelayedDisposal();
+        long nativeViewPtr = nativeGetLinkDerivedView(nativePtr, columnIndex);
+        try {
+            TableView view = new TableView(this.context, this, nativeViewPtr);
+            view.setBacklinks(targetRow, columnIndex);
+            return view;
+        } catch (RuntimeException e) {
+            TableView.nativeClose(nativeViewPtr);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a view of the rows in this table which can be reached from a row by following a {@link ColumnType#LINK}
+     * or {@link ColumnType#LINK_LIST} column linking to this table, up to a given number of times. The traversal
+     * runs in native code. See {@link TableView#setReachableRows(Row, long, int)}.
+     *
+     * @param startRow the row to start from.
+     * @param columnIndex index of the link column in this table.
+     * @param maxDepth the maximum number of links to follow. Must be at least 1.
+     * @return a view of the rows reachable from startRow.
+     * @throws IllegalArgumentException if maxDepth is less than 1.
+     */
+    public TableView getReachableView(Row startRow, long columnIndex, int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("The traversal depth must be at least 1: " + maxDepth);
+        }
+        // Execute the disposal of abandoned realm objects each time a new realm object is created
+        this.context.executeDelayedDisposal();
+        long nativeViewPtr = nativeGetLinkDerivedView(nativePtr, columnIndex);
+        try {
+            TableView view = new TableView(this.context, this, nativeViewPtr);
+            view.setReachableRows(startRow, columnIndex, maxDepth);
+            return view;
+        } catch (RuntimeException e) {
+            TableView.nativeClose(nativeViewPtr);
+            throw e;
+        }
+    }
+
+    // Creates an empty view whose rows are filled in by TableView from the given link column.
+    protected native long nativeGetLinkDerivedView(long nativePtr, long columnIndex);
+
     /**
      * Return the table name as it is in the associated group.
      *
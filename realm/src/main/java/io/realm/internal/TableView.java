@@ -126,6 +126,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public long size() {
+        syncIfDerived();
         return nativeSize(nativePtr);
     }
 
@@ -137,11 +138,38 @@ public class TableView implements TableOrView, Closeable {
      * @return the translated row number in the source table
      */
     public long getSourceRowIndex(long rowIndex) {
+        syncIfDerived();
         return nativeGetSourceRowIndex(nativePtr, rowIndex);
     }
 
     protected native long nativeGetSourceRowIndex(long nativeViewPtr, long rowIndex);
 
+    /**
+     * Returns the indexes in the source table of all rows in the view, in the order of the view.
+     *
+     * @return the row numbers in the source table.
+     */
+    public long[] getSourceRowIndexes() {
+        syncIfDerived();
+        return nativeGetSourceRowIndexes(nativePtr);
+    }
+
+    protected native long[] nativeGetSourceRowIndexes(long nativeViewPtr);
+
+    /**
+     * Returns the indexes in the source table of a range of rows in the view, in the order of the view.
+     *
+     * @param fromIndex index in the view of the first row, inclusive.
+     * @param toIndex index in the view of the last row, exclusive.
+     * @return the row numbers in the source table.
+     */
+    public long[] getSourceRowIndexes(long fromIndex, long toIndex) {
+        syncIfDerived();
+        return nativeGetSourceRowIndexesInRange(nativePtr, fromIndex, toIndex);
+    }
+
+    protected native long[] nativeGetSourceRowIndexesInRange(long nativeViewPtr, long fromIndex, long toIndex);
+
     /**
      * Returns the number of columns in the table.
      *
@@ -206,6 +234,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public long getLong(long columnIndex, long rowIndex){
+        syncIfDerived();
         return nativeGetLong(nativePtr, columnIndex, rowIndex);
     }
 
@@ -220,6 +249,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public boolean getBoolean(long columnIndex, long rowIndex){
+        syncIfDerived();
         return nativeGetBoolean(nativePtr, columnIndex, rowIndex);
     }
 
@@ -234,6 +264,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public float getFloat(long columnIndex, long rowIndex){
+        syncIfDerived();
         return nativeGetFloat(nativePtr, columnIndex, rowIndex);
     }
 
@@ -248,6 +279,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public double getDouble(long columnIndex, long rowIndex){
+        syncIfDerived();
         return nativeGetDouble(nativePtr, columnIndex, rowIndex);
     }
 
@@ -262,6 +294,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public Date getDate(long columnIndex, long rowIndex){
+        syncIfDerived();
         return new Date(nativeGetDateTimeValue(nativePtr, columnIndex, rowIndex)*1000);
     }
 
@@ -276,6 +309,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public String getString(long columnIndex, long rowIndex){
+        syncIfDerived();
         return nativeGetString(nativePtr, columnIndex, rowIndex);
     }
 
@@ -300,6 +334,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public byte[] getBinaryByteArray(long columnIndex, long rowIndex){
+        syncIfDerived();
         return nativeGetByteArray(nativePtr, columnIndex, rowIndex);
     }
 
@@ -307,6 +342,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public ColumnType getMixedType(long columnIndex, long rowIndex) {
+        syncIfDerived();
         return ColumnType.fromNativeValue(nativeGetMixedType(nativePtr, columnIndex, rowIndex));
     }
 
@@ -314,6 +350,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public Mixed getMixed(long columnIndex, long rowIndex){
+        syncIfDerived();
         return nativeGetMixed(nativePtr, columnIndex, rowIndex);
     }
 
@@ -321,6 +358,7 @@ public class TableView implements TableOrView, Closeable {
 
 
     public long getLink(long columnIndex, long rowIndex){
+        syncIfDerived();
         return nativeGetLink(nativePtr, columnIndex, rowIndex);
     }
 
@@ -328,6 +366,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public Table getSubtable(long columnIndex, long rowIndex) {
+        syncIfDerived();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
         long nativeSubtablePtr = nativeGetSubtable(nativePtr, columnIndex, rowIndex);
@@ -345,6 +384,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public long getSubtableSize(long columnIndex, long rowIndex) {
+        syncIfDerived();
         return nativeGetSubtableSize(nativePtr, columnIndex, rowIndex);
     }
 
@@ -352,6 +392,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public void clearSubtable(long columnIndex, long rowIndex) {
+        syncIfDerived();
         if (parent.isImmutable()) throwImmutable();
         nativeClearSubtable(nativePtr, columnIndex, rowIndex);
     }
@@ -370,6 +411,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void setLong(long columnIndex, long rowIndex, long value){
+        syncIfDerived();
         if (parent.isImmutable()) throwImmutable();
         nativeSetLong(nativePtr, columnIndex, rowIndex, value);
     }
@@ -385,6 +427,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void setBoolean(long columnIndex, long rowIndex, boolean value){
+        syncIfDerived();
         if (parent.isImmutable()) throwImmutable();
         nativeSetBoolean(nativePtr, columnIndex, rowIndex, value);
     }
@@ -400,6 +443,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void setFloat(long columnIndex, long rowIndex, float value){
+        syncIfDerived();
         if (parent.isImmutable()) throwImmutable();
         nativeSetFloat(nativePtr, columnIndex, rowIndex, value);
     }
@@ -415,6 +459,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void setDouble(long columnIndex, long rowIndex, double value){
+        syncIfDerived();
         if (parent.isImmutable()) throwImmutable();
         nativeSetDouble(nativePtr, columnIndex, rowIndex, value);
     }
@@ -430,6 +475,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void setDate(long columnIndex, long rowIndex, Date value){
+        syncIfDerived();
         if (parent.isImmutable()) throwImmutable();
         nativeSetDateTimeValue(nativePtr, columnIndex, rowIndex, value.getTime()/1000);
     }
@@ -445,6 +491,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void setString(long columnIndex, long rowIndex, String value){
+        syncIfDerived();
         if (parent.isImmutable()) throwImmutable();
         nativeSetString(nativePtr, columnIndex, rowIndex, value);
     }
@@ -470,6 +517,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public void setBinaryByteArray(long columnIndex, long rowIndex, byte[] data){
+        syncIfDerived();
         if (parent.isImmutable()) throwImmutable();
         nativeSetByteArray(nativePtr, columnIndex, rowIndex, data);
     }
@@ -485,6 +533,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void setMixed(long columnIndex, long rowIndex, Mixed data){
+        syncIfDerived();
         if (parent.isImmutable()) throwImmutable();
         nativeSetMixed(nativePtr, columnIndex, rowIndex, data);
     }
@@ -492,6 +541,7 @@ public class TableView implements TableOrView, Closeable {
     protected native void nativeSetMixed(long nativeViewPtr, long columnIndex, long rowIndex, Mixed value);
 
     public void setLink(long columnIndex, long rowIndex, long value){
+        syncIfDerived();
         if (parent.isImmutable()) throwImmutable();
         nativeSetLink(nativePtr, columnIndex, rowIndex, value);
     }
@@ -500,12 +550,14 @@ public class TableView implements TableOrView, Closeable {
 
 
     public boolean isNullLink(long columnIndex, long rowIndex) {
+        syncIfDerived();
         return nativeIsNullLink(nativePtr, columnIndex, rowIndex);
     }
 
     protected native boolean nativeIsNullLink(long nativePtr, long columnIndex, long rowIndex);
 
     public void nullifyLink(long columnIndex, long rowIndex) {
+        syncIfDerived();
         nativeNullifyLink(nativePtr, columnIndex, rowIndex);
     }
 
@@ -519,6 +571,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void adjust(long columnIndex, long value) {
+        syncIfDerived();
         if (parent.isImmutable()) throwImmutable();
         nativeAddInt(nativePtr, columnIndex, value);
     }
@@ -528,6 +581,7 @@ public class TableView implements TableOrView, Closeable {
     // Methods for deleting.
     @Override
     public void clear(){
+        syncIfDerived();
         if (parent.isImmutable()) throwImmutable();
         nativeClear(nativePtr);
     }
@@ -542,6 +596,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public void remove(long rowIndex){
+        syncIfDerived();
         if (parent.isImmutable()) throwImmutable();
         nativeRemoveRow(nativePtr, rowIndex);
     }
@@ -559,6 +614,7 @@ public class TableView implements TableOrView, Closeable {
     // Search for first match
     @Override
     public long findFirstLong(long columnIndex, long value){
+        syncIfDerived();
         return nativeFindFirstInt(nativePtr, columnIndex, value);
     }
 
@@ -566,6 +622,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public long findFirstBoolean(long columnIndex, boolean value) {
+        syncIfDerived();
         return nativeFindFirstBool(nativePtr, columnIndex, value);
     }
 
@@ -573,6 +630,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public long findFirstFloat(long columnIndex, float value) {
+        syncIfDerived();
         return nativeFindFirstFloat(nativePtr, columnIndex, value);
     }
 
@@ -580,6 +638,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public long findFirstDouble(long columnIndex, double value) {
+        syncIfDerived();
         return nativeFindFirstDouble(nativePtr, columnIndex, value);
     }
 
@@ -587,6 +646,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public long findFirstDate(long columnIndex, Date date) {
+        syncIfDerived();
         return nativeFindFirstDate(nativePtr, columnIndex, date.getTime()/1000);
     }
 
@@ -594,6 +654,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public long findFirstString(long columnIndex, String value){
+        syncIfDerived();
         return nativeFindFirstString(nativePtr, columnIndex, value);
     }
 
@@ -616,6 +677,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public TableView findAllLong(long columnIndex, long value){
+        syncIfDerived();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
         long nativeViewPtr = nativeFindAllInt(nativePtr, columnIndex, value);
@@ -631,6 +693,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public TableView findAllBoolean(long columnIndex, boolean value) {
+        syncIfDerived();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
         long nativeViewPtr = nativeFindAllBool(nativePtr, columnIndex, value);
@@ -646,6 +709,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public TableView findAllFloat(long columnIndex, float value) {
+        syncIfDerived();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
         long nativeViewPtr = nativeFindAllFloat(nativePtr, columnIndex, value);
@@ -661,6 +725,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public TableView findAllDouble(long columnIndex, double value) {
+        syncIfDerived();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
         long nativeViewPtr = nativeFindAllDouble(nativePtr, columnIndex, value);
@@ -676,6 +741,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public TableView findAllDate(long columnIndex, Date date) {
+        syncIfDerived();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
         long nativeViewPtr = nativeFindAllDate(nativePtr, columnIndex, date.getTime()/1000);
@@ -691,6 +757,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public TableView findAllString(long columnIndex, String value){
+        syncIfDerived();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         context.executeDelayedDisposal();
         long nativeViewPtr = nativeFindAllString(nativePtr, columnIndex, value);
@@ -722,6 +789,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public long sumLong(long columnIndex){
+        syncIfDerived();
         return nativeSumInt(nativePtr, columnIndex);
     }
 
@@ -738,6 +806,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public long maximumLong(long columnIndex){
+        syncIfDerived();
         return nativeMaximumInt(nativePtr, columnIndex);
     }
 
@@ -754,6 +823,7 @@ public class TableView implements TableOrView, Closeable {
      */
     @Override
     public long minimumLong(long columnIndex){
+        syncIfDerived();
         return nativeMinimumInt(nativePtr, columnIndex);
     }
 
@@ -761,6 +831,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public double averageLong(long columnIndex) {
+        syncIfDerived();
         return nativeAverageInt(nativePtr, columnIndex);
     }
 
@@ -771,6 +842,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public double sumFloat(long columnIndex){
+        syncIfDerived();
         return nativeSumFloat(nativePtr, columnIndex);
     }
 
@@ -778,6 +850,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public float maximumFloat(long columnIndex){
+        syncIfDerived();
         return nativeMaximumFloat(nativePtr, columnIndex);
     }
 
@@ -785,6 +858,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public float minimumFloat(long columnIndex){
+        syncIfDerived();
         return nativeMinimumFloat(nativePtr, columnIndex);
     }
 
@@ -792,6 +866,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public double averageFloat(long columnIndex) {
+        syncIfDerived();
         return nativeAverageFloat(nativePtr, columnIndex);
     }
 
@@ -802,6 +877,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public double sumDouble(long columnIndex){
+        syncIfDerived();
         return nativeSumDouble(nativePtr, columnIndex);
     }
 
@@ -809,6 +885,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public double maximumDouble(long columnIndex){
+        syncIfDerived();
         return nativeMaximumDouble(nativePtr, columnIndex);
     }
 
@@ -816,6 +893,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public double minimumDouble(long columnIndex){
+        syncIfDerived();
         return nativeMinimumDouble(nativePtr, columnIndex);
     }
 
@@ -823,6 +901,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public double averageDouble(long columnIndex) {
+        syncIfDerived();
         return nativeAverageDouble(nativePtr, columnIndex);
     }
 
@@ -833,6 +912,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public Date maximumDate(long columnIndex) {
+        syncIfDerived();
         return new Date(nativeMaximumDate(nativePtr, columnIndex) * 1000);
     }
 
@@ -840,6 +920,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public Date minimumDate(long columnIndex) {
+        syncIfDerived();
         return new Date(nativeMinimumDate(nativePtr, columnIndex) * 1000);
     }
 
@@ -852,11 +933,13 @@ public class TableView implements TableOrView, Closeable {
 
     public void sort(long columnIndex, Order order) {
         // Don't check for immutable. Sorting does not modify original table
+        pathSorted = false;
         nativeSort(nativePtr, columnIndex, (order == Order.ascending));
     }
 
     public void sort(long columnIndex) {
         // Don't check for immutable. Sorting does not modify original table
+        pathSorted = false;
         nativeSort(nativePtr, columnIndex, true);
     }
 
@@ -871,15 +954,135 @@ public class TableView implements TableOrView, Closeable {
         for (int i = 0; i < order.size(); i++) {
             sortOrder[i] = order.get(i) == Order.ascending;
         }
+        pathSorted = false;
         nativeSortMulti(nativePtr, indices, sortOrder);
     }
 
     protected native void nativeSortMulti(long nativeTableViewPtr, long columnIndices[], boolean ascending[]);
 
+    /**
+     * Sorts the view by columns which can be reached through links. Each column path is a chain of
+     * {@link ColumnType#LINK} column indices followed by the index of the column to sort by in the table at
+     * the end of the chain. A path of length 1 sorts by a column in this view's own table.
+     * <p>
+     * Rows with a null link somewhere on the path are placed before all other rows in ascending order. Rows
+     * which are equal for all column paths are ordered by their index in the source table.
+     * <p>
+     * The order is maintained when the view is synced. Outside of write transactions, the rows the transaction
+     * logs report as changed since the last sync are moved to their new place in the previous order, instead of
+     * sorting the entire view again, as long as they are only a small part of the view.
+     *
+     * @param columnPaths the column paths to sort by. The rows are first sorted by columnPaths[0], then by
+     *                    columnPaths[1] and so forth.
+     * @param ascending sort order for each column path.
+     */
+    public void sort(long[][] columnPaths, boolean[] ascending) {
+        // Don't check for immutable. Sorting does not modify original table
+        nativeSortByLinkPaths(nativePtr, getLoggedGroupPtr(), columnPaths, ascending, false);
+        pathSorted = true;
+        pathSortVersion = nativeSync(nativePtr);
+    }
+
+    // The changes made to a Realm are only logged once committed, so a view can only follow them from one sync to
+    // the next outside of write transactions. Returns zero if the view has to be sorted from scratch.
+    private long getLoggedGroupPtr() {
+        if (parent.parent instanceof ImplicitTransaction) {
+            ImplicitTransaction transaction = (ImplicitTransaction) parent.parent;
+            if (!transaction.isInWriteTransaction()) {
+                return transaction.nativePtr;
+            }
+        }
+        return 0;
+    }
+
+    // The sort is kept by the native view, which uses the order of one sync as the starting point for the next. If
+    // rowsInOrder is true, the rows of the view are taken to be sorted already.
+    protected native void nativeSortByLinkPaths(long nativeTableViewPtr, long nativeGroupPtr, long columnPaths[][],
+                                                boolean ascending[], boolean rowsInOrder);
+
+    protected native void nativeResortByLinkPaths(long nativeTableViewPtr, long nativeGroupPtr);
+
+    /**
+     * Makes this view hold the rows of its table which link to the given row through the given column, i.e.
+     * the backlinks of the row. The backlinks are read directly from the row instead of searching this view's
+     * table, and are read again whenever the view is synced. Each linking row is only included once, even if it
+     * links to the row several times.
+     *
+     * @param targetRow the row which is linked to.
+     * @param columnIndex index of the {@link ColumnType#LINK} or {@link ColumnType#LINK_LIST} column in this view's
+     *                    table which links to the row.
+     */
+    public void setBacklinks(Row targetRow, long columnIndex) {
+        backlinkTargetRow = targetRow;
+        backlinkColumnIndex = columnIndex;
+        findBacklinks();
+        backlinkVersion = nativeSync(nativePtr);
+    }
+
+    private void findBacklinks() {
+        Table targetTable = backlinkTargetRow.getTable();
+        long targetRowIndex = backlinkTargetRow.isAttached() ? backlinkTargetRow.getIndex() : -1;
+        nativeFindBacklinks(nativePtr, targetTable.nativePtr, targetRowIndex, backlinkColumnIndex);
+    }
+
+    protected native void nativeFindBacklinks(long nativeTableViewPtr, long nativeTargetTablePtr, long targetRowIndex,
+                                              long columnIndex);
+
+    /**
+     * Makes this view hold the rows of its table which can be reached from the given row by following the given
+     * link column up to {@code maxDepth} times. The rows are found by a breadth-first traversal, so rows closer to
+     * the start row come first. Each row is only included once and the start row itself is never included, so cycles
+     * are handled. The traversal is redone whenever the view is synced.
+     *
+     * @param startRow the row to start the traversal from.
+     * @param columnIndex index of the {@link ColumnType#LINK} or {@link ColumnType#LINK_LIST} column to follow. The
+     *                    column must link to this view's table.
+     * @param maxDepth the maximum number of links to follow from the start row.
+     */
+    public void setReachableRows(Row startRow, long columnIndex, int maxDepth) {
+        traversalStartRow = startRow;
+        traversalColumnIndex = columnIndex;
+        traversalMaxDepth = maxDepth;
+        findReachableRows();
+        traversalVersion = nativeSync(nativePtr);
+    }
+
+    private void findReachableRows() {
+        long startRowIndex = traversalStartRow.isAttached() ? traversalStartRow.getIndex() : -1;
+        nativeFindReachableRows(nativePtr, startRowIndex, traversalColumnIndex, traversalMaxDepth);
+    }
+
+    protected native void nativeFindReachableRows(long nativeTableViewPtr, long startRowIndex, long columnIndex,
+                                                  int maxDepth);
+
+    /**
+     * Makes this view hold the given rows instead of the rows found by running its query, e.g. rows found by an
+     * equivalent query in another SharedGroup at the same version. The rows must be exactly the ones the query would
+     * find at the current version of the table. The query is run as usual once the view is synced after the table
+     * has changed.
+     *
+     * @param sourceRowIndexes the rows of the view, in the order of the view.
+     * @param columnPaths the column paths the rows are sorted by as for {@link #sort(long[][], boolean[])}, or
+     *                    {@code null} if the rows are in table order.
+     * @param ascending sort order for each column path, or {@code null}.
+     */
+    public void setQueryResult(long[] sourceRowIndexes, long[][] columnPaths, boolean[] ascending) {
+        nativeSetQueryResult(nativePtr, sourceRowIndexes);
+        if (columnPaths == null) {
+            return;
+        }
+        nativeSortByLinkPaths(nativePtr, getLoggedGroupPtr(), columnPaths, ascending, true);
+        pathSorted = true;
+        pathSortVersion = nativeSync(nativePtr);
+    }
+
+    protected native void nativeSetQueryResult(long nativeTableViewPtr, long[] sourceRowIndexes);
+
     protected native long createNativeTableView(Table table, long nativeTablePtr);
 
     @Override
     public String toJson() {
+        syncIfDerived();
         return nativeToJson(nativePtr);
     }
 
@@ -887,11 +1090,13 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public String toString() {
+        syncIfDerived();
         return nativeToString(nativePtr, 500);
     }
 
     @Override
     public String toString(long maxRows) {
+        syncIfDerived();
         return nativeToString(nativePtr, maxRows);
     }
 
@@ -899,6 +1104,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public String rowToString(long rowIndex) {
+        syncIfDerived();
         return nativeRowToString(nativePtr, rowIndex);
     }
 
@@ -906,6 +1112,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public TableQuery where() {
+        syncIfDerived();
         // Execute the disposal of abandoned realm objects each time a new realm object is created
         this.context.executeDelayedDisposal();
         long nativeQueryPtr = nativeWhere(nativePtr);
@@ -927,6 +1134,22 @@ public class TableView implements TableOrView, Closeable {
     protected final Table parent;
     private final Context context;
 
+    // A sort by column paths is redone whenever the view has been re-run, as core re-runs the query in table order.
+    // The native view keeps the sort and the order it produced.
+    private boolean pathSorted;
+    private long pathSortVersion = -1;
+
+    // Backlink views are not backed by a query either, so they are re-read in the same way.
+    private Row backlinkTargetRow;
+    private long backlinkColumnIndex;
+    private long backlinkVersion = -1;
+
+    // Same for views holding the rows reachable from a row.
+    private Row traversalStartRow;
+    private long traversalColumnIndex;
+    private int traversalMaxDepth;
+    private long traversalVersion = -1;
+
     @Override
     public long count(long columnIndex, String value) {
         // TODO: implement
@@ -935,6 +1158,7 @@ public class TableView implements TableOrView, Closeable {
 
     @Override
     public Table pivot(long stringCol, long intCol, PivotType pivotType){
+        syncIfDerived();
         if (! this.getColumnType(stringCol).equals(ColumnType.STRING ))
             throw new UnsupportedOperationException("Group by column must be of type String");
         if (! this.getColumnType(intCol).equals(ColumnType.INTEGER ))
@@ -947,9 +1171,30 @@ public class TableView implements TableOrView, Closeable {
     protected native void nativePivot(long nativeTablePtr, long sringCol, long intCol, int pivotType, long result);
 
 
+    // Views with rows computed by this class rather than by core must be brought up to date before core is asked
+    // about their rows, as core's own sync would otherwise replace them.
+    private void syncIfDerived() {
+        if (pathSorted || backlinkTargetRow != null || traversalStartRow != null) {
+            sync();
+        }
+    }
+
     @Override
     public long sync() {
-        return nativeSync(nativePtr);
+        long version = nativeSync(nativePtr);
+        if (backlinkTargetRow != null && version != backlinkVersion) {
+            findBacklinks();
+            backlinkVersion = version;
+        }
+        if (traversalStartRow != null && version != traversalVersion) {
+            findReachableRows();
+            traversalVersion = version;
+        }
+        if (pathSorted && version != pathSortVersion) {
+            nativeResortByLinkPaths(nativePtr, getLoggedGroupPtr());
+            pathSortVersion = version;
+        }
+        return version;
     }
 
     protected native long nativeSync(long nativeTablePtr);
@@ -55,4 +55,14 @@ public class JsonUtils {
         if (str == null || str.length() == 0) return new byte[0];
         return Base64.decode(str, Base64.DEFAULT);
     }
+
+    /**
+     * Converts byte[] to a Base64 encoded Json string, which can be read back by {@link #stringToBytes(String)}.
+     *
+     * @param bytes   Bytes to encode.
+     * @return Base 64 encoded bytes without line breaks.
+     */
+    public static String bytesToString(byte[] bytes) {
+        return Base64.encodeToString(bytes, Base64.NO_WRAP);
+    }
 }
@@ -17,18 +17,21 @@
 package io.realm.internal.modules;
 
 import android.util.JsonReader;
+import android.util.JsonWriter;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
 import io.realm.Realm;
 import io.realm.RealmObject;
+import io.realm.internal.DetachedObjectCache;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
@@ -40,7 +43,8 @@ import io.realm.internal.Util;
  */
 public class CompositeMediator extends RealmProxyMediator {
 
-    Map<Class<? extends RealmObject>, RealmProxyMediator> mediators = new HashMap<Class<? extends RealmObject>, RealmProxyMediator>();
+    // Classes are compared by identity, so there is no need to call equals() on lookups
+    Map<Class<? extends RealmObject>, RealmProxyMediator> mediators = new IdentityHashMap<Class<? extends RealmObject>, RealmProxyMediator>();
 
     public void addMediator(RealmProxyMediator mediator) {
         for (Class<? extends RealmObject> realmClass : mediator.getModelClasses()) {
@@ -99,6 +103,30 @@ public class CompositeMediator extends RealmProxyMediator {
         return mediator.copyOrUpdate(realm, object, update, cache);
     }
 
+    @Override
+    public <E extends RealmObject> void insert(Class<E> clazz, Realm realm, Collection<? extends E> objects) {
+        RealmProxyMediator mediator = getMediator(clazz);
+        mediator.insert(clazz, realm, objects);
+    }
+
+    @Override
+    public <E extends RealmObject> List<E> createDetachedCopies(Class<E> clazz, Realm realm, long[] rowIndexes, int maxDepth, DetachedObjectCache cache) {
+        RealmProxyMediator mediator = getMediator(clazz);
+        return mediator.createDetachedCopies(clazz, realm, rowIndexes, maxDepth, cache);
+    }
+
+    @Override
+    public <E extends RealmObject> void copyDetachedLinks(Class<E> clazz, Realm realm, List<E> copies, long[] rowIndexes, int currentDepth, int maxDepth, DetachedObjectCache cache) {
+        RealmProxyMediator mediator = getMediator(clazz);
+        mediator.copyDetachedLinks(clazz, realm, copies, rowIndexes, currentDepth, maxDepth, cache);
+    }
+
+    @Override
+    public <E extends RealmObject> void writeJson(Class<E> clazz, Realm realm, long[] rowIndexes, JsonWriter writer, int maxDepth) throws IOException {
+        RealmProxyMediator mediator = getMediator(clazz);
+        mediator.writeJson(clazz, realm, rowIndexes, writer, maxDepth);
+    }
+
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update) throws JSONException {
         RealmProxyMediator mediator = getMediator(clazz);
@@ -111,6 +139,18 @@ public class CompositeMediator extends RealmProxyMediator {
         return mediator.createUsingJsonStream(clazz, realm, reader);
     }
 
+    @Override
+    public <E extends RealmObject> E createOrUpdateUsingJsonStream(Class<E> clazz, Realm realm, JsonReader reader) throws IOException {
+        RealmProxyMediator mediator = getMediator(clazz);
+        return mediator.createOrUpdateUsingJsonStream(clazz, realm, reader);
+    }
+
+    @Override
+    public <E extends RealmObject> E createStandaloneUsingJsonStream(Class<E> clazz, JsonReader reader) throws IOException {
+        RealmProxyMediator mediator = getMediator(clazz);
+        return mediator.createStandaloneUsingJsonStream(clazz, reader);
+    }
+
     // Returns the mediator for a given model class (not RealmProxy) or throws exception
     private RealmProxyMediator getMediator(Class<? extends RealmObject> clazz) {
         RealmProxyMediator mediator = mediators.get(clazz);
@@ -17,6 +17,7 @@
 package io.realm.internal.modules;
 
 import android.util.JsonReader;
+import android.util.JsonWriter;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -31,6 +32,7 @@ import java.util.Set;
 
 import io.realm.Realm;
 import io.realm.RealmObject;
+import io.realm.internal.DetachedObjectCache;
 import io.realm.internal.ImplicitTransaction;
 import io.realm.internal.RealmObjectProxy;
 import io.realm.internal.RealmProxyMediator;
@@ -114,6 +116,30 @@ public class FilterableMediator extends RealmProxyMediator {
         return originalMediator.copyOrUpdate(realm, object, update, cache);
     }
 
+    @Override
+    public <E extends RealmObject> void insert(Class<E> clazz, Realm realm, Collection<? extends E> objects) {
+        checkSchemaHasClass(clazz);
+        originalMediator.insert(clazz, realm, objects);
+    }
+
+    @Override
+    public <E extends RealmObject> List<E> createDetachedCopies(Class<E> clazz, Realm realm, long[] rowIndexes, int maxDepth, DetachedObjectCache cache) {
+        checkSchemaHasClass(clazz);
+        return originalMediator.createDetachedCopies(clazz, realm, rowIndexes, maxDepth, cache);
+    }
+
+    @Override
+    public <E extends RealmObject> void copyDetachedLinks(Class<E> clazz, Realm realm, List<E> copies, long[] rowIndexes, int currentDepth, int maxDepth, DetachedObjectCache cache) {
+        checkSchemaHasClass(clazz);
+        originalMediator.copyDetachedLinks(clazz, realm, copies, rowIndexes, currentDepth, maxDepth, cache);
+    }
+
+    @Override
+    public <E extends RealmObject> void writeJson(Class<E> clazz, Realm realm, long[] rowIndexes, JsonWriter writer, int maxDepth) throws IOException {
+        checkSchemaHasClass(clazz);
+        originalMediator.writeJson(clazz, realm, rowIndexes, writer, maxDepth);
+    }
+
     @Override
     public <E extends RealmObject> E createOrUpdateUsingJsonObject(Class<E> clazz, Realm realm, JSONObject json, boolean update) throws JSONException {
         checkSchemaHasClass(clazz);
@@ -126,6 +152,18 @@ public class FilterableMediator extends RealmProxyMediator {
         return originalMediator.createUsingJsonStream(clazz, realm, reader);
     }
 
+    @Override
+    public <E extends RealmObject> E createOrUpdateUsingJsonStream(Class<E> clazz, Realm realm, JsonReader reader) throws IOException {
+        checkSchemaHasClass(clazz);
+        return originalMediator.createOrUpdateUsingJsonStream(clazz, realm, reader);
+    }
+
+    @Override
+    public <E extends RealmObject> E createStandaloneUsingJsonStream(Class<E> clazz, JsonReader reader) throws IOException {
+        checkSchemaHasClass(clazz);
+        return originalMediator.createStandaloneUsingJsonStream(clazz, reader);
+    }
+
     // Validate if a model class (not RealmProxy) is part of this Schema.
     private void checkSchemaHasClass(Class<? extends RealmObject> clazz) {
         if (!allowedClasses.contains(clazz)) {